@@ -15,6 +15,7 @@ import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
 import org.eclipse.persistence.exceptions.DatabaseException;
 import org.eclipse.persistence.exceptions.ExceptionHandler;
 
+import java.sql.BatchUpdateException;
 import java.sql.SQLException;
 
 /**
@@ -27,7 +28,11 @@ import java.sql.SQLException;
 public class PostgreSqlExceptionHandler implements ExceptionHandler {
     public Object handleException(RuntimeException exception) {
         if (exception instanceof DatabaseException && exception.getCause() instanceof SQLException) {
-            final SQLException sqlEx = (SQLException)exception.getCause();
+            SQLException sqlEx = (SQLException)exception.getCause();
+            // when batch writing is used the actual error is the next exception of batch update exception
+            if (sqlEx instanceof BatchUpdateException && sqlEx.getNextException() != null) {
+                sqlEx = sqlEx.getNextException();
+            }
             switch (sqlEx.getSQLState()) {
                 case "23505":
                     throw new DuplicateKeyException(exception.getMessage(), exception);
@@ -10,15 +10,25 @@
  *******************************************************************************/
 package org.eclipse.che.core.db;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.core.db.jpa.JpaInitializer;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheCoordinator;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheProfiler;
 import org.eclipse.che.core.db.jpa.eclipselink.GuiceEntityListenerInjectionManager;
 import org.eclipse.che.core.db.schema.SchemaInitializationException;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.persistence.sessions.server.ServerSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Initializes database components.
@@ -41,18 +51,42 @@ import javax.persistence.EntityManagerFactory;
  * In this way it is guaranteed that all database related components
  * will be appropriately initialized before {@code check} method is executed.
  *
+ * <p>Jpa is initialized concurrently with the schema as starting of persistence
+ * service doesn't interact with database, entity managers are not created
+ * until the schema is initialized.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class DBInitializer {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DBInitializer.class);
+
     @Inject
     public DBInitializer(SchemaInitializer schemaInitializer, JpaInitializer jpaInitializer) throws SchemaInitializationException {
-        // schema must be initialized before any other component that may interact with database
-        schemaInitializer.init();
+        final long start = System.currentTimeMillis();
+        final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("JpaInitializer")
+                                                                                                     .setDaemon(true)
+                                                                                                     .build());
+        try {
+            final Future<Long> jpaInitialization = executor.submit(() -> {
+                final long jpaStart = System.currentTimeMillis();
+                jpaInitializer.init();
+                return System.currentTimeMillis() - jpaStart;
+            });
 
-        // jpa initialization goes next
-        jpaInitializer.init();
+            // schema must be initialized before any other component that may interact with database
+            schemaInitializer.init();
+            final long schemaTime = System.currentTimeMillis() - start;
+
+            final long jpaTime = waitJpaInitialized(jpaInitialization);
+            LOG.info("Database initialized in {}ms, schema initialization took {}ms, jpa initialization took {}ms",
+                     System.currentTimeMillis() - start,
+                     schemaTime,
+                     jpaTime);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     @Inject
@@ -60,4 +94,28 @@ public class DBInitializer {
         final ServerSession session = emFactory.unwrap(ServerSession.class);
         session.setEntityListenerInjectionManager(injManager);
     }
+
+    @Inject
+    public void setUpEntityCache(EntityCacheCoordinator cacheCoordinator,
+                                 EntityCacheProfiler cacheProfiler,
+                                 EntityManagerFactory emFactory) {
+        final ServerSession session = emFactory.unwrap(ServerSession.class);
+        cacheCoordinator.install(session, emFactory);
+        session.setProfiler(cacheProfiler);
+    }
+
+    private static long waitJpaInitialized(Future<Long> jpaInitialization) {
+        try {
+            return jpaInitialization.get();
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for jpa initialization");
+        } catch (ExecutionException x) {
+            final Throwable cause = x.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new IllegalStateException(cause.getLocalizedMessage(), cause);
+        }
+    }
 }
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import com.google.inject.ImplementedBy;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations of the shared entity cache between
+ * several wsmaster instances which work with the same database.
+ *
+ * <p>Invalidation is the set of the names of the entities which were modified
+ * by the committed transaction, e.g. {@code ["Workspace", "ProjectConfig"]}.
+ * Components which keep their own caches may publish finer grained keys,
+ * e.g. {@code "Preference:<user id>"}, subscribers ignore the keys they don't know.
+ * The default implementation is {@link LocalCacheInvalidationChannel} which
+ * is suitable only for a single wsmaster instance, clustered deployments
+ * should bind the implementation based on their messaging system.
+ */
+@ImplementedBy(LocalCacheInvalidationChannel.class)
+public interface CacheInvalidationChannel {
+
+    /**
+     * Sends invalidation to the other instances, the subscribers
+     * of this instance must not receive it.
+     * Called after the transaction which modified entities is committed.
+     *
+     * @param entityNames
+     *         the names of the modified entities
+     */
+    void publish(Set<String> entityNames);
+
+    /**
+     * Registers the consumer of invalidations sent by the other instances.
+     *
+     * @param consumer
+     *         the consumer which evicts the given entities from the local cache
+     */
+    void subscribe(Consumer<Set<String>> consumer);
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+/**
+ * Shared cache hits and misses of the lookups of a certain entity.
+ */
+public class EntityCacheStatistics {
+
+    private final String entityName;
+    private final long   hits;
+    private final long   misses;
+
+    public EntityCacheStatistics(String entityName, long hits, long misses) {
+        this.entityName = entityName;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /** Returns the number of lookups served by the cache. */
+    public long getHits() {
+        return hits;
+    }
+
+    /** Returns the number of lookups which went to the database. */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Returns the ratio of hits to all the lookups, or 0 if there were no lookups. */
+    public double getHitRatio() {
+        final long total = hits + misses;
+        return total == 0 ? 0 : (double)hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCacheStatistics{" +
+               "entityName='" + entityName + '\'' +
+               ", hits=" + hits +
+               ", misses=" + misses +
+               '}';
+    }
+}
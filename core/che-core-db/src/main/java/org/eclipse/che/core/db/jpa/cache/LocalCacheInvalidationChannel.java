@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import javax.inject.Singleton;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Channel for a single wsmaster instance, there is nobody to send invalidations to,
+ * as the local caches are updated by the components which modify the data.
+ * Invalidations are not delivered back to the local subscribers, otherwise
+ * each local modification would drop the caches it has just updated.
+ */
+@Singleton
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    @Override
+    public void publish(Set<String> entityNames) {}
+
+    @Override
+    public void subscribe(Consumer<Set<String>> consumer) {}
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.che.core.db.jpa.cache.CacheInvalidationChannel;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * Keeps shared caches of several wsmaster instances coherent.
+ *
+ * <p>Names of the cached entities modified by a transaction are collected by descriptor
+ * events and bulk queries, then {@link CacheInvalidationChannel#publish(Set) published}
+ * once the transaction is committed. When invalidation is received from the other instance,
+ * the modified entities are evicted from the local cache along with all the cached entities
+ * which reference them (e.g. modification of 'ServerConf' evicts 'ExternalMachine', 'Environment',
+ * 'WorkspaceConfig', 'Workspace' and 'Stack'), as the cached objects of those entities
+ * hold the references to the stale objects.
+ */
+@Singleton
+public class EntityCacheCoordinator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheCoordinator.class);
+
+    private final CacheInvalidationChannel    channel;
+    private final ThreadLocal<Set<String>>    modified;
+    private final ThreadLocal<List<Runnable>> afterCommit;
+
+    private volatile Cache                    cache;
+    private volatile Map<String, Class<?>>    cachedEntities;
+    private volatile Map<String, Set<String>> referrers;
+
+    @Inject
+    public EntityCacheCoordinator(CacheInvalidationChannel channel) {
+        this.channel = channel;
+        this.modified = ThreadLocal.withInitial(HashSet::new);
+        this.afterCommit = ThreadLocal.withInitial(ArrayList::new);
+    }
+
+    /** Starts tracking of modifications of the cached entities and listening to invalidations. */
+    public void install(ServerSession session, EntityManagerFactory emFactory) {
+        final Map<String, Class<?>> entities = new HashMap<>();
+        for (EntityType<?> entityType : emFactory.getMetamodel().getEntities()) {
+            final ClassDescriptor descriptor = session.getClassDescriptor(entityType.getJavaType());
+            if (descriptor != null && !descriptor.isIsolated()) {
+                entities.put(entityType.getName(), entityType.getJavaType());
+            }
+        }
+        cache = emFactory.getCache();
+        cachedEntities = entities;
+        referrers = findReferrers(emFactory, entities);
+
+        for (Map.Entry<String, Class<?>> entry : entities.entrySet()) {
+            session.getClassDescriptor(entry.getValue())
+                   .getEventManager()
+                   .addListener(new ModificationListener(entry.getKey()));
+        }
+        session.getEventManager().addListener(new TransactionListener());
+        channel.subscribe(this::evict);
+    }
+
+    /** Evicts given entities and all the cached entities which reference them. */
+    public void evict(Set<String> entityNames) {
+        if (cache == null) {
+            // not installed, nothing is cached
+            return;
+        }
+        final Set<String> evicted = new LinkedHashSet<>();
+        for (String name : entityNames) {
+            if (cachedEntities.containsKey(name)) {
+                evicted.add(name);
+                evicted.addAll(referrers.getOrDefault(name, emptySet()));
+            }
+        }
+        for (String name : evicted) {
+            cache.evict(cachedEntities.get(name));
+        }
+        LOG.debug("Entities '{}' evicted from the cache as '{}' modified", evicted, entityNames);
+    }
+
+    /**
+     * Runs the action once the transaction of the current thread is committed,
+     * the action is dropped if the transaction is rolled back. Must be called
+     * within the transaction which modifies the database, if the coordinator
+     * is not installed the action is run immediately.
+     */
+    public void afterCommit(Runnable action) {
+        if (cache == null) {
+            action.run();
+        } else {
+            afterCommit.get().add(action);
+        }
+    }
+
+    /** Returns names of cached entities which reference given entity directly or transitively. */
+    private static Map<String, Set<String>> findReferrers(EntityManagerFactory emFactory, Map<String, Class<?>> entities) {
+        final Map<Class<?>, String> names = new HashMap<>();
+        entities.forEach((name, type) -> names.put(type, name));
+
+        // entity -> cached entities which have direct association with it
+        final Map<String, Set<String>> direct = new HashMap<>();
+        for (EntityType<?> entityType : emFactory.getMetamodel().getEntities()) {
+            if (!entities.containsKey(entityType.getName())) {
+                continue;
+            }
+            for (Attribute<?, ?> attribute : entityType.getAttributes()) {
+                if (!attribute.isAssociation()) {
+                    continue;
+                }
+                final Class<?> target;
+                if (attribute instanceof PluralAttribute) {
+                    target = ((PluralAttribute<?, ?, ?>)attribute).getElementType().getJavaType();
+                } else {
+                    target = ((SingularAttribute<?, ?>)attribute).getType().getJavaType();
+                }
+                final String targetName = names.get(target);
+                if (targetName != null) {
+                    direct.computeIfAbsent(targetName, n -> new HashSet<>()).add(entityType.getName());
+                }
+            }
+        }
+
+        final Map<String, Set<String>> transitive = new HashMap<>();
+        for (String name : direct.keySet()) {
+            final Set<String> found = new HashSet<>();
+            final Deque<String> queue = new ArrayDeque<>(direct.get(name));
+            while (!queue.isEmpty()) {
+                final String referrer = queue.poll();
+                if (found.add(referrer)) {
+                    queue.addAll(direct.getOrDefault(referrer, emptySet()));
+                }
+            }
+            transitive.put(name, unmodifiableSet(found));
+        }
+        return transitive;
+    }
+
+    private void runAfterCommit() {
+        final List<Runnable> actions = afterCommit.get();
+        if (actions.isEmpty()) {
+            return;
+        }
+        afterCommit.remove();
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException x) {
+                LOG.error("Couldn't run the action after the transaction commit", x);
+            }
+        }
+    }
+
+    private void publish() {
+        final Set<String> names = modified.get();
+        if (names.isEmpty()) {
+            return;
+        }
+        modified.remove();
+        try {
+            channel.publish(unmodifiableSet(names));
+        } catch (RuntimeException x) {
+            LOG.error(String.format("Couldn't publish invalidation of entities '%s'", names), x);
+        }
+    }
+
+    /** Remembers modified entities of the current thread transaction. */
+    private class ModificationListener extends DescriptorEventAdapter {
+
+        private final String entityName;
+
+        private ModificationListener(String entityName) {
+            this.entityName = entityName;
+        }
+
+        @Override
+        public void postInsert(DescriptorEvent event) {
+            // new entity can't be stale in other caches, unless it is a part of other cached entity
+            if (referrers.containsKey(entityName)) {
+                modified.get().add(entityName);
+            }
+        }
+
+        @Override
+        public void postUpdate(DescriptorEvent event) {
+            modified.get().add(entityName);
+        }
+
+        @Override
+        public void postDelete(DescriptorEvent event) {
+            modified.get().add(entityName);
+        }
+    }
+
+    /**
+     * Remembers entities modified by bulk queries, publishes modifications
+     * and runs {@link #afterCommit(Runnable) actions} once they are committed.
+     */
+    private class TransactionListener extends SessionEventAdapter {
+
+        @Override
+        public void postExecuteQuery(SessionEvent event) {
+            // bulk update/delete queries don't produce descriptor events
+            final DatabaseQuery query = event.getQuery();
+            if (query == null || !query.isModifyAllQuery() || query.getReferenceClass() == null) {
+                return;
+            }
+            final ClassDescriptor descriptor = event.getSession().getClassDescriptor(query.getReferenceClass());
+            if (descriptor != null && cachedEntities.containsKey(descriptor.getAlias())) {
+                modified.get().add(descriptor.getAlias());
+            }
+        }
+
+        @Override
+        public void postCommitTransaction(SessionEvent event) {
+            publish();
+            runAfterCommit();
+        }
+
+        @Override
+        public void postRollbackTransaction(SessionEvent event) {
+            modified.remove();
+            afterCommit.remove();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.che.core.db.jpa.cache.EntityCacheStatistics;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.eclipse.persistence.sessions.SessionProfilerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts shared cache hits and misses per entity, other profiling operations are ignored.
+ * Collected statistics are logged periodically and on shutdown.
+ */
+@Singleton
+public class EntityCacheProfiler extends SessionProfilerAdapter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityCacheProfiler.class);
+
+    private final ConcurrentMap<String, Counters> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public int getProfileWeight() {
+        // any weight except NONE makes session report operations
+        return SessionProfiler.NORMAL;
+    }
+
+    @Override
+    public void occurred(String operationName, DatabaseQuery query, AbstractSession session) {
+        final boolean isHit = SessionProfiler.CacheHits.equals(operationName);
+        if ((!isHit && !SessionProfiler.CacheMisses.equals(operationName)) || query == null || query.getReferenceClass() == null) {
+            return;
+        }
+        final Counters entityCounters = counters.computeIfAbsent(entityName(query, session), name -> new Counters());
+        if (isHit) {
+            entityCounters.hits.increment();
+        } else {
+            entityCounters.misses.increment();
+        }
+    }
+
+    /** Returns cache statistics sorted by entity name. */
+    public Map<String, EntityCacheStatistics> getStatistics() {
+        final Map<String, EntityCacheStatistics> statistics = new TreeMap<>();
+        for (Map.Entry<String, Counters> entry : counters.entrySet()) {
+            statistics.put(entry.getKey(), new EntityCacheStatistics(entry.getKey(),
+                                                                     entry.getValue().hits.sum(),
+                                                                     entry.getValue().misses.sum()));
+        }
+        return statistics;
+    }
+
+    /** Logs the statistics of the entities which were looked up in the cache. */
+    @PreDestroy
+    @ScheduleRate(initialDelay = 10, period = 10, unit = TimeUnit.MINUTES)
+    public void logStatistics() {
+        final Map<String, EntityCacheStatistics> statistics = getStatistics();
+        if (!statistics.isEmpty()) {
+            LOG.info("Entity cache statistics: {}", statistics.values());
+        }
+    }
+
+    private static String entityName(DatabaseQuery query, AbstractSession session) {
+        final ClassDescriptor descriptor = session.getDescriptor(query.getReferenceClass());
+        return descriptor != null ? descriptor.getAlias() : query.getReferenceClass().getName();
+    }
+
+    private static class Counters {
+        final LongAdder hits   = new LongAdder();
+        final LongAdder misses = new LongAdder();
+    }
+}
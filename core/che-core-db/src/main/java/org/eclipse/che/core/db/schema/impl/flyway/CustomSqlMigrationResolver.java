@@ -85,6 +85,9 @@ import static java.util.stream.Collectors.toList;
  * <li>5.0.1.1 - modification script based on file <i>sql/5.0.1/1.stacks_migrations.sql</i></li>
  * </ul>
  *
+ * <p>Vendor specific script may have no default one, then the migration
+ * is resolved only for that vendor.
+ *
  * <p>It is also possible to configure several locations then all of those locations
  * will be analyzed for migration scripts existence. For example:
  *
@@ -128,13 +131,27 @@ public class CustomSqlMigrationResolver extends BaseMigrationResolver {
     private final SqlScriptCreator    scriptsCreator;
     private final DbSupport           dbSupport;
     private final PlaceholderReplacer placeholderReplacer;
+    private final boolean             computeChecksums;
 
     public CustomSqlMigrationResolver(String dbProviderName,
                                       DbSupport dbSupport,
                                       PlaceholderReplacer placeholderReplacer) {
+        this(dbProviderName, dbSupport, placeholderReplacer, true);
+    }
+
+    /**
+     * Creates a resolver which doesn't read the contents of the scripts
+     * if {@code computeChecksums} is false, resolved migrations can be used
+     * for comparing versions but not for validation.
+     */
+    public CustomSqlMigrationResolver(String dbProviderName,
+                                      DbSupport dbSupport,
+                                      PlaceholderReplacer placeholderReplacer,
+                                      boolean computeChecksums) {
         this.vendorName = dbProviderName;
         this.dbSupport = dbSupport;
         this.placeholderReplacer = placeholderReplacer;
+        this.computeChecksums = computeChecksums;
         this.finder = new ResourcesFinder();
         this.versionResolver = new VersionResolver();
         this.scriptsCreator = new SqlScriptCreator();
@@ -159,6 +176,10 @@ public class CustomSqlMigrationResolver extends BaseMigrationResolver {
             final List<Resource> resources = allResources.get(location);
             for (Resource resource : resources) {
                 final SqlScript newScript = scriptsCreator.createScript(location, resource);
+                if (newScript.vendor != null && !vendorName.equals(newScript.vendor)) {
+                    // scripts of other vendors are not applied, even if there is no default script
+                    continue;
+                }
                 if (!scriptsInDir.containsKey(newScript.dir)) {
                     scriptsInDir.put(newScript.dir, new HashMap<>(4));
                 }
@@ -173,7 +194,7 @@ public class CustomSqlMigrationResolver extends BaseMigrationResolver {
                                                      existingScript.vendor,
                                                      newScript,
                                                      existingScript));
-                } else if (vendorName.equals(newScript.vendor)) {
+                } else if (newScript.vendor != null) {
                     existingScripts.put(newScript.name, newScript);
                 }
             }
@@ -190,7 +211,9 @@ public class CustomSqlMigrationResolver extends BaseMigrationResolver {
             migration.setPhysicalLocation(script.resource.getLocationOnDisk());
             migration.setType(MigrationType.SQL);
             migration.setDescription(script.name);
-            migration.setChecksum(ByteSource.wrap(script.resource.loadAsBytes()).hash(Hashing.crc32()).asInt());
+            if (computeChecksums) {
+                migration.setChecksum(ByteSource.wrap(script.resource.loadAsBytes()).hash(Hashing.crc32()).asInt());
+            }
             migration.setExecutor(new SqlMigrationExecutor(dbSupport,
                                                            script.resource,
                                                            placeholderReplacer,
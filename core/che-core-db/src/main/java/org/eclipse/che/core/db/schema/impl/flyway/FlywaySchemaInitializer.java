@@ -16,9 +16,13 @@ import com.google.inject.name.Named;
 import org.eclipse.che.core.db.schema.SchemaInitializationException;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationInfoService;
 import org.flywaydb.core.internal.dbsupport.DbSupport;
 import org.flywaydb.core.internal.dbsupport.DbSupportFactory;
 import org.flywaydb.core.internal.util.PlaceholderReplacer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -31,6 +35,8 @@ import java.sql.SQLException;
  */
 public class FlywaySchemaInitializer implements SchemaInitializer {
 
+    private static final Logger LOG = LoggerFactory.getLogger(FlywaySchemaInitializer.class);
+
     private final DataSource          dataSource;
     private final String[]            locations;
     private final String              scriptsPrefix;
@@ -40,6 +46,8 @@ public class FlywaySchemaInitializer implements SchemaInitializer {
     private final String              baselineVersion;
     private final PlaceholderReplacer placeholderReplacer;
 
+    private boolean skipValidationWhenCurrent;
+
     /**
      * Creates a new instance of flyway schema initializer.
      *
@@ -95,27 +103,59 @@ public class FlywaySchemaInitializer implements SchemaInitializer {
              PlaceholderReplacer.NO_PLACEHOLDERS);
     }
 
+    /**
+     * Configures whether to skip validation of applied migrations
+     * when there is no pending migrations. The check lists the scripts
+     * and compares their versions with the applied ones, contents of
+     * the scripts are not read and checksums are not computed.
+     * Validation is performed anyway if there are migrations to apply.
+     */
+    @Inject(optional = true)
+    public void setSkipValidationWhenCurrent(@Named("db.schema.flyway.skip_validation_when_current") boolean skipValidationWhenCurrent) {
+        this.skipValidationWhenCurrent = skipValidationWhenCurrent;
+    }
+
     @Override
     public void init() throws SchemaInitializationException {
         try (final Connection conn = dataSource.getConnection()) {
-            final Flyway flyway = new Flyway();
-            flyway.setDataSource(dataSource);
-            flyway.setLocations(locations);
-            flyway.setClassLoader(Thread.currentThread().getContextClassLoader());
             final DbSupport dbSupport = DbSupportFactory.createDbSupport(conn, true);
             final String productName = conn.getMetaData().getDatabaseProductName().toLowerCase();
-            flyway.setResolvers(new CustomSqlMigrationResolver(productName, dbSupport, placeholderReplacer));
-            flyway.setSkipDefaultResolvers(true);
-            flyway.setBaselineOnMigrate(baselineOnMigrate);
-            if (baselineOnMigrate) {
-                flyway.setBaselineVersionAsString(baselineVersion);
+            if (skipValidationWhenCurrent) {
+                final Flyway versionsFlyway = createFlyway(new CustomSqlMigrationResolver(productName,
+                                                                                          dbSupport,
+                                                                                          placeholderReplacer,
+                                                                                          false));
+                final MigrationInfoService info = versionsFlyway.info();
+                final MigrationInfo current = info.current();
+                if (info.pending().length == 0 && (current == null || !current.getState().isFailed())) {
+                    LOG.info("Database schema is up to date with version '{}', validation skipped",
+                             current == null ? "none" : current.getVersion());
+                    return;
+                }
             }
-            flyway.setSqlMigrationSeparator(versionSeparator);
-            flyway.setSqlMigrationSuffix(scriptsSuffix);
-            flyway.setSqlMigrationPrefix(scriptsPrefix);
-            flyway.migrate();
+            final Flyway flyway = createFlyway(new CustomSqlMigrationResolver(productName, dbSupport, placeholderReplacer));
+            final long start = System.currentTimeMillis();
+            final int applied = flyway.migrate();
+            LOG.info("Applied {} migrations to the database schema in {}ms", applied, System.currentTimeMillis() - start);
         } catch (SQLException | RuntimeException x) {
             throw new SchemaInitializationException(x.getLocalizedMessage(), x);
         }
     }
+
+    private Flyway createFlyway(CustomSqlMigrationResolver resolver) {
+        final Flyway flyway = new Flyway();
+        flyway.setDataSource(dataSource);
+        flyway.setLocations(locations);
+        flyway.setClassLoader(Thread.currentThread().getContextClassLoader());
+        flyway.setResolvers(resolver);
+        flyway.setSkipDefaultResolvers(true);
+        flyway.setBaselineOnMigrate(baselineOnMigrate);
+        if (baselineOnMigrate) {
+            flyway.setBaselineVersionAsString(baselineVersion);
+        }
+        flyway.setSqlMigrationSeparator(versionSeparator);
+        flyway.setSqlMigrationSuffix(scriptsSuffix);
+        flyway.setSqlMigrationPrefix(scriptsPrefix);
+        return flyway;
+    }
 }
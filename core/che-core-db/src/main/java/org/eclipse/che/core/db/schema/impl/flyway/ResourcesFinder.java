@@ -13,23 +13,42 @@ package org.eclipse.che.core.db.schema.impl.flyway;
 import org.flywaydb.core.api.configuration.FlywayConfiguration;
 import org.flywaydb.core.internal.util.Location;
 import org.flywaydb.core.internal.util.scanner.Resource;
+import org.flywaydb.core.internal.util.scanner.classpath.ClassPathResource;
 import org.flywaydb.core.internal.util.scanner.classpath.ClassPathScanner;
 import org.flywaydb.core.internal.util.scanner.filesystem.FileSystemScanner;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.list;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Searches for sql scripts in given places.
  *
+ * <p>If classpath location contains {@value #MANIFEST_NAME} file, then the scripts
+ * listed in it are used instead of scanning the classpath. Manifest is generated at build time
+ * and contains paths of the scripts relative to the location, one path per line.
+ * The same location may be provided by several classpath roots (e.g. jars), manifests
+ * of all the roots are merged and the roots which don't have a manifest are scanned.
+ *
  * @author Yevhenii Voevodin
  */
 class ResourcesFinder {
 
+    static final String MANIFEST_NAME = "migrations.manifest";
+
     /**
      * Finds script resources in configured {@link FlywayConfiguration#getLocations()}.
      *
@@ -42,17 +61,67 @@ class ResourcesFinder {
     Map<Location, List<Resource>> findResources(FlywayConfiguration configuration) throws IOException {
         final String prefix = configuration.getSqlMigrationPrefix();
         final String suffix = configuration.getSqlMigrationSuffix();
-        final ClassPathScanner cpScanner = new ClassPathScanner(configuration.getClassLoader());
         final FileSystemScanner fsScanner = new FileSystemScanner();
         final Map<Location, List<Resource>> resources = new HashMap<>();
         for (String rawLocation : configuration.getLocations()) {
             final Location location = new Location(rawLocation);
             if (location.isClassPath()) {
-                resources.put(location, newArrayList(cpScanner.scanForResources(location, prefix, suffix)));
+                resources.put(location, findClassPathResources(location, configuration.getClassLoader(), prefix, suffix));
             } else {
                 resources.put(location, newArrayList(fsScanner.scanForResources(location, prefix, suffix)));
             }
         }
         return resources;
     }
+
+    private static List<Resource> findClassPathResources(Location location,
+                                                         ClassLoader classLoader,
+                                                         String prefix,
+                                                         String suffix) throws IOException {
+        final List<Resource> resources = new ArrayList<>();
+        final Set<String> dirsWithManifest = new HashSet<>();
+        for (URL manifest : list(classLoader.getResources(location.getPath() + '/' + MANIFEST_NAME))) {
+            final String manifestUrl = manifest.toString();
+            dirsWithManifest.add(manifestUrl.substring(0, manifestUrl.length() - MANIFEST_NAME.length() - 1));
+            resources.addAll(readManifest(manifest, location, classLoader, prefix, suffix));
+        }
+        for (URL dir : list(classLoader.getResources(location.getPath()))) {
+            final String dirUrl = trimTrailingSlash(dir.toString());
+            if (!dirsWithManifest.contains(dirUrl)) {
+                // scan only the root which doesn't have manifest, e.g. 'file:/target/classes/' or 'jar:file:/lib/a.jar!/'
+                final URL root = new URL(dirUrl.substring(0, dirUrl.length() - trimTrailingSlash(location.getPath()).length()));
+                try (URLClassLoader rootClassLoader = new URLClassLoader(new URL[] {root}, null)) {
+                    // found resources are read later, so they are bound to the loader which stays open
+                    for (Resource resource : new ClassPathScanner(rootClassLoader).scanForResources(location, prefix, suffix)) {
+                        resources.add(new ClassPathResource(resource.getLocation(), classLoader));
+                    }
+                }
+            }
+        }
+        return resources;
+    }
+
+    private static String trimTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static List<Resource> readManifest(URL manifest,
+                                               Location location,
+                                               ClassLoader classLoader,
+                                               String prefix,
+                                               String suffix) throws IOException {
+        final List<Resource> resources = new ArrayList<>();
+        try (InputStream is = manifest.openStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(is, UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String path = line.trim();
+                final String fileName = path.substring(path.lastIndexOf('/') + 1);
+                if (fileName.startsWith(prefix) && fileName.endsWith(suffix)) {
+                    resources.add(new ClassPathResource(location.getPath() + '/' + path, classLoader));
+                }
+            }
+        }
+        return resources;
+    }
 }
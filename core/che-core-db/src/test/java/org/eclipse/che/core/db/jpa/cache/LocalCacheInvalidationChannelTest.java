@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.cache;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Collections.singleton;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link LocalCacheInvalidationChannel}.
+ */
+public class LocalCacheInvalidationChannelTest {
+
+    @Test
+    public void doesNotDeliverInvalidationsBackToLocalSubscribers() {
+        final LocalCacheInvalidationChannel channel = new LocalCacheInvalidationChannel();
+        final List<Set<String>> received = new ArrayList<>();
+        channel.subscribe(received::add);
+
+        channel.publish(singleton("Stack"));
+
+        assertTrue(received.isEmpty());
+    }
+}
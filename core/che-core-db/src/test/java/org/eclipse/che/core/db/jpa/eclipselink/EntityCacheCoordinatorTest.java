@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.che.core.db.jpa.cache.CacheInvalidationChannel;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventListener;
+import org.eclipse.persistence.descriptors.DescriptorEventManager;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventListener;
+import org.eclipse.persistence.sessions.SessionEventManager;
+import org.eclipse.persistence.sessions.server.ServerSession;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.PluralAttribute;
+import javax.persistence.metamodel.SingularAttribute;
+import javax.persistence.metamodel.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Collections.singleton;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link EntityCacheCoordinator}.
+ *
+ * <p>Entities graph: 'Workspace' has many 'Config', 'Config' has one 'Server',
+ * 'User' is not associated with the others.
+ */
+public class EntityCacheCoordinatorTest {
+
+    private ServerSession                       session;
+    private SessionEventManager                 sessionEventManager;
+    private Metamodel                           metamodel;
+    private Cache                               cache;
+    private Map<String, DescriptorEventManager> eventManagers;
+    private CacheInvalidationChannel            channel;
+    private EntityCacheCoordinator              coordinator;
+
+    @BeforeMethod
+    public void setUp() {
+        session = mock(ServerSession.class);
+        sessionEventManager = mock(SessionEventManager.class);
+        when(session.getEventManager()).thenReturn(sessionEventManager);
+        eventManagers = new HashMap<>();
+        metamodel = mock(Metamodel.class);
+        doReturn(newHashSet(entity("Workspace", Workspace.class, plural(Config.class)),
+                            entity("Config", Config.class, singular(Server.class), basic()),
+                            entity("Server", Server.class),
+                            entity("User", User.class))).when(metamodel).getEntities();
+
+        cache = mock(Cache.class);
+        channel = mock(CacheInvalidationChannel.class);
+        coordinator = new EntityCacheCoordinator(channel);
+        coordinator.install(session, emFactory(cache));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void evictsModifiedEntityAndItsReferrersOnInvalidation() {
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(channel).subscribe(captor.capture());
+
+        captor.getValue().accept(singleton("Server"));
+
+        verify(cache).evict(Server.class);
+        verify(cache).evict(Config.class);
+        verify(cache).evict(Workspace.class);
+        verify(cache, never()).evict(User.class);
+    }
+
+    @Test
+    public void ignoresEvictionOfUnknownEntities() {
+        coordinator.evict(singleton("Unknown"));
+
+        verify(cache, never()).evict(any(Class.class));
+    }
+
+    @Test
+    public void publishesEntitiesModifiedByCommittedTransaction() {
+        descriptorListener("Config").postUpdate(mock(DescriptorEvent.class));
+        descriptorListener("Server").postDelete(mock(DescriptorEvent.class));
+
+        sessionListener().postCommitTransaction(mock(SessionEvent.class));
+
+        verify(channel).publish(newHashSet("Config", "Server"));
+    }
+
+    @Test
+    public void publishesOnlyInsertsOfReferencedEntities() {
+        descriptorListener("Workspace").postInsert(mock(DescriptorEvent.class));
+        descriptorListener("Config").postInsert(mock(DescriptorEvent.class));
+
+        sessionListener().postCommitTransaction(mock(SessionEvent.class));
+
+        verify(channel).publish(singleton("Config"));
+    }
+
+    @Test
+    public void doesNotPublishModificationsOfRolledBackTransaction() {
+        descriptorListener("User").postUpdate(mock(DescriptorEvent.class));
+        sessionListener().postRollbackTransaction(mock(SessionEvent.class));
+
+        sessionListener().postCommitTransaction(mock(SessionEvent.class));
+
+        verify(channel, never()).publish(any());
+    }
+
+    @Test
+    public void runsActionsOnlyAfterCommit() {
+        final Runnable committed = mock(Runnable.class);
+        final Runnable rolledBack = mock(Runnable.class);
+
+        coordinator.afterCommit(rolledBack);
+        sessionListener().postRollbackTransaction(mock(SessionEvent.class));
+        coordinator.afterCommit(committed);
+        verify(committed, never()).run();
+        sessionListener().postCommitTransaction(mock(SessionEvent.class));
+
+        verify(committed).run();
+        verify(rolledBack, never()).run();
+    }
+
+    @Test
+    public void publishesEntitiesModifiedByBulkQueries() {
+        final DatabaseQuery query = mock(DatabaseQuery.class);
+        when(query.isModifyAllQuery()).thenReturn(true);
+        doReturn(Server.class).when(query).getReferenceClass();
+        final SessionEvent event = mock(SessionEvent.class);
+        when(event.getQuery()).thenReturn(query);
+        when(event.getSession()).thenReturn(session);
+        sessionListener().postExecuteQuery(event);
+
+        sessionListener().postCommitTransaction(mock(SessionEvent.class));
+
+        verify(channel).publish(singleton("Server"));
+    }
+
+    @Test
+    public void fansOutInvalidationToReferrersOfOtherInstance() {
+        final InstancesChannel instances = new InstancesChannel();
+        final Cache otherCache = mock(Cache.class);
+        final EntityCacheCoordinator first = new EntityCacheCoordinator(instances.channel());
+        first.install(session, emFactory(cache));
+        final EntityCacheCoordinator second = new EntityCacheCoordinator(instances.channel());
+        second.install(session, emFactory(otherCache));
+
+        // listeners of the coordinator installed by setUp are registered first
+        descriptorListener("Server", 1).postUpdate(mock(DescriptorEvent.class));
+        sessionListener(1).postCommitTransaction(mock(SessionEvent.class));
+
+        verify(otherCache).evict(Server.class);
+        verify(otherCache).evict(Config.class);
+        verify(otherCache).evict(Workspace.class);
+        verify(otherCache, never()).evict(User.class);
+        verify(cache, never()).evict(any(Class.class));
+    }
+
+    private EntityManagerFactory emFactory(Cache cache) {
+        final EntityManagerFactory emFactory = mock(EntityManagerFactory.class);
+        when(emFactory.getMetamodel()).thenReturn(metamodel);
+        when(emFactory.getCache()).thenReturn(cache);
+        return emFactory;
+    }
+
+    private DescriptorEventListener descriptorListener(String entityName) {
+        return descriptorListener(entityName, 0);
+    }
+
+    private DescriptorEventListener descriptorListener(String entityName, int index) {
+        final ArgumentCaptor<DescriptorEventListener> captor = ArgumentCaptor.forClass(DescriptorEventListener.class);
+        verify(eventManagers.get(entityName), atLeastOnce()).addListener(captor.capture());
+        return captor.getAllValues().get(index);
+    }
+
+    private SessionEventListener sessionListener() {
+        return sessionListener(0);
+    }
+
+    private SessionEventListener sessionListener(int index) {
+        final ArgumentCaptor<SessionEventListener> captor = ArgumentCaptor.forClass(SessionEventListener.class);
+        verify(sessionEventManager, atLeastOnce()).addListener(captor.capture());
+        return captor.getAllValues().get(index);
+    }
+
+    private EntityType<?> entity(String name, Class<?> javaType, Attribute<?, ?>... attributes) {
+        final EntityType<?> entityType = mock(EntityType.class);
+        when(entityType.getName()).thenReturn(name);
+        doReturn(javaType).when(entityType).getJavaType();
+        doReturn(newHashSet(attributes)).when(entityType).getAttributes();
+
+        final DescriptorEventManager eventManager = mock(DescriptorEventManager.class);
+        eventManagers.put(name, eventManager);
+        final ClassDescriptor descriptor = mock(ClassDescriptor.class);
+        when(descriptor.getAlias()).thenReturn(name);
+        when(descriptor.getEventManager()).thenReturn(eventManager);
+        when(session.getClassDescriptor(javaType)).thenReturn(descriptor);
+        return entityType;
+    }
+
+    private static Attribute<?, ?> plural(Class<?> elementType) {
+        final PluralAttribute<?, ?, ?> attribute = mock(PluralAttribute.class);
+        when(attribute.isAssociation()).thenReturn(true);
+        doReturn(type(elementType)).when(attribute).getElementType();
+        return attribute;
+    }
+
+    private static Attribute<?, ?> singular(Class<?> targetType) {
+        final SingularAttribute<?, ?> attribute = mock(SingularAttribute.class);
+        when(attribute.isAssociation()).thenReturn(true);
+        doReturn(type(targetType)).when(attribute).getType();
+        return attribute;
+    }
+
+    private static Attribute<?, ?> basic() {
+        final SingularAttribute<?, ?> attribute = mock(SingularAttribute.class);
+        when(attribute.isAssociation()).thenReturn(false);
+        return attribute;
+    }
+
+    private static Type<?> type(Class<?> javaType) {
+        final Type<?> type = mock(Type.class);
+        doReturn(javaType).when(type).getJavaType();
+        return type;
+    }
+
+    /** Delivers invalidations published by the channel of one instance to the channels of the other instances. */
+    private static class InstancesChannel {
+        final List<Consumer<Set<String>>> subscribers = new ArrayList<>();
+
+        CacheInvalidationChannel channel() {
+            final List<Consumer<Set<String>>> own = new ArrayList<>();
+            return new CacheInvalidationChannel() {
+                @Override
+                public void publish(Set<String> entityNames) {
+                    subscribers.stream()
+                               .filter(subscriber -> !own.contains(subscriber))
+                               .forEach(subscriber -> subscriber.accept(entityNames));
+                }
+
+                @Override
+                public void subscribe(Consumer<Set<String>> consumer) {
+                    own.add(consumer);
+                    subscribers.add(consumer);
+                }
+            };
+        }
+    }
+
+    private static class Workspace {}
+
+    private static class Config {}
+
+    private static class Server {}
+
+    private static class User {}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.core.db.jpa.eclipselink;
+
+import org.eclipse.che.core.db.jpa.cache.EntityCacheStatistics;
+import org.eclipse.persistence.descriptors.ClassDescriptor;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.queries.DatabaseQuery;
+import org.eclipse.persistence.sessions.SessionProfiler;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link EntityCacheProfiler}.
+ */
+public class EntityCacheProfilerTest {
+
+    private AbstractSession     session;
+    private EntityCacheProfiler profiler;
+
+    @BeforeMethod
+    public void setUp() {
+        session = mock(AbstractSession.class);
+        final ClassDescriptor descriptor = mock(ClassDescriptor.class);
+        when(descriptor.getAlias()).thenReturn("Workspace");
+        when(session.getDescriptor(Workspace.class)).thenReturn(descriptor);
+        profiler = new EntityCacheProfiler();
+    }
+
+    @Test
+    public void countsCacheHitsAndMissesPerEntity() {
+        profiler.occurred(SessionProfiler.CacheHits, query(Workspace.class), session);
+        profiler.occurred(SessionProfiler.CacheHits, query(Workspace.class), session);
+        profiler.occurred(SessionProfiler.CacheHits, query(Workspace.class), session);
+        profiler.occurred(SessionProfiler.CacheMisses, query(Workspace.class), session);
+
+        final EntityCacheStatistics statistics = profiler.getStatistics().get("Workspace");
+        assertEquals(statistics.getHits(), 3);
+        assertEquals(statistics.getMisses(), 1);
+        assertEquals(statistics.getHitRatio(), 0.75);
+    }
+
+    @Test
+    public void usesClassNameOfEntityWithoutDescriptor() {
+        profiler.occurred(SessionProfiler.CacheMisses, query(Stack.class), session);
+
+        final Map<String, EntityCacheStatistics> statistics = profiler.getStatistics();
+        assertEquals(statistics.get(Stack.class.getName()).getMisses(), 1);
+    }
+
+    @Test
+    public void ignoresOtherOperationsAndQueriesWithoutReferenceClass() {
+        profiler.occurred("Counter:UnitOfWorkCommits", query(Workspace.class), session);
+        profiler.occurred(SessionProfiler.CacheHits, mock(DatabaseQuery.class), session);
+        profiler.occurred(SessionProfiler.CacheHits, null, session);
+
+        assertTrue(profiler.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void logsStatistics() {
+        profiler.occurred(SessionProfiler.CacheHits, query(Workspace.class), session);
+
+        profiler.logStatistics();
+    }
+
+    private static DatabaseQuery query(Class<?> referenceClass) {
+        final DatabaseQuery query = mock(DatabaseQuery.class);
+        doReturn(referenceClass).when(query).getReferenceClass();
+        return query;
+    }
+
+    private static class Workspace {}
+
+    private static class Stack {}
+}
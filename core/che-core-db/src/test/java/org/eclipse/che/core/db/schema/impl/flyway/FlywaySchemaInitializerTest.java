@@ -43,6 +43,7 @@ import java.util.Set;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.fail;
 
 /**
  * Tests {@link FlywaySchemaInitializer}.
@@ -163,6 +164,17 @@ public class FlywaySchemaInitializerTest {
         initializer.init();
     }
 
+    @Test
+    public void ignoresScriptsOfOtherProvidersWhenThereIsNoDefaultScript() throws Exception {
+        createScript("1.0/1__init.sql", "CREATE TABLE test (id INT, text TEXT, PRIMARY KEY (id));");
+        createScript("2.0/postgresql/1__add_data.sql", "INSERT INTO test VALUES(1, 'postgresql data');");
+        createScript("2.0/2__add_data.sql", "INSERT INTO test VALUES(2, 'default data');");
+
+        FlywayInitializerBuilder.from(dataSource).build().init();
+
+        assertEquals(queryEntities(), Sets.newHashSet(new TestEntity(2, "default data")));
+    }
+
     @Test
     public void replacesVariablesWhenPlaceholderReplacerIsConfigured() throws Exception {
         createScript("1.0/1__init.sql", "CREATE TABLE test (id INT, text TEXT, PRIMARY KEY (id));" +
@@ -176,6 +188,38 @@ public class FlywaySchemaInitializerTest {
         assertEquals(queryEntities(), Sets.newHashSet(new TestEntity(1, "test")));
     }
 
+    @Test
+    public void skipsValidationWhenSchemaIsUpToDateAndSkippingIsEnabled() throws Exception {
+        createScript("1.0/1__init.sql", "CREATE TABLE test (id INT, text TEXT, PRIMARY KEY (id));");
+        final FlywaySchemaInitializer initializer = FlywayInitializerBuilder.from(dataSource).build();
+        initializer.init();
+
+        // checksum of the applied script changes
+        createScript("1.0/1__init.sql", "CREATE TABLE test (id INT, text VARCHAR(255), PRIMARY KEY (id));");
+        initializer.setSkipValidationWhenCurrent(true);
+        initializer.init();
+
+        initializer.setSkipValidationWhenCurrent(false);
+        try {
+            initializer.init();
+            fail("Validation is expected to fail");
+        } catch (SchemaInitializationException ignored) {
+        }
+    }
+
+    @Test
+    public void validatesAndMigratesWhenThereArePendingMigrationsAndSkippingIsEnabled() throws Exception {
+        createScript("1.0/1__init.sql", "CREATE TABLE test (id INT, text TEXT, PRIMARY KEY (id));");
+        final FlywaySchemaInitializer initializer = FlywayInitializerBuilder.from(dataSource).build();
+        initializer.setSkipValidationWhenCurrent(true);
+        initializer.init();
+        createScript("2.0/1__add_data.sql", "INSERT INTO test VALUES(1, 'test1');");
+
+        initializer.init();
+
+        assertEquals(queryEntities(), Sets.newHashSet(new TestEntity(1, "test1")));
+    }
+
     private Set<TestEntity> queryEntities() throws SQLException {
         final Set<TestEntity> entities = new HashSet<>();
         try (Connection conn = dataSource.getConnection()) {
@@ -21,6 +21,7 @@ import org.testng.annotations.Test;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -33,6 +34,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
@@ -50,6 +53,7 @@ public class ResourcesFinderTest {
     public void setUpDefaults() {
         flyway.setSqlMigrationSuffix(".sql");
         flyway.setSqlMigrationPrefix("");
+        flyway.setClassLoader(Thread.currentThread().getContextClassLoader());
     }
 
     @AfterMethod
@@ -120,6 +124,53 @@ public class ResourcesFinderTest {
                                                            "finder-cp-sql-files/2.0/postgresql/1.sql"));
     }
 
+    @Test
+    public void findsClassPathScriptsListedInManifestWithoutScanning() throws Exception {
+        flyway.setLocations("classpath:finder-manifest-sql-files");
+        cleanAfter.addAll(createFiles("finder-manifest-sql-files/1.0/1.sql",
+                                      "finder-manifest-sql-files/1.0/2.sql",
+                                      "finder-manifest-sql-files/2.0/postgresql/1.sql",
+                                      "finder-manifest-sql-files/2.0/readme.txt"));
+        cleanAfter.addAll(createFile("finder-manifest-sql-files/" + ResourcesFinder.MANIFEST_NAME,
+                                     "1.0/1.sql\n2.0/postgresql/1.sql\n2.0/readme.txt\n"));
+
+        final Set<String> locations = findResources(flyway).get("classpath:finder-manifest-sql-files");
+
+        assertEquals(locations, newHashSet("finder-manifest-sql-files/1.0/1.sql",
+                                           "finder-manifest-sql-files/2.0/postgresql/1.sql"));
+    }
+
+    @Test
+    public void mergesManifestsOfAllClassPathRootsAndScansRootsWithoutManifest() throws Exception {
+        final Path root1 = Files.createTempDirectory("finder-root");
+        final Path root2 = Files.createTempDirectory("finder-root");
+        final Path root3 = Files.createTempDirectory("finder-root");
+        cleanAfter.addAll(createFiles(root1, "finder-shared-sql-files/1.0/1.sql"));
+        cleanAfter.addAll(createFile(root1, "finder-shared-sql-files/" + ResourcesFinder.MANIFEST_NAME, "1.0/1.sql\n"));
+        cleanAfter.addAll(createFiles(root2, "finder-shared-sql-files/2.0/1.sql"));
+        cleanAfter.addAll(createFile(root2, "finder-shared-sql-files/" + ResourcesFinder.MANIFEST_NAME, "2.0/1.sql\n"));
+        cleanAfter.addAll(createFiles(root3, "finder-shared-sql-files/3.0/1.sql"));
+        cleanAfter.addAll(asList(root1.resolve("finder-shared-sql-files/1.0"),
+                                 root1.resolve("finder-shared-sql-files"),
+                                 root1,
+                                 root2.resolve("finder-shared-sql-files/2.0"),
+                                 root2.resolve("finder-shared-sql-files"),
+                                 root2,
+                                 root3.resolve("finder-shared-sql-files/3.0"),
+                                 root3.resolve("finder-shared-sql-files"),
+                                 root3));
+        flyway.setClassLoader(new URLClassLoader(new URL[] {root1.toUri().toURL(),
+                                                            root2.toUri().toURL(),
+                                                            root3.toUri().toURL()}, null));
+        flyway.setLocations("classpath:finder-shared-sql-files");
+
+        final Set<String> locations = findResources(flyway).get("classpath:finder-shared-sql-files");
+
+        assertEquals(locations, newHashSet("finder-shared-sql-files/1.0/1.sql",
+                                           "finder-shared-sql-files/2.0/1.sql",
+                                           "finder-shared-sql-files/3.0/1.sql"));
+    }
+
     private static Map<String, Set<String>> findResources(FlywayConfiguration configuration) throws IOException {
         final Map<Location, List<Resource>> resources = new ResourcesFinder().findResources(configuration);
         final Map<String, Set<String>> locations = new HashMap<>();
@@ -132,10 +183,21 @@ public class ResourcesFinderTest {
         return locations;
     }
 
+    private static List<Path> createFile(String stringPath, String content) throws URISyntaxException, IOException {
+        return createFile(classesDir(), stringPath, content);
+    }
+
+    private static List<Path> createFile(Path root, String stringPath, String content) throws IOException {
+        final Path path = root.resolve(Paths.get(stringPath));
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return singletonList(path);
+    }
+
     private static List<Path> createFiles(String... paths) throws URISyntaxException, IOException {
-        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
-        assertNotNull(url);
-        final Path classesDir = Paths.get(url.toURI());
+        return createFiles(classesDir(), paths);
+    }
+
+    private static List<Path> createFiles(Path classesDir, String... paths) throws IOException {
         final List<Path> createdFiles = new ArrayList<>(paths.length);
         for (String stringPath : paths) {
             final Path path = classesDir.resolve(Paths.get(stringPath));
@@ -147,4 +209,10 @@ public class ResourcesFinderTest {
         }
         return createdFiles;
     }
+
+    private static Path classesDir() throws URISyntaxException {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
+        assertNotNull(url);
+        return Paths.get(url.toURI());
+    }
 }
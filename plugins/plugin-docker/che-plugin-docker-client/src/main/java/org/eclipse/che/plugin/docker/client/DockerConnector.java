@@ -374,7 +374,7 @@ public class DockerConnector {
      *          when a problem occurs with docker api calls
      */
     public int waitContainer(final WaitContainerParams params) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+        try (DockerConnection connection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
                                                                   "/wait")) {
@@ -434,7 +434,7 @@ public class DockerConnector {
             throws IOException {
         final Boolean stream = params.isStream();
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+        try (DockerConnection connection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/attach")
                                                             .query("stdout", 1)
@@ -463,7 +463,7 @@ public class DockerConnector {
      */
     public void getContainerLogs(final GetContainerLogsParams params, MessageProcessor<LogMessage> containerLogsProcessor)
             throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+        try (DockerConnection connection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                             .method("GET")
                                                             .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/logs")
                                                             .query("stdout", 1)
@@ -529,7 +529,7 @@ public class DockerConnector {
                                                    .withTty(params.isTty() == Boolean.TRUE);
 
         byte[] entityBytesArray = toJson(execStart).getBytes(StandardCharsets.UTF_8);
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+        try (DockerConnection connection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/exec/" + params.getExecId() + "/start")
                                                             .header("Content-Type", MediaType.APPLICATION_JSON)
@@ -699,7 +699,7 @@ public class DockerConnector {
     public void getEvents(final GetEventsParams params, MessageProcessor<Event> messageProcessor) throws IOException {
         final Filters filters = params.getFilters();
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+        try (DockerConnection connection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                             .method("GET")
                                                             .path(apiVersionPathPrefix + "/events")) {
             addQueryParamIfNotNull(connection, "since", params.getSinceSecond());
@@ -731,7 +731,7 @@ public class DockerConnector {
 
         if (params.getRemote() != null) {
             // build context provided by remote URL
-            DockerConnection dockerConnection = connectionFactory.openConnection(dockerDaemonUri)
+            DockerConnection dockerConnection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                                  .query("remote", params.getRemote());
             return buildImage(dockerConnection,
                               params,
@@ -745,7 +745,7 @@ public class DockerConnector {
             files = params.getFiles().toArray(files);
             createTarArchive(tar, files);
             try (InputStream tarInput = new FileInputStream(tar)) {
-                DockerConnection dockerConnection = connectionFactory.openConnection(dockerDaemonUri)
+                DockerConnection dockerConnection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                                      .header("Content-Type", "application/x-compressed-tar")
                                                                      .header("Content-Length", tar.length())
                                                                      .entity(tarInput);
@@ -905,7 +905,7 @@ public class DockerConnector {
     public String push(final PushParams params, final ProgressMonitor progressMonitor) throws IOException {
         final String fullRepo = params.getFullRepo();
 
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+        try (DockerConnection connection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/images/" + fullRepo + "/push")
                                                             .header("X-Registry-Auth",
@@ -1015,7 +1015,7 @@ public class DockerConnector {
     protected void pull(final PullParams params,
                         final ProgressMonitor progressMonitor,
                         final URI dockerDaemonUri) throws IOException {
-        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+        try (DockerConnection connection = connectionFactory.openDedicatedConnection(dockerDaemonUri)
                                                             .method("POST")
                                                             .path(apiVersionPathPrefix + "/images/create")
                                                             .query("fromImage", params.getFullRepo())
@@ -11,23 +11,39 @@
 package org.eclipse.che.plugin.docker.client.connection;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
  *
+ * <p>Connections opened with {@link #openConnection(URI)} reuse HTTP/1.1 keep-alive connections to the daemon.
+ * Unix socket connections are kept in {@link UnixSocketConnectionPool} per daemon which also limits
+ * the number of the connections opened to the daemon, a request waits for a free connection up to the connection timeout,
+ * pooling of tcp connections is delegated to JDK keep-alive cache.
+ * Long-lived streaming calls (events, logs, attach, etc.) should use {@link #openDedicatedConnection(URI)}
+ * that is never reused.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "che.docker.tcp_connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "che.docker.tcp_connection_read_timeout_ms";
+    public static final String POOL_ENABLED_PROPERTY               = "che.docker.connection_pool.enabled";
+    public static final String POOL_MAX_IDLE_PROPERTY              = "che.docker.connection_pool.max_idle_per_daemon";
+    public static final String POOL_MAX_TOTAL_PROPERTY             = "che.docker.connection_pool.max_total_per_daemon";
+    public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY       = "che.docker.connection_pool.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,18 +53,67 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    @Inject(optional = true)
+    @Named(POOL_ENABLED_PROPERTY)
+    private boolean poolEnabled = true;
+
+    @Inject(optional = true)
+    @Named(POOL_MAX_IDLE_PROPERTY)
+    private int poolMaxIdle = 10;
+
+    @Inject(optional = true)
+    @Named(POOL_MAX_TOTAL_PROPERTY)
+    private int poolMaxTotal = 50;
+
+    @Inject(optional = true)
+    @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private long poolIdleTimeoutMs = 30000;
+
+    private final DockerCertificates                              dockerCertificates;
+    private final ConcurrentMap<String, UnixSocketConnectionPool> unixSocketPools;
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+        this.unixSocketPools = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Opens connection which may reuse connection of previous requests to the same daemon.
+     * Connection is returned to the pool on {@link DockerConnection#close()} if its response was read completely.
+     */
     public DockerConnection openConnection(URI dockerDaemonUri) {
+        if (!poolEnabled) {
+            return openDedicatedConnection(dockerDaemonUri);
+        }
+        if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
+            final UnixSocketConnectionPool pool =
+                    unixSocketPools.computeIfAbsent(dockerDaemonUri.getPath(),
+                                                    path -> new UnixSocketConnectionPool(path,
+                                                                                         poolMaxIdle,
+                                                                                         poolMaxTotal,
+                                                                                         poolIdleTimeoutMs,
+                                                                                         connectionTimeoutMs));
+            return new UnixSocketConnection(dockerDaemonUri.getPath(), pool);
+        } else {
+            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs, true);
+        }
+    }
+
+    /**
+     * Opens connection that is not shared with any other request and is closed on {@link DockerConnection#close()}.
+     */
+    public DockerConnection openDedicatedConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
             return new UnixSocketConnection(dockerDaemonUri.getPath());
         } else {
             return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
         }
     }
+
+    @PreDestroy
+    public void shutdown() {
+        unixSocketPools.values().forEach(UnixSocketConnectionPool::shutdown);
+        unixSocketPools.clear();
+    }
 }
@@ -17,6 +17,7 @@ import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
 import javax.net.ssl.HttpsURLConnection;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
@@ -24,6 +25,11 @@ import java.net.URL;
 import java.util.List;
 
 /**
+ * Connection to docker API over http(s).
+ *
+ * <p>Keep-alive connection is not disconnected on {@link #close()}, its response stream is closed instead
+ * so JDK may cache underlying socket and reuse it for the next request to the same daemon.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
@@ -32,10 +38,20 @@ public class TcpConnection extends DockerConnection {
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
+    private final boolean            keepAlive;
 
     private HttpURLConnection connection;
+    private boolean           requestSent;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, false);
+    }
+
+    public TcpConnection(URI baseUri,
+                         DockerCertificates certificates,
+                         int connectionTimeoutMs,
+                         int readTimeoutMs,
+                         boolean keepAlive) {
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,6 +63,7 @@ public class TcpConnection extends DockerConnection {
         this.certificates = certificates;
         this.connectionTimeout = connectionTimeoutMs;
         this.readTimeout = readTimeoutMs;
+        this.keepAlive = keepAlive;
     }
 
     @Override
@@ -62,8 +79,10 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        if (!keepAlive) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -79,13 +98,25 @@ public class TcpConnection extends DockerConnection {
                 entity.writeTo(output);
             }
         }
+        requestSent = true;
         return new TcpDockerResponse(connection);
     }
 
     @Override
     public void close() {
-        if (connection != null) {
-            connection.disconnect();
+        if (connection == null) {
+            return;
+        }
+        if (keepAlive && requestSent) {
+            try {
+                // closing of fully read response stream returns socket to JDK keep-alive cache
+                final InputStream errorStream = connection.getErrorStream();
+                (errorStream != null ? errorStream : connection.getInputStream()).close();
+                return;
+            } catch (IOException ignored) {
+                // can't reuse connection
+            }
         }
+        connection.disconnect();
     }
 }
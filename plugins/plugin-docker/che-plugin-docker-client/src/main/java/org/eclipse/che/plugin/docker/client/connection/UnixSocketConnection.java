@@ -13,7 +13,6 @@ package org.eclipse.che.plugin.docker.client.connection;
 import com.google.common.base.Strings;
 
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.CLibrary;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -22,25 +21,37 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 
-import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
+ * Connection to docker API over unix socket.
+ *
+ * <p>When connection is created with {@link UnixSocketConnectionPool} socket is borrowed from
+ * the pool and returned back on {@link #close()} if response can be read completely,
+ * otherwise it is closed. Connection without pool opens new socket and closes it on {@link #close()}.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    /** Max size of unread response body that is skipped to return socket to the pool. */
+    private static final int MAX_UNREAD_BYTES_TO_REUSE = 64 * 1024;
+
+    private final String                   dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
 
-    private int fd = -1;
+    private int                      fd = -1;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
+        this(dockerSocketPath, null);
+    }
+
+    public UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool pool) {
         this.dockerSocketPath = dockerSocketPath;
+        this.pool = pool;
     }
 
     @Override
@@ -52,29 +63,27 @@ public class UnixSocketConnection extends DockerConnection {
         if (entity != null) {
             entity.writeTo(output);
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        return response = new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
     }
 
 
     @Override
     public void close() {
-        if (fd != -1) {
+        if (fd == -1) {
+            return;
+        }
+        if (pool == null) {
             getCLibrary().close(fd);
+        } else if (response != null && response.consumeForReuse(MAX_UNREAD_BYTES_TO_REUSE)) {
+            pool.release(fd);
+        } else {
+            pool.discard(fd);
         }
+        fd = -1;
     }
 
     private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
-        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-        if (fd == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-        int c = cLib.connect(fd, sockAddr, sockAddr.size());
-        if (c == -1) {
-            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-        }
-        return fd;
+        return pool != null ? pool.acquire() : UnixSocketConnectionPool.connect(dockerSocketPath);
     }
 
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.sun.jna.Native;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Keeps idle HTTP/1.1 keep-alive connections to a single docker unix socket.
+ *
+ * <p>Sockets in use are owned by {@link UnixSocketConnection} until they are {@link #release(int) released}
+ * or {@link #discard(int) discarded}, but they are counted by the pool, so the number of the sockets opened
+ * through the pool to the daemon never exceeds max total. When all the sockets are in use {@link #acquire()}
+ * waits for released one up to the acquire timeout. Dedicated connections of streaming calls are not counted.
+ * Idle sockets that are older than idle timeout are closed lazily on every
+ * {@link #acquire()} and {@link #release(int)}, before reuse socket is checked that it is not closed by daemon.
+ */
+public class UnixSocketConnectionPool {
+    // Defined in 'sys/socket.h'
+    private static final int MSG_PEEK     = 0x02;
+    private static final int MSG_DONTWAIT = 0x40;
+    // Defined in 'errno.h'
+    private static final int EAGAIN       = 11;
+
+    private final CLibrary          cLib;
+    private final String            dockerSocketPath;
+    private final int               maxIdle;
+    private final int               maxTotal;
+    private final long              idleTimeoutMs;
+    private final long              acquireTimeoutMs;
+    private final Deque<IdleSocket> idle;
+
+    /** The number of the sockets opened through the pool including idle ones. */
+    private int open;
+
+    public UnixSocketConnectionPool(String dockerSocketPath, int maxIdle, int maxTotal, long idleTimeoutMs, long acquireTimeoutMs) {
+        this(getCLibrary(), dockerSocketPath, maxIdle, maxTotal, idleTimeoutMs, acquireTimeoutMs);
+    }
+
+    UnixSocketConnectionPool(CLibrary cLib,
+                             String dockerSocketPath,
+                             int maxIdle,
+                             int maxTotal,
+                             long idleTimeoutMs,
+                             long acquireTimeoutMs) {
+        this.cLib = cLib;
+        this.dockerSocketPath = dockerSocketPath;
+        this.maxIdle = Math.min(maxIdle, maxTotal);
+        this.maxTotal = maxTotal;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.idle = new ArrayDeque<>();
+    }
+
+    /**
+     * Returns file descriptor of healthy idle socket or opens new one if there is no such socket in the pool.
+     *
+     * @throws IOException
+     *         when new socket can't be connected to docker daemon
+     *         or all the sockets of the pool are busy longer than acquire timeout
+     */
+    public int acquire() throws IOException {
+        final long deadline = System.currentTimeMillis() + acquireTimeoutMs;
+        for (; ; ) {
+            final IdleSocket socket;
+            synchronized (idle) {
+                for (; ; ) {
+                    evictExpired();
+                    if (!idle.isEmpty() || open < maxTotal) {
+                        break;
+                    }
+                    final long timeLeft = deadline - System.currentTimeMillis();
+                    if (timeLeft <= 0) {
+                        throw new ConnectException(String.format("All %d connections to unix socket '%s' are busy",
+                                                                 maxTotal, dockerSocketPath));
+                    }
+                    try {
+                        idle.wait(timeLeft);
+                    } catch (InterruptedException x) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for connection to " + dockerSocketPath);
+                    }
+                }
+                // last released socket is the most likely to be alive
+                socket = idle.pollLast();
+                if (socket == null) {
+                    // reserve the place in the pool, socket is connected outside of the lock
+                    open++;
+                }
+            }
+            if (socket == null) {
+                try {
+                    return connect(cLib, dockerSocketPath);
+                } catch (IOException x) {
+                    closed();
+                    throw x;
+                }
+            }
+            if (isAlive(socket.fd)) {
+                return socket.fd;
+            }
+            discard(socket.fd);
+        }
+    }
+
+    /**
+     * Returns socket to the pool, closes it if pool is full.
+     * Socket must not have unread data of previous response.
+     */
+    public void release(int fd) {
+        synchronized (idle) {
+            evictExpired();
+            if (idle.size() < maxIdle) {
+                idle.addLast(new IdleSocket(fd, System.currentTimeMillis()));
+                idle.notifyAll();
+                return;
+            }
+        }
+        discard(fd);
+    }
+
+    /** Closes socket that can't be reused, e.g. when response wasn't read till the end. */
+    public void discard(int fd) {
+        cLib.close(fd);
+        closed();
+    }
+
+    /** Returns number of idle sockets in the pool. */
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /** Returns number of sockets opened through the pool, both idle and in use. */
+    public int getOpenCount() {
+        synchronized (idle) {
+            return open;
+        }
+    }
+
+    /** Closes all idle sockets. */
+    public void shutdown() {
+        synchronized (idle) {
+            for (IdleSocket socket : idle) {
+                cLib.close(socket.fd);
+            }
+            open -= idle.size();
+            idle.clear();
+            idle.notifyAll();
+        }
+    }
+
+    /**
+     * Opens new socket connected to specified docker unix socket.
+     *
+     * @return file descriptor of the socket
+     * @throws IOException
+     *         when socket can't be opened or connected
+     */
+    static int connect(String dockerSocketPath) throws IOException {
+        return connect(getCLibrary(), dockerSocketPath);
+    }
+
+    private static int connect(CLibrary cLib, String dockerSocketPath) throws IOException {
+        int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+        if (fd == -1) {
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        }
+        final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
+        int c = cLib.connect(fd, sockAddr, sockAddr.size());
+        if (c == -1) {
+            cLib.close(fd);
+            throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+        }
+        return fd;
+    }
+
+    /**
+     * Idle socket is healthy when there is nothing to read from it without blocking.
+     * Zero bytes read means that daemon closed connection, any data means that socket is in unknown state.
+     */
+    boolean isAlive(int fd) {
+        final int n = cLib.recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT);
+        return n == -1 && Native.getLastError() == EAGAIN;
+    }
+
+    private void closed() {
+        synchronized (idle) {
+            open--;
+            idle.notifyAll();
+        }
+    }
+
+    private void evictExpired() {
+        final long expiredBefore = System.currentTimeMillis() - idleTimeoutMs;
+        for (Iterator<IdleSocket> it = idle.iterator(); it.hasNext(); ) {
+            final IdleSocket socket = it.next();
+            if (socket.releasedAt < expiredBefore) {
+                it.remove();
+                cLib.close(socket.fd);
+                open--;
+                idle.notifyAll();
+            }
+        }
+    }
+
+    private static class IdleSocket {
+        final int  fd;
+        final long releasedAt;
+
+        IdleSocket(int fd, long releasedAt) {
+            this.fd = fd;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
@@ -152,4 +152,35 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Reads rest of the response body and checks whether connection may be used for the next request.
+     * Connection is reusable only when the response body is delimited by content length or chunked
+     * encoding, it is read till the end and daemon didn't ask to close connection.
+     *
+     * @param maxUnreadBytes
+     *         max number of bytes to skip, response with bigger unread body is considered not reusable
+     */
+    boolean consumeForReuse(int maxUnreadBytes) {
+        if (headersFields == null) {
+            return false;
+        }
+        try {
+            if ("close".equalsIgnoreCase(getHeader("Connection")) || data == rawData) {
+                return false;
+            }
+            final byte[] buf = new byte[1024];
+            int skipped = 0;
+            int n;
+            while ((n = data.read(buf)) != -1) {
+                skipped += n;
+                if (skipped > maxUnreadBytes) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
 }
@@ -200,6 +200,7 @@ public class DockerConnectorTest {
     public void setup() throws IOException, URISyntaxException {
         dockerConnection = mock(DockerConnection.class, new SelfReturningAnswer());
         when(dockerConnectionFactory.openConnection(any(URI.class))).thenReturn(dockerConnection);
+        when(dockerConnectionFactory.openDedicatedConnection(any(URI.class))).thenReturn(dockerConnection);
         when(dockerConnection.request()).thenReturn(dockerResponse);
         when(dockerConnectorConfiguration.getAuthConfigs()).thenReturn(initialAuthConfig);
         when(dockerResponse.getStatus()).thenReturn(RESPONSE_SUCCESS_CODE);
@@ -556,7 +557,7 @@ public class DockerConnectorTest {
         int returnedExitCode =
                 dockerConnector.waitContainer(waitContainerParams);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/containers/" + waitContainerParams.getContainer() + "/wait");
         verify(dockerConnection).request();
@@ -634,7 +635,7 @@ public class DockerConnectorTest {
 
         dockerConnector.attachContainer(attachContainerParams, logMessageProcessor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/containers/" + attachContainerParams.getContainer() + "/attach");
         verify(dockerConnection).query("stdout", 1);
@@ -662,7 +663,7 @@ public class DockerConnectorTest {
 
         dockerConnector.getContainerLogs(getContainerLogsParams, logMessageProcessor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/containers/" + getContainerLogsParams.getContainer() + "/logs");
         verify(dockerConnection).query("stdout", 1);
@@ -740,7 +741,7 @@ public class DockerConnectorTest {
 
         dockerConnector.startExec(startExecParams, logMessageProcessor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/exec/" + startExecParams.getExecId() + "/start");
         verify(dockerConnection).header("Content-Type", MediaType.APPLICATION_JSON);
@@ -937,7 +938,7 @@ public class DockerConnectorTest {
 
         dockerConnector.getEvents(getEventsParams, eventMessageProcessor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_GET);
         verify(dockerConnection).path("/events");
         verify(dockerConnection).request();
@@ -975,7 +976,7 @@ public class DockerConnectorTest {
         String returnedImageId =
                 dockerConnector.buildImage(buildImageParams, progressMonitor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/build");
 
@@ -1012,7 +1013,7 @@ public class DockerConnectorTest {
         String returnedImageId =
                 dockerConnector.buildImage(buildImageParams, progressMonitor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/build");
 
@@ -1077,7 +1078,7 @@ public class DockerConnectorTest {
         String returnedImageId =
                 dockerConnector.buildImage(buildImageParams, progressMonitor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/build");
 
@@ -1215,7 +1216,7 @@ public class DockerConnectorTest {
 
         dockerConnector.push(pushParams, progressMonitor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/images/" + pushParams.getRepository() + "/push");
         verify(dockerConnection).header(eq("X-Registry-Auth"), any(AuthConfig.class));
@@ -1234,7 +1235,7 @@ public class DockerConnectorTest {
 
         dockerConnector.push(pushParams, progressMonitor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/images/" + pushParams.getRegistry() + '/' + pushParams.getRepository() + "/push");
         verify(dockerConnection).header(eq("X-Registry-Auth"), any(AuthConfig.class));
@@ -1346,7 +1347,7 @@ public class DockerConnectorTest {
 
         dockerConnector.pull(pullParams, progressMonitor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/images/create");
         verify(dockerConnection).query("fromImage", pullParams.getImage());
@@ -1365,7 +1366,7 @@ public class DockerConnectorTest {
 
         dockerConnector.pull(pullParams, progressMonitor);
 
-        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnectionFactory).openDedicatedConnection(any(URI.class));
         verify(dockerConnection).method(REQUEST_METHOD_POST);
         verify(dockerConnection).path("/images/create");
         verify(dockerConnection).query("fromImage", pullParams.getRegistry() + '/' + pullParams.getImage());
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+import com.sun.net.httpserver.HttpServer;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+/**
+ * Tests keep-alive handling of {@link TcpConnection}.
+ */
+public class TcpConnectionTest {
+    private HttpServer    server;
+    private URI           daemonUri;
+    private List<Integer> clientPorts;
+    private List<String>  connectionHeaders;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        clientPorts = new CopyOnWriteArrayList<>();
+        connectionHeaders = new CopyOnWriteArrayList<>();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            connectionHeaders.add(String.valueOf(exchange.getRequestHeaders().getFirst("Connection")));
+            final byte[] body = "{\"Containers\":1}".getBytes(UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        daemonUri = new URI("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void reusesSocketOfKeepAliveConnection() throws Exception {
+        requestInfo(true);
+        requestInfo(true);
+
+        assertEquals(clientPorts.size(), 2);
+        assertEquals(clientPorts.get(1), clientPorts.get(0));
+        assertNotEquals(connectionHeaders.get(0).toLowerCase(), "close");
+    }
+
+    @Test
+    public void closesSocketOfDedicatedConnection() throws Exception {
+        requestInfo(false);
+        requestInfo(false);
+
+        assertEquals(clientPorts.size(), 2);
+        assertNotEquals(clientPorts.get(1), clientPorts.get(0));
+        assertEquals(connectionHeaders.get(0).toLowerCase(), "close");
+    }
+
+    private void requestInfo(boolean keepAlive) throws Exception {
+        try (DockerConnection connection = new TcpConnection(daemonUri, null, 1000, 1000, keepAlive).method("GET").path("/info")) {
+            final DockerResponse response = connection.request();
+            assertEquals(response.getStatus(), 200);
+            ByteStreams.toByteArray(response.getInputStream());
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link UnixSocketConnectionPool}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class UnixSocketConnectionPoolTest {
+    private static final String SOCKET_PATH = "/var/run/docker.sock";
+
+    @Mock
+    private CLibrary cLib;
+
+    private AtomicInteger lastFd;
+    private Set<Integer>  closedByDaemon;
+
+    @BeforeMethod
+    public void setUp() {
+        lastFd = new AtomicInteger(100);
+        closedByDaemon = new HashSet<>();
+        when(cLib.socket(anyInt(), anyInt(), anyInt())).thenAnswer(invocation -> lastFd.incrementAndGet());
+    }
+
+    @Test
+    public void reusesReleasedSocket() throws Exception {
+        final UnixSocketConnectionPool pool = pool(2, 2, 60_000, 1000);
+
+        final int fd = pool.acquire();
+        pool.release(fd);
+
+        assertEquals(pool.acquire(), fd);
+        verify(cLib, times(1)).socket(anyInt(), anyInt(), anyInt());
+        verify(cLib, never()).close(fd);
+        assertEquals(pool.getOpenCount(), 1);
+    }
+
+    @Test
+    public void closesDiscardedSocket() throws Exception {
+        final UnixSocketConnectionPool pool = pool(2, 2, 60_000, 1000);
+
+        final int fd = pool.acquire();
+        pool.discard(fd);
+
+        verify(cLib).close(fd);
+        assertEquals(pool.getOpenCount(), 0);
+        assertNotEquals(pool.acquire(), fd);
+    }
+
+    @Test
+    public void replacesIdleSocketClosedByDaemon() throws Exception {
+        final UnixSocketConnectionPool pool = pool(2, 2, 60_000, 1000);
+        final int fd = pool.acquire();
+        pool.release(fd);
+        closedByDaemon.add(fd);
+
+        assertNotEquals(pool.acquire(), fd);
+        verify(cLib).close(fd);
+        assertEquals(pool.getOpenCount(), 1);
+    }
+
+    @Test
+    public void closesIdleSocketAfterIdleTimeout() throws Exception {
+        final UnixSocketConnectionPool pool = pool(2, 2, 50, 1000);
+        final int fd = pool.acquire();
+        pool.release(fd);
+
+        Thread.sleep(150);
+
+        assertNotEquals(pool.acquire(), fd);
+        verify(cLib).close(fd);
+        assertEquals(pool.getIdleCount(), 0);
+        assertEquals(pool.getOpenCount(), 1);
+    }
+
+    @Test
+    public void closesReleasedSocketWhenIdleLimitIsReached() throws Exception {
+        final UnixSocketConnectionPool pool = pool(1, 2, 60_000, 1000);
+        final int first = pool.acquire();
+        final int second = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+
+        verify(cLib).close(second);
+        assertEquals(pool.getIdleCount(), 1);
+        assertEquals(pool.getOpenCount(), 1);
+    }
+
+    @Test
+    public void waitsForReleasedSocketWhenMaxTotalIsReached() throws Exception {
+        final UnixSocketConnectionPool pool = pool(1, 1, 60_000, 5000);
+        final int fd = pool.acquire();
+
+        final CompletableFuture<Integer> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.acquire();
+            } catch (IOException x) {
+                throw new RuntimeException(x);
+            }
+        });
+        Thread.sleep(200);
+        assertFalse(waiting.isDone());
+        pool.release(fd);
+
+        assertEquals(waiting.get(5, TimeUnit.SECONDS).intValue(), fd);
+        verify(cLib, times(1)).socket(anyInt(), anyInt(), anyInt());
+    }
+
+    @Test(expectedExceptions = ConnectException.class)
+    public void failsWhenAllSocketsAreBusyLongerThanAcquireTimeout() throws Exception {
+        final UnixSocketConnectionPool pool = pool(1, 1, 60_000, 100);
+        pool.acquire();
+
+        pool.acquire();
+    }
+
+    @Test
+    public void freesPlaceOfSocketWhichCanNotBeConnected() throws Exception {
+        when(cLib.connect(anyInt(), any(SockAddrUn.class), anyInt())).thenReturn(-1, 0);
+        final UnixSocketConnectionPool pool = pool(1, 1, 60_000, 100);
+
+        try {
+            pool.acquire();
+            fail("Expected connection failure");
+        } catch (ConnectException expected) {
+            assertEquals(pool.getOpenCount(), 0);
+        }
+        pool.acquire();
+        assertEquals(pool.getOpenCount(), 1);
+    }
+
+    private UnixSocketConnectionPool pool(int maxIdle, int maxTotal, long idleTimeoutMs, long acquireTimeoutMs) {
+        return new UnixSocketConnectionPool(cLib, SOCKET_PATH, maxIdle, maxTotal, idleTimeoutMs, acquireTimeoutMs) {
+            @Override
+            boolean isAlive(int fd) {
+                return !closedByDaemon.contains(fd);
+            }
+        };
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests reading of the rest of {@link UnixSocketDockerResponse} before its connection is returned to the pool.
+ */
+public class UnixSocketDockerResponseTest {
+    private static final String NEXT_RESPONSE = "HTTP/1.1 204 No Content\r\n\r\n";
+
+    @Test
+    public void skipsUnreadBodyDelimitedByContentLength() throws Exception {
+        final InputStream socket = socket("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\n0123456789" + NEXT_RESPONSE);
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(socket);
+        assertEquals(response.getInputStream().read(new byte[3]), 3);
+
+        assertTrue(response.consumeForReuse(64));
+        assertEquals(new UnixSocketDockerResponse(socket).getStatus(), 204);
+    }
+
+    @Test
+    public void skipsUnreadChunkedBody() throws Exception {
+        final InputStream socket = socket("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n" +
+                                          "5\r\nhello\r\n6\r\n world\r\n0\r\n\r\n" + NEXT_RESPONSE);
+        final UnixSocketDockerResponse response = new UnixSocketDockerResponse(socket);
+        assertEquals(response.getInputStream().read(new byte[2]), 2);
+
+        assertTrue(response.consumeForReuse(64));
+        assertEquals(new UnixSocketDockerResponse(socket).getStatus(), 204);
+    }
+
+    @Test
+    public void isNotReusableWhenUnreadBodyExceedsLimit() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nContent-Length: 100\r\n\r\n" + repeat('a', 100));
+        response.getStatus();
+
+        assertFalse(response.consumeForReuse(10));
+    }
+
+    @Test
+    public void isNotReusableWhenDaemonClosesConnection() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 2\r\n\r\nok");
+        response.getStatus();
+
+        assertFalse(response.consumeForReuse(64));
+    }
+
+    @Test
+    public void isNotReusableWhenBodyIsNotDelimited() throws Exception {
+        final UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n\r\nbody till the end of the stream");
+        response.getStatus();
+
+        assertFalse(response.consumeForReuse(64));
+    }
+
+    @Test
+    public void isNotReusableWhenResponseIsNotRead() throws Exception {
+        assertFalse(response("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok").consumeForReuse(64));
+    }
+
+    private static UnixSocketDockerResponse response(String raw) {
+        return new UnixSocketDockerResponse(socket(raw));
+    }
+
+    private static InputStream socket(String raw) {
+        return new ByteArrayInputStream(raw.getBytes(UTF_8));
+    }
+
+    private static String repeat(char c, int count) {
+        final StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
@@ -51,12 +51,14 @@ import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHINE_SNAPSHOT_PREFIX;
+import static org.eclipse.che.plugin.docker.machine.MachineProviderImpl.SNAPSHOT_LOCATION_PATTERN;
 
 /**
  * Docker implementation of {@link Instance}
@@ -199,21 +201,37 @@ public class DockerInstance extends AbstractInstance {
         return process;
     }
 
+    /**
+     * Saves container into snapshot image.
+     *
+     * <p>If machine was started from a snapshot, new snapshot is committed into the same repository
+     * with a new tag. Committed image has image of previous snapshot as a parent, so only layer
+     * with changes made after workspace start is created and pushed to the registry.
+     */
     @Override
     public MachineSource saveToSnapshot() throws MachineException {
+        final long startTime = System.currentTimeMillis();
+        String committedImage = null;
         try {
-            String image = generateRepository();
+            String image = getSnapshotRepository();
+            String tag = NameGenerator.generate(null, 16);
             if(!snapshotUseRegistry) {
-                commitContainer(image, LATEST_TAG);
-                return new DockerMachineSource(image).withTag(LATEST_TAG);
+                commitContainer(image, tag);
+                logSnapshotProgress(format("Snapshot '%s:%s' is saved in %ds", image, tag, secondsSince(startTime)));
+                return new DockerMachineSource(image).withTag(tag);
             }
 
             PushParams pushParams = PushParams.create(image)
                                               .withRegistry(registry)
-                                              .withTag(LATEST_TAG);
+                                              .withTag(tag);
 
             final String fullRepo = pushParams.getFullRepo();
-            commitContainer(fullRepo, LATEST_TAG);
+            commitContainer(fullRepo, tag);
+            committedImage = fullRepo + ':' + tag;
+            logSnapshotProgress(format("Snapshot '%s:%s' is committed in %ds, pushing it to registry",
+                                       fullRepo,
+                                       tag,
+                                       secondsSince(startTime)));
             //TODO fix this workaround. Docker image is not visible after commit when using swarm
             Thread.sleep(2000);
             final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
@@ -224,16 +242,32 @@ public class DockerInstance extends AbstractInstance {
                                                   } catch (IOException ignored) {
                                                   }
                                               });
-            docker.removeImage(RemoveImageParams.create(fullRepo).withForce(false));
-            return new DockerMachineSource(image).withRegistry(registry).withDigest(digest).withTag(LATEST_TAG);
+            docker.removeImage(RemoveImageParams.create(committedImage).withForce(false));
+            logSnapshotProgress(format("Snapshot '%s:%s' is saved in %ds", fullRepo, tag, secondsSince(startTime)));
+            return new DockerMachineSource(image).withRegistry(registry).withDigest(digest).withTag(tag);
         } catch (IOException ioEx) {
+            removeCommittedImage(committedImage);
             throw new MachineException(ioEx);
         } catch (InterruptedException e) {
+            // snapshot is cancelled, the committed image won't be pushed
+            removeCommittedImage(committedImage);
             Thread.currentThread().interrupt();
             throw new MachineException(e.getLocalizedMessage(), e);
         }
     }
 
+    /** Removes the image committed by the snapshot which is not completed, if any. */
+    private void removeCommittedImage(String image) {
+        if (image == null) {
+            return;
+        }
+        try {
+            docker.removeImage(RemoveImageParams.create(image).withForce(false));
+        } catch (IOException x) {
+            LOG.warn("Couldn't remove image '{}' of the incomplete snapshot. Error: {}", image, x.getLocalizedMessage());
+        }
+    }
+
     @VisibleForTesting
     protected void commitContainer(String repository, String tag) throws IOException {
         String comment = format("Suspended at %1$ta %1$tb %1$td %1$tT %1$tZ %1$tY",
@@ -247,6 +281,35 @@ public class DockerInstance extends AbstractInstance {
                                   .withComment(comment));
     }
 
+    /**
+     * Returns repository of the snapshot machine was started from,
+     * or generates new repository if machine was started from the origin source.
+     */
+    private String getSnapshotRepository() {
+        final MachineSource source = getConfig().getSource();
+        if (source != null
+            && source.getLocation() != null
+            && SNAPSHOT_LOCATION_PATTERN.matcher(source.getLocation()).matches()) {
+            try {
+                return new DockerMachineSource(source).getRepository();
+            } catch (MachineException e) {
+                LOG.warn("Can't reuse repository of snapshot '{}'. {}", source.getLocation(), e.getLocalizedMessage());
+            }
+        }
+        return generateRepository();
+    }
+
+    private void logSnapshotProgress(String message) {
+        try {
+            outputConsumer.writeLine(message);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static long secondsSince(long startTime) {
+        return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - startTime);
+    }
+
     private String generateRepository() {
         if (registryNamespace != null) {
             return registryNamespace + '/' + MACHINE_SNAPSHOT_PREFIX + NameGenerator.generate(null, 16);
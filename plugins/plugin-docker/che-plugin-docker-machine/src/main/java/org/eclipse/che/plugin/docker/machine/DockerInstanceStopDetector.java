@@ -12,43 +12,38 @@ package org.eclipse.che.plugin.docker.machine;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.collect.ImmutableSet;
 
 import org.eclipse.che.api.core.notification.EventService;
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.api.machine.server.event.InstanceStateEvent;
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.DockerConnector;
-import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
-import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.json.Event;
-import org.eclipse.che.plugin.docker.client.json.Filters;
-import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.eclipse.che.plugin.docker.machine.event.DockerEventSubscriber;
+import org.eclipse.che.plugin.docker.machine.event.DockerEventsDispatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.io.IOException;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Track docker containers events to detect containers stop or failure.
  *
+ * <p>Events are received from the shared events stream of {@link DockerEventsDispatcher}.
+ *
  * @author Alexander Garagatyi
  */
 @Singleton
-public class DockerInstanceStopDetector {
+public class DockerInstanceStopDetector implements DockerEventSubscriber {
     private static final Logger LOG = LoggerFactory.getLogger(DockerInstanceStopDetector.class);
 
+    private static final Set<String> EVENT_STATUSES = ImmutableSet.of("die", "oom");
+
     private final EventService                      eventService;
-    private final DockerConnector                   dockerConnector;
-    private final ExecutorService                   executorService;
     private final Map<String, Pair<String, String>> instances;
     /*
        Helps differentiate container main process OOM from other processes OOM
@@ -64,22 +59,13 @@ public class DockerInstanceStopDetector {
     */
     private final Cache<String, String>             containersOomTimestamps;
 
-    private long lastProcessedEventDate = 0;
-
     @Inject
-    public DockerInstanceStopDetector(EventService eventService, DockerConnectorProvider dockerConnectorProvider) {
+    public DockerInstanceStopDetector(EventService eventService) {
         this.eventService = eventService;
-        this.dockerConnector = dockerConnectorProvider.get();
         this.instances = new ConcurrentHashMap<>();
         this.containersOomTimestamps = CacheBuilder.newBuilder()
                                                    .expireAfterWrite(10, TimeUnit.SECONDS)
                                                    .build();
-        this.executorService = Executors.newSingleThreadExecutor(
-                new ThreadFactoryBuilder().setNameFormat("DockerInstanceStopDetector-%d")
-                                          .setUncaughtExceptionHandler(
-                                                  LoggingUncaughtExceptionHandler.getInstance())
-                                          .setDaemon(true)
-                                          .build());
     }
 
     /**
@@ -108,58 +94,42 @@ public class DockerInstanceStopDetector {
         instances.remove(containerId);
     }
 
-    @PostConstruct
-    private void detectContainersEvents() {
-        executorService.execute(() -> {
-            //noinspection InfiniteLoopStatement
-            while (true) {
-                try {
-                    dockerConnector.getEvents(GetEventsParams.create()
-                                                             .withSinceSecond(lastProcessedEventDate)
-                                                             .withFilters(new Filters().withFilter("event", "die", "oom")),
-                                              new EventsProcessor());
-                } catch (IOException e) {
-                    // usually connection timeout
-                    LOG.debug(e.getLocalizedMessage(), e);
-                }
-            }
-        });
+    @Override
+    public Set<String> getEventStatuses() {
+        return EVENT_STATUSES;
     }
 
-    private class EventsProcessor implements MessageProcessor<Event> {
-        @Override
-        public void process(Event message) {
-            if (message.getType() != null && !"container".equals(message.getType())) {
-                // this check is added because of bug in the docker swarm which do not filter events
-                // in case of new response format of 'get events' we should skip all not filtered by swarm event types
-                return;
-            }
+    @Override
+    public void onEvent(Event message) {
+        if (message.getType() != null && !"container".equals(message.getType())) {
+            // this check is added because of bug in the docker swarm which do not filter events
+            // in case of new response format of 'get events' we should skip all not filtered by swarm event types
+            return;
+        }
 
-            switch (message.getStatus()) {
-                case "oom":
-                    containersOomTimestamps.put(message.getId(), message.getId());
-                    LOG.info("OOM of process in container {} has been detected", message.getId());
-                    break;
-                case "die":
-                    InstanceStateEvent.Type instanceStateChangeType;
-                    if (containersOomTimestamps.getIfPresent(message.getId()) != null) {
-                        instanceStateChangeType = InstanceStateEvent.Type.OOM;
-                        containersOomTimestamps.invalidate(message.getId());
-                        LOG.info("OOM of container '{}' has been detected", message.getId());
-                    } else {
-                        instanceStateChangeType = InstanceStateEvent.Type.DIE;
-                    }
-                    Pair<String, String> instanceIds = instances.get(message.getId());
-                    if (instanceIds != null) {
-                        eventService.publish(new InstanceStateEvent(instanceIds.first,
-                                                                    instanceIds.second,
-                                                                    instanceStateChangeType));
-                        lastProcessedEventDate = message.getTime();
-                    }
-                    break;
-                default:
-                    // we don't care about other event types
-            }
+        switch (message.getStatus()) {
+            case "oom":
+                containersOomTimestamps.put(message.getId(), message.getId());
+                LOG.info("OOM of process in container {} has been detected", message.getId());
+                break;
+            case "die":
+                InstanceStateEvent.Type instanceStateChangeType;
+                if (containersOomTimestamps.getIfPresent(message.getId()) != null) {
+                    instanceStateChangeType = InstanceStateEvent.Type.OOM;
+                    containersOomTimestamps.invalidate(message.getId());
+                    LOG.info("OOM of container '{}' has been detected", message.getId());
+                } else {
+                    instanceStateChangeType = InstanceStateEvent.Type.DIE;
+                }
+                Pair<String, String> instanceIds = instances.get(message.getId());
+                if (instanceIds != null) {
+                    eventService.publish(new InstanceStateEvent(instanceIds.first,
+                                                                instanceIds.second,
+                                                                instanceStateChangeType));
+                }
+                break;
+            default:
+                // we don't care about other event types
         }
     }
 }
@@ -18,6 +18,7 @@ import com.google.inject.name.Names;
 
 import org.eclipse.che.api.core.model.machine.ServerConf;
 import org.eclipse.che.api.environment.server.TypeSpecificEnvironmentParser;
+import org.eclipse.che.plugin.docker.machine.event.DockerEventSubscriber;
 import org.eclipse.che.plugin.docker.machine.parser.DockerImageEnvironmentParser;
 import org.eclipse.che.plugin.docker.machine.parser.DockerfileEnvironmentParser;
 
@@ -34,6 +35,11 @@ public class DockerMachineModule extends AbstractModule {
         bind(org.eclipse.che.plugin.docker.machine.cleaner.DockerAbandonedResourcesCleaner.class);
         bind(org.eclipse.che.plugin.docker.machine.cleaner.RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber.class);
 
+        bind(org.eclipse.che.plugin.docker.machine.event.DockerEventsDispatcher.class);
+        Multibinder<DockerEventSubscriber> dockerEventSubscribers = Multibinder.newSetBinder(binder(),
+                                                                                             DockerEventSubscriber.class);
+        dockerEventSubscribers.addBinding().to(org.eclipse.che.plugin.docker.machine.DockerInstanceStopDetector.class);
+
         @SuppressWarnings("unused") Multibinder<String> devMachineEnvVars =
                 Multibinder.newSetBinder(binder(),
                                          String.class,
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.event;
+
+import org.eclipse.che.plugin.docker.client.json.Event;
+
+import java.util.Set;
+
+/**
+ * Receives events of shared docker events stream from {@link DockerEventsDispatcher}.
+ *
+ * <p>Subscribers are bound with Guice multibinder, e.g.:
+ * <pre>
+ *     Multibinder.newSetBinder(binder(), DockerEventSubscriber.class).addBinding().to(MySubscriber.class);
+ * </pre>
+ */
+public interface DockerEventSubscriber {
+    /**
+     * Returns statuses of docker events subscriber is interested in,
+     * e.g. 'die', 'oom' for containers or 'pull', 'delete' for images.
+     */
+    Set<String> getEventStatuses();
+
+    /**
+     * Handles docker event with one of {@link #getEventStatuses() statuses}.
+     * Called from events stream thread, so implementation should not block.
+     */
+    void onEvent(Event event);
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.event;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps single docker events stream per docker daemon and fans out received events
+ * to all bound {@link DockerEventSubscriber}s.
+ *
+ * <p>Stream is filtered by union of statuses of all subscribers, so each event is received and decoded once.
+ * Statuses with details, e.g. 'health_status: healthy', are matched by the part before colon.
+ * When stream breaks it is reopened since the time of the last received event,
+ * events that were already dispatched before reconnection are skipped.
+ */
+@Singleton
+public class DockerEventsDispatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerEventsDispatcher.class);
+
+    private static final long RECONNECT_DELAY_MS = 1000;
+
+    private final DockerConnector                          dockerConnector;
+    private final Map<String, List<DockerEventSubscriber>> subscribers;
+    private final ExecutorService                          executorService;
+    /** Keys of events dispatched within {@link #lastEventTime} second, used to skip duplicates after reconnection. */
+    private final Set<String>                              lastSecondEvents;
+
+    private volatile boolean running;
+    private          long    lastEventTime;
+
+    @Inject
+    public DockerEventsDispatcher(DockerConnectorProvider dockerConnectorProvider, Set<DockerEventSubscriber> subscribers) {
+        this.dockerConnector = dockerConnectorProvider.get();
+        this.subscribers = new HashMap<>();
+        for (DockerEventSubscriber subscriber : subscribers) {
+            for (String status : subscriber.getEventStatuses()) {
+                this.subscribers.computeIfAbsent(status, s -> new ArrayList<>()).add(subscriber);
+            }
+        }
+        this.lastSecondEvents = new HashSet<>();
+        this.executorService = Executors.newSingleThreadExecutor(
+                new ThreadFactoryBuilder().setNameFormat("DockerEventsDispatcher-%d")
+                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                          .setDaemon(true)
+                                          .build());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        running = true;
+        final String[] statuses = subscribers.keySet().toArray(new String[subscribers.size()]);
+        executorService.execute(() -> {
+            while (running) {
+                try {
+                    dockerConnector.getEvents(GetEventsParams.create()
+                                                             .withSinceSecond(lastEventTime)
+                                                             .withFilters(new Filters().withFilter("event", statuses)),
+                                              this::dispatch);
+                } catch (IOException e) {
+                    // usually connection timeout
+                    LOG.debug(e.getLocalizedMessage(), e);
+                }
+                try {
+                    // prevents busy loop when daemon is not reachable or stream is closed right away
+                    TimeUnit.MILLISECONDS.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Dispatches event to subscribers unless it was already dispatched.
+     * Called from the single events stream thread only.
+     */
+    void dispatch(Event event) {
+        if (event.getStatus() == null || event.getTime() < lastEventTime) {
+            return;
+        }
+        if (event.getTime() > lastEventTime) {
+            lastEventTime = event.getTime();
+            lastSecondEvents.clear();
+        }
+        if (!lastSecondEvents.add(event.getStatus() + '/' + event.getId() + '/' + event.getTimeNano())) {
+            return;
+        }
+        final List<DockerEventSubscriber> statusSubscribers = subscribers.get(getStatusName(event));
+        if (statusSubscribers == null) {
+            return;
+        }
+        for (DockerEventSubscriber subscriber : statusSubscribers) {
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                LOG.error(String.format("Docker event '%s' processing failed. %s", event, e.getLocalizedMessage()), e);
+            }
+        }
+    }
+
+    /** Returns status without details, e.g. 'health_status' for 'health_status: healthy'. */
+    private static String getStatusName(Event event) {
+        final String status = event.getStatus();
+        final int colonPos = status.indexOf(':');
+        return colonPos == -1 ? status : status.substring(0, colonPos);
+    }
+}
@@ -29,8 +29,10 @@ import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
+import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -47,8 +49,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * Tests for {@link DockerInstance}.
@@ -159,11 +163,35 @@ public class DockerInstanceTest {
 
         assertTrue(result instanceof DockerMachineSource);
         DockerMachineSource dockerMachineSource = (DockerMachineSource) result;
-        assertEquals(dockerMachineSource.getTag(), TAG);
+        assertNotNull(dockerMachineSource.getTag());
         assertNotNull(dockerMachineSource.getRepository());
         assertEquals(dockerMachineSource.getRegistry(), null);
     }
 
+    @Test
+    public void shouldSaveSnapshotIntoRepositoryOfSnapshotMachineWasStartedFrom() throws Exception {
+        final String snapshotRepository = "namespace/machine_snapshot_abcdef";
+        MachineConfig config = MachineConfigImpl.builder()
+                                                .fromConfig(getMachineConfig())
+                                                .setSource(new MachineSourceImpl("image").setLocation(
+                                                        "localhost:5000/" + snapshotRepository + ":tag1"))
+                                                .build();
+        dockerInstance = getDockerInstance(getMachine(config, OWNER, MACHINE_ID, WORKSPACE_ID, STATUS),
+                                           REGISTRY,
+                                           CONTAINER,
+                                           IMAGE,
+                                           true);
+
+        final DockerMachineSource result = (DockerMachineSource)dockerInstance.saveToSnapshot();
+
+        assertEquals(result.getRepository(), snapshotRepository);
+        assertNotEquals(result.getTag(), "tag1");
+        ArgumentCaptor<CommitParams> commitCaptor = ArgumentCaptor.forClass(CommitParams.class);
+        verify(dockerConnectorMock).commit(commitCaptor.capture());
+        assertEquals(commitCaptor.getValue().getRepository(), REGISTRY + '/' + snapshotRepository);
+        assertEquals(commitCaptor.getValue().getTag(), result.getTag());
+    }
+
     @Test
     public void shouldCloseOutputConsumerOnDestroy() throws Exception {
         dockerInstance.destroy();
@@ -181,7 +209,7 @@ public class DockerInstanceTest {
 
         assertTrue(result instanceof DockerMachineSource);
         DockerMachineSource dockerMachineSource = (DockerMachineSource) result;
-        assertEquals(dockerMachineSource.getTag(), TAG);
+        assertNotNull(dockerMachineSource.getTag());
         assertEquals(dockerMachineSource.getDigest(), digest);
         assertEquals(dockerMachineSource.getRegistry(), REGISTRY);
     }
@@ -202,6 +230,26 @@ public class DockerInstanceTest {
         dockerInstance.saveToSnapshot();
     }
 
+    @Test
+    public void shouldRemoveCommittedImageWhenSnapshotIsNotPushed() throws Exception {
+        dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true);
+        when(dockerConnectorMock.push(any(PushParams.class),
+                                      any(ProgressMonitor.class))).thenThrow(new IOException("err"));
+
+        try {
+            dockerInstance.saveToSnapshot();
+            fail("MachineException expected");
+        } catch (MachineException expected) {
+        }
+
+        ArgumentCaptor<CommitParams> commitCaptor = ArgumentCaptor.forClass(CommitParams.class);
+        verify(dockerConnectorMock).commit(commitCaptor.capture());
+        ArgumentCaptor<RemoveImageParams> removeCaptor = ArgumentCaptor.forClass(RemoveImageParams.class);
+        verify(dockerConnectorMock).removeImage(removeCaptor.capture());
+        assertEquals(removeCaptor.getValue().getImage(),
+                     commitCaptor.getValue().getRepository() + ':' + commitCaptor.getValue().getTag());
+    }
+
     private DockerInstance getDockerInstance() throws MachineException {
         return getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, false);
     }
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.event;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link DockerEventsDispatcher}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerEventsDispatcherTest {
+    @Mock
+    private DockerConnectorProvider dockerConnectorProvider;
+    @Mock
+    private DockerConnector         dockerConnector;
+    @Mock
+    private DockerEventSubscriber   containerSubscriber;
+    @Mock
+    private DockerEventSubscriber   healthSubscriber;
+
+    private DockerEventsDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(dockerConnectorProvider.get()).thenReturn(dockerConnector);
+        when(containerSubscriber.getEventStatuses()).thenReturn(ImmutableSet.of("die", "oom"));
+        when(healthSubscriber.getEventStatuses()).thenReturn(ImmutableSet.of("health_status", "die"));
+
+        dispatcher = new DockerEventsDispatcher(dockerConnectorProvider,
+                                                ImmutableSet.of(containerSubscriber, healthSubscriber));
+    }
+
+    @Test
+    public void shouldDispatchEventToAllSubscribersOfItsStatus() throws Exception {
+        Event event = new Event().withStatus("die").withId("container1").withTime(10);
+
+        dispatcher.dispatch(event);
+
+        verify(containerSubscriber).onEvent(event);
+        verify(healthSubscriber).onEvent(event);
+    }
+
+    @Test
+    public void shouldDispatchEventWithStatusDetailsToSubscribersOfStatusName() throws Exception {
+        Event event = new Event().withStatus("health_status: healthy").withId("container1").withTime(10);
+
+        dispatcher.dispatch(event);
+
+        verify(healthSubscriber).onEvent(event);
+        verify(containerSubscriber, never()).onEvent(event);
+    }
+
+    @Test
+    public void shouldNotDispatchEventsReceivedAgainAfterReconnection() throws Exception {
+        Event event = new Event().withStatus("oom").withId("container1").withTime(10).withTimeNano(10_000_000_001L);
+        Event sameSecondEvent = new Event().withStatus("die").withId("container1").withTime(10).withTimeNano(10_000_000_002L);
+        Event oldEvent = new Event().withStatus("die").withId("container2").withTime(9);
+
+        dispatcher.dispatch(event);
+        dispatcher.dispatch(sameSecondEvent);
+        // stream resumed since second 10
+        dispatcher.dispatch(event);
+        dispatcher.dispatch(sameSecondEvent);
+        dispatcher.dispatch(oldEvent);
+
+        verify(containerSubscriber, times(1)).onEvent(event);
+        verify(containerSubscriber, times(1)).onEvent(sameSecondEvent);
+        verify(containerSubscriber, never()).onEvent(oldEvent);
+    }
+
+    @Test
+    public void shouldDispatchEventToOtherSubscribersIfOneOfThemFails() throws Exception {
+        Event event = new Event().withStatus("die").withId("container1").withTime(10);
+        doThrow(new RuntimeException("error")).when(containerSubscriber).onEvent(event);
+
+        dispatcher.dispatch(event);
+
+        verify(healthSubscriber).onEvent(event);
+    }
+}
@@ -122,6 +122,14 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         return perform(() -> getOrCreateWrappedObject().interpolateModel(model, projectDir));
     }
 
+    /**
+     * Returns the percentage of the maximum heap of the maven server process which
+     * is used by live objects, measured after the last garbage collection.
+     */
+    public int getHeapUsagePercent() {
+        return perform(() -> getOrCreateWrappedObject().getHeapUsagePercent());
+    }
+
     @PreDestroy
     public void shutdown() {
         client.stopAll(false);
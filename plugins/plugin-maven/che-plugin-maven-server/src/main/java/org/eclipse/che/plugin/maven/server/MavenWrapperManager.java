@@ -10,60 +10,402 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  *
- * Manages and cache MavenServerWrapper instances
+ * Manages pools of warm MavenServerWrapper instances, one pool per {@link ServerType}.
+ *
+ * <p>A pool keeps up to the configured number of maven servers, each server holds its own
+ * booted maven container in the maven server process. A borrowed server is checked to be alive,
+ * when all the servers of the pool are borrowed one more server is warmed up in background,
+ * and when the pool is full the caller waits for a released server up to the borrow timeout,
+ * after that a temporary server is created and disposed once released. Pools are filled
+ * in background on startup unless {@code che.maven.server.pool.prestart} is disabled.
+ *
+ * <p>A released server is recycled once it has served the maximum number of requests
+ * or when the heap usage of the maven server process exceeds the threshold. All the servers
+ * share the heap of the maven server process, so the heap usage is checked at most once
+ * per the configured interval and one server is recycled per exceeded check.
  *
  * @author Evgen Vidolob
  */
 @Singleton
 public class MavenWrapperManager {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenWrapperManager.class);
+
+    @Inject(optional = true)
+    @Named("che.maven.server.pool.size")
+    private int poolSize = 2;
+
+    @Inject(optional = true)
+    @Named("che.maven.server.pool.borrow_timeout_sec")
+    private long borrowTimeoutSec = 60;
 
+    @Inject(optional = true)
+    @Named("che.maven.server.pool.max_uses")
+    private int maxUses = 50;
 
-    private final MavenServerManager    serverManager;
-    private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-    private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+    @Inject(optional = true)
+    @Named("che.maven.server.pool.max_heap_usage_percent")
+    private int maxHeapUsagePercent = 80;
 
+    @Inject(optional = true)
+    @Named("che.maven.server.pool.heap_check_interval_sec")
+    private long heapCheckIntervalSec = 60;
+
+    @Inject(optional = true)
+    @Named("che.maven.server.pool.prestart")
+    private boolean prestart = true;
+
+    private final MavenServerManager                    serverManager;
+    private final Map<ServerType, Pool>                 pools    = new EnumMap<>(ServerType.class);
+    private final Map<MavenServerWrapper, PooledServer> borrowed = new IdentityHashMap<>();
+    private final ExecutorService                       warmUpExecutor;
+
+    private long nextHeapCheck;
 
     @Inject
     public MavenWrapperManager(MavenServerManager serverManager) {
         this.serverManager = serverManager;
+        for (ServerType type : ServerType.values()) {
+            pools.put(type, new Pool());
+        }
+        this.warmUpExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("MavenServerWarmUp")
+                                                                                          .setDaemon(true)
+                                                                                          .build());
     }
 
-    public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-        MavenServerWrapper wrapper = cache.get(type);
-        if (wrapper == null) {
-            wrapper = serverManager.createMavenServer();
-            cache.put(type, wrapper);
+    MavenWrapperManager(MavenServerManager serverManager, int poolSize, long borrowTimeoutSec, int maxUses, int maxHeapUsagePercent) {
+        this(serverManager);
+        this.poolSize = poolSize;
+        this.borrowTimeoutSec = borrowTimeoutSec;
+        this.maxUses = maxUses;
+        this.maxHeapUsagePercent = maxHeapUsagePercent;
+    }
+
+    /**
+     * Borrows the server from the pool of the given type, the server must be {@link #release(MavenServerWrapper) released}
+     * once it is not needed.
+     */
+    public MavenServerWrapper getMavenServer(ServerType type) {
+        final Pool pool = pools.get(type);
+        final long startedAt = System.currentTimeMillis();
+        final long deadline = startedAt + TimeUnit.SECONDS.toMillis(borrowTimeoutSec);
+        PooledServer server = null;
+        synchronized (this) {
+            while (server == null && pool.size >= poolSize) {
+                server = pool.idle.pollFirst();
+                final long timeLeft = deadline - System.currentTimeMillis();
+                if (server == null && timeLeft <= 0) {
+                    pool.timeouts++;
+                    LOG.warn("All {} maven servers of type {} are busy for {}s, temporary server is created",
+                             poolSize, type, borrowTimeoutSec);
+                    return serverManager.createMavenServer();
+                }
+                if (server == null) {
+                    try {
+                        wait(timeLeft);
+                    } catch (InterruptedException x) {
+                        Thread.currentThread().interrupt();
+                        pool.timeouts++;
+                        return serverManager.createMavenServer();
+                    }
+                }
+            }
+            if (server == null) {
+                server = pool.idle.pollFirst();
+            }
+            if (server == null) {
+                // reserve the place in the pool, server is created outside of the lock
+                pool.size++;
+            }
         }
 
-        if (usedServers.contains(wrapper)) {
-            //need to warn here
-            return serverManager.createMavenServer();
+        boolean recycled = false;
+        boolean created = false;
+        try {
+            if (server == null) {
+                server = new PooledServer(serverManager.createMavenServer(), pool);
+                created = true;
+            } else if (!isAlive(server.wrapper)) {
+                server.wrapper.dispose();
+                server = new PooledServer(serverManager.createMavenServer(), pool);
+                created = recycled = true;
+            }
+        } catch (RuntimeException x) {
+            // the place of the server which is not created is given back
+            freePlace(pool);
+            throw x;
         }
 
-        usedServers.add(wrapper);
-        return wrapper;
+        synchronized (this) {
+            if (created) {
+                pool.created++;
+            }
+            if (recycled) {
+                pool.recycled++;
+            }
+            borrowed.put(server.wrapper, server);
+            pool.borrowed++;
+            pool.totalWaitTimeMs += System.currentTimeMillis() - startedAt;
+            if (pool.idle.isEmpty() && pool.size < poolSize) {
+                scheduleWarmUp(pool);
+            }
+        }
+        return server.wrapper;
     }
 
-    public synchronized void release(MavenServerWrapper wrapper) {
-        if (usedServers.contains(wrapper)) {
-            wrapper.reset();
-            usedServers.remove(wrapper);
-        } else {
+    /** Returns the server borrowed by {@link #getMavenServer(ServerType)} to its pool. */
+    public void release(MavenServerWrapper wrapper) {
+        final PooledServer server;
+        synchronized (this) {
+            server = borrowed.remove(wrapper);
+        }
+        if (server == null) {
             wrapper.dispose();
+            return;
+        }
+        server.uses++;
+        if (server.uses < maxUses && !isHeapUsageExceeded()) {
+            try {
+                wrapper.reset();
+                synchronized (this) {
+                    server.pool.idle.addFirst(server);
+                    notifyAll();
+                }
+                return;
+            } catch (RuntimeException x) {
+                LOG.warn("Couldn't reset maven server, it is recycled, error: {}", x.getMessage());
+            }
+        }
+        try {
+            wrapper.dispose();
+        } finally {
+            synchronized (this) {
+                server.pool.recycled++;
+            }
+            freePlace(server.pool);
+        }
+    }
+
+    /** Returns the metrics of the pool of the given type. */
+    public synchronized PoolMetrics getMetrics(ServerType type) {
+        final Pool pool = pools.get(type);
+        return new PoolMetrics(pool.size,
+                               pool.idle.size(),
+                               pool.created,
+                               pool.borrowed,
+                               pool.recycled,
+                               pool.timeouts,
+                               pool.borrowed == 0 ? 0 : pool.totalWaitTimeMs / pool.borrowed);
+    }
+
+    @ScheduleRate(initialDelay = 10, period = 10, unit = TimeUnit.MINUTES)
+    public void logMetrics() {
+        for (ServerType type : ServerType.values()) {
+            final PoolMetrics metrics = getMetrics(type);
+            if (metrics.getBorrowed() > 0) {
+                LOG.info("Maven servers pool '{}': size {}, idle {}, created {}, borrowed {}, recycled {}, timeouts {}, " +
+                         "average wait time {}ms",
+                         type,
+                         metrics.getSize(),
+                         metrics.getIdle(),
+                         metrics.getCreated(),
+                         metrics.getBorrowed(),
+                         metrics.getRecycled(),
+                         metrics.getTimeouts(),
+                         metrics.getAverageWaitTimeMs());
+            }
+        }
+    }
+
+    /** Starts all the servers of the pools in background, so the first requests don't wait for servers creation. */
+    @PostConstruct
+    public synchronized void startServers() {
+        if (!prestart) {
+            return;
+        }
+        for (Pool pool : pools.values()) {
+            while (pool.size < poolSize) {
+                scheduleWarmUp(pool);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        warmUpExecutor.shutdownNow();
+    }
+
+    /** Reserves the place in the pool and creates the server for it in background, must be called holding the lock. */
+    private void scheduleWarmUp(Pool pool) {
+        pool.size++;
+        try {
+            warmUpExecutor.execute(() -> warmUp(pool));
+        } catch (RejectedExecutionException x) {
+            // manager is shut down
+            pool.size--;
+        }
+    }
+
+    /** Creates one more server for the pool which place in the pool is already reserved. */
+    private void warmUp(Pool pool) {
+        boolean added = false;
+        try {
+            final MavenServerWrapper wrapper = serverManager.createMavenServer();
+            if (!isAlive(wrapper)) {
+                wrapper.dispose();
+                return;
+            }
+            synchronized (this) {
+                pool.created++;
+                pool.idle.addLast(new PooledServer(wrapper, pool));
+                notifyAll();
+            }
+            added = true;
+        } catch (RuntimeException x) {
+            LOG.warn("Couldn't start maven server, error: {}", x.getMessage());
+        } finally {
+            if (!added) {
+                freePlace(pool);
+            }
+        }
+    }
+
+    /** Gives back the place of the server which is disposed or not created, so waiting callers may create a new one. */
+    private synchronized void freePlace(Pool pool) {
+        pool.size--;
+        notifyAll();
+    }
+
+    /** Checks that the server responds, server creates its maven container on the first call. */
+    private static boolean isAlive(MavenServerWrapper wrapper) {
+        try {
+            wrapper.getLocalRepository();
+            return true;
+        } catch (RuntimeException x) {
+            LOG.warn("Maven server is not responding, error: {}", x.getMessage());
+            return false;
+        }
+    }
+
+    /** Checks the heap usage of the maven server process if the check interval is elapsed since the last check. */
+    private boolean isHeapUsageExceeded() {
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            if (now < nextHeapCheck) {
+                return false;
+            }
+            nextHeapCheck = now + TimeUnit.SECONDS.toMillis(heapCheckIntervalSec);
+        }
+        try {
+            return serverManager.getHeapUsagePercent() > maxHeapUsagePercent;
+        } catch (RuntimeException x) {
+            return false;
         }
     }
 
     public enum ServerType {
         RESOLVE, DOWNLOAD
     }
+
+    /** Snapshot of the counters of a pool. */
+    public static class PoolMetrics {
+        private final int  size;
+        private final int  idle;
+        private final long created;
+        private final long borrowed;
+        private final long recycled;
+        private final long timeouts;
+        private final long averageWaitTimeMs;
+
+        PoolMetrics(int size, int idle, long created, long borrowed, long recycled, long timeouts, long averageWaitTimeMs) {
+            this.size = size;
+            this.idle = idle;
+            this.created = created;
+            this.borrowed = borrowed;
+            this.recycled = recycled;
+            this.timeouts = timeouts;
+            this.averageWaitTimeMs = averageWaitTimeMs;
+        }
+
+        /** Returns the number of servers in the pool including borrowed and warming up ones. */
+        public int getSize() {
+            return size;
+        }
+
+        /** Returns the number of the servers ready to be borrowed. */
+        public int getIdle() {
+            return idle;
+        }
+
+        /** Returns the number of the servers created for the pool. */
+        public long getCreated() {
+            return created;
+        }
+
+        /** Returns the number of the times servers were borrowed from the pool. */
+        public long getBorrowed() {
+            return borrowed;
+        }
+
+        /** Returns the number of the servers disposed because of the uses limit, heap usage or failed health check. */
+        public long getRecycled() {
+            return recycled;
+        }
+
+        /** Returns the number of the times temporary servers were created because the pool was exhausted. */
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /** Returns the average time of borrowing a server including waiting and health checks. */
+        public long getAverageWaitTimeMs() {
+            return averageWaitTimeMs;
+        }
+    }
+
+    private static class Pool {
+        final Deque<PooledServer> idle = new ArrayDeque<>();
+
+        /** The number of the servers in the pool including borrowed and warming up ones. */
+        int  size;
+        long created;
+        long borrowed;
+        long recycled;
+        long timeouts;
+        long totalWaitTimeMs;
+    }
+
+    private static class PooledServer {
+        final MavenServerWrapper wrapper;
+        final Pool               pool;
+
+        int uses;
+
+        PooledServer(MavenServerWrapper wrapper, Pool pool) {
+            this.wrapper = wrapper;
+            this.pool = pool;
+        }
+    }
 }
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server;
+
+import org.eclipse.che.plugin.maven.server.MavenWrapperManager.ServerType;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests {@link MavenWrapperManager}.
+ */
+public class MavenWrapperManagerTest {
+
+    private MavenServerManager serverManager;
+
+    @BeforeMethod
+    public void setUp() {
+        serverManager = mock(MavenServerManager.class);
+        when(serverManager.createMavenServer()).thenAnswer(invocation -> mock(MavenServerWrapper.class));
+    }
+
+    @Test
+    public void reusesReleasedServer() {
+        final MavenWrapperManager manager = new MavenWrapperManager(serverManager, 1, 1, 10, 80);
+
+        final MavenServerWrapper first = manager.getMavenServer(ServerType.RESOLVE);
+        manager.release(first);
+        final MavenServerWrapper second = manager.getMavenServer(ServerType.RESOLVE);
+
+        assertSame(second, first);
+        verify(first).reset();
+        verify(first, never()).dispose();
+        verify(serverManager, times(1)).createMavenServer();
+        assertEquals(manager.getMetrics(ServerType.RESOLVE).getBorrowed(), 2);
+    }
+
+    @Test
+    public void waitsForReleasedServerWhenPoolIsExhausted() throws Exception {
+        final MavenWrapperManager manager = new MavenWrapperManager(serverManager, 1, 10, 10, 80);
+        final MavenServerWrapper first = manager.getMavenServer(ServerType.RESOLVE);
+
+        final CompletableFuture<MavenServerWrapper> second = CompletableFuture.supplyAsync(() -> manager.getMavenServer(ServerType.RESOLVE));
+        Thread.sleep(200);
+        manager.release(first);
+
+        assertSame(second.get(5, TimeUnit.SECONDS), first);
+        verify(serverManager, times(1)).createMavenServer();
+    }
+
+    @Test
+    public void createsTemporaryServerWhenBorrowTimesOut() {
+        final MavenWrapperManager manager = new MavenWrapperManager(serverManager, 1, 0, 10, 80);
+        final MavenServerWrapper pooled = manager.getMavenServer(ServerType.DOWNLOAD);
+
+        final MavenServerWrapper temporary = manager.getMavenServer(ServerType.DOWNLOAD);
+        manager.release(temporary);
+
+        assertNotSame(temporary, pooled);
+        verify(temporary).dispose();
+        assertEquals(manager.getMetrics(ServerType.DOWNLOAD).getTimeouts(), 1);
+    }
+
+    @Test
+    public void recyclesServerAfterMaxUses() {
+        final MavenWrapperManager manager = new MavenWrapperManager(serverManager, 1, 1, 2, 80);
+
+        final MavenServerWrapper first = manager.getMavenServer(ServerType.RESOLVE);
+        manager.release(first);
+        manager.getMavenServer(ServerType.RESOLVE);
+        manager.release(first);
+        final MavenServerWrapper second = manager.getMavenServer(ServerType.RESOLVE);
+
+        assertNotSame(second, first);
+        verify(first).dispose();
+        assertEquals(manager.getMetrics(ServerType.RESOLVE).getRecycled(), 1);
+    }
+
+    @Test
+    public void recyclesOneServerPerHeapCheckWhenHeapUsageIsExceeded() {
+        when(serverManager.getHeapUsagePercent()).thenReturn(90);
+        final MavenWrapperManager manager = new MavenWrapperManager(serverManager, 1, 1, 10, 80);
+
+        final MavenServerWrapper first = manager.getMavenServer(ServerType.RESOLVE);
+        manager.release(first);
+        final MavenServerWrapper second = manager.getMavenServer(ServerType.RESOLVE);
+        manager.release(second);
+
+        verify(first).dispose();
+        verify(first, never()).reset();
+        verify(second).reset();
+        verify(second, never()).dispose();
+        verify(serverManager, times(1)).getHeapUsagePercent();
+    }
+
+    @Test
+    public void givesBackPlaceWhenServerCreationFails() {
+        when(serverManager.createMavenServer()).thenThrow(new RuntimeException("error"))
+                                               .thenAnswer(invocation -> mock(MavenServerWrapper.class));
+        final MavenWrapperManager manager = new MavenWrapperManager(serverManager, 1, 0, 10, 80);
+
+        try {
+            manager.getMavenServer(ServerType.RESOLVE);
+        } catch (RuntimeException ignored) {
+        }
+        manager.getMavenServer(ServerType.RESOLVE);
+
+        assertEquals(manager.getMetrics(ServerType.RESOLVE).getSize(), 1);
+        assertEquals(manager.getMetrics(ServerType.RESOLVE).getTimeouts(), 0);
+    }
+
+    @Test
+    public void recyclesServerWhichCanNotBeReset() {
+        final MavenWrapperManager manager = new MavenWrapperManager(serverManager, 1, 0, 10, 80);
+        final MavenServerWrapper first = manager.getMavenServer(ServerType.RESOLVE);
+        doThrow(new RuntimeException("error")).when(first).reset();
+
+        manager.release(first);
+        final MavenServerWrapper second = manager.getMavenServer(ServerType.RESOLVE);
+
+        assertNotSame(second, first);
+        verify(first).dispose();
+        assertEquals(manager.getMetrics(ServerType.RESOLVE).getSize(), 1);
+        assertEquals(manager.getMetrics(ServerType.RESOLVE).getTimeouts(), 0);
+    }
+
+    @Test
+    public void startsServersOfAllPools() throws Exception {
+        final MavenWrapperManager manager = new MavenWrapperManager(serverManager, 2, 1, 10, 80);
+
+        manager.startServers();
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (manager.getMetrics(ServerType.DOWNLOAD).getIdle() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(manager.getMetrics(ServerType.RESOLVE).getIdle(), 2);
+        assertEquals(manager.getMetrics(ServerType.DOWNLOAD).getIdle(), 2);
+        verify(serverManager, times(4)).createMavenServer();
+    }
+}
@@ -29,4 +29,10 @@ public interface MavenRemoteServer extends Remote {
     MavenServer createServer(MavenSettings settings) throws RemoteException;
 
     MavenModel interpolateModel(MavenModel model, File projectDir) throws RemoteException;
+
+    /**
+     * Returns the percentage of the maximum heap of the maven server process which
+     * is used by live objects, measured after the last garbage collection.
+     */
+    int getHeapUsagePercent() throws RemoteException;
 }
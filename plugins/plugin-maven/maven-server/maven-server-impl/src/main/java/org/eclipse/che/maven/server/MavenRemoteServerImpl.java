@@ -13,6 +13,10 @@ package org.eclipse.che.maven.server;
 import org.eclipse.che.maven.data.MavenModel;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 
@@ -49,6 +53,19 @@ public class MavenRemoteServerImpl extends MavenRmiObject implements MavenRemote
         }
     }
 
+    @Override
+    public int getHeapUsagePercent() throws RemoteException {
+        // usage after the last collection of each heap pool doesn't include garbage
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return (int)(used * 100 / Runtime.getRuntime().maxMemory());
+    }
+
     @Override
     public void unreferenced() {
         System.exit(0);
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Describes the changes of the file in the diff without the content of the changes.
+ */
+@DTO
+public interface DiffFileSummary {
+
+    /** Returns the file change type, one of 'ADD', 'MODIFY', 'DELETE', 'RENAME', 'COPY'. */
+    String getChangeType();
+
+    void setChangeType(String changeType);
+
+    DiffFileSummary withChangeType(String changeType);
+
+    /** Returns the file previous location, null if the file is added. */
+    String getOldPath();
+
+    void setOldPath(String oldPath);
+
+    DiffFileSummary withOldPath(String oldPath);
+
+    /** Returns the file new location, null if the file is deleted. */
+    String getNewPath();
+
+    void setNewPath(String newPath);
+
+    DiffFileSummary withNewPath(String newPath);
+
+    /** Returns the similarity score of renamed or copied file, from 0 to 100. */
+    int getScore();
+
+    void setScore(int score);
+
+    DiffFileSummary withScore(int score);
+
+    /** Returns the number of added lines, 0 if lines are not counted. */
+    int getLinesAdded();
+
+    void setLinesAdded(int linesAdded);
+
+    DiffFileSummary withLinesAdded(int linesAdded);
+
+    /** Returns the number of deleted lines, 0 if lines are not counted. */
+    int getLinesDeleted();
+
+    void setLinesDeleted(int linesDeleted);
+
+    DiffFileSummary withLinesDeleted(int linesDeleted);
+
+    /** Returns true if the file is binary, lines are not counted for binary files. */
+    boolean isBinary();
+
+    void setBinary(boolean binary);
+
+    DiffFileSummary withBinary(boolean binary);
+}
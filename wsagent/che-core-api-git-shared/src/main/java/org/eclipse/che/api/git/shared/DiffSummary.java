@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * The page of the files changed in the diff.
+ */
+@DTO
+public interface DiffSummary {
+
+    /** Returns the changed files of the page. */
+    List<DiffFileSummary> getFiles();
+
+    void setFiles(List<DiffFileSummary> files);
+
+    DiffSummary withFiles(List<DiffFileSummary> files);
+
+    /** Returns the total number of changed files. */
+    int getTotalCount();
+
+    void setTotalCount(int totalCount);
+
+    DiffSummary withTotalCount(int totalCount);
+
+    /**
+     * Returns true if there were too many added and deleted files to detect renames,
+     * those files are reported as added and deleted.
+     */
+    boolean isRenameLimitExceeded();
+
+    void setRenameLimitExceeded(boolean renameLimitExceeded);
+
+    DiffSummary withRenameLimitExceeded(boolean renameLimitExceeded);
+}
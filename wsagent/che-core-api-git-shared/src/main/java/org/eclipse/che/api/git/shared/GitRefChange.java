@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Describes the change of a repository ref.
+ */
+@DTO
+public interface GitRefChange {
+
+    /** Returns the full name of the ref e.g. 'refs/remotes/origin/master'. */
+    String getName();
+
+    void setName(String name);
+
+    GitRefChange withName(String name);
+
+    /** Returns the commit the ref pointed to before the change, null if the ref is created. */
+    String getOldId();
+
+    void setOldId(String oldId);
+
+    GitRefChange withOldId(String oldId);
+
+    /** Returns the commit the ref points to after the change, null if the ref is deleted. */
+    String getNewId();
+
+    void setNewId(String newId);
+
+    GitRefChange withNewId(String newId);
+}
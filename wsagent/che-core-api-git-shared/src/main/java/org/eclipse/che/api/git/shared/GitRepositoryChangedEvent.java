@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Sent to the clients which track git repositories when HEAD, refs,
+ * index or configuration of the project repository change.
+ */
+@DTO
+public interface GitRepositoryChangedEvent {
+
+    enum Change {
+        /** Another branch or a detached commit is checked out. */
+        BRANCH_SWITCHED,
+        /** HEAD points to another commit e.g. after commit, pull, merge or reset. */
+        HEAD_COMMIT_CHANGED,
+        /** The index is changed e.g. files are staged or unstaged. */
+        INDEX_CHANGED,
+        /** Local branches are created, deleted or moved. */
+        BRANCHES_CHANGED,
+        /** Tags are created, deleted or moved. */
+        TAGS_CHANGED,
+        /** Remote tracking refs are updated e.g. after fetch or push. */
+        REMOTE_REFS_CHANGED,
+        /** The repository configuration, e.g. remotes or user, is changed. */
+        CONFIG_CHANGED
+    }
+
+    /** Returns the path of the project which repository is changed. */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    GitRepositoryChangedEvent withProjectPath(String projectPath);
+
+    /** Returns the kinds of the changes. */
+    List<Change> getChanges();
+
+    void setChanges(List<Change> changes);
+
+    GitRepositoryChangedEvent withChanges(List<Change> changes);
+
+    /** Returns the name of the current branch, null if HEAD is detached. */
+    String getBranch();
+
+    void setBranch(String branch);
+
+    GitRepositoryChangedEvent withBranch(String branch);
+
+    /** Returns the commit HEAD points to, null if there are no commits yet. */
+    String getHeadCommit();
+
+    void setHeadCommit(String headCommit);
+
+    GitRepositoryChangedEvent withHeadCommit(String headCommit);
+
+    /** Returns the changed refs. */
+    List<GitRefChange> getRefChanges();
+
+    void setRefChanges(List<GitRefChange> refChanges);
+
+    GitRepositoryChangedEvent withRefChanges(List<GitRefChange> refChanges);
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Sent to the clients which track git status when the status of the project changes.
+ */
+@DTO
+public interface GitStatusChangedEvent {
+
+    /** Returns the path of the project which status is changed. */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    GitStatusChangedEvent withProjectPath(String projectPath);
+
+    /** Returns the new status of the project. */
+    Status getStatus();
+
+    void setStatus(Status status);
+
+    GitStatusChangedEvent withStatus(Status status);
+}
@@ -12,6 +12,7 @@ package org.eclipse.che.api.git;
 
 import com.google.inject.Singleton;
 import org.eclipse.che.api.git.shared.ProviderInfo;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 
 /**
  * Credentials provider for Git basic authentication
@@ -24,6 +25,11 @@ public class GitBasicAuthenticationCredentialsProvider implements CredentialsPro
     private static ThreadLocal<UserCredential> currRequestCredentials = new ThreadLocal<>();
     private static final String BASIC_PROVIDER_NAME = "basic";
 
+    static {
+        // credentials are needed by the threads which clone submodules
+        ThreadLocalPropagateContext.addThreadLocal(currRequestCredentials);
+    }
+
     @Override
     public UserCredential getUserCredential() {
         return currRequestCredentials.get();
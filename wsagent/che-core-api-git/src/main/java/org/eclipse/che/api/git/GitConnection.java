@@ -31,6 +31,7 @@ import org.eclipse.che.api.git.params.ResetParams;
 import org.eclipse.che.api.git.params.RmParams;
 import org.eclipse.che.api.git.params.TagCreateParams;
 import org.eclipse.che.api.git.shared.Branch;
+import org.eclipse.che.api.git.shared.DiffSummary;
 import org.eclipse.che.api.git.shared.GitUser;
 import org.eclipse.che.api.git.shared.MergeResult;
 import org.eclipse.che.api.git.shared.PullResponse;
@@ -195,6 +196,20 @@ public interface GitConnection extends Closeable {
      */
     DiffPage diff(DiffParams params) throws GitException;
 
+    /**
+     * Returns the files changed in the diff without the content of the changes, the numbers of added and deleted lines
+     * are counted only if {@link DiffParams#isLineStats()} is set, as it requires computing the diff of each returned file.
+     * Only the page of the files defined by {@link DiffParams#getSkip()} and {@link DiffParams#getMaxCount()} is returned,
+     * the changes of a file may be then requested with {@link #diff(DiffParams)} filtered by the old and new paths of the file.
+     *
+     * @param params
+     *         diff params, {@link DiffParams#getType()} is ignored
+     * @return the page of the changed files
+     * @throws GitException
+     *         if any error occurs
+     */
+    DiffSummary diffSummary(DiffParams params) throws GitException;
+
     /**
      * Show content of the file from specified revision or branch.
      *
@@ -404,6 +419,19 @@ public interface GitConnection extends Closeable {
      */
     Status status(StatusFormat format) throws GitException;
 
+    /**
+     * Get status of the given paths of working tree.
+     *
+     * @param format
+     *         the format of the ouput
+     * @param filter
+     *         paths relative to the working tree, status of folder includes all the folder entries
+     * @return status of the given paths
+     * @throws GitException
+     *         if any error occurs
+     */
+    Status status(StatusFormat format, List<String> filter) throws GitException;
+
     /**
      * Create new tag.
      *
@@ -442,6 +470,16 @@ public interface GitConnection extends Closeable {
      */
     List<GitUser> getCommiters() throws GitException;
 
+    /**
+     * Get list of commiters in current repository whose name or email starts with the given prefix.
+     *
+     * @param prefix
+     *         the prefix of commiter's name or email, case insensitive, all the commiters are returned if it is null
+     * @return list of commiters
+     * @throws GitException
+     */
+    List<GitUser> getCommiters(String prefix) throws GitException;
+
     /** Get configuration. */
     Config getConfig() throws GitException;
 
@@ -50,5 +50,7 @@ public class GitModule extends AbstractModule {
         //bind(GitConnectionFactory.class).to(NativeGitConnectionFactory.class);
 
         bind(GitCheckoutDetector.class).asEagerSingleton();
+        bind(GitStatusTracker.class).asEagerSingleton();
+        bind(GitRepositoryChangeDetector.class).asEagerSingleton();
     }
 }
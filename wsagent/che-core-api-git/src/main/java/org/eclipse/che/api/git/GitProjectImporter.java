@@ -129,6 +129,8 @@ public class GitProjectImporter implements ProjectImporter {
             String branchMerge = null;
             boolean keepVcs = true;
             boolean recursiveEnabled = false;
+            // Fetch only the branch which is checked out, other branches are fetched on demand.
+            boolean singleBranch = false;
             boolean convertToTopLevelProject = false;
 
             Map<String, String> parameters = storage.getParameters();
@@ -144,6 +146,7 @@ public class GitProjectImporter implements ProjectImporter {
                 if (parameters.containsKey("recursive")) {
                     recursiveEnabled = true;
                 }
+                singleBranch = Boolean.parseBoolean(parameters.get("singleBranch"));
                 //convertToTopLevelProject feature is working only if we don't need any git information
                 //and when we are working in git sparse checkout mode.
                 if (!keepVcs && !isNullOrEmpty(keepDir) && parameters.containsKey("convertToTopLevelProject")) {
@@ -182,7 +185,17 @@ public class GitProjectImporter implements ProjectImporter {
                 }
             } else {
                 if (baseFolder.getChildren().size() == 0) {
-                    cloneRepository(git, "origin", location, recursiveEnabled);
+                    final CloneParams cloneParams = CloneParams.create(location)
+                                                               .withRemoteName("origin")
+                                                               .withRecursive(recursiveEnabled);
+                    if (commitId == null && fetch == null && branch != null && startPoint == null) {
+                        // check out the branch while cloning instead of checking out the default branch first
+                        cloneParams.withBranch(branch);
+                        if (singleBranch) {
+                            cloneParams.withBranchesToFetch(Collections.singletonList("refs/heads/" + branch));
+                        }
+                    }
+                    git.clone(cloneParams);
                     if (commitId != null) {
                         checkoutCommit(git, commitId);
                     } else if (fetch != null) {
@@ -244,12 +257,6 @@ public class GitProjectImporter implements ProjectImporter {
         }
     }
 
-    private void cloneRepository(GitConnection git, String remoteName, String url, boolean recursiveEnabled)
-            throws ServerException, UnauthorizedException, URISyntaxException {
-        final CloneParams params = CloneParams.create(url).withRemoteName(remoteName).withRecursive(recursiveEnabled);
-        git.clone(params);
-    }
-
     private void addRemote(GitConnection git, String name, String url) throws GitException {
         git.remoteAdd(RemoteAddParams.create(name, url));
     }
@@ -0,0 +1,386 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.git.shared.GitRefChange;
+import org.eclipse.che.api.git.shared.GitRepositoryChangedEvent;
+import org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.isDirectory;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Pushes the changes of the project repositories to the clients, so they don't need
+ * to poll branches, remotes and status to keep their views up to date.
+ *
+ * <p>The detector watches HEAD, index, config and refs of the repositories, once
+ * they change it compares the repository with the last seen snapshot and sends
+ * the typed changes with the changed refs to the tracking clients. The snapshot
+ * is read from the files of the '.git' directory, no git connection is opened.
+ *
+ * <p>The detector is the only watcher of the repositories in the workspace, other
+ * components which depend on the state of the repositories register {@link #addListener listeners}
+ * instead of watching the '.git' directories themselves.
+ */
+@Singleton
+public class GitRepositoryChangeDetector {
+
+    private static final Logger LOG = getLogger(GitRepositoryChangeDetector.class);
+
+    private static final String      GIT_DIR           = ".git";
+    private static final String      REFS_DIR          = "refs";
+    private static final String      HEAD_FILE         = "HEAD";
+    private static final String      PACKED_REFS_FILE  = "packed-refs";
+    private static final String      SYMBOLIC_PREFIX   = "ref: ";
+    private static final String      BRANCH_PREFIX     = "refs/heads/";
+    private static final String      TAG_PREFIX        = "refs/tags/";
+    private static final String      REMOTE_PREFIX     = "refs/remotes/";
+    private static final Set<String> WATCHED_GIT_FILES = ImmutableSet.of(HEAD_FILE, "index", "config", PACKED_REFS_FILE);
+    private static final String      INCOMING_METHOD   = "track:git-repository";
+    private static final String      OUTGOING_METHOD   = "event:git-repository-changed";
+    private static final long        PUSH_DELAY_MS     = 500;
+
+    private final File                                      root;
+    private final RequestTransmitter                        transmitter;
+    private final FileWatcherManager                        watcherManager;
+    private final Map<String, RepositorySnapshot>           snapshots;
+    private final Set<String>                               endpointIds;
+    private final Set<String>                               scheduledPushes;
+    private final List<Consumer<GitRepositoryChangedEvent>> listeners;
+    private final ScheduledExecutorService                  executor;
+
+    private int watcherId;
+
+    @Inject
+    public GitRepositoryChangeDetector(@Named("che.user.workspaces.storage") File root,
+                                       RequestTransmitter transmitter,
+                                       FileWatcherManager watcherManager) {
+        this.root = root;
+        this.transmitter = transmitter;
+        this.watcherManager = watcherManager;
+        this.snapshots = new ConcurrentHashMap<>();
+        this.endpointIds = newConcurrentHashSet();
+        this.scheduledPushes = newConcurrentHashSet();
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.executor = newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("GitRepositoryChangeDetector")
+                                                                                   .setDaemon(true)
+                                                                                   .build());
+    }
+
+    @Inject
+    public void configureHandler(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName(INCOMING_METHOD)
+                    .paramsAsEmpty()
+                    .noResult()
+                    .withConsumer((endpointId, skip) -> endpointIds.add(endpointId));
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        final Consumer<String> consumer = this::onChange;
+        watcherId = watcherManager.registerByMatcher(matcher(), consumer, consumer, consumer);
+        final File[] projects = root.listFiles(File::isDirectory);
+        if (projects != null) {
+            for (File project : projects) {
+                snapshots.put('/' + project.getName(), readSnapshot(project));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        watcherManager.unRegisterByMatcher(watcherId);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Adds the listener which is notified with the changes of the project repositories,
+     * creation and removal of a repository, including removal of the project, are reported
+     * as changes of all its refs. Listeners are notified in the detector thread, so they must not block.
+     */
+    public void addListener(Consumer<GitRepositoryChangedEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Compares the repository of the project with its last snapshot and remembers the new snapshot.
+     * A project without repository has an empty snapshot, so creation and removal of the repository are detected.
+     * The snapshot of a removed project is dropped, so its repository is reported as removed.
+     *
+     * @param projectPath
+     *         workspace related path of the project e.g. '/project'
+     * @return the changes of the repository or null if the repository didn't change
+     */
+    @Nullable
+    GitRepositoryChangedEvent detectChanges(String projectPath) {
+        final File projectDir = new File(root, projectPath.substring(1));
+        RepositorySnapshot previous;
+        final RepositorySnapshot current;
+        if (projectDir.isDirectory()) {
+            current = readSnapshot(projectDir);
+            previous = snapshots.put(projectPath, current);
+        } else {
+            current = new RepositorySnapshot();
+            previous = snapshots.remove(projectPath);
+        }
+        if (previous == null) {
+            // the project is created after the detector is started
+            previous = new RepositorySnapshot();
+        }
+        final EnumSet<Change> changes = EnumSet.noneOf(Change.class);
+        if (!Objects.equals(previous.head, current.head) && (previous.isDetached() || current.isDetached() ||
+                                                             !Objects.equals(previous.branch(), current.branch()))) {
+            changes.add(Change.BRANCH_SWITCHED);
+        }
+        if (!Objects.equals(previous.headCommit(), current.headCommit())) {
+            changes.add(Change.HEAD_COMMIT_CHANGED);
+        }
+        if (!Objects.equals(previous.indexStat, current.indexStat)) {
+            changes.add(Change.INDEX_CHANGED);
+        }
+        if (!Objects.equals(previous.configStat, current.configStat)) {
+            changes.add(Change.CONFIG_CHANGED);
+        }
+        final List<GitRefChange> refChanges = new ArrayList<>();
+        final Set<String> names = new TreeSet<>(previous.refs.keySet());
+        names.addAll(current.refs.keySet());
+        for (String name : names) {
+            final String oldId = previous.refs.get(name);
+            final String newId = current.refs.get(name);
+            if (!Objects.equals(oldId, newId)) {
+                refChanges.add(newDto(GitRefChange.class).withName(name).withOldId(oldId).withNewId(newId));
+                if (name.startsWith(BRANCH_PREFIX)) {
+                    changes.add(Change.BRANCHES_CHANGED);
+                } else if (name.startsWith(TAG_PREFIX)) {
+                    changes.add(Change.TAGS_CHANGED);
+                } else if (name.startsWith(REMOTE_PREFIX)) {
+                    changes.add(Change.REMOTE_REFS_CHANGED);
+                }
+            }
+        }
+        if (changes.isEmpty()) {
+            return null;
+        }
+        return newDto(GitRepositoryChangedEvent.class).withProjectPath(projectPath)
+                                                      .withChanges(new ArrayList<>(changes))
+                                                      .withBranch(current.branch())
+                                                      .withHeadCommit(current.headCommit())
+                                                      .withRefChanges(refChanges);
+    }
+
+    /**
+     * Matches the project directories, where '.git' is created or removed, '.git' directories,
+     * where HEAD, index, config and packed refs are changed, and the directories of their refs.
+     */
+    private PathMatcher matcher() {
+        final Path rootPath = root.toPath();
+        return it -> {
+            if (!isDirectory(it)) {
+                return false;
+            }
+            if (rootPath.equals(it.getParent()) || GIT_DIR.equals(nameOf(it))) {
+                return true;
+            }
+            for (Path dir = it; dir != null && !dir.equals(rootPath); dir = dir.getParent()) {
+                if (REFS_DIR.equals(nameOf(dir)) && GIT_DIR.equals(nameOf(dir.getParent()))) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private void onChange(String path) {
+        final String normalized = path.replace('\\', '/');
+        final int gitDirIdx = normalized.indexOf('/' + GIT_DIR);
+        if (gitDirIdx <= 0 || normalized.endsWith(".lock")) {
+            return;
+        }
+        final String projectPath = normalized.substring(0, gitDirIdx);
+        final String gitPath = normalized.substring(gitDirIdx + GIT_DIR.length() + 1);
+        if (gitPath.isEmpty()) {
+            // repository is created or removed
+            schedulePush(projectPath);
+        } else if (gitPath.startsWith("/")) {
+            final String name = gitPath.substring(1);
+            if (name.startsWith(REFS_DIR) || WATCHED_GIT_FILES.contains(name)) {
+                schedulePush(projectPath);
+            }
+        }
+    }
+
+    /**
+     * Sends the changes of the repository to the tracking clients and the listeners,
+     * several changes made in a row are sent once.
+     */
+    private void schedulePush(String projectPath) {
+        if (!scheduledPushes.add(projectPath)) {
+            return;
+        }
+        executor.schedule(() -> {
+            scheduledPushes.remove(projectPath);
+            final GitRepositoryChangedEvent event = detectChanges(projectPath);
+            if (event == null) {
+                return;
+            }
+            for (Consumer<GitRepositoryChangedEvent> listener : listeners) {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException x) {
+                    LOG.error(x.getLocalizedMessage(), x);
+                }
+            }
+            endpointIds.forEach(id -> transmitter.transmitOneToNone(id, OUTGOING_METHOD, event));
+        }, PUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static RepositorySnapshot readSnapshot(File projectDir) {
+        final File gitDir = new File(projectDir, GIT_DIR);
+        return gitDir.isDirectory() ? RepositorySnapshot.read(gitDir) : new RepositorySnapshot();
+    }
+
+    private static String nameOf(Path path) {
+        return path == null || path.getFileName() == null ? null : path.getFileName().toString();
+    }
+
+    /** The state of the repository read from the files of its '.git' directory. */
+    private static class RepositorySnapshot {
+        final NavigableMap<String, String> refs = new TreeMap<>();
+
+        String head;
+        String indexStat;
+        String configStat;
+
+        static RepositorySnapshot read(File gitDir) {
+            final RepositorySnapshot snapshot = new RepositorySnapshot();
+            snapshot.head = readFirstLine(new File(gitDir, HEAD_FILE));
+            snapshot.indexStat = stat(new File(gitDir, "index"));
+            snapshot.configStat = stat(new File(gitDir, "config"));
+            snapshot.readPackedRefs(new File(gitDir, PACKED_REFS_FILE));
+            // loose refs override packed ones
+            snapshot.readLooseRefs(new File(gitDir, REFS_DIR), REFS_DIR);
+            return snapshot;
+        }
+
+        boolean isDetached() {
+            return head != null && !head.startsWith(SYMBOLIC_PREFIX);
+        }
+
+        @Nullable
+        String branch() {
+            if (head == null || !head.startsWith(SYMBOLIC_PREFIX + BRANCH_PREFIX)) {
+                return null;
+            }
+            return head.substring(SYMBOLIC_PREFIX.length() + BRANCH_PREFIX.length());
+        }
+
+        @Nullable
+        String headCommit() {
+            if (head == null || isDetached()) {
+                return head;
+            }
+            return refs.get(head.substring(SYMBOLIC_PREFIX.length()));
+        }
+
+        private void readPackedRefs(File packedRefs) {
+            if (!packedRefs.isFile()) {
+                return;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(packedRefs.toPath(), UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    // skip header and peeled tag lines
+                    if (line.startsWith("#") || line.startsWith("^")) {
+                        continue;
+                    }
+                    final int separator = line.indexOf(' ');
+                    if (separator != -1) {
+                        refs.put(line.substring(separator + 1).trim(), line.substring(0, separator));
+                    }
+                }
+            } catch (IOException ignored) {
+                // packed refs are being rewritten, the next change event brings them
+            }
+        }
+
+        private void readLooseRefs(File dir, String prefix) {
+            final File[] children = dir.listFiles();
+            if (children == null) {
+                return;
+            }
+            for (File child : children) {
+                final String name = prefix + '/' + child.getName();
+                if (child.isDirectory()) {
+                    readLooseRefs(child, name);
+                } else if (!name.endsWith(".lock")) {
+                    final String id = readFirstLine(child);
+                    // symbolic refs e.g. 'refs/remotes/origin/HEAD' follow their targets
+                    if (id != null && !id.startsWith(SYMBOLIC_PREFIX)) {
+                        refs.put(name, id);
+                    }
+                }
+            }
+        }
+
+        @Nullable
+        private static String readFirstLine(File file) {
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), UTF_8)) {
+                final String line = reader.readLine();
+                return line == null ? null : line.trim();
+            } catch (IOException x) {
+                return null;
+            }
+        }
+
+        private static String stat(File file) {
+            return file.lastModified() + ":" + file.length();
+        }
+    }
+}
@@ -12,6 +12,7 @@ package org.eclipse.che.api.git;
 
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.params.AddParams;
 import org.eclipse.che.api.git.params.CheckoutParams;
@@ -37,6 +38,7 @@ import org.eclipse.che.api.git.shared.CommitRequest;
 import org.eclipse.che.api.git.shared.Commiters;
 import org.eclipse.che.api.git.shared.ConfigRequest;
 import org.eclipse.che.api.git.shared.Constants;
+import org.eclipse.che.api.git.shared.DiffSummary;
 import org.eclipse.che.api.git.shared.DiffType;
 import org.eclipse.che.api.git.shared.FetchRequest;
 import org.eclipse.che.api.git.shared.MergeRequest;
@@ -77,6 +79,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 import java.net.URISyntaxException;
@@ -103,6 +106,9 @@ public class GitService {
     @Inject
     private ProjectRegistry projectRegistry;
 
+    @Inject
+    private GitStatusTracker statusTracker;
+
     @QueryParam("projectPath")
     private String projectPath;
 
@@ -230,6 +236,32 @@ public class GitService {
         }
     }
 
+    @GET
+    @Path("diff/summary")
+    @Produces(MediaType.APPLICATION_JSON)
+    public DiffSummary diffSummary(@QueryParam("fileFilter") List<String> fileFilter,
+                                   @QueryParam("noRenames") boolean noRenames,
+                                   @QueryParam("renameLimit") int renameLimit,
+                                   @QueryParam("commitA") String commitA,
+                                   @QueryParam("commitB") String commitB,
+                                   @QueryParam("cached") boolean cached,
+                                   @QueryParam("skip") int skip,
+                                   @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount,
+                                   @QueryParam("lineStats") boolean lineStats) throws ApiException {
+        try (GitConnection gitConnection = getGitConnection()) {
+            return gitConnection.diffSummary(DiffParams.create()
+                                                       .withFileFilter(fileFilter)
+                                                       .withNoRenames(noRenames)
+                                                       .withRenameLimit(renameLimit)
+                                                       .withCommitA(commitA)
+                                                       .withCommitB(commitB)
+                                                       .withCached(cached)
+                                                       .withSkip(skip)
+                                                       .withMaxCount(maxCount)
+                                                       .withLineStats(lineStats));
+        }
+    }
+
     @GET
     @Path("show")
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
@@ -279,14 +311,18 @@ public class GitService {
                        @QueryParam("since") String revisionRangeSince,
                        @QueryParam("until") String revisionRangeUntil,
                        @QueryParam("skip") @DefaultValue("0") int skip,
-                       @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount) throws ApiException {
+                       @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount,
+                       @QueryParam("includeBranches") @DefaultValue("true") boolean includeBranches,
+                       @QueryParam("includeDiffFiles") @DefaultValue("true") boolean includeDiffFiles) throws ApiException {
         try (GitConnection gitConnection = getGitConnection()) {
             return gitConnection.log(LogParams.create()
                                               .withFileFilter(fileFilter)
                                               .withRevisionRangeSince(revisionRangeSince)
                                               .withRevisionRangeUntil(revisionRangeUntil)
                                               .withMaxCount(maxCount)
-                                              .withSkip(skip));
+                                              .withSkip(skip)
+                                              .withIncludeBranches(includeBranches)
+                                              .withIncludeDiffFiles(includeDiffFiles));
         }
     }
 
@@ -409,7 +445,15 @@ public class GitService {
     @GET
     @Path("status")
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
-    public Status status(@QueryParam("format") StatusFormat format) throws ApiException {
+    public Status status(@QueryParam("format") StatusFormat format, @Context HttpHeaders headers) throws ApiException {
+        if (headers.getAcceptableMediaTypes().stream().noneMatch(MediaType.TEXT_PLAIN_TYPE::isCompatible)) {
+            // served from memory, text representation is produced by the connection only
+            final RegisteredProject project = projectRegistry.getProject(projectPath);
+            if (project == null) {
+                throw new NotFoundException("Project '" + projectPath + "' doesn't exist");
+            }
+            return statusTracker.getStatus(project.getPath(), format);
+        }
         try (GitConnection gitConnection = getGitConnection()) {
             return gitConnection.status(format);
         }
@@ -513,9 +557,9 @@ public class GitService {
 
     @GET
     @Path("commiters")
-    public Commiters getCommiters(@Context UriInfo uriInfo) throws ApiException {
+    public Commiters getCommiters(@Context UriInfo uriInfo, @QueryParam("prefix") String prefix) throws ApiException {
         try (GitConnection gitConnection = getGitConnection()) {
-            return newDto(Commiters.class).withCommiters(gitConnection.getCommiters());
+            return newDto(Commiters.class).withCommiters(gitConnection.getCommiters(prefix));
         }
     }
 
@@ -0,0 +1,516 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.GitRepositoryChangedEvent;
+import org.eclipse.che.api.git.shared.GitStatusChangedEvent;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.BRANCH_SWITCHED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.HEAD_COMMIT_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.INDEX_CHANGED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps in memory status of the git projects and updates it incrementally.
+ *
+ * <p>Status of a project is computed for the whole working tree only the first time
+ * it is requested, or when the index or the HEAD of the repository changes. Before that
+ * the directories of the working tree are registered in the file watcher, then file watcher
+ * events mark the changed paths, and only the status of those paths is recomputed on the
+ * next request. A working tree which can't be watched, e.g. because it has too many
+ * directories, gets the status of the whole working tree on each request.
+ *
+ * <p>Changes of the repositories themselves come from {@link GitRepositoryChangeDetector}.
+ *
+ * <p>Clients which track the status are notified with the new status of the project
+ * each time the status of the tracked project changes.
+ */
+@Singleton
+public class GitStatusTracker {
+
+    private static final Logger LOG = getLogger(GitStatusTracker.class);
+
+    private static final String GIT_DIR         = ".git";
+    private static final String INCOMING_METHOD = "track:git-status";
+    private static final String OUTGOING_METHOD = "event:git-status-changed";
+    private static final long   PUSH_DELAY_MS   = 500;
+
+    /** Directories of the working trees which are not watched, usually contain generated or downloaded files. */
+    private static final Set<String> SKIPPED_DIRS = ImmutableSet.of("node_modules", "target");
+
+    private final File                        root;
+    private final GitConnectionFactory        connectionFactory;
+    private final RequestTransmitter          transmitter;
+    private final FileWatcherManager          watcherManager;
+    private final GitRepositoryChangeDetector changeDetector;
+    private final Map<String, ProjectStatus>  statuses;
+    private final Set<String>                 endpointIds;
+    private final Set<String>                 scheduledPushes;
+    private final ScheduledExecutorService    executor;
+
+    /** Maximum number of the watched directories of a working tree, limits the number of inotify watches. */
+    @Inject(optional = true)
+    @Named("che.git.status.max_watched_dirs")
+    int maxWatchedDirs = 2000;
+
+    @Inject
+    public GitStatusTracker(@Named("che.user.workspaces.storage") File root,
+                            GitConnectionFactory connectionFactory,
+                            RequestTransmitter transmitter,
+                            FileWatcherManager watcherManager,
+                            GitRepositoryChangeDetector changeDetector) {
+        this.root = root;
+        this.connectionFactory = connectionFactory;
+        this.transmitter = transmitter;
+        this.watcherManager = watcherManager;
+        this.changeDetector = changeDetector;
+        this.statuses = new ConcurrentHashMap<>();
+        this.endpointIds = newConcurrentHashSet();
+        this.scheduledPushes = newConcurrentHashSet();
+        this.executor = newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("GitStatusTracker")
+                                                                                   .setDaemon(true)
+                                                                                   .build());
+    }
+
+    @Inject
+    public void configureHandler(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName(INCOMING_METHOD)
+                    .paramsAsEmpty()
+                    .noResult()
+                    .withConsumer((endpointId, skip) -> endpointIds.add(endpointId));
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        changeDetector.addListener(this::onRepositoryChanged);
+    }
+
+    @PreDestroy
+    public void stop() {
+        statuses.values().forEach(this::discard);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the status of the project.
+     *
+     * @param projectPath
+     *         workspace related path of the project
+     * @param format
+     *         the format of the status
+     * @throws GitException
+     *         when any error occurs while status is computed
+     */
+    public Status getStatus(String projectPath, StatusFormat format) throws GitException {
+        final String path = normalize(projectPath);
+        final ProjectStatus projectStatus = statuses.computeIfAbsent(path, ProjectStatus::new);
+        final Status status;
+        synchronized (projectStatus) {
+            try {
+                projectStatus.update();
+            } catch (GitException x) {
+                // e.g. project is not a git repository any more
+                discard(projectStatus);
+                throw x;
+            }
+            status = projectStatus.toStatus();
+        }
+        status.setFormat(format);
+        return status;
+    }
+
+    /** Drops the status of the project, the next request computes it for the whole working tree. */
+    public void invalidate(String projectPath) {
+        final ProjectStatus projectStatus = statuses.get(normalize(projectPath));
+        if (projectStatus != null) {
+            discard(projectStatus);
+        }
+    }
+
+    /** Forgets the status of the project and stops watching its working tree. */
+    private void discard(ProjectStatus projectStatus) {
+        statuses.remove(projectStatus.projectPath, projectStatus);
+        synchronized (projectStatus) {
+            projectStatus.unwatch();
+        }
+    }
+
+    /** Returns the status of the tracked project the workspace related path belongs to or null. */
+    private ProjectStatus findProjectStatus(String path) {
+        for (ProjectStatus projectStatus : statuses.values()) {
+            if (path.equals(projectStatus.projectPath) || path.startsWith(projectStatus.projectPath + '/')) {
+                return projectStatus;
+            }
+        }
+        return null;
+    }
+
+    private void onChange(String path) {
+        final String normalized = normalize(path);
+        final ProjectStatus projectStatus = findProjectStatus(normalized);
+        if (projectStatus == null || normalized.equals(projectStatus.projectPath)) {
+            return;
+        }
+        final String relative = normalized.substring(projectStatus.projectPath.length() + 1);
+        if (relative.equals(GIT_DIR)) {
+            // creation and removal of the repository come from the change detector
+            return;
+        }
+        synchronized (projectStatus) {
+            projectStatus.onChange(relative);
+        }
+        schedulePush(projectStatus);
+    }
+
+    private void onRepositoryChanged(GitRepositoryChangedEvent event) {
+        final ProjectStatus projectStatus = statuses.get(event.getProjectPath());
+        if (projectStatus == null) {
+            return;
+        }
+        if (!projectStatus.workTree.isDirectory()) {
+            discard(projectStatus);
+        } else if (event.getChanges().contains(INDEX_CHANGED)
+                   || event.getChanges().contains(HEAD_COMMIT_CHANGED)
+                   || event.getChanges().contains(BRANCH_SWITCHED)) {
+            // the snapshot of the project status tells whether the whole status must be recomputed
+            schedulePush(projectStatus);
+        }
+    }
+
+    /** Pushes the status of the project to the tracking clients, several changes made in a row are pushed once. */
+    private void schedulePush(ProjectStatus projectStatus) {
+        if (endpointIds.isEmpty() || !scheduledPushes.add(projectStatus.projectPath)) {
+            return;
+        }
+        executor.schedule(() -> {
+            scheduledPushes.remove(projectStatus.projectPath);
+            if (statuses.get(projectStatus.projectPath) != projectStatus) {
+                return;
+            }
+            final Status status;
+            synchronized (projectStatus) {
+                final Map<String, EnumSet<Category>> before = new TreeMap<>();
+                projectStatus.files.forEach((path, categories) -> before.put(path, EnumSet.copyOf(categories)));
+                final String branchBefore = projectStatus.branchName;
+                try {
+                    projectStatus.update();
+                } catch (GitException x) {
+                    LOG.warn("Couldn't update git status of the project '{}', error: {}", projectStatus.projectPath, x.getMessage());
+                    return;
+                }
+                if (before.equals(projectStatus.files) && Objects.equals(branchBefore, projectStatus.branchName)) {
+                    return;
+                }
+                status = projectStatus.toStatus();
+            }
+            final GitStatusChangedEvent event = newDto(GitStatusChangedEvent.class).withProjectPath(projectStatus.projectPath)
+                                                                                   .withStatus(status);
+            endpointIds.forEach(id -> transmitter.transmitOneToNone(id, OUTGOING_METHOD, event));
+        }, PUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private static String normalize(String path) {
+        String normalized = path.replace('\\', '/');
+        if (!normalized.startsWith("/")) {
+            normalized = '/' + normalized;
+        }
+        if (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    /** The categories of the {@link Status} a path may belong to. */
+    private enum Category {
+        ADDED(Status::getAdded),
+        CHANGED(Status::getChanged),
+        REMOVED(Status::getRemoved),
+        MISSING(Status::getMissing),
+        MODIFIED(Status::getModified),
+        UNTRACKED(Status::getUntracked),
+        UNTRACKED_FOLDER(Status::getUntrackedFolders),
+        CONFLICTING(Status::getConflicting);
+
+        final Function<Status, List<String>> getter;
+
+        Category(Function<Status, List<String>> getter) {
+            this.getter = getter;
+        }
+    }
+
+    /** In memory status of the project, must be accessed under its lock. */
+    private class ProjectStatus {
+        final String                                  projectPath;
+        final File                                    workTree;
+        final NavigableMap<String, EnumSet<Category>> files;
+        final Set<String>                             dirtyPaths;
+        final NavigableMap<String, Integer>           watchIds;
+
+        String  branchName;
+        String  repositoryState;
+        String  snapshot;
+        boolean computed;
+        boolean watched;
+        boolean tooManyDirs;
+
+        ProjectStatus(String projectPath) {
+            this.projectPath = projectPath;
+            this.workTree = new File(root, projectPath.substring(1));
+            this.files = new TreeMap<>();
+            this.dirtyPaths = new HashSet<>();
+            this.watchIds = new TreeMap<>();
+        }
+
+        /** Brings the status up to date with the working tree. */
+        void update() throws GitException {
+            if (!watched && !tooManyDirs) {
+                // changes are tracked only once the whole working tree is watched, until then the status is fully dirty
+                watched = watch("");
+            }
+            final String currentSnapshot = repositorySnapshot();
+            if (!watched || !computed || !Objects.equals(snapshot, currentSnapshot)) {
+                final Status status;
+                try (GitConnection connection = connectionFactory.getConnection(workTree)) {
+                    status = connection.status(StatusFormat.PORCELAIN);
+                }
+                files.clear();
+                apply(status);
+                dirtyPaths.clear();
+                snapshot = currentSnapshot;
+                computed = true;
+            } else if (!dirtyPaths.isEmpty()) {
+                final List<String> filter = expandDirtyPaths();
+                final Status partial;
+                try (GitConnection connection = connectionFactory.getConnection(workTree)) {
+                    partial = connection.status(StatusFormat.PORCELAIN, filter);
+                }
+                filter.forEach(path -> removeTree(files, path));
+                apply(partial);
+                dirtyPaths.clear();
+            }
+        }
+
+        /** Marks the path dirty, watches the created directories and forgets the watches of the removed ones. */
+        void onChange(String relative) {
+            dirtyPaths.add(relative);
+            if (!watched) {
+                return;
+            }
+            if (new File(workTree, relative).isDirectory()) {
+                if (!watchIds.containsKey(relative) && !watch(relative)) {
+                    unwatch();
+                }
+            } else {
+                // watches of the removed directories are dropped by the watch service,
+                // they can't be cancelled by id as the file watcher can't resolve removed directories
+                removeTree(watchIds, relative);
+            }
+        }
+
+        /**
+         * Registers the directory and its sub-directories, except '.git' and the skipped ones, in the file watcher.
+         * Nothing is registered if the directories can't be listed or there are too many of them.
+         *
+         * @param relative
+         *         the path of the directory relative to the working tree, empty for the working tree itself
+         * @return true if the directories are registered
+         */
+        private boolean watch(String relative) {
+            final Path workTreePath = workTree.toPath();
+            final List<String> dirs = new ArrayList<>();
+            try {
+                Files.walkFileTree(workTreePath.resolve(relative), new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        final String name = dir.getFileName().toString();
+                        if (!dir.equals(workTreePath) && (GIT_DIR.equals(name) || SKIPPED_DIRS.contains(name))) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        if (watchIds.size() + dirs.size() >= maxWatchedDirs) {
+                            tooManyDirs = true;
+                            return FileVisitResult.TERMINATE;
+                        }
+                        dirs.add(workTreePath.relativize(dir).toString().replace('\\', '/'));
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException x) {
+                        // removed while being walked
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException x) {
+                LOG.warn("Couldn't watch working tree of the project '{}', error: {}", projectPath, x.getMessage());
+                return false;
+            }
+            if (tooManyDirs) {
+                LOG.info("Working tree of the project '{}' has more than {} directories, it is not watched",
+                         projectPath, maxWatchedDirs);
+                return false;
+            }
+            final Consumer<String> consumer = GitStatusTracker.this::onChange;
+            for (String dir : dirs) {
+                if (!watchIds.containsKey(dir)) {
+                    final String path = dir.isEmpty() ? projectPath : projectPath + '/' + dir;
+                    watchIds.put(dir, watcherManager.registerByPath(path, consumer, consumer, consumer));
+                }
+            }
+            return true;
+        }
+
+        /** Stops watching the working tree, the status is fully dirty until it is watched again. */
+        void unwatch() {
+            watchIds.forEach((dir, id) -> {
+                // see onChange
+                if (new File(workTree, dir).isDirectory()) {
+                    watcherManager.unRegisterByPath(id);
+                }
+            });
+            watchIds.clear();
+            watched = false;
+        }
+
+        /** Adds the paths of the status to the model and remembers the branch. */
+        private void apply(Status status) {
+            for (Category category : Category.values()) {
+                for (String path : category.getter.apply(status)) {
+                    files.computeIfAbsent(path, p -> EnumSet.noneOf(Category.class)).add(category);
+                }
+            }
+            branchName = status.getBranchName();
+            repositoryState = status.getRepositoryState();
+        }
+
+        /**
+         * Returns dirty paths replacing those which are inside untracked folders with
+         * the folders, as removal of a file may make the folder empty and not untracked.
+         */
+        private List<String> expandDirtyPaths() {
+            final Set<String> expanded = new HashSet<>();
+            for (String path : dirtyPaths) {
+                String target = path;
+                for (int idx = path.lastIndexOf('/'); idx > 0; idx = path.lastIndexOf('/', idx - 1)) {
+                    final String parent = path.substring(0, idx);
+                    final EnumSet<Category> categories = files.get(parent);
+                    if (categories != null && categories.contains(Category.UNTRACKED_FOLDER)) {
+                        target = parent;
+                    }
+                }
+                expanded.add(target);
+            }
+            return new ArrayList<>(expanded);
+        }
+
+        /** Removes the path and all the paths inside of it from the map. */
+        private void removeTree(NavigableMap<String, ?> map, String path) {
+            map.remove(path);
+            final String prefix = path + '/';
+            for (Iterator<String> it = map.tailMap(prefix, true).keySet().iterator(); it.hasNext(); ) {
+                if (!it.next().startsWith(prefix)) {
+                    break;
+                }
+                it.remove();
+            }
+        }
+
+        Status toStatus() {
+            final Map<Category, List<String>> byCategory = new EnumMap<>(Category.class);
+            for (Category category : Category.values()) {
+                byCategory.put(category, new ArrayList<>());
+            }
+            files.forEach((path, categories) -> categories.forEach(category -> byCategory.get(category).add(path)));
+            final Status status = newDto(Status.class);
+            status.setBranchName(branchName);
+            status.setRepositoryState(repositoryState);
+            status.setAdded(byCategory.get(Category.ADDED));
+            status.setChanged(byCategory.get(Category.CHANGED));
+            status.setRemoved(byCategory.get(Category.REMOVED));
+            status.setMissing(byCategory.get(Category.MISSING));
+            status.setModified(byCategory.get(Category.MODIFIED));
+            status.setUntracked(byCategory.get(Category.UNTRACKED));
+            status.setUntrackedFolders(byCategory.get(Category.UNTRACKED_FOLDER));
+            status.setConflicting(byCategory.get(Category.CONFLICTING));
+            status.setClean(files.isEmpty());
+            return status;
+        }
+
+        /**
+         * Returns the string which changes when the index or the commit HEAD points to changes,
+         * consists of HEAD content and modification times and sizes of the index and the current branch ref.
+         */
+        private String repositorySnapshot() {
+            final File gitDir = new File(workTree, GIT_DIR);
+            final StringBuilder sb = new StringBuilder();
+            try {
+                final String head = new String(Files.readAllBytes(new File(gitDir, "HEAD").toPath()), UTF_8).trim();
+                sb.append(head);
+                if (head.startsWith("ref: ")) {
+                    appendStat(sb, new File(gitDir, head.substring("ref: ".length())));
+                }
+            } catch (IOException x) {
+                sb.append("no-head");
+            }
+            appendStat(sb, new File(gitDir, "index"));
+            appendStat(sb, new File(gitDir, "packed-refs"));
+            appendStat(sb, new File(gitDir, "MERGE_HEAD"));
+            return sb.toString();
+        }
+
+        private void appendStat(StringBuilder sb, File file) {
+            sb.append('|').append(file.lastModified()).append(':').append(file.length());
+        }
+    }
+}
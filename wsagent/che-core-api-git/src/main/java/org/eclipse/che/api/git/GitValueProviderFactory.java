@@ -10,9 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.api.git;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.git.shared.GitRepositoryChangedEvent;
 import org.eclipse.che.api.git.shared.Remote;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
@@ -20,23 +23,56 @@ import org.eclipse.che.api.project.server.type.ValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Singleton;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static java.util.Collections.unmodifiableList;
 import static org.eclipse.che.api.git.GitProjectType.GIT_CURRENT_BRANCH_NAME;
 import static org.eclipse.che.api.git.GitProjectType.GIT_REPOSITORY_REMOTES;
 import static org.eclipse.che.api.git.GitProjectType.VCS_PROVIDER_NAME;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.BRANCH_SWITCHED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.CONFIG_CHANGED;
 
 /**
+ * Provides git attributes of the project folders.
+ *
+ * <p>Attributes of a folder are read with a single git connection the first time
+ * they are requested and cached until {@link GitRepositoryChangeDetector} reports
+ * that the branch or the configuration of the repository changed, or that the repository
+ * or the whole project is created or removed. The number of cached folders is bounded,
+ * as folders which are not inside of a repository never get repository changes.
+ *
  * @author Roman Nikitenko
  */
 @Singleton
 public class GitValueProviderFactory implements ValueProviderFactory {
 
+    private static final int MAX_CACHED_FOLDERS = 1000;
+
+    private final GitConnectionFactory                     gitConnectionFactory;
+    private final GitRepositoryChangeDetector              changeDetector;
+    private final Cache<String, Map<String, List<String>>> attributes;
+
+    private long generation;
+
     @Inject
-    private GitConnectionFactory gitConnectionFactory;
+    public GitValueProviderFactory(GitConnectionFactory gitConnectionFactory, GitRepositoryChangeDetector changeDetector) {
+        this.gitConnectionFactory = gitConnectionFactory;
+        this.changeDetector = changeDetector;
+        this.attributes = CacheBuilder.newBuilder()
+                                      .maximumSize(MAX_CACHED_FOLDERS)
+                                      .build();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        changeDetector.addListener(this::onRepositoryChanged);
+    }
 
     @Override
     public ValueProvider newInstance(final FolderEntry folder) {
@@ -46,32 +82,67 @@ public class GitValueProviderFactory implements ValueProviderFactory {
                 if (folder == null) {
                     return Collections.emptyList();
                 }
-                try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
-                    //check whether the folder belongs to git repository
-                    if (!gitConnection.isInsideWorkTree()) {
-                        return Collections.emptyList();
-                    }
-
-                    switch (attributeName) {
-                        case VCS_PROVIDER_NAME:
-                            return Collections.singletonList("git");
-                        case GIT_CURRENT_BRANCH_NAME:
-                            return Collections.singletonList(gitConnection.getCurrentBranch());
-                        case GIT_REPOSITORY_REMOTES:
-                            return gitConnection.remoteList(null, false)
-                                                .stream()
-                                                .map(Remote::getUrl)
-                                                .collect(Collectors.toList());
-                        default:
-                            return Collections.emptyList();
-                    }
-                } catch (ApiException e) {
-                    throw new ValueStorageException(e.getMessage());
-                }
+                final List<String> values = getAttributes(folder).get(attributeName);
+                return values == null ? Collections.emptyList() : values;
             }
         };
     }
 
+    /** Drops the cached attributes of the folder and all its sub-folders. */
+    public void invalidate(String folderPath) {
+        synchronized (this) {
+            generation++;
+        }
+        final String prefix = folderPath + '/';
+        attributes.asMap().keySet().removeIf(path -> path.equals(folderPath) || path.startsWith(prefix));
+    }
+
+    private Map<String, List<String>> getAttributes(FolderEntry folder) throws ValueStorageException {
+        final String folderPath = folder.getPath().toString();
+        final Map<String, List<String>> cached = attributes.getIfPresent(folderPath);
+        if (cached != null) {
+            return cached;
+        }
+        final long expectedGeneration;
+        synchronized (this) {
+            expectedGeneration = generation;
+        }
+        final Map<String, List<String>> loaded = readAttributes(folder);
+        synchronized (this) {
+            // don't cache attributes if the repository was changed while they were read
+            if (generation == expectedGeneration) {
+                attributes.put(folderPath, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private Map<String, List<String>> readAttributes(FolderEntry folder) throws ValueStorageException {
+        try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
+            //check whether the folder belongs to git repository
+            if (!gitConnection.isInsideWorkTree()) {
+                return Collections.emptyMap();
+            }
+            final Map<String, List<String>> values = new HashMap<>();
+            values.put(VCS_PROVIDER_NAME, Collections.singletonList("git"));
+            values.put(GIT_CURRENT_BRANCH_NAME, Collections.singletonList(gitConnection.getCurrentBranch()));
+            values.put(GIT_REPOSITORY_REMOTES, unmodifiableList(gitConnection.remoteList(null, false)
+                                                                             .stream()
+                                                                             .map(Remote::getUrl)
+                                                                             .collect(Collectors.toList())));
+            return values;
+        } catch (ApiException e) {
+            throw new ValueStorageException(e.getMessage());
+        }
+    }
+
+    private void onRepositoryChanged(GitRepositoryChangedEvent event) {
+        // creation and removal of the repository are reported as switching of the branch
+        if (event.getChanges().contains(BRANCH_SWITCHED) || event.getChanges().contains(CONFIG_CHANGED)) {
+            invalidate(event.getProjectPath());
+        }
+    }
+
     private String resolveLocalPath(FolderEntry folder) throws ApiException {
         return folder.getVirtualFile().toIoFile().getAbsolutePath();
     }
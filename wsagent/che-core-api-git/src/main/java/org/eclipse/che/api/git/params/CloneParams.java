@@ -23,6 +23,7 @@ import java.util.List;
 public class CloneParams {
 
     private List<String> branchesToFetch;
+    private String       branch;
     private String       remoteUrl;
     private String       workingDir;
     private String       remoteName;
@@ -66,6 +67,17 @@ public class CloneParams {
         return this;
     }
 
+    /** Returns the name of the branch to check out after clone, remote HEAD is checked out if it is null. */
+    public String getBranch() {
+        return branch;
+    }
+
+    /** Returns {@link CloneParams} with specified name of the branch to check out after clone. */
+    public CloneParams withBranch(String branch) {
+        this.branch = branch;
+        return this;
+    }
+
     /** @see CloneRequest#getWorkingDir() */
     public String getWorkingDir() {
         return workingDir;
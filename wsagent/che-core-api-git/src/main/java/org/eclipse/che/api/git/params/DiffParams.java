@@ -29,6 +29,9 @@ public class DiffParams {
     private int          renameLimit;
     private boolean      noRenames;
     private boolean      isCached;
+    private int          skip;
+    private int          maxCount;
+    private boolean      lineStats;
 
     private DiffParams() {
     }
@@ -113,4 +116,39 @@ public class DiffParams {
         return this;
     }
 
+    /** Returns the number of changed files to skip, used by {@link org.eclipse.che.api.git.GitConnection#diffSummary(DiffParams)}. */
+    public int getSkip() {
+        return skip;
+    }
+
+    public DiffParams withSkip(int skip) {
+        this.skip = skip;
+        return this;
+    }
+
+    /**
+     * Returns the maximum number of changed files to return, used by {@link org.eclipse.che.api.git.GitConnection#diffSummary(DiffParams)}.
+     * All the files are returned if it is not positive.
+     */
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    public DiffParams withMaxCount(int maxCount) {
+        this.maxCount = maxCount;
+        return this;
+    }
+
+    /**
+     * Returns <code>true</code> if the numbers of added and deleted lines should be counted for each file returned by
+     * {@link org.eclipse.che.api.git.GitConnection#diffSummary(DiffParams)}, <code>false</code> (default) otherwise.
+     */
+    public boolean isLineStats() {
+        return lineStats;
+    }
+
+    public DiffParams withLineStats(boolean lineStats) {
+        this.lineStats = lineStats;
+        return this;
+    }
 }
@@ -26,10 +26,14 @@ public class LogParams {
     private String       filePath;
     private int          skip;
     private int          maxCount;
+    private boolean      includeBranches;
+    private boolean      includeDiffFiles;
 
     private LogParams() {
         skip = -1;
         maxCount = -1;
+        includeBranches = true;
+        includeDiffFiles = true;
     }
 
     /**
@@ -166,4 +170,48 @@ public class LogParams {
         this.fileFilter = fileFilter;
         return this;
     }
+
+    /** Returns true if the branches which contain each of the commits should be computed, true by default. */
+    public boolean isIncludeBranches() {
+        return includeBranches;
+    }
+
+    /** Set whether to compute the branches which contain each of the commits. */
+    public void setIncludeBranches(boolean includeBranches) {
+        this.includeBranches = includeBranches;
+    }
+
+    /**
+     * Create a {@link LogParams} object based on a given flag which shows
+     * whether to compute the branches which contain each of the commits
+     *
+     * @param includeBranches
+     *         whether to compute the branches which contain each of the commits
+     */
+    public LogParams withIncludeBranches(boolean includeBranches) {
+        this.includeBranches = includeBranches;
+        return this;
+    }
+
+    /** Returns true if the files changed by each of the commits should be computed, true by default. */
+    public boolean isIncludeDiffFiles() {
+        return includeDiffFiles;
+    }
+
+    /** Set whether to compute the files changed by each of the commits. */
+    public void setIncludeDiffFiles(boolean includeDiffFiles) {
+        this.includeDiffFiles = includeDiffFiles;
+    }
+
+    /**
+     * Create a {@link LogParams} object based on a given flag which shows
+     * whether to compute the files changed by each of the commits
+     *
+     * @param includeDiffFiles
+     *         whether to compute the files changed by each of the commits
+     */
+    public LogParams withIncludeDiffFiles(boolean includeDiffFiles) {
+        this.includeDiffFiles = includeDiffFiles;
+        return this;
+    }
 }
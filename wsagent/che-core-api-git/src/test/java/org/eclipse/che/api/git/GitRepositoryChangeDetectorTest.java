@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.reception.MethodNameConfigurator;
+import org.eclipse.che.api.core.jsonrpc.reception.OperationConfiguratorOneToNone;
+import org.eclipse.che.api.core.jsonrpc.reception.ParamsConfigurator;
+import org.eclipse.che.api.core.jsonrpc.reception.ResultConfiguratorFromOne;
+import org.eclipse.che.api.git.shared.GitRefChange;
+import org.eclipse.che.api.git.shared.GitRepositoryChangedEvent;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.BRANCHES_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.BRANCH_SWITCHED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.CONFIG_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.HEAD_COMMIT_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.INDEX_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.REMOTE_REFS_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.TAGS_CHANGED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests {@link GitRepositoryChangeDetector}.
+ */
+public class GitRepositoryChangeDetectorTest {
+
+    private static final String COMMIT_1     = "1111111111111111111111111111111111111111";
+    private static final String COMMIT_2     = "2222222222222222222222222222222222222222";
+    private static final long   PUSH_WAIT_MS = 1000;
+
+    private Path                        root;
+    private Path                        gitDir;
+    private RequestTransmitter          transmitter;
+    private GitRepositoryChangeDetector detector;
+    private Consumer<String>            changeConsumer;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("repository-change-detector");
+        gitDir = Files.createDirectories(root.resolve("project").resolve(".git"));
+        write("HEAD", "ref: refs/heads/master\n");
+        write("index", "index");
+        write("config", "[core]");
+        write("refs/heads/master", COMMIT_1 + '\n');
+        write("packed-refs", "# pack-refs with: peeled fully-peeled \n" +
+                             COMMIT_1 + " refs/remotes/origin/master\n" +
+                             COMMIT_1 + " refs/tags/v1\n" +
+                             '^' + COMMIT_2 + '\n');
+
+        transmitter = mock(RequestTransmitter.class);
+        final FileWatcherManager watcherManager = mock(FileWatcherManager.class);
+        detector = new GitRepositoryChangeDetector(root.toFile(), transmitter, watcherManager);
+        detector.configureHandler(configurator("endpoint-1", "track:git-repository"));
+        detector.startWatcher();
+
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(watcherManager).registerByMatcher(any(PathMatcher.class), captor.capture(), any(Consumer.class), any(Consumer.class));
+        changeConsumer = captor.getValue();
+    }
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        detector.stop();
+        IoUtil.deleteRecursive(root.toFile());
+    }
+
+    @Test
+    public void detectsNewCommit() throws Exception {
+        write("refs/heads/master", COMMIT_2 + '\n');
+
+        final GitRepositoryChangedEvent event = detector.detectChanges("/project");
+
+        assertEquals(event.getChanges(), asList(HEAD_COMMIT_CHANGED, BRANCHES_CHANGED));
+        assertEquals(event.getBranch(), "master");
+        assertEquals(event.getHeadCommit(), COMMIT_2);
+        assertRefChange(event, "refs/heads/master", COMMIT_1, COMMIT_2);
+    }
+
+    @Test
+    public void detectsBranchSwitch() throws Exception {
+        write("refs/heads/feature", COMMIT_2 + '\n');
+        detector.detectChanges("/project");
+        write("HEAD", "ref: refs/heads/feature\n");
+
+        final GitRepositoryChangedEvent event = detector.detectChanges("/project");
+
+        assertEquals(event.getChanges(), asList(BRANCH_SWITCHED, HEAD_COMMIT_CHANGED));
+        assertEquals(event.getBranch(), "feature");
+        assertEquals(event.getRefChanges().size(), 0);
+    }
+
+    @Test
+    public void detectsRemoteRefsUpdatedInPackedRefs() throws Exception {
+        write("refs/remotes/origin/master", COMMIT_2 + '\n');
+        write("refs/remotes/origin/HEAD", "ref: refs/remotes/origin/master\n");
+
+        final GitRepositoryChangedEvent event = detector.detectChanges("/project");
+
+        assertEquals(event.getChanges(), singletonList(REMOTE_REFS_CHANGED));
+        assertRefChange(event, "refs/remotes/origin/master", COMMIT_1, COMMIT_2);
+    }
+
+    @Test
+    public void detectsStagedChanges() throws Exception {
+        write("index", "index with staged changes");
+
+        assertEquals(detector.detectChanges("/project").getChanges(), singletonList(INDEX_CHANGED));
+    }
+
+    @Test
+    public void returnsNullIfRepositoryIsNotChanged() throws Exception {
+        assertNull(detector.detectChanges("/project"));
+    }
+
+    @Test
+    public void pushesChangesOfRefsToTrackingEndpoints() throws Exception {
+        write("refs/heads/master", COMMIT_2 + '\n');
+
+        changeConsumer.accept("/project/.git/refs/heads");
+
+        final GitRepositoryChangedEvent event = pushedEvent();
+        assertEquals(event.getProjectPath(), "/project");
+        assertEquals(event.getChanges(), asList(HEAD_COMMIT_CHANGED, BRANCHES_CHANGED));
+        assertRefChange(event, "refs/heads/master", COMMIT_1, COMMIT_2);
+    }
+
+    @Test
+    public void ignoresLockFiles() throws Exception {
+        write("refs/heads/master.lock", COMMIT_2 + '\n');
+        write("index.lock", "index being written");
+
+        changeConsumer.accept("/project/.git/refs/heads/master.lock");
+        changeConsumer.accept("/project/.git/index.lock");
+
+        Thread.sleep(PUSH_WAIT_MS);
+        verify(transmitter, never()).transmitOneToNone(anyString(), anyString(), any());
+    }
+
+    @Test
+    public void pushesCreationOfRepository() throws Exception {
+        final Path newGitDir = Files.createDirectories(root.resolve("new-project").resolve(".git"));
+        Files.write(newGitDir.resolve("HEAD"), "ref: refs/heads/master\n".getBytes(UTF_8));
+        Files.createDirectories(newGitDir.resolve("refs/heads"));
+        Files.write(newGitDir.resolve("refs/heads/master"), (COMMIT_1 + '\n').getBytes(UTF_8));
+
+        changeConsumer.accept("/new-project/.git");
+
+        final GitRepositoryChangedEvent event = pushedEvent();
+        assertEquals(event.getProjectPath(), "/new-project");
+        assertEquals(event.getBranch(), "master");
+        assertEquals(event.getHeadCommit(), COMMIT_1);
+        assertRefChange(event, "refs/heads/master", null, COMMIT_1);
+    }
+
+    @Test
+    public void pushesSeveralChangesMadeInRowOnce() throws Exception {
+        write("index", "index with staged changes");
+        write("refs/heads/master", COMMIT_2 + '\n');
+
+        changeConsumer.accept("/project/.git/index");
+        changeConsumer.accept("/project/.git/refs/heads/master");
+        changeConsumer.accept("/project/.git/HEAD");
+
+        final GitRepositoryChangedEvent event = pushedEvent();
+        assertEquals(event.getChanges(), asList(HEAD_COMMIT_CHANGED, INDEX_CHANGED, BRANCHES_CHANGED));
+        Thread.sleep(PUSH_WAIT_MS);
+        verify(transmitter, times(1)).transmitOneToNone(anyString(), anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void notifiesListenersWithChanges() throws Exception {
+        final Consumer<GitRepositoryChangedEvent> listener = mock(Consumer.class);
+        detector.addListener(listener);
+        write("config", "[remote \"origin\"]");
+
+        changeConsumer.accept("/project/.git/config");
+
+        final ArgumentCaptor<GitRepositoryChangedEvent> captor = ArgumentCaptor.forClass(GitRepositoryChangedEvent.class);
+        verify(listener, timeout(PUSH_WAIT_MS * 4)).accept(captor.capture());
+        assertEquals(captor.getValue().getProjectPath(), "/project");
+        assertEquals(captor.getValue().getChanges(), singletonList(CONFIG_CHANGED));
+    }
+
+    @Test
+    public void reportsRemovalOfProjectAsRemovalOfRepository() throws Exception {
+        IoUtil.deleteRecursive(root.resolve("project").toFile());
+
+        final GitRepositoryChangedEvent event = detector.detectChanges("/project");
+
+        assertEquals(event.getChanges(), asList(BRANCH_SWITCHED, HEAD_COMMIT_CHANGED, INDEX_CHANGED, BRANCHES_CHANGED,
+                                                TAGS_CHANGED, REMOTE_REFS_CHANGED, CONFIG_CHANGED));
+        assertNull(event.getBranch());
+        assertNull(detector.detectChanges("/project"));
+    }
+
+    private GitRepositoryChangedEvent pushedEvent() {
+        final ArgumentCaptor<GitRepositoryChangedEvent> captor = ArgumentCaptor.forClass(GitRepositoryChangedEvent.class);
+        verify(transmitter, timeout(PUSH_WAIT_MS * 4)).transmitOneToNone(eq("endpoint-1"),
+                                                                         eq("event:git-repository-changed"),
+                                                                         captor.capture());
+        return captor.getValue();
+    }
+
+    /** Returns the configurator which subscribes the endpoint with the given method. */
+    @SuppressWarnings("unchecked")
+    static RequestHandlerConfigurator configurator(String endpointId, String methodName) {
+        final OperationConfiguratorOneToNone<Void> operationConfigurator = mock(OperationConfiguratorOneToNone.class);
+        doAnswer(invocation -> {
+            ((BiConsumer<String, Void>)invocation.getArguments()[0]).accept(endpointId, null);
+            return null;
+        }).when(operationConfigurator).withConsumer(any(BiConsumer.class));
+        final ResultConfiguratorFromOne<Void> resultConfigurator = mock(ResultConfiguratorFromOne.class);
+        when(resultConfigurator.noResult()).thenReturn(operationConfigurator);
+        final ParamsConfigurator paramsConfigurator = mock(ParamsConfigurator.class);
+        when(paramsConfigurator.paramsAsEmpty()).thenReturn(resultConfigurator);
+        final MethodNameConfigurator methodNameConfigurator = mock(MethodNameConfigurator.class);
+        when(methodNameConfigurator.methodName(methodName)).thenReturn(paramsConfigurator);
+        final RequestHandlerConfigurator configurator = mock(RequestHandlerConfigurator.class);
+        when(configurator.newConfiguration()).thenReturn(methodNameConfigurator);
+        return configurator;
+    }
+
+    private void assertRefChange(GitRepositoryChangedEvent event, String name, String oldId, String newId) {
+        assertEquals(event.getRefChanges().size(), 1);
+        final GitRefChange refChange = event.getRefChanges().get(0);
+        assertEquals(refChange.getName(), name);
+        assertEquals(refChange.getOldId(), oldId);
+        assertEquals(refChange.getNewId(), newId);
+    }
+
+    private void write(String name, String content) throws Exception {
+        final Path file = gitDir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.GitRepositoryChangedEvent;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.INDEX_CHANGED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link GitStatusTracker}.
+ */
+public class GitStatusTrackerTest {
+
+    private Path               root;
+    private Path               gitDir;
+    private GitConnection      connection;
+    private FileWatcherManager watcherManager;
+    private RequestTransmitter transmitter;
+    private GitStatusTracker   tracker;
+
+    private Consumer<GitRepositoryChangedEvent> repositoryListener;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("status-tracker");
+        gitDir = Files.createDirectories(root.resolve("project").resolve(".git"));
+        Files.write(gitDir.resolve("HEAD"), "ref: refs/heads/master".getBytes(UTF_8));
+        Files.write(gitDir.resolve("index"), "index".getBytes(UTF_8));
+
+        connection = mock(GitConnection.class);
+        final GitConnectionFactory connectionFactory = mock(GitConnectionFactory.class);
+        when(connectionFactory.getConnection(any(File.class), any(LineConsumerFactory.class))).thenReturn(connection);
+        watcherManager = mock(FileWatcherManager.class);
+        transmitter = mock(RequestTransmitter.class);
+        final GitRepositoryChangeDetector changeDetector = mock(GitRepositoryChangeDetector.class);
+        tracker = new GitStatusTracker(root.toFile(), connectionFactory, transmitter, watcherManager, changeDetector);
+        tracker.startWatcher();
+
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(changeDetector).addListener(captor.capture());
+        repositoryListener = captor.getValue();
+
+        final Status fullStatus = status(asList("a.txt", "dir/b.txt"), singletonList("c.txt"));
+        when(connection.status(StatusFormat.PORCELAIN)).thenReturn(fullStatus);
+    }
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        tracker.stop();
+        IoUtil.deleteRecursive(root.toFile());
+    }
+
+    @Test
+    public void computesStatusOfWholeWorkingTreeOnlyOnce() throws Exception {
+        final Status status1 = tracker.getStatus("/project", StatusFormat.PORCELAIN);
+        final Status status2 = tracker.getStatus("project", StatusFormat.PORCELAIN);
+
+        verify(connection, times(1)).status(StatusFormat.PORCELAIN);
+        assertEquals(status1.getModified(), asList("a.txt", "dir/b.txt"));
+        assertEquals(status1.getUntracked(), singletonList("c.txt"));
+        assertEquals(status2.getModified(), status1.getModified());
+        assertFalse(status2.isClean());
+    }
+
+    @Test
+    public void recomputesStatusOfChangedPathsOnly() throws Exception {
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+        when(connection.status(StatusFormat.PORCELAIN, singletonList("dir"))).thenReturn(status(emptyList(), emptyList()));
+        when(connection.status(StatusFormat.PORCELAIN, singletonList("d.txt"))).thenReturn(status(emptyList(),
+                                                                                                  singletonList("d.txt")));
+
+        final Consumer<String> changeConsumer = changeConsumer("/project");
+        changeConsumer.accept("/project/dir");
+        final Status status1 = tracker.getStatus("/project", StatusFormat.PORCELAIN);
+        changeConsumer.accept("/project/d.txt");
+        final Status status2 = tracker.getStatus("/project", StatusFormat.PORCELAIN);
+
+        verify(connection, times(1)).status(StatusFormat.PORCELAIN);
+        assertEquals(status1.getModified(), singletonList("a.txt"));
+        assertEquals(status2.getUntracked(), asList("c.txt", "d.txt"));
+    }
+
+    @Test
+    public void recomputesWholeStatusWhenIndexChanges() throws Exception {
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+
+        Files.write(gitDir.resolve("index"), "modified index".getBytes(UTF_8));
+        when(connection.status(StatusFormat.PORCELAIN)).thenReturn(status(emptyList(), emptyList()));
+        final Status status = tracker.getStatus("/project", StatusFormat.PORCELAIN);
+
+        verify(connection, times(2)).status(StatusFormat.PORCELAIN);
+        verify(connection, never()).status(any(StatusFormat.class), anyListOf(String.class));
+        assertTrue(status.isClean());
+    }
+
+    @Test
+    public void ignoresCreationOfGitDirectory() throws Exception {
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+
+        changeConsumer("/project").accept("/project/.git");
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+
+        verify(connection, times(1)).status(StatusFormat.PORCELAIN);
+        verify(connection, never()).status(any(StatusFormat.class), anyListOf(String.class));
+    }
+
+    @Test
+    public void watchesWorkingTreeBeforeComputingWholeStatus() throws Exception {
+        Files.createDirectories(root.resolve("project").resolve("src").resolve("main"));
+        Files.createDirectories(gitDir.resolve("objects"));
+        Files.createDirectories(root.resolve("project").resolve("node_modules").resolve("lib"));
+        Files.createDirectories(root.resolve("project").resolve("target"));
+        Files.createDirectories(root.resolve("other").resolve("src"));
+
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+
+        final InOrder inOrder = inOrder(watcherManager, connection);
+        inOrder.verify(watcherManager).registerByPath(eq("/project/src/main"), any(Consumer.class), any(Consumer.class),
+                                                      any(Consumer.class));
+        inOrder.verify(connection).status(StatusFormat.PORCELAIN);
+        verify(watcherManager).registerByPath(eq("/project"), any(Consumer.class), any(Consumer.class), any(Consumer.class));
+        verify(watcherManager).registerByPath(eq("/project/src"), any(Consumer.class), any(Consumer.class), any(Consumer.class));
+        verify(watcherManager, times(3)).registerByPath(anyString(), any(Consumer.class), any(Consumer.class), any(Consumer.class));
+    }
+
+    @Test
+    public void watchesCreatedDirectories() throws Exception {
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+        Files.createDirectories(root.resolve("project").resolve("src").resolve("main"));
+
+        changeConsumer("/project").accept("/project/src");
+
+        verify(watcherManager).registerByPath(eq("/project/src"), any(Consumer.class), any(Consumer.class), any(Consumer.class));
+        verify(watcherManager).registerByPath(eq("/project/src/main"), any(Consumer.class), any(Consumer.class), any(Consumer.class));
+    }
+
+    @Test
+    public void computesWholeStatusOnEachRequestIfWorkingTreeHasTooManyDirectories() throws Exception {
+        Files.createDirectories(root.resolve("project").resolve("src"));
+        tracker.maxWatchedDirs = 1;
+
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+
+        verify(connection, times(2)).status(StatusFormat.PORCELAIN);
+        verify(watcherManager, never()).registerByPath(anyString(), any(Consumer.class), any(Consumer.class), any(Consumer.class));
+    }
+
+    @Test
+    public void stopsWatchingWorkingTreeWhenStatusIsInvalidated() throws Exception {
+        when(watcherManager.registerByPath(eq("/project"), any(Consumer.class), any(Consumer.class), any(Consumer.class))).thenReturn(7);
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+
+        tracker.invalidate("/project");
+
+        verify(watcherManager).unRegisterByPath(7);
+    }
+
+    @Test
+    public void pushesStatusWhenIndexChanges() throws Exception {
+        tracker.configureHandler(GitRepositoryChangeDetectorTest.configurator("endpoint-1", "track:git-status"));
+        tracker.getStatus("/project", StatusFormat.PORCELAIN);
+        Files.write(gitDir.resolve("index"), "modified index".getBytes(UTF_8));
+        when(connection.status(StatusFormat.PORCELAIN)).thenReturn(status(emptyList(), emptyList()));
+
+        repositoryListener.accept(newDto(GitRepositoryChangedEvent.class).withProjectPath("/project")
+                                                                         .withChanges(singletonList(INDEX_CHANGED)));
+
+        verify(transmitter, timeout(2000)).transmitOneToNone(eq("endpoint-1"), eq("event:git-status-changed"), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<String> changeConsumer(String path) {
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(watcherManager).registerByPath(eq(path), captor.capture(), any(Consumer.class), any(Consumer.class));
+        return captor.getValue();
+    }
+
+    private static Status status(List<String> modified, List<String> untracked) {
+        final Status status = mock(Status.class);
+        when(status.getBranchName()).thenReturn("master");
+        when(status.getAdded()).thenReturn(emptyList());
+        when(status.getChanged()).thenReturn(emptyList());
+        when(status.getRemoved()).thenReturn(emptyList());
+        when(status.getMissing()).thenReturn(emptyList());
+        when(status.getModified()).thenReturn(modified);
+        when(status.getUntracked()).thenReturn(untracked);
+        when(status.getUntrackedFolders()).thenReturn(emptyList());
+        when(status.getConflicting()).thenReturn(emptyList());
+        return status;
+    }
+}
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.GitRepositoryChangedEvent;
+import org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change;
+import org.eclipse.che.api.git.shared.Remote;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.type.ValueProvider;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.git.GitProjectType.GIT_CURRENT_BRANCH_NAME;
+import static org.eclipse.che.api.git.GitProjectType.GIT_REPOSITORY_REMOTES;
+import static org.eclipse.che.api.git.GitProjectType.VCS_PROVIDER_NAME;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.BRANCHES_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.BRANCH_SWITCHED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.CONFIG_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.HEAD_COMMIT_CHANGED;
+import static org.eclipse.che.api.git.shared.GitRepositoryChangedEvent.Change.INDEX_CHANGED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link GitValueProviderFactory}.
+ */
+public class GitValueProviderFactoryTest {
+
+    private GitConnectionFactory    connectionFactory;
+    private GitConnection           connection;
+    private GitValueProviderFactory factory;
+    private ValueProvider           valueProvider;
+
+    private Consumer<GitRepositoryChangedEvent> listener;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        connection = mock(GitConnection.class);
+        when(connection.isInsideWorkTree()).thenReturn(true);
+        when(connection.getCurrentBranch()).thenReturn("master");
+        final Remote remote = mock(Remote.class);
+        when(remote.getUrl()).thenReturn("https://github.com/eclipse/che.git");
+        when(connection.remoteList(null, false)).thenReturn(singletonList(remote));
+        connectionFactory = mock(GitConnectionFactory.class);
+        when(connectionFactory.getConnection(any(File.class), any(LineConsumerFactory.class))).thenReturn(connection);
+
+        final GitRepositoryChangeDetector changeDetector = mock(GitRepositoryChangeDetector.class);
+        factory = new GitValueProviderFactory(connectionFactory, changeDetector);
+        factory.subscribe();
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(changeDetector).addListener(captor.capture());
+        listener = captor.getValue();
+
+        final VirtualFile virtualFile = mock(VirtualFile.class);
+        when(virtualFile.toIoFile()).thenReturn(new File("/projects/project"));
+        final FolderEntry folder = mock(FolderEntry.class);
+        when(folder.getPath()).thenReturn(Path.of("/project"));
+        when(folder.getVirtualFile()).thenReturn(virtualFile);
+        valueProvider = factory.newInstance(folder);
+    }
+
+    @Test
+    public void readsAllAttributesWithSingleConnection() throws Exception {
+        assertEquals(valueProvider.getValues(VCS_PROVIDER_NAME), singletonList("git"));
+        assertEquals(valueProvider.getValues(GIT_CURRENT_BRANCH_NAME), singletonList("master"));
+        assertEquals(valueProvider.getValues(GIT_REPOSITORY_REMOTES), singletonList("https://github.com/eclipse/che.git"));
+        assertEquals(valueProvider.getValues(GIT_CURRENT_BRANCH_NAME), singletonList("master"));
+
+        verify(connectionFactory, times(1)).getConnection(any(File.class), any(LineConsumerFactory.class));
+    }
+
+    @Test
+    public void rereadsAttributesWhenBranchIsSwitched() throws Exception {
+        valueProvider.getValues(GIT_CURRENT_BRANCH_NAME);
+        when(connection.getCurrentBranch()).thenReturn("feature");
+
+        listener.accept(event("/project", BRANCH_SWITCHED, HEAD_COMMIT_CHANGED));
+
+        assertEquals(valueProvider.getValues(GIT_CURRENT_BRANCH_NAME), singletonList("feature"));
+        verify(connectionFactory, times(2)).getConnection(any(File.class), any(LineConsumerFactory.class));
+    }
+
+    @Test
+    public void rereadsAttributesWhenRemotesChange() throws Exception {
+        valueProvider.getValues(GIT_REPOSITORY_REMOTES);
+        when(connection.remoteList(null, false)).thenReturn(emptyList());
+
+        listener.accept(event("/project", CONFIG_CHANGED));
+
+        assertTrue(valueProvider.getValues(GIT_REPOSITORY_REMOTES).isEmpty());
+    }
+
+    @Test
+    public void rereadsAttributesWhenRepositoryIsRemoved() throws Exception {
+        valueProvider.getValues(VCS_PROVIDER_NAME);
+        when(connection.isInsideWorkTree()).thenReturn(false);
+
+        listener.accept(event("/project", BRANCH_SWITCHED, HEAD_COMMIT_CHANGED, INDEX_CHANGED, BRANCHES_CHANGED));
+
+        assertTrue(valueProvider.getValues(VCS_PROVIDER_NAME).isEmpty());
+    }
+
+    @Test
+    public void doesNotRereadAttributesWhenCommitsAreMadeOrOtherRepositoryChanges() throws Exception {
+        valueProvider.getValues(GIT_CURRENT_BRANCH_NAME);
+
+        listener.accept(event("/project", INDEX_CHANGED));
+        listener.accept(event("/project", HEAD_COMMIT_CHANGED, BRANCHES_CHANGED));
+        listener.accept(event("/other-project", BRANCH_SWITCHED));
+        valueProvider.getValues(GIT_CURRENT_BRANCH_NAME);
+
+        verify(connectionFactory, times(1)).getConnection(any(File.class), any(LineConsumerFactory.class));
+    }
+
+    @Test
+    public void returnsEmptyValuesForFolderOutsideOfRepository() throws Exception {
+        when(connection.isInsideWorkTree()).thenReturn(false);
+
+        assertEquals(valueProvider.getValues(VCS_PROVIDER_NAME), emptyList());
+        assertEquals(valueProvider.getValues(GIT_REPOSITORY_REMOTES), emptyList());
+        verify(connectionFactory, times(1)).getConnection(any(File.class), any(LineConsumerFactory.class));
+    }
+
+    private static GitRepositoryChangedEvent event(String projectPath, Change... changes) {
+        return newDto(GitRepositoryChangedEvent.class).withProjectPath(projectPath).withChanges(asList(changes));
+    }
+}
@@ -19,6 +19,7 @@ import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.git.GitConnection;
 import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.params.CloneParams;
+import org.eclipse.che.api.git.shared.Branch;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -26,7 +27,11 @@ import org.testng.annotations.Test;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.git.shared.BranchListMode.LIST_REMOTE;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToGitRepositoryWithContent;
 import static org.mockito.Matchers.anyString;
@@ -35,6 +40,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
 
 /**
  * @author Igor Vinokur
@@ -91,4 +98,28 @@ public class CloneTest {
         //then
         verify(lineConsumer, atLeastOnce()).writeLine(anyString());
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testCloneOfSingleBranch(GitConnectionFactory connectionFactory)
+            throws ServerException, IOException, UnauthorizedException, URISyntaxException {
+        //given
+        GitConnection remoteConnection = connectToGitRepositoryWithContent(connectionFactory, remoteRepo);
+        remoteConnection.branchCreate("feature", null);
+        remoteConnection.branchCreate("other", null);
+        GitConnection localConnection = connectionFactory.getConnection(localRepo.getAbsolutePath());
+
+        //when
+        localConnection.clone(CloneParams.create(remoteConnection.getWorkingDir().getAbsolutePath())
+                                         .withBranch("feature")
+                                         .withBranchesToFetch(singletonList("refs/heads/feature")));
+
+        //then
+        assertEquals(localConnection.getCurrentBranch(), "feature");
+        List<String> remoteBranches = localConnection.branchList(LIST_REMOTE)
+                                                     .stream()
+                                                     .map(Branch::getDisplayName)
+                                                     .collect(Collectors.toList());
+        assertTrue(remoteBranches.contains("origin/feature"));
+        assertFalse(remoteBranches.contains("origin/other"));
+    }
 }
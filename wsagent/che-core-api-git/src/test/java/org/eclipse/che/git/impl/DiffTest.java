@@ -21,6 +21,8 @@ import org.eclipse.che.api.git.params.CommitParams;
 import org.eclipse.che.api.git.params.DiffParams;
 import org.eclipse.che.api.git.params.RmParams;
 import org.eclipse.che.api.git.shared.AddRequest;
+import org.eclipse.che.api.git.shared.DiffFileSummary;
+import org.eclipse.che.api.git.shared.DiffSummary;
 import org.eclipse.che.api.git.shared.DiffType;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -40,6 +42,8 @@ import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -338,6 +342,62 @@ public class DiffTest {
         diffPage.writeTo(System.out);
     }
 
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testDiffSummaryWithRenameAndLineStats(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "old.txt", "line 1\nline 2\nline 3\nline 4\nline 5\n");
+        connection.add(AddParams.create(singletonList("old.txt")));
+        connection.commit(CommitParams.create("add old.txt"));
+
+        connection.rm(RmParams.create(singletonList("old.txt")));
+        addFile(connection, "new.txt", "line 1\nline 2\nline 3\nline 4\nline 5\nline 6\n");
+        connection.add(AddParams.create(singletonList("new.txt")));
+        connection.commit(CommitParams.create("rename old.txt"));
+
+        //when
+        DiffSummary summary = connection.diffSummary(DiffParams.create()
+                                                               .withCommitA("HEAD^")
+                                                               .withCommitB("HEAD")
+                                                               .withLineStats(true));
+
+        //then
+        assertEquals(summary.getTotalCount(), 1);
+        assertFalse(summary.isRenameLimitExceeded());
+        DiffFileSummary file = summary.getFiles().get(0);
+        assertEquals(file.getChangeType(), "RENAME");
+        assertEquals(file.getOldPath(), "old.txt");
+        assertEquals(file.getNewPath(), "new.txt");
+        assertEquals(file.getLinesAdded(), 1);
+        assertEquals(file.getLinesDeleted(), 0);
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testDiffSummaryPage(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        makeCommitInMaster(connection);
+        addFile(connection, "bbb", "BBB\n");
+        addFile(connection, "ccc", "CCC\n");
+        connection.add(AddParams.create(singletonList(".")));
+
+        //when
+        DiffSummary summary = connection.diffSummary(DiffParams.create()
+                                                               .withCached(true)
+                                                               .withSkip(1)
+                                                               .withMaxCount(1));
+
+        //then
+        assertEquals(summary.getTotalCount(), 3);
+        assertEquals(summary.getFiles().size(), 1);
+        DiffFileSummary file = summary.getFiles().get(0);
+        assertEquals(file.getChangeType(), "ADD");
+        assertNull(file.getOldPath());
+        assertEquals(file.getNewPath(), "bbb");
+        // lines are counted only if requested
+        assertEquals(file.getLinesAdded(), 0);
+    }
+
     private List<String> readDiff(DiffParams params, GitConnection connection) throws GitException, IOException {
         DiffPage diffPage = connection.diff(params);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
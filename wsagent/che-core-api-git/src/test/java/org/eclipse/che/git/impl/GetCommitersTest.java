@@ -32,6 +32,7 @@ import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Eugene Voevodin
@@ -66,4 +67,19 @@ public class GetCommitersTest {
         assertEquals(committers.size(), 1);
         assertEquals(committers.get(0), getTestGitUser());
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testGetCommittersByPrefix(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+
+        //given
+        addFile(connection, "newfile", "newfile content");
+        connection.add(AddParams.create(singletonList(".")));
+        connection.commit(CommitParams.create("test commit"));
+
+        //then
+        assertEquals(connection.getCommiters("TEST_"), singletonList(getTestGitUser()));
+        assertEquals(connection.getCommiters("test@"), singletonList(getTestGitUser()));
+        assertTrue(connection.getCommiters("unknown").isEmpty());
+    }
 }
@@ -19,6 +19,7 @@ import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.params.AddParams;
 import org.eclipse.che.api.git.params.CommitParams;
 import org.eclipse.che.api.git.params.LogParams;
+import org.eclipse.che.api.git.shared.Branch;
 import org.eclipse.che.api.git.shared.Revision;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -31,10 +32,14 @@ import java.util.Collections;
 import java.util.List;
 
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Igor Vinokur
@@ -316,4 +321,54 @@ public class LogTest {
         assertEquals(thirdAndFourthCommits.get(0).getMessage(), "add 4.txt file");
         assertEquals(thirdAndFourthCommits.get(1).getMessage(), "add 3.txt file");
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogReturnsBranchesContainingEachCommit(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "1.txt", "someChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 1.txt file"));
+
+        addFile(connection, "2.txt", "newChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 2.txt file"));
+        connection.branchCreate("feature", null);
+
+        addFile(connection, "3.txt", "otherChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 3.txt file"));
+
+        //when
+        List<Revision> commits = connection.log(LogParams.create()).getCommits();
+
+        //then
+        assertEquals(branchNames(commits.get(0)), singletonList("refs/heads/master"));
+        assertEquals(branchNames(commits.get(1)), asList("refs/heads/feature", "refs/heads/master"));
+        assertEquals(branchNames(commits.get(2)), asList("refs/heads/feature", "refs/heads/master"));
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogWithoutBranchesAndDiffFiles(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "1.txt", "someChanges");
+        connection.add(AddParams.create());
+        connection.commit(CommitParams.create("add 1.txt file"));
+
+        //when
+        List<Revision> commits = connection.log(LogParams.create()
+                                                         .withIncludeBranches(false)
+                                                         .withIncludeDiffFiles(false)).getCommits();
+
+        //then
+        assertEquals(commits.size(), 1);
+        assertEquals(commits.get(0).getMessage(), "add 1.txt file");
+        assertTrue(commits.get(0).getBranches().isEmpty());
+        assertTrue(commits.get(0).getDiffCommitFile().isEmpty());
+    }
+
+    private static List<String> branchNames(Revision revision) {
+        return revision.getBranches().stream().map(Branch::getName).collect(toList());
+    }
 }
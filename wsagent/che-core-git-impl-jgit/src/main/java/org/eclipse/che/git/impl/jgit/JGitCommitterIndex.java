@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.api.git.shared.GitUser;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.slf4j.Logger;
+
+import javax.inject.Singleton;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Index of the committers of the commits reachable from the repository HEAD.
+ *
+ * <p>The index is stored in the '.git' directory together with the HEAD commit it was
+ * built for. When HEAD moves forward (commit, pull, merge) only the new commits are walked,
+ * when HEAD is moved to an unrelated commit (reset, checkout) the index is rebuilt.
+ *
+ * <p>Loaded indexes are kept in memory sorted by lower-cased names and emails
+ * so prefix searches are served by range lookups.
+ */
+@Singleton
+public class JGitCommitterIndex {
+
+    private static final Logger LOG = getLogger(JGitCommitterIndex.class);
+
+    static final String INDEX_FILE = "che-committers";
+
+    private static final int MAX_CACHED_INDEXES = 50;
+
+    private final Cache<File, Index> indexes;
+
+    public JGitCommitterIndex() {
+        this.indexes = CacheBuilder.newBuilder()
+                                   .maximumSize(MAX_CACHED_INDEXES)
+                                   .expireAfterAccess(30, TimeUnit.MINUTES)
+                                   .build();
+    }
+
+    /**
+     * Returns the committers of the commits reachable from the repository HEAD
+     * sorted by names, brings the index up to date with HEAD if needed.
+     *
+     * @param repository
+     *         the repository to get committers of
+     * @param prefix
+     *         if not null, only the committers whose name or email starts
+     *         with this prefix (case insensitive) are returned
+     * @throws IOException
+     *         when any error occurs while index is read or updated
+     */
+    public List<GitUser> getCommitters(Repository repository, @Nullable String prefix) throws IOException {
+        final File gitDir = repository.getDirectory().getCanonicalFile();
+        final Index index;
+        try {
+            index = indexes.get(gitDir, () -> Index.load(new File(gitDir, INDEX_FILE)));
+        } catch (ExecutionException x) {
+            throw new IOException(x.getCause().getMessage(), x.getCause());
+        }
+        synchronized (index) {
+            update(repository, index, gitDir);
+            return index.search(prefix);
+        }
+    }
+
+    private static void update(Repository repository, Index index, File gitDir) throws IOException {
+        final ObjectId head = repository.resolve(Constants.HEAD);
+        if (Objects.equals(head, index.head)) {
+            return;
+        }
+        if (head == null) {
+            index.clear();
+        } else {
+            try (RevWalk walk = new RevWalk(repository)) {
+                final RevCommit headCommit = walk.parseCommit(head);
+                final boolean incremental = index.head != null && isAncestor(repository, index.head, head);
+                if (incremental) {
+                    walk.markUninteresting(walk.parseCommit(index.head));
+                } else {
+                    index.clear();
+                }
+                walk.markStart(headCommit);
+                for (RevCommit commit : walk) {
+                    final PersonIdent committer = commit.getCommitterIdent();
+                    index.add(committer.getName(), committer.getEmailAddress());
+                }
+            }
+        }
+        index.head = head == null ? null : head.copy();
+        try {
+            index.store(new File(gitDir, INDEX_FILE));
+        } catch (IOException x) {
+            // in memory index is still valid, the whole history is walked after restart
+            LOG.warn("Couldn't store the index of committers of repository '{}', error: {}", gitDir, x.getMessage());
+        }
+    }
+
+    private static boolean isAncestor(Repository repository, ObjectId ancestor, ObjectId head) throws IOException {
+        if (!repository.hasObject(ancestor)) {
+            return false;
+        }
+        try (RevWalk walk = new RevWalk(repository)) {
+            return walk.isMergedInto(walk.parseCommit(ancestor), walk.parseCommit(head));
+        }
+    }
+
+    /** Committers of the commits reachable from {@link #head}. */
+    private static class Index {
+        final NavigableMap<String, Committer> byName  = new TreeMap<>();
+        final NavigableMap<String, Committer> byEmail = new TreeMap<>();
+
+        ObjectId head;
+
+        void add(String name, String email) {
+            final Committer committer = new Committer(name, email);
+            if (byName.putIfAbsent(committer.nameKey(), committer) == null) {
+                byEmail.put(committer.emailKey(), committer);
+            }
+        }
+
+        void clear() {
+            byName.clear();
+            byEmail.clear();
+        }
+
+        List<GitUser> search(@Nullable String prefix) {
+            final Set<Committer> found = new LinkedHashSet<>();
+            if (prefix == null || prefix.isEmpty()) {
+                found.addAll(byName.values());
+            } else {
+                final String lowerCased = prefix.toLowerCase();
+                found.addAll(range(byName, lowerCased));
+                found.addAll(range(byEmail, lowerCased));
+            }
+            final List<GitUser> users = new ArrayList<>(found.size());
+            for (Committer committer : found) {
+                users.add(newDto(GitUser.class).withName(committer.name).withEmail(committer.email));
+            }
+            return users;
+        }
+
+        void store(File file) throws IOException {
+            final Path tmp = new File(file.getParentFile(), file.getName() + ".tmp").toPath();
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, UTF_8)) {
+                writer.write(head == null ? ObjectId.zeroId().name() : head.name());
+                writer.newLine();
+                for (Committer committer : byName.values()) {
+                    writer.write(committer.name);
+                    writer.write('\t');
+                    writer.write(committer.email);
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        }
+
+        /** Loads the index from the file, returns an empty index if file doesn't exist or is broken. */
+        static Index load(File file) throws IOException {
+            final Index index = new Index();
+            if (!file.isFile()) {
+                return index;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(file.toPath(), UTF_8)) {
+                final String headLine = reader.readLine();
+                if (headLine == null) {
+                    return index;
+                }
+                final ObjectId head = ObjectId.fromString(headLine);
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int separator = line.lastIndexOf('\t');
+                    if (separator != -1) {
+                        index.add(line.substring(0, separator), line.substring(separator + 1));
+                    }
+                }
+                index.head = ObjectId.zeroId().equals(head) ? null : head;
+            } catch (IllegalArgumentException x) {
+                LOG.warn("The index of committers '{}' is broken and will be rebuilt", file);
+                index.clear();
+                index.head = null;
+            }
+            return index;
+        }
+
+        private static List<Committer> range(NavigableMap<String, Committer> map, String prefix) {
+            final List<Committer> result = new ArrayList<>();
+            for (Map.Entry<String, Committer> entry : map.tailMap(prefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                result.add(entry.getValue());
+            }
+            return result;
+        }
+    }
+
+    private static class Committer {
+        final String name;
+        final String email;
+
+        Committer(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+
+        String nameKey() {
+            return name.toLowerCase() + '\u0000' + email + '\u0000' + name;
+        }
+
+        String emailKey() {
+            return email.toLowerCase() + '\u0000' + email + '\u0000' + name;
+        }
+    }
+}
@@ -14,6 +14,7 @@ package org.eclipse.che.git.impl.jgit;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.jcraft.jsch.JSch;
 import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
@@ -58,6 +59,7 @@ import org.eclipse.che.api.git.params.TagCreateParams;
 import org.eclipse.che.api.git.shared.AddRequest;
 import org.eclipse.che.api.git.shared.Branch;
 import org.eclipse.che.api.git.shared.DiffCommitFile;
+import org.eclipse.che.api.git.shared.DiffSummary;
 import org.eclipse.che.api.git.shared.GitUser;
 import org.eclipse.che.api.git.shared.MergeResult;
 import org.eclipse.che.api.git.shared.ProviderInfo;
@@ -73,6 +75,7 @@ import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusFormat;
 import org.eclipse.che.api.git.shared.Tag;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.eclipse.che.commons.proxy.ProxyAuthenticator;
 import org.eclipse.jgit.api.AddCommand;
@@ -93,6 +96,7 @@ import org.eclipse.jgit.api.RebaseResult;
 import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.ResetCommand.ResetType;
 import org.eclipse.jgit.api.RmCommand;
+import org.eclipse.jgit.api.StatusCommand;
 import org.eclipse.jgit.api.TagCommand;
 import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.errors.CheckoutConflictException;
@@ -102,15 +106,16 @@ import org.eclipse.jgit.api.errors.RefNotFoundException;
 import org.eclipse.jgit.api.errors.DetachedHeadException;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.TransportException;
-import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.diff.DiffFormatter;
 import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheCheckout;
 import org.eclipse.jgit.lib.BatchingProgressMonitor;
 import org.eclipse.jgit.lib.ConfigConstants;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectLoader;
 import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.ProgressMonitor;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.RefUpdate;
 import org.eclipse.jgit.lib.RefUpdate.Result;
@@ -120,10 +125,12 @@ import org.eclipse.jgit.lib.RepositoryState;
 import org.eclipse.jgit.lib.StoredConfig;
 import org.eclipse.jgit.merge.ResolveMerger;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevFlag;
 import org.eclipse.jgit.revwalk.RevObject;
 import org.eclipse.jgit.revwalk.RevTag;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.submodule.SubmoduleWalk;
 import org.eclipse.jgit.transport.FetchResult;
 import org.eclipse.jgit.transport.JschConfigSessionFactory;
 import org.eclipse.jgit.transport.OpenSshConfig;
@@ -136,12 +143,8 @@ import org.eclipse.jgit.transport.SshTransport;
 import org.eclipse.jgit.transport.TrackingRefUpdate;
 import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
-import org.eclipse.jgit.treewalk.CanonicalTreeParser;
-import org.eclipse.jgit.treewalk.EmptyTreeIterator;
 import org.eclipse.jgit.treewalk.TreeWalk;
-import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
 import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
-import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
 import org.eclipse.jgit.util.FS;
 import org.eclipse.jgit.util.FileUtils;
@@ -157,18 +160,27 @@ import java.io.FilenameFilter;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -197,6 +209,9 @@ class JGitConnection implements GitConnection {
     private static final String REBASE_OPERATION_CONTINUE = "CONTINUE";
     private static final String REBASE_OPERATION_ABORT    = "ABORT";
 
+    /** Maximum expected difference of the commit times of a child and its parent, see {@link #getBranchesOfCommits(List)}. */
+    private static final int CLOCK_SKEW_SEC = 24 * 60 * 60;
+
     // Push Response Constants
     private static final String BRANCH_REFSPEC_SEPERATOR = " -> ";
     private static final String REFSPEC_COLON            = ":";
@@ -242,6 +257,9 @@ class JGitConnection implements GitConnection {
 
     private static final String FILE_NAME_TOO_LONG_ERROR_PREFIX = "File name too long";
 
+    private static final int    SUBMODULE_CLONE_THREADS = 4;
+    private static final String SUBMODULE_UPDATE_NONE   = "none";
+
     private static final Pattern GIT_URL_WITH_CREDENTIALS_PATTERN = Pattern.compile("https?://[^:]+:[^@]+@.*");
 
     private static final Logger LOG = LoggerFactory.getLogger(JGitConnection.class);
@@ -250,18 +268,31 @@ class JGitConnection implements GitConnection {
     private JGitConfigImpl      config;
     private LineConsumerFactory lineConsumerFactory;
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
-    private final Repository        repository;
+    private final CredentialsLoader   credentialsLoader;
+    private final SshKeyProvider      sshKeyProvider;
+    private final GitUserResolver     userResolver;
+    private final Repository          repository;
+    private final JGitRepositoryCache repositoryCache;
+    private final JGitCommitterIndex  committerIndex;
 
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
-                   GitUserResolver userResolver) {
+                   GitUserResolver userResolver, JGitCommitterIndex committerIndex) {
+        this(repository, credentialsLoader, sshKeyProvider, userResolver, null, committerIndex);
+    }
+
+    /**
+     * Creates connection which uses the repository acquired from the {@code repositoryCache},
+     * the repository is released instead of being closed when connection is closed.
+     */
+    JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
+                   GitUserResolver userResolver, JGitRepositoryCache repositoryCache, JGitCommitterIndex committerIndex) {
         this.repository = repository;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = repositoryCache;
+        this.committerIndex = committerIndex;
     }
 
     @Override
@@ -477,44 +508,24 @@ class JGitConnection implements GitConnection {
             CloneCommand cloneCommand = Git.cloneRepository()
                                            .setDirectory(new File(params.getWorkingDir()))
                                            .setRemote(params.getRemoteName())
-                                           .setCloneSubmodules(params.isRecursive())
                                            .setURI(remoteUri);
             if (params.getBranchesToFetch().isEmpty()) {
                 cloneCommand.setCloneAllBranches(true);
             } else {
                 cloneCommand.setBranchesToClone(params.getBranchesToFetch());
             }
+            if (params.getBranch() != null) {
+                String branch = params.getBranch();
+                cloneCommand.setBranch(branch.startsWith(Constants.R_REFS) ? branch : Constants.R_HEADS + branch);
+            }
 
             LineConsumer lineConsumer = lineConsumerFactory.newLineConsumer();
-            cloneCommand.setProgressMonitor(new BatchingProgressMonitor() {
-                @Override
-                protected void onUpdate(String taskName, int workCurr) {
-                    try {
-                        lineConsumer.writeLine(taskName + ": " + workCurr + " completed");
-                    } catch (IOException exception) {
-                        LOG.error(exception.getMessage(), exception);
-                    }
-                }
-
-                @Override
-                protected void onEndTask(String taskName, int workCurr) {
-                }
-
-                @Override
-                protected void onUpdate(String taskName, int workCurr, int workTotal, int percentDone) {
-                    try {
-                        lineConsumer.writeLine(taskName + ": " + workCurr + " of " + workTotal + " completed, " + percentDone + "% done");
-                    } catch (IOException exception) {
-                        LOG.error(exception.getMessage(), exception);
-                    }
-                }
-
-                @Override
-                protected void onEndTask(String taskName, int workCurr, int workTotal, int percentDone) {
-                }
-            });
+            cloneCommand.setProgressMonitor(newProgressMonitor(lineConsumer, ""));
 
             executeRemoteCommand(remoteUri, cloneCommand, params.getUsername(), params.getPassword());
+            if (params.isRecursive()) {
+                cloneSubmodules(params, lineConsumer);
+            }
 
             StoredConfig repositoryConfig = getRepository().getConfig();
             GitUser gitUser = getUser();
@@ -544,6 +555,163 @@ class JGitConnection implements GitConnection {
         }
     }
 
+    /**
+     * Clones submodules of the repository and their nested submodules, up to {@link #SUBMODULE_CLONE_THREADS}
+     * submodules are cloned at once. Each submodule is checked out at the commit recorded in its parent.
+     */
+    private void cloneSubmodules(CloneParams params, LineConsumer lineConsumer) throws GitException,
+                                                                                        GitAPIException,
+                                                                                        IOException,
+                                                                                        UnauthorizedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(SUBMODULE_CLONE_THREADS,
+                                                                      new ThreadFactoryBuilder().setNameFormat("GitSubmoduleClone-%d")
+                                                                                                .setDaemon(true)
+                                                                                                .build());
+        final CompletionService<Repository> completionService = new ExecutorCompletionService<>(executor);
+        try {
+            int pending = submitSubmodules(getRepository(), completionService, params, lineConsumer);
+            while (pending > 0) {
+                final Repository submodule = takeCloned(completionService);
+                pending--;
+                try {
+                    pending += submitSubmodules(submodule, completionService, params, lineConsumer);
+                } finally {
+                    submodule.close();
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new GitException("Cloning of submodules was interrupted", exception);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Initializes submodules of the repository and submits the clone task for each of them, returns the number of tasks. */
+    private int submitSubmodules(Repository parent,
+                                 CompletionService<Repository> completionService,
+                                 CloneParams params,
+                                 LineConsumer lineConsumer) throws GitAPIException, IOException {
+        Git.wrap(parent).submoduleInit().call();
+        int submitted = 0;
+        try (SubmoduleWalk walk = SubmoduleWalk.forIndex(parent)) {
+            while (walk.next()) {
+                final Repository existing = walk.getRepository();
+                if (existing != null) {
+                    existing.close();
+                    continue;
+                }
+                final String url = walk.getConfigUrl();
+                if (url == null || SUBMODULE_UPDATE_NONE.equals(walk.getConfigUpdate())) {
+                    continue;
+                }
+                final String path = walk.getPath();
+                final File directory = walk.getDirectory();
+                final File gitDir = new File(new File(parent.getDirectory(), Constants.MODULES), path);
+                final ObjectId commitId = walk.getObjectId();
+                final Callable<Repository> task = () -> cloneSubmodule(url,
+                                                                       directory,
+                                                                       gitDir,
+                                                                       commitId,
+                                                                       params,
+                                                                       newProgressMonitor(lineConsumer, path + ": "));
+                completionService.submit(ThreadLocalPropagateContext.wrap(task));
+                submitted++;
+            }
+        }
+        return submitted;
+    }
+
+    private Repository cloneSubmodule(String url,
+                                      File directory,
+                                      File gitDir,
+                                      ObjectId commitId,
+                                      CloneParams params,
+                                      ProgressMonitor progressMonitor) throws GitException,
+                                                                             GitAPIException,
+                                                                             IOException,
+                                                                             UnauthorizedException {
+        final CloneCommand cloneCommand = Git.cloneRepository()
+                                             .setURI(url)
+                                             .setDirectory(directory)
+                                             .setGitDir(gitDir)
+                                             .setNoCheckout(true)
+                                             .setProgressMonitor(progressMonitor);
+        final Repository submodule = ((Git)executeRemoteCommand(url, cloneCommand, params.getUsername(), params.getPassword()))
+                .getRepository();
+        try (RevWalk walk = new RevWalk(submodule)) {
+            final RevCommit commit = walk.parseCommit(commitId);
+            final DirCacheCheckout checkout = new DirCacheCheckout(submodule, submodule.lockDirCache(), commit.getTree());
+            checkout.setFailOnConflict(true);
+            checkout.checkout();
+            final RefUpdate refUpdate = submodule.updateRef(Constants.HEAD, true);
+            refUpdate.setNewObjectId(commit);
+            refUpdate.forceUpdate();
+        } catch (IOException exception) {
+            submodule.close();
+            throw exception;
+        }
+        return submodule;
+    }
+
+    private static Repository takeCloned(CompletionService<Repository> completionService) throws InterruptedException,
+                                                                                                  GitException,
+                                                                                                  GitAPIException,
+                                                                                                  IOException,
+                                                                                                  UnauthorizedException {
+        try {
+            return completionService.take().get();
+        } catch (ExecutionException exception) {
+            final Throwable cause = exception.getCause();
+            if (cause instanceof GitException) {
+                throw (GitException)cause;
+            } else if (cause instanceof UnauthorizedException) {
+                throw (UnauthorizedException)cause;
+            } else if (cause instanceof GitAPIException) {
+                throw (GitAPIException)cause;
+            } else if (cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            throw new GitException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Creates progress monitor which writes the progress of the tasks to the line consumer,
+     * the monitors of the submodules cloned at the same time write to the same consumer.
+     */
+    private static ProgressMonitor newProgressMonitor(LineConsumer lineConsumer, String prefix) {
+        return new BatchingProgressMonitor() {
+            @Override
+            protected void onUpdate(String taskName, int workCurr) {
+                writeLine(prefix + taskName + ": " + workCurr + " completed");
+            }
+
+            @Override
+            protected void onEndTask(String taskName, int workCurr) {
+            }
+
+            @Override
+            protected void onUpdate(String taskName, int workCurr, int workTotal, int percentDone) {
+                writeLine(prefix + taskName + ": " + workCurr + " of " + workTotal + " completed, " + percentDone + "% done");
+            }
+
+            @Override
+            protected void onEndTask(String taskName, int workCurr, int workTotal, int percentDone) {
+            }
+
+            private void writeLine(String line) {
+                try {
+                    synchronized (lineConsumer) {
+                        lineConsumer.writeLine(line);
+                    }
+                } catch (IOException exception) {
+                    LOG.error(exception.getMessage(), exception);
+                }
+            }
+        };
+    }
+
     @Override
     public Revision commit(CommitParams params) throws GitException {
         try {
@@ -647,7 +815,22 @@ class JGitConnection implements GitConnection {
 
     @Override
     public DiffPage diff(DiffParams params) throws GitException {
-        return new JGitDiffPage(params, repository);
+        if (repositoryCache != null) {
+            // page may be written after connection is closed
+            repositoryCache.retain(repository);
+            return new JGitDiffPage(params, repository, repositoryCache::release);
+        }
+        return new JGitDiffPage(params, repository, Repository::close);
+    }
+
+    @Override
+    public DiffSummary diffSummary(DiffParams params) throws GitException {
+        try {
+            // summary is computed while connection is open, repository is released on close
+            return new JGitDiffPage(params, getRepository(), repository -> {}).summarize();
+        } catch (IOException | IllegalArgumentException exception) {
+            throw new GitException(exception.getMessage(), exception);
+        }
     }
 
     @Override
@@ -784,12 +967,23 @@ class JGitConnection implements GitConnection {
             if (!isNullOrEmpty(filePath)) {
                 logCommand.addPath(filePath);
             }
-            Iterator<RevCommit> revIterator = logCommand.call().iterator();
-            List<Revision> commits = new ArrayList<>();
-            while (revIterator.hasNext()) {
-                RevCommit commit = revIterator.next();
-                Revision revision = getRevision(commit, filePath);
-                commits.add(revision);
+            List<RevCommit> revCommits = new ArrayList<>();
+            logCommand.call().forEach(revCommits::add);
+            Map<ObjectId, List<Branch>> branches = params.isIncludeBranches() ? getBranchesOfCommits(revCommits)
+                                                                              : Collections.emptyMap();
+            List<Revision> commits = new ArrayList<>(revCommits.size());
+            try (DiffFormatter diffFormatter = new DiffFormatter(NullOutputStream.INSTANCE)) {
+                diffFormatter.setRepository(repository);
+                if (!isNullOrEmpty(filePath)) {
+                    diffFormatter.setPathFilter(PathFilterGroup.createFromStrings(Collections.singleton(filePath)));
+                }
+                for (RevCommit commit : revCommits) {
+                    Revision revision = getRevision(commit).withBranches(branches.getOrDefault(commit, new ArrayList<>()));
+                    if (params.isIncludeDiffFiles()) {
+                        revision.setDiffCommitFile(getCommitDiffFiles(commit, diffFormatter));
+                    }
+                    commits.add(revision);
+                }
             }
             return new LogPage(commits);
         } catch (GitAPIException | IOException exception) {
@@ -803,7 +997,7 @@ class JGitConnection implements GitConnection {
         }
     }
 
-    private Revision getRevision(RevCommit commit, String filePath) throws GitAPIException, IOException {
+    private Revision getRevision(RevCommit commit) {
         List<String> commitParentsList = Stream.of(commit.getParents())
                                                .map(RevCommit::getName)
                                                .collect(Collectors.toList());
@@ -813,9 +1007,7 @@ class JGitConnection implements GitConnection {
                                      .withCommitTime((long)commit.getCommitTime() * 1000)
                                      .withCommitter(getCommitCommitter(commit))
                                      .withAuthor(getCommitAuthor(commit))
-                                     .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
-                                     .withCommitParent(commitParentsList)
-                                     .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
+                                     .withCommitParent(commitParentsList);
     }
 
     private GitUser getCommitCommitter(RevCommit commit) {
@@ -830,69 +1022,114 @@ class JGitConnection implements GitConnection {
                                     .withEmail(authorIdentity.getEmailAddress());
     }
 
-    private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-        List<Ref> branches = getGit().branchList()
-                                     .setListMode(mode)
-                                     .setContains(commit.getName())
-                                     .call();
-        return branches.stream()
-                       .map(branch -> newDto(Branch.class).withName(branch.getName()))
-                       .collect(Collectors.toList());
-    }
-
-    private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern) throws IOException {
-        List<DiffEntry> diffs;
-        TreeFilter filter = null;
-        if (!isNullOrEmpty(pattern)) {
-            filter = AndTreeFilter.create(PathFilterGroup.createFromStrings(Collections.singleton(pattern)), TreeFilter.ANY_DIFF);
-        }
-        List<DiffCommitFile> commitFilesList = new ArrayList<>();
-        try (TreeWalk tw = new TreeWalk(repository)) {
-            tw.setRecursive(true);
-            // get the current commit parent in order to compare it with the current commit
-            // and to get the list of DiffEntry.
-            if (revCommit.getParentCount() > 0) {
-                RevCommit parent = parseCommit(revCommit.getParent(0));
-                tw.reset(parent.getTree(), revCommit.getTree());
-                if (filter != null) {
-                    tw.setFilter(filter);
-                } else {
-                    tw.setFilter(TreeFilter.ANY_DIFF);
+    /**
+     * Finds local and remote branches which contain each of the given commits.
+     *
+     * <p>History is walked once from all the branch tips in commit time order, the branches reaching
+     * a commit are propagated to its parents. A commit reached after its parent because of clock skew
+     * propagates its branches to the already visited ancestors. Walk stops once all the given commits
+     * are visited and the walked commits are older than the oldest given commit by {@link #CLOCK_SKEW_SEC},
+     * so only the history above the given commits is read.
+     *
+     * @return branches which contain commits, commits which are not contained by any branch are missing
+     */
+    private Map<ObjectId, List<Branch>> getBranchesOfCommits(List<RevCommit> commits) throws IOException {
+        Map<ObjectId, List<Branch>> result = new HashMap<>();
+        if (commits.isEmpty()) {
+            return result;
+        }
+        List<Ref> refs = new ArrayList<>();
+        refs.addAll(repository.getRefDatabase().getRefs(Constants.R_HEADS).values());
+        refs.addAll(repository.getRefDatabase().getRefs(Constants.R_REMOTES).values());
+        Ref head = repository.exactRef(Constants.HEAD);
+        if (head != null && !head.isSymbolic()) {
+            // detached HEAD is listed as a branch
+            refs.add(head);
+        }
+        refs.sort(Comparator.comparing(Ref::getName));
+
+        Set<ObjectId> remaining = commits.stream().map(RevCommit::copy).collect(Collectors.toSet());
+        int oldest = commits.stream().mapToInt(RevCommit::getCommitTime).min().getAsInt();
+        // commit -> indexes of the refs reaching it, bit sets are not modified once propagated
+        Map<RevCommit, BitSet> reachedBy = new HashMap<>();
+        try (RevWalk walk = new RevWalk(repository)) {
+            RevFlag visited = walk.newFlag("visited");
+            for (int i = 0; i < refs.size(); i++) {
+                ObjectId id = refs.get(i).getObjectId();
+                if (id == null) {
+                    continue;
                 }
-                diffs = DiffEntry.scan(tw);
-            } else {
-                // If the current commit has no parents (which means it is the initial commit),
-                // then create an empty tree and compare it to the current commit to get the
-                // list of DiffEntry.
-                try (RevWalk rw = new RevWalk(repository);
-                     DiffFormatter diffFormat = new DiffFormatter(NullOutputStream.INSTANCE)) {
-                    diffFormat.setRepository(repository);
-                    if (filter != null) {
-                        diffFormat.setPathFilter(filter);
-                    }
-                    diffs = diffFormat.scan(new EmptyTreeIterator(),
-                                            new CanonicalTreeParser(null, rw.getObjectReader(), revCommit.getTree()));
+                RevObject tip = walk.peel(walk.parseAny(id));
+                if (tip instanceof RevCommit) {
+                    reachedBy.computeIfAbsent((RevCommit)tip, c -> new BitSet()).set(i);
+                    walk.markStart((RevCommit)tip);
+                }
+            }
+            RevCommit commit;
+            while ((commit = walk.next()) != null) {
+                if (remaining.isEmpty() && commit.getCommitTime() < oldest - CLOCK_SKEW_SEC) {
+                    break;
+                }
+                commit.add(visited);
+                remaining.remove(commit);
+                if (reachedBy.containsKey(commit)) {
+                    propagateToParents(commit, reachedBy, visited);
                 }
             }
         }
-        if (diffs != null) {
-            commitFilesList.addAll(diffs.stream().map(diff -> newDto(DiffCommitFile.class).withOldPath(diff.getOldPath())
-                                                                                          .withNewPath(diff.getNewPath())
-                                                                                          .withChangeType(diff.getChangeType().name()))
-                                        .collect(Collectors.toList()));
+        for (RevCommit commit : commits) {
+            BitSet bits = reachedBy.get(commit);
+            if (bits != null) {
+                result.put(commit.copy(), bits.stream()
+                                              .mapToObj(i -> newDto(Branch.class).withName(refs.get(i).getName()))
+                                              .collect(Collectors.toList()));
+            }
         }
-        return commitFilesList;
+        return result;
     }
 
-    private RevCommit parseCommit(RevCommit revCommit) {
-        try (RevWalk rw = new RevWalk(repository)) {
-            return rw.parseCommit(revCommit);
-        } catch (IOException exception) {
-            LOG.error("Failed to parse commit. ", exception);
-            return revCommit;
+    /** Adds branches of the commit to its parents and further to the already visited ancestors. */
+    private static void propagateToParents(RevCommit commit, Map<RevCommit, BitSet> reachedBy, RevFlag visited) {
+        Deque<RevCommit> queue = new ArrayDeque<>();
+        queue.push(commit);
+        while (!queue.isEmpty()) {
+            RevCommit child = queue.pop();
+            BitSet childBits = reachedBy.get(child);
+            for (RevCommit parent : child.getParents()) {
+                BitSet parentBits = reachedBy.get(parent);
+                BitSet merged;
+                if (parentBits == null) {
+                    merged = childBits;
+                } else if (parentBits == childBits) {
+                    continue;
+                } else {
+                    merged = (BitSet)parentBits.clone();
+                    merged.or(childBits);
+                    if (merged.equals(parentBits)) {
+                        continue;
+                    }
+                }
+                reachedBy.put(parent, merged);
+                if (parent.has(visited)) {
+                    queue.push(parent);
+                }
+            }
         }
     }
 
+    /**
+     * Returns files changed by the commit comparing to its first parent
+     * or to the empty tree if commit is the initial one.
+     */
+    private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, DiffFormatter diffFormatter) throws IOException {
+        RevCommit parent = revCommit.getParentCount() > 0 ? revCommit.getParent(0) : null;
+        return diffFormatter.scan(parent, revCommit)
+                            .stream()
+                            .map(diff -> newDto(DiffCommitFile.class).withOldPath(diff.getOldPath())
+                                                                     .withNewPath(diff.getNewPath())
+                                                                     .withChangeType(diff.getChangeType().name()))
+                            .collect(Collectors.toList());
+    }
 
     private void setRevisionRange(LogCommand logCommand, LogParams params) throws IOException {
         if (params != null && logCommand != null) {
@@ -908,21 +1145,16 @@ class JGitConnection implements GitConnection {
 
     @Override
     public List<GitUser> getCommiters() throws GitException {
-        List<GitUser> gitUsers = new ArrayList<>();
+        return getCommiters(null);
+    }
+
+    @Override
+    public List<GitUser> getCommiters(String prefix) throws GitException {
         try {
-            LogCommand logCommand = getGit().log();
-            for (RevCommit commit : logCommand.call()) {
-                PersonIdent committerIdentity = commit.getCommitterIdent();
-                GitUser gitUser = newDto(GitUser.class).withName(committerIdentity.getName())
-                                                       .withEmail(committerIdentity.getEmailAddress());
-                if (!gitUsers.contains(gitUser)) {
-                    gitUsers.add(gitUser);
-                }
-            }
-        } catch (GitAPIException exception) {
+            return committerIndex.getCommitters(repository, prefix);
+        } catch (IOException exception) {
             throw new GitException(exception.getMessage(), exception);
         }
-        return gitUsers;
     }
 
     @Override
@@ -1525,6 +1757,16 @@ class JGitConnection implements GitConnection {
         return new JGitStatusImpl(branchName, getGit().status(), format);
     }
 
+    @Override
+    public Status status(StatusFormat format, List<String> filter) throws GitException {
+        if (!RepositoryCache.FileKey.isGitRepository(getRepository().getDirectory(), FS.DETECTED)) {
+            throw new GitException("Not a git repository");
+        }
+        StatusCommand statusCommand = getGit().status();
+        filter.forEach(statusCommand::addPath);
+        return new JGitStatusImpl(getCurrentBranch(), statusCommand, format);
+    }
+
     @Override
     public Tag tagCreate(TagCreateParams params) throws GitException {
         String commit = params.getCommit();
@@ -1611,7 +1853,11 @@ class JGitConnection implements GitConnection {
 
     @Override
     public void close() {
-        repository.close();
+        if (repositoryCache != null) {
+            repositoryCache.release(repository);
+        } else {
+            repository.close();
+        }
     }
 
     @Override
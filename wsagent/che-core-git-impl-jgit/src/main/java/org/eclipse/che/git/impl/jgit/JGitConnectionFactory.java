@@ -17,7 +17,6 @@ import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
@@ -41,15 +40,23 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     private static final String USER_AGENT = "git/2.1.0";
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private final CredentialsLoader   credentialsLoader;
+    private final SshKeyProvider      sshKeyProvider;
+    private final GitUserResolver     userResolver;
+    private final JGitRepositoryCache repositoryCache;
+    private final JGitCommitterIndex  committerIndex;
 
     @Inject
-    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader,
+                                 SshKeyProvider sshKeyProvider,
+                                 GitUserResolver userResolver,
+                                 JGitRepositoryCache repositoryCache,
+                                 JGitCommitterIndex committerIndex) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = repositoryCache;
+        this.committerIndex = committerIndex;
 
         UserAgent.set(USER_AGENT);
         // Install the all-trusting trust manager
@@ -78,15 +85,20 @@ public class JGitConnectionFactory extends GitConnectionFactory {
 
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
-        Repository gitRepo = createRepository(workDir);
-        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        Repository gitRepo = acquireRepository(workDir);
+        JGitConnection conn = new JGitConnection(gitRepo,
+                                                 credentialsLoader,
+                                                 sshKeyProvider,
+                                                 userResolver,
+                                                 repositoryCache,
+                                                 committerIndex);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    private Repository acquireRepository(File workDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            return repositoryCache.acquire(new File(workDir, Constants.DOT_GIT));
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
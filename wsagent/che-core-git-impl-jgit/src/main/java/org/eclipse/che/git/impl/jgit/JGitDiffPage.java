@@ -13,11 +13,14 @@ package org.eclipse.che.git.impl.jgit;
 
 import org.eclipse.che.api.git.DiffPage;
 import org.eclipse.che.api.git.params.DiffParams;
+import org.eclipse.che.api.git.shared.DiffFileSummary;
+import org.eclipse.che.api.git.shared.DiffSummary;
 import org.eclipse.che.api.git.shared.DiffType;
 import org.eclipse.jgit.diff.ContentSource;
 import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.diff.DiffEntry.ChangeType;
 import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.Edit;
 import org.eclipse.jgit.diff.RenameDetector;
 import org.eclipse.jgit.dircache.DirCache;
 import org.eclipse.jgit.dircache.DirCacheIterator;
@@ -26,6 +29,7 @@ import org.eclipse.jgit.lib.NullProgressMonitor;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.patch.FileHeader;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.treewalk.CanonicalTreeParser;
@@ -34,17 +38,21 @@ import org.eclipse.jgit.treewalk.FileTreeIterator;
 import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
 import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
 import org.eclipse.jgit.treewalk.filter.TreeFilter;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
 
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.System.lineSeparator;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
  * Contains information about difference between two commits, commit and working tree,
@@ -53,40 +61,32 @@ import static java.lang.System.lineSeparator;
  * @author Andrey Parfonov
  */
 class JGitDiffPage extends DiffPage {
-    private final DiffParams params;
-    private final Repository repository;
+    private final DiffParams           params;
+    private final Repository           repository;
+    private final Consumer<Repository> releaser;
 
-    JGitDiffPage(DiffParams params, Repository repository) {
+    private boolean renameLimitExceeded;
+
+    /**
+     * Creates diff page.
+     *
+     * @param releaser
+     *         called with the repository once the page is written
+     */
+    JGitDiffPage(DiffParams params, Repository repository, Consumer<Repository> releaser) {
         this.params = params;
         this.repository = repository;
+        this.releaser = releaser;
     }
 
     @Override
     public final void writeTo(OutputStream out) throws IOException {
         DiffFormatter formatter = new DiffFormatter(new BufferedOutputStream(out));
         formatter.setRepository(repository);
-        List<String> rawFileFilter = params.getFileFilter();
-        TreeFilter pathFilter = (rawFileFilter != null && rawFileFilter.size() > 0)
-                                ? PathFilterGroup.createFromStrings(rawFileFilter) : TreeFilter.ALL;
-        formatter.setPathFilter(AndTreeFilter.create(TreeFilter.ANY_DIFF, pathFilter));
+        formatter.setPathFilter(AndTreeFilter.create(TreeFilter.ANY_DIFF, createPathFilter()));
 
         try {
-            String commitA = params.getCommitA();
-            String commitB = params.getCommitB();
-            boolean cached = params.isCached();
-
-            List<DiffEntry> diff;
-            if (commitA == null && commitB == null && !cached) {
-                diff = indexToWorkingTree(formatter);
-            } else if (commitA != null && commitB == null && !cached) {
-                diff = commitToWorkingTree(commitA, formatter);
-            } else if (commitA == null && commitB != null) {
-                diff = emptyToCommit(commitB, formatter);
-            } else if (commitB == null) {
-                diff = commitToIndex(commitA, formatter);
-            } else {
-                diff = commitToCommit(commitA, commitB, formatter);
-            }
+            List<DiffEntry> diff = scan(formatter);
 
             DiffType type = params.getType();
             if (type == DiffType.NAME_ONLY) {
@@ -98,10 +98,90 @@ class JGitDiffPage extends DiffPage {
             }
         } finally {
             formatter.close();
-            repository.close();
+            releaser.accept(repository);
         }
     }
 
+    /**
+     * Returns the summary of the changed files without the content of the changes.
+     * The repository is released once the summary is computed.
+     *
+     * @throws IOException
+     *         if any i/o errors occurs
+     */
+    DiffSummary summarize() throws IOException {
+        DiffFormatter formatter = new DiffFormatter(DisabledOutputStream.INSTANCE);
+        formatter.setRepository(repository);
+        formatter.setPathFilter(AndTreeFilter.create(TreeFilter.ANY_DIFF, createPathFilter()));
+        try {
+            List<DiffEntry> diff = scan(formatter);
+            int from = Math.min(Math.max(params.getSkip(), 0), diff.size());
+            int to = params.getMaxCount() > 0 ? (int)Math.min((long)from + params.getMaxCount(), diff.size()) : diff.size();
+
+            List<DiffFileSummary> files = new ArrayList<>(to - from);
+            for (DiffEntry entry : diff.subList(from, to)) {
+                files.add(summarize(entry, formatter));
+            }
+            return newDto(DiffSummary.class).withFiles(files)
+                                            .withTotalCount(diff.size())
+                                            .withRenameLimitExceeded(renameLimitExceeded);
+        } finally {
+            formatter.close();
+            releaser.accept(repository);
+        }
+    }
+
+    private DiffFileSummary summarize(DiffEntry entry, DiffFormatter formatter) throws IOException {
+        ChangeType changeType = entry.getChangeType();
+        DiffFileSummary summary = newDto(DiffFileSummary.class).withChangeType(changeType.name())
+                                                               .withOldPath(changeType == ChangeType.ADD ? null : entry.getOldPath())
+                                                               .withNewPath(changeType == ChangeType.DELETE ? null : entry.getNewPath())
+                                                               .withScore(entry.getScore());
+        if (!params.isLineStats()) {
+            return summary;
+        }
+        FileHeader header = formatter.toFileHeader(entry);
+        if (header.getPatchType() == FileHeader.PatchType.BINARY) {
+            return summary.withBinary(true);
+        }
+        int added = 0;
+        int deleted = 0;
+        for (Edit edit : header.toEditList()) {
+            added += edit.getLengthB();
+            deleted += edit.getLengthA();
+        }
+        return summary.withLinesAdded(added).withLinesDeleted(deleted);
+    }
+
+    private TreeFilter createPathFilter() {
+        List<String> rawFileFilter = params.getFileFilter();
+        return (rawFileFilter != null && rawFileFilter.size() > 0) ? PathFilterGroup.createFromStrings(rawFileFilter) : TreeFilter.ALL;
+    }
+
+    private List<DiffEntry> scan(DiffFormatter formatter) throws IOException {
+        String commitA = params.getCommitA();
+        String commitB = params.getCommitB();
+        boolean cached = params.isCached();
+
+        List<DiffEntry> diff;
+        if (commitA == null && commitB == null && !cached) {
+            diff = indexToWorkingTree(formatter);
+        } else if (commitA != null && commitB == null && !cached) {
+            diff = commitToWorkingTree(commitA, formatter);
+        } else if (commitA == null && commitB != null) {
+            diff = emptyToCommit(commitB, formatter);
+        } else if (commitB == null) {
+            diff = commitToIndex(commitA, formatter);
+        } else {
+            diff = commitToCommit(commitA, commitB, formatter);
+        }
+        RenameDetector formatterDetector = formatter.getRenameDetector();
+        if (formatterDetector != null && formatterDetector.isOverRenameLimit()) {
+            renameLimitExceeded = true;
+        }
+        return diff;
+    }
+
     /**
      * Show changes between specified revision and empty tree.
      *
@@ -158,6 +238,7 @@ class JGitDiffPage extends DiffPage {
                                                                              ContentSource.create(iterB));
                 renameDetector.addAll(diff);
                 diff = renameDetector.compute(sourcePairReader, NullProgressMonitor.INSTANCE);
+                renameLimitExceeded |= renameDetector.isOverRenameLimit();
             }
         } finally {
             reader.close();
@@ -209,6 +290,7 @@ class JGitDiffPage extends DiffPage {
                                                                              ContentSource.create(iterB));
                 renameDetector.addAll(diff);
                 diff = renameDetector.compute(sourcePairReader, NullProgressMonitor.INSTANCE);
+                renameLimitExceeded |= renameDetector.isOverRenameLimit();
             }
         }
         return diff;
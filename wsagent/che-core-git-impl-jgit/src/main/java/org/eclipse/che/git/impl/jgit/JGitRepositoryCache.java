@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Repository;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares opened repositories between git connections of the workspace,
+ * so the connections to the same project reuse repository configuration,
+ * pack file handles and caches instead of reading them on each operation.
+ *
+ * <p>Repositories are keyed by the canonical path of '.git' directory and
+ * reference counted, a repository is closed once it is released by all the
+ * connections and stays idle longer than the idle timeout, or once its '.git'
+ * directory is deleted or replaced.
+ */
+@Singleton
+public class JGitRepositoryCache {
+
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final long                   idleTimeoutMs;
+    private final Map<File, Entry>       entries;
+    private final Map<Repository, Entry> acquired;
+
+    public JGitRepositoryCache() {
+        this(DEFAULT_IDLE_TIMEOUT_MS);
+    }
+
+    JGitRepositoryCache(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.entries = new HashMap<>();
+        this.acquired = new IdentityHashMap<>();
+    }
+
+    /**
+     * Returns the repository of the '.git' directory, the repository
+     * must be {@link #release(Repository) released} once it is not needed.
+     *
+     * @param gitDir
+     *         '.git' directory, may not exist yet
+     * @throws IOException
+     *         when repository can't be opened
+     */
+    public synchronized Repository acquire(File gitDir) throws IOException {
+        final File key = gitDir.getCanonicalFile();
+        final Object identity = identityOf(key);
+        Entry entry = entries.get(key);
+        if (entry != null && !Objects.equals(entry.identity, identity)) {
+            // '.git' was deleted or replaced, repository may hold stale state
+            entries.remove(key);
+            entry.stale = true;
+            closeIfUnused(entry);
+            entry = null;
+        }
+        if (entry == null) {
+            entry = new Entry(key, new FileRepository(key), identity);
+            entries.put(key, entry);
+        }
+        entry.refCount++;
+        acquired.put(entry.repository, entry);
+        return entry.repository;
+    }
+
+    /** Adds one more reference to the repository acquired by {@link #acquire(File)}. */
+    public synchronized void retain(Repository repository) {
+        final Entry entry = acquired.get(repository);
+        if (entry != null) {
+            entry.refCount++;
+        }
+    }
+
+    /** Releases the repository acquired by {@link #acquire(File)}. */
+    public synchronized void release(Repository repository) {
+        final Entry entry = acquired.get(repository);
+        if (entry == null) {
+            repository.close();
+            return;
+        }
+        entry.refCount--;
+        entry.releasedAt = System.currentTimeMillis();
+        if (!entry.stale && !entry.repository.getDirectory().exists()) {
+            entries.remove(entry.key);
+            entry.stale = true;
+        }
+        closeIfUnused(entry);
+    }
+
+    /**
+     * Returns true if the repository of the '.git' directory is acquired by a connection
+     * or was released less than the given period ago.
+     */
+    public synchronized boolean isInUse(File gitDir, long periodMs) throws IOException {
+        final Entry entry = entries.get(gitDir.getCanonicalFile());
+        return entry != null && (entry.refCount > 0 || System.currentTimeMillis() - entry.releasedAt < periodMs);
+    }
+
+    /** Returns the number of cached repositories. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** Closes the repositories which are not used longer than the idle timeout. */
+    @ScheduleRate(initialDelay = 1, period = 1, unit = TimeUnit.MINUTES)
+    public synchronized void evictIdle() {
+        final long now = System.currentTimeMillis();
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            final Entry entry = it.next();
+            if (entry.refCount == 0 && now - entry.releasedAt >= idleTimeoutMs) {
+                it.remove();
+                entry.stale = true;
+                closeIfUnused(entry);
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void closeAll() {
+        for (Entry entry : entries.values()) {
+            entry.repository.close();
+        }
+        entries.clear();
+        acquired.clear();
+    }
+
+    private void closeIfUnused(Entry entry) {
+        if (entry.stale && entry.refCount == 0) {
+            acquired.remove(entry.repository);
+            entry.repository.close();
+        }
+    }
+
+    /** Returns the object which identifies the directory on file system or null if directory doesn't exist. */
+    private static Object identityOf(File dir) {
+        try {
+            return Files.readAttributes(dir.toPath(), BasicFileAttributes.class).fileKey();
+        } catch (IOException x) {
+            return null;
+        }
+    }
+
+    private static class Entry {
+        final Repository repository;
+        final File       key;
+        final Object     identity;
+
+        int     refCount;
+        long    releasedAt;
+        boolean stale;
+
+        Entry(File key, Repository repository, Object identity) {
+            this.key = key;
+            this.repository = repository;
+            this.identity = identity;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.internal.storage.file.GC;
+import org.eclipse.jgit.internal.storage.file.GC.RepoStatistics;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.storage.pack.PackConfig;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Periodically packs loose objects and refs of the workspace repositories.
+ *
+ * <p>Fetch, commit and pull leave loose objects and refs behind, which makes
+ * every later log, status and branch listing slower. A repository is garbage
+ * collected once the number of its loose objects, pack files or loose refs
+ * exceeds the configured thresholds, but only when the repository was neither
+ * used by the workspace agent nor changed by a command line client for the idle time.
+ *
+ * <p>Maintenance runs in a single low priority thread with a single threaded packer,
+ * after each collection the thread pauses, so that maintenance uses no more than
+ * the configured percentage of the time of one processor.
+ */
+@Singleton
+public class JGitRepositoryMaintenance {
+
+    private static final Logger LOG = getLogger(JGitRepositoryMaintenance.class);
+
+    private static final long     CHECK_PERIOD_MIN = 5;
+    private static final String[] ACTIVITY_FILES   = {"index", Constants.HEAD, "logs/HEAD", "FETCH_HEAD", "ORIG_HEAD"};
+
+    @Inject(optional = true)
+    @Named("che.git.maintenance.loose_objects_threshold")
+    private int looseObjectsThreshold = 6700;
+
+    @Inject(optional = true)
+    @Named("che.git.maintenance.packs_threshold")
+    private int packsThreshold = 50;
+
+    @Inject(optional = true)
+    @Named("che.git.maintenance.loose_refs_threshold")
+    private int looseRefsThreshold = 100;
+
+    @Inject(optional = true)
+    @Named("che.git.maintenance.idle_time_min")
+    private long idleTimeMin = 10;
+
+    @Inject(optional = true)
+    @Named("che.git.maintenance.cpu_budget_percent")
+    private int cpuBudgetPercent = 10;
+
+    private final File                root;
+    private final JGitRepositoryCache repositoryCache;
+
+    private ScheduledExecutorService executor;
+    private long                     pausedUntil;
+
+    @Inject
+    public JGitRepositoryMaintenance(@Named("che.user.workspaces.storage") File root, JGitRepositoryCache repositoryCache) {
+        this.root = root;
+        this.repositoryCache = repositoryCache;
+    }
+
+    JGitRepositoryMaintenance(File root,
+                              JGitRepositoryCache repositoryCache,
+                              int looseObjectsThreshold,
+                              int packsThreshold,
+                              int looseRefsThreshold,
+                              long idleTimeMin) {
+        this(root, repositoryCache);
+        this.looseObjectsThreshold = looseObjectsThreshold;
+        this.packsThreshold = packsThreshold;
+        this.looseRefsThreshold = looseRefsThreshold;
+        this.idleTimeMin = idleTimeMin;
+    }
+
+    @PostConstruct
+    public void start() {
+        executor = newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("GitRepositoryMaintenance")
+                                                                              .setPriority(Thread.MIN_PRIORITY)
+                                                                              .setDaemon(true)
+                                                                              .build());
+        executor.scheduleWithFixedDelay(this::maintainRepositories, CHECK_PERIOD_MIN, CHECK_PERIOD_MIN, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Collects garbage of the idle project repositories which exceed the thresholds. */
+    void maintainRepositories() {
+        final File[] projects = root.listFiles(File::isDirectory);
+        if (projects == null) {
+            return;
+        }
+        for (File project : projects) {
+            if (Thread.currentThread().isInterrupted() || System.currentTimeMillis() < pausedUntil) {
+                return;
+            }
+            final File gitDir = new File(project, Constants.DOT_GIT);
+            if (!gitDir.isDirectory()) {
+                continue;
+            }
+            try {
+                final long startedAt = System.currentTimeMillis();
+                if (maintain(gitDir)) {
+                    pause(System.currentTimeMillis() - startedAt);
+                }
+            } catch (Exception x) {
+                LOG.warn("Maintenance of the repository '{}' failed, error: {}", gitDir, x.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Collects garbage of the repository if it is idle and exceeds any of the thresholds.
+     *
+     * @return true if garbage was collected
+     */
+    boolean maintain(File gitDir) throws IOException, ParseException {
+        final long idleTimeMs = TimeUnit.MINUTES.toMillis(idleTimeMin);
+        if (repositoryCache.isInUse(gitDir, idleTimeMs) || changedRecently(gitDir, idleTimeMs) || !needsMaintenance(gitDir)) {
+            return false;
+        }
+        try (FileRepository repository = new FileRepository(gitDir)) {
+            final PackConfig packConfig = new PackConfig(repository);
+            packConfig.setThreads(1);
+            final GC gc = new GC(repository);
+            gc.setPackConfig(packConfig);
+
+            final long startedAt = System.currentTimeMillis();
+            final RepoStatistics before = gc.getStatistics();
+            gc.gc();
+            final RepoStatistics after = gc.getStatistics();
+            LOG.info("Repository '{}' is maintained in {}ms: loose objects {} -> {}, pack files {} -> {}, loose refs {} -> {}, " +
+                     "{} bytes reclaimed",
+                     gitDir,
+                     System.currentTimeMillis() - startedAt,
+                     before.numberOfLooseObjects,
+                     after.numberOfLooseObjects,
+                     before.numberOfPackFiles,
+                     after.numberOfPackFiles,
+                     before.numberOfLooseRefs,
+                     after.numberOfLooseRefs,
+                     sizeOf(before) - sizeOf(after));
+        }
+        return true;
+    }
+
+    private boolean needsMaintenance(File gitDir) {
+        final File objects = new File(gitDir, "objects");
+        return countPacks(new File(objects, "pack")) > packsThreshold
+               || countLooseObjects(objects, looseObjectsThreshold + 1) > looseObjectsThreshold
+               || countFiles(new File(gitDir, Constants.R_REFS), looseRefsThreshold + 1) > looseRefsThreshold;
+    }
+
+    /** Pauses maintenance, so the time of the collection is within the budget. */
+    private void pause(long elapsedMs) {
+        final int budget = Math.max(1, Math.min(cpuBudgetPercent, 100));
+        pausedUntil = System.currentTimeMillis() + elapsedMs * (100 - budget) / budget;
+    }
+
+    private static boolean changedRecently(File gitDir, long periodMs) {
+        final long now = System.currentTimeMillis();
+        for (String name : ACTIVITY_FILES) {
+            if (now - new File(gitDir, name).lastModified() < periodMs) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int countPacks(File packDir) {
+        final String[] packs = packDir.list((dir, name) -> name.endsWith(".pack"));
+        return packs == null ? 0 : packs.length;
+    }
+
+    /** Counts loose objects stopping as soon as the limit is reached. */
+    private static int countLooseObjects(File objects, int limit) {
+        int count = 0;
+        for (int i = 0; i < 256 && count < limit; i++) {
+            final String[] names = new File(objects, String.format("%02x", i)).list();
+            if (names != null) {
+                for (String name : names) {
+                    if (name.length() == Constants.OBJECT_ID_STRING_LENGTH - 2) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /** Counts files in the directory tree stopping as soon as the limit is reached. */
+    private static int countFiles(File dir, int limit) {
+        final File[] children = dir.listFiles();
+        if (children == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < children.length && count < limit; i++) {
+            count += children[i].isDirectory() ? countFiles(children[i], limit - count) : 1;
+        }
+        return count;
+    }
+
+    private static long sizeOf(RepoStatistics statistics) {
+        return statistics.sizeOfLooseObjects + statistics.sizeOfPackedObjects;
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.git.shared.GitUser;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand.ResetType;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.util.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link JGitCommitterIndex}.
+ */
+public class JGitCommitterIndexTest {
+
+    private File workDir;
+    private Git  git;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("committer-index").toFile();
+        git = Git.init().setDirectory(workDir).call();
+    }
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        git.close();
+        FileUtils.delete(workDir, FileUtils.RECURSIVE);
+    }
+
+    @Test
+    public void indexesCommittersOfNewCommitsOnly() throws Exception {
+        final JGitCommitterIndex index = new JGitCommitterIndex();
+        commit("Bob", "bob@example.com");
+        commit("alice", "alice@example.com");
+        assertEquals(names(index.getCommitters(git.getRepository(), null)), asList("alice", "Bob"));
+
+        commit("Carol", "carol@example.com");
+        commit("Bob", "bob@example.com");
+
+        assertEquals(names(index.getCommitters(git.getRepository(), null)), asList("alice", "Bob", "Carol"));
+    }
+
+    @Test
+    public void searchesCommittersByNameOrEmailPrefix() throws Exception {
+        final JGitCommitterIndex index = new JGitCommitterIndex();
+        commit("Bob", "bob@example.com");
+        commit("Robert", "bob@company.com");
+        commit("alice", "alice@example.com");
+
+        assertEquals(names(index.getCommitters(git.getRepository(), "bo")), asList("Bob", "Robert"));
+        assertEquals(names(index.getCommitters(git.getRepository(), "bob@c")), singletonList("Robert"));
+        assertEquals(names(index.getCommitters(git.getRepository(), "ALI")), singletonList("alice"));
+        assertTrue(index.getCommitters(git.getRepository(), "x").isEmpty());
+    }
+
+    @Test
+    public void loadsStoredIndex() throws Exception {
+        commit("Bob", "bob@example.com");
+        new JGitCommitterIndex().getCommitters(git.getRepository(), null);
+        commit("alice", "alice@example.com");
+
+        assertTrue(new File(git.getRepository().getDirectory(), JGitCommitterIndex.INDEX_FILE).isFile());
+        assertEquals(names(new JGitCommitterIndex().getCommitters(git.getRepository(), null)), asList("alice", "Bob"));
+    }
+
+    @Test
+    public void rebuildsIndexWhenHeadIsMovedToUnrelatedCommit() throws Exception {
+        final JGitCommitterIndex index = new JGitCommitterIndex();
+        final RevCommit first = commit("Bob", "bob@example.com");
+        commit("alice", "alice@example.com");
+        index.getCommitters(git.getRepository(), null);
+
+        git.reset().setMode(ResetType.HARD).setRef(first.name()).call();
+
+        assertEquals(names(index.getCommitters(git.getRepository(), null)), singletonList("Bob"));
+    }
+
+    private RevCommit commit(String name, String email) throws Exception {
+        return git.commit()
+                  .setMessage("commit by " + name)
+                  .setAuthor(name, email)
+                  .setCommitter(name, email)
+                  .call();
+    }
+
+    private static List<String> names(List<GitUser> users) {
+        return users.stream().map(GitUser::getName).collect(Collectors.toList());
+    }
+}
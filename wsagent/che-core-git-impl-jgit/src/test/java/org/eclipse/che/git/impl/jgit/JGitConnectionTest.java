@@ -61,23 +61,25 @@ import static org.testng.Assert.assertEquals;
 public class JGitConnectionTest {
 
     @Mock
-    private Repository        repository;
+    private Repository         repository;
     @Mock
-    private CredentialsLoader credentialsLoader;
+    private CredentialsLoader  credentialsLoader;
     @Mock
-    private SshKeyProvider    sshKeyProvider;
+    private SshKeyProvider     sshKeyProvider;
     @Mock
-    private GitUserResolver   gitUserResolver;
+    private GitUserResolver    gitUserResolver;
     @Mock
-    private TransportCommand  transportCommand;
+    private TransportCommand   transportCommand;
     @Mock
-    private GitUserResolver   userResolver;
+    private GitUserResolver    userResolver;
+    @Mock
+    private JGitCommitterIndex committerIndex;
 
     private JGitConnection jGitConnection;
 
     @BeforeMethod
     public void setup() {
-        jGitConnection = spy(new JGitConnection(repository, credentialsLoader, sshKeyProvider, userResolver));
+        jGitConnection = spy(new JGitConnection(repository, credentialsLoader, sshKeyProvider, userResolver, committerIndex));
 
         RepositoryState repositoryState = mock(RepositoryState.class);
         GitUser gitUser = mock(GitUser.class);
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.util.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests {@link JGitRepositoryCache}.
+ */
+public class JGitRepositoryCacheTest {
+
+    private File                workDir;
+    private File                gitDir;
+    private JGitRepositoryCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("repository-cache").toFile();
+        gitDir = new File(workDir, ".git");
+        cache = new JGitRepositoryCache(0);
+        final Repository repository = cache.acquire(gitDir);
+        repository.create();
+        cache.release(repository);
+    }
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        cache.closeAll();
+        FileUtils.delete(workDir, FileUtils.RECURSIVE);
+    }
+
+    @Test
+    public void sharesRepositoryBetweenAcquirers() throws Exception {
+        final Repository repository1 = cache.acquire(gitDir);
+        final Repository repository2 = cache.acquire(new File(workDir, "../" + workDir.getName() + "/.git"));
+
+        assertSame(repository1, repository2);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void keepsReleasedRepositoryUntilItIsIdle() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+        cache.release(repository);
+
+        assertSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void evictsIdleRepositories() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+        cache.release(repository);
+
+        cache.evictIdle();
+
+        assertEquals(cache.size(), 0);
+        assertNotSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void doesNotEvictUsedRepositories() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+
+        cache.evictIdle();
+
+        assertSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void doesNotReuseRepositoryWhenGitDirectoryIsDeleted() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+        cache.release(repository);
+
+        FileUtils.delete(gitDir, FileUtils.RECURSIVE);
+
+        assertNotSame(cache.acquire(gitDir), repository);
+    }
+
+    @Test
+    public void doesNotReuseRepositoryWhenGitDirectoryIsReplaced() throws Exception {
+        final Repository repository = cache.acquire(gitDir);
+
+        final File replacement = new File(workDir, "replacement");
+        Files.move(gitDir.toPath(), replacement.toPath());
+        Files.createDirectory(gitDir.toPath());
+
+        assertNotSame(cache.acquire(gitDir), repository);
+        cache.release(repository);
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.internal.storage.file.GC;
+import org.eclipse.jgit.internal.storage.file.GC.RepoStatistics;
+import org.eclipse.jgit.util.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests {@link JGitRepositoryMaintenance}.
+ */
+public class JGitRepositoryMaintenanceTest {
+
+    private File                root;
+    private File                gitDir;
+    private JGitRepositoryCache repositoryCache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("repository-maintenance").toFile();
+        final File project = new File(root, "project");
+        try (Git git = Git.init().setDirectory(project).call()) {
+            for (int i = 0; i < 3; i++) {
+                Files.write(new File(project, "file" + i).toPath(), ("content " + i).getBytes(UTF_8));
+                git.add().addFilepattern(".").call();
+                git.commit().setMessage("commit " + i).call();
+            }
+            gitDir = git.getRepository().getDirectory();
+        }
+        repositoryCache = new JGitRepositoryCache();
+    }
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        repositoryCache.closeAll();
+        FileUtils.delete(root, FileUtils.RECURSIVE);
+    }
+
+    @Test
+    public void packsIdleRepositoryWhichExceedsThresholds() throws Exception {
+        makeIdle();
+        final JGitRepositoryMaintenance maintenance = new JGitRepositoryMaintenance(root, repositoryCache, 1, 50, 100, 1);
+
+        maintenance.maintainRepositories();
+
+        final RepoStatistics statistics = statistics();
+        assertEquals(statistics.numberOfPackFiles, 1);
+        assertEquals(statistics.numberOfLooseRefs, 0);
+    }
+
+    @Test
+    public void doesNotPackRepositoryWhichIsWithinThresholds() throws Exception {
+        makeIdle();
+        final JGitRepositoryMaintenance maintenance = new JGitRepositoryMaintenance(root, repositoryCache, 100, 50, 100, 1);
+
+        assertFalse(maintenance.maintain(gitDir));
+        assertEquals(statistics().numberOfPackFiles, 0);
+    }
+
+    @Test
+    public void doesNotPackRecentlyChangedRepository() throws Exception {
+        final JGitRepositoryMaintenance maintenance = new JGitRepositoryMaintenance(root, repositoryCache, 1, 50, 100, 1);
+
+        assertFalse(maintenance.maintain(gitDir));
+    }
+
+    @Test
+    public void doesNotPackRepositoryUsedByConnections() throws Exception {
+        makeIdle();
+        repositoryCache.acquire(gitDir);
+        final JGitRepositoryMaintenance maintenance = new JGitRepositoryMaintenance(root, repositoryCache, 1, 50, 100, 1);
+
+        assertFalse(maintenance.maintain(gitDir));
+    }
+
+    private void makeIdle() {
+        final long longAgo = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        for (String name : new String[] {"index", "HEAD", "logs/HEAD", "ORIG_HEAD", "FETCH_HEAD"}) {
+            new File(gitDir, name).setLastModified(longAgo);
+        }
+    }
+
+    private RepoStatistics statistics() throws Exception {
+        try (FileRepository repository = new FileRepository(gitDir)) {
+            return new GC(repository).getStatistics();
+        }
+    }
+}
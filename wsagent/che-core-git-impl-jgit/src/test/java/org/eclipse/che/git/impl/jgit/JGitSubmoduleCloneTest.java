@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.git.GitConnection;
+import org.eclipse.che.api.git.GitConnectionFactory;
+import org.eclipse.che.api.git.params.CloneParams;
+import org.eclipse.che.git.impl.GitConnectionFactoryProvider;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.util.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests recursive clone of the repositories with submodules served over file protocol.
+ */
+public class JGitSubmoduleCloneTest {
+
+    private File root;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("submodule-clone").toFile();
+    }
+
+    @AfterMethod
+    public void cleanup() throws Exception {
+        FileUtils.delete(root, FileUtils.RECURSIVE);
+    }
+
+    @Test
+    public void clonesSubmodulesRecursively() throws Exception {
+        final File nested = createRepository("nested");
+        final File first = createRepository("first");
+        addSubmodule(first, "lib/nested", nested);
+        final File second = createRepository("second");
+        final File parent = createRepository("parent");
+        addSubmodule(parent, "first", first);
+        addSubmodule(parent, "modules/second", second);
+
+        final File local = new File(root, "local");
+        final GitConnectionFactory connectionFactory = (GitConnectionFactory)GitConnectionFactoryProvider.createConnection()[0][0];
+        try (GitConnection connection = connectionFactory.getConnection(local)) {
+            connection.clone(CloneParams.create(parent.getAbsolutePath()).withRecursive(true));
+        }
+
+        assertEquals(read(new File(local, "first/first.txt")), "first");
+        assertEquals(read(new File(local, "modules/second/second.txt")), "second");
+        assertEquals(read(new File(local, "first/lib/nested/nested.txt")), "nested");
+        assertTrue(new File(local, ".git/modules/first").isDirectory());
+    }
+
+    private File createRepository(String name) throws Exception {
+        final File dir = new File(root, name);
+        try (Git git = Git.init().setDirectory(dir).call()) {
+            Files.write(new File(dir, name + ".txt").toPath(), name.getBytes(UTF_8));
+            git.add().addFilepattern(".").call();
+            git.commit().setMessage("add " + name).call();
+        }
+        return dir;
+    }
+
+    private static void addSubmodule(File repository, String path, File submodule) throws Exception {
+        try (Git git = Git.open(repository)) {
+            git.submoduleAdd().setPath(path).setURI(submodule.getAbsolutePath()).call().close();
+            git.commit().setMessage("add submodule " + path).call();
+        }
+    }
+
+    private static String read(File file) throws Exception {
+        return new String(Files.readAllBytes(file.toPath()), UTF_8);
+    }
+}
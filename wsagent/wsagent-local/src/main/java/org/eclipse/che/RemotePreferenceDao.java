@@ -24,6 +24,8 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -61,6 +63,39 @@ public class RemotePreferenceDao implements PreferenceDao {
         }
     }
 
+    @Override
+    public Map<String, String> updatePreferences(String userId, Map<String, String> update) throws ServerException {
+        requireNonNull(update, "Required non-null update");
+        checkUserId(requireNonNull(userId, "Required non-null user id"));
+        try {
+            return requestFactory.fromUrl(prefsUrl)
+                                 .usePutMethod()
+                                 .setBody(update)
+                                 .request()
+                                 .asProperties();
+        } catch (IOException | UnauthorizedException | ForbiddenException | ConflictException | NotFoundException | BadRequestException ex) {
+            throw new ServerException(ex.getLocalizedMessage(), ex);
+        }
+    }
+
+    @Override
+    public void removePreferences(String userId, Collection<String> names) throws ServerException {
+        requireNonNull(names, "Required non-null names");
+        checkUserId(requireNonNull(userId, "Required non-null user id"));
+        if (names.isEmpty()) {
+            // the service removes all the preferences when names are not specified
+            return;
+        }
+        try {
+            requestFactory.fromUrl(prefsUrl)
+                          .useDeleteMethod()
+                          .setBody(new ArrayList<>(names))
+                          .request();
+        } catch (IOException | UnauthorizedException | ForbiddenException | ConflictException | NotFoundException | BadRequestException ex) {
+            throw new ServerException(ex.getLocalizedMessage(), ex);
+        }
+    }
+
     @Override
     public Map<String, String> getPreferences(String userId) throws ServerException {
         checkUserId(requireNonNull(userId, "Required non-null user id"));
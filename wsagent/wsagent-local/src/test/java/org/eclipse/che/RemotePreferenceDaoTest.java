@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che;
 
+import com.google.common.collect.ImmutableMap;
+
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -34,6 +36,7 @@ import java.io.IOException;
 import java.util.Map;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.RETURNS_DEFAULTS;
@@ -113,6 +116,28 @@ public class RemotePreferenceDaoTest {
         verify(request).request();
     }
 
+    @Test
+    public void shouldUpdatePreferences() throws Exception {
+        final Map<String, String> update = singletonMap("name", "value");
+        final Map<String, String> prefs = ImmutableMap.of("name", "value", "name2", "value2");
+        when(response.asProperties()).thenReturn(prefs);
+
+        final Map<String, String> result = preferenceDao.updatePreferences(TEST_SUBJECT.getUserId(), update);
+
+        verify(request).usePutMethod();
+        verify(request).setBody(update);
+        assertEquals(result, prefs);
+    }
+
+    @Test
+    public void shouldRemovePreferencesByNames() throws Exception {
+        preferenceDao.removePreferences(TEST_SUBJECT.getUserId(), singletonList("name"));
+
+        verify(request).useDeleteMethod();
+        verify(request).setBody(singletonList("name"));
+        verify(request).request();
+    }
+
     @Test(expectedExceptions = NullPointerException.class)
     public void shouldThrowNullPointerExceptionWhenGettingPreferencesWithNullUserId() throws Exception {
         preferenceDao.getPreferences(null);
@@ -242,11 +242,13 @@ public class FactoryService extends Service {
     @Path("/find")
     @Produces(APPLICATION_JSON)
     @ApiOperation(value = "Get factory by attribute, " +
-                          "the attribute must match one of the Factory model fields with type 'String', " +
-                          "e.g. (factory.name, factory.creator.name)",
+                          "the attribute must be one of the searchable Factory model fields " +
+                          "(id, name, version, creator.userId, policies.referer, policies.match, policies.create, " +
+                          "workspace.name, workspace.defaultEnv)",
                   notes = "If specify more than one value for a single query parameter then will be taken the first one")
     @ApiResponses({@ApiResponse(code = 200, message = "Response contains list requested factories"),
-                   @ApiResponse(code = 400, message = "When query does not contain at least one attribute to search for"),
+                   @ApiResponse(code = 400, message = "When query does not contain at least one attribute to search for " +
+                                                      "or contains attribute which can't be searched"),
                    @ApiResponse(code = 500, message = "Internal server error")})
     public List<FactoryDto> getFactoryByAttribute(@DefaultValue("0")
                                                   @QueryParam("skipCount")
@@ -269,7 +271,13 @@ public class FactoryService extends Service {
                                                                 .collect(toList());
         checkArgument(!query.isEmpty(), "Query must contain at least one attribute");
         final List<FactoryDto> factories = new ArrayList<>();
-        for (Factory factory : factoryManager.getByAttribute(maxItems, skipCount, query)) {
+        final List<? extends Factory> found;
+        try {
+            found = factoryManager.getByAttribute(maxItems, skipCount, query);
+        } catch (IllegalArgumentException x) {
+            throw new BadRequestException(x.getMessage());
+        }
+        for (Factory factory : found) {
             factories.add(injectLinks(asDto(factory), null));
         }
         return factories;
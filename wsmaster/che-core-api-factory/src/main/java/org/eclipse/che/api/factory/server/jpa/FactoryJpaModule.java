@@ -16,6 +16,11 @@ import org.eclipse.che.api.factory.server.jpa.JpaFactoryDao.RemoveFactoriesBefor
 import org.eclipse.che.api.factory.server.spi.FactoryDao;
 
 /**
+ * Binds JPA based factory storage.
+ *
+ * <p>Indexes used by {@link JpaFactoryDao#getByAttribute} lookups are created by
+ * the 'che-schema' migration scripts when the factory table exists.
+ *
  * @author Yevhenii Voevodin
  */
 public class FactoryJpaModule extends AbstractModule {
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.factory.server.jpa;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.persist.Transactional;
 
 import org.eclipse.che.api.core.ConflictException;
@@ -34,13 +35,20 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
-import java.util.HashMap;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.StringJoiner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Comparator.comparing;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 
@@ -51,6 +59,23 @@ import static java.util.Objects.requireNonNull;
 public class JpaFactoryDao implements FactoryDao {
     private static final Logger LOG = LoggerFactory.getLogger(JpaFactoryDao.class);
 
+    /** Attributes which may be used for factories search, each of them is a string attribute. */
+    public static final Set<String> SEARCHABLE_ATTRIBUTES = ImmutableSet.of("id",
+                                                                           "name",
+                                                                           "version",
+                                                                           "creator.userId",
+                                                                           "policies.referer",
+                                                                           "policies.match",
+                                                                           "policies.create",
+                                                                           "workspace.name",
+                                                                           "workspace.defaultEnv");
+
+    private static final String PARAMETER_PREFIX  = "value";
+    private static final String QUERY_NAME_PREFIX = "Factory.getByAttributes:";
+
+    /** Names of the queries registered in the entity manager factory. */
+    private final Set<String> registeredQueries = ConcurrentHashMap.newKeySet();
+
     @Inject
     private Provider<EntityManager> managerProvider;
 
@@ -111,26 +136,33 @@ public class JpaFactoryDao implements FactoryDao {
     public List<FactoryImpl> getByAttribute(int maxItems,
                                             int skipCount,
                                             List<Pair<String, String>> attributes) throws ServerException {
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
+        // the same combination of attributes in any order is searched by the same query
+        final List<Pair<String, String>> sorted = new ArrayList<>(attributes);
+        sorted.sort(comparing(attribute -> attribute.first));
+        final List<String> names = new ArrayList<>(sorted.size());
+        for (Pair<String, String> attribute : sorted) {
+            checkArgument(SEARCHABLE_ATTRIBUTES.contains(attribute.first),
+                          "Factories can't be searched by attribute '%s', searchable attributes are %s",
+                          attribute.first,
+                          SEARCHABLE_ATTRIBUTES);
+            names.add(attribute.first);
+        }
         try {
-            LOG.info("FactoryDao#getByAttributes #maxItems: {} #skipCount: {}, #attributes: {}", maxItems, skipCount, attributes);
-            final Map<String, String> params = new HashMap<>();
-            String query = "SELECT factory FROM Factory factory";
-            if (!attributes.isEmpty()) {
-                final StringJoiner matcher = new StringJoiner(" AND ", " WHERE ", " ");
-                int i = 0;
-                for (Pair<String, String> attribute : attributes) {
-                    final String parameterName = "parameterName" + i++;
-                    params.put(parameterName, attribute.second);
-                    matcher.add("factory." + attribute.first + " = :" + parameterName);
-                }
-                query = query + matcher;
+            LOG.debug("FactoryDao#getByAttributes #maxItems: {} #skipCount: {}, #attributes: {}", maxItems, skipCount, attributes);
+            final EntityManager manager = managerProvider.get();
+            final String queryName = QUERY_NAME_PREFIX + String.join(",", names);
+            if (!registeredQueries.contains(queryName)) {
+                // named query is parsed and prepared by the provider once and then reused
+                manager.getEntityManagerFactory().addNamedQuery(queryName, manager.createQuery(createQuery(manager, names)));
+                registeredQueries.add(queryName);
             }
-            final TypedQuery<FactoryImpl> typedQuery = managerProvider.get()
-                                                                      .createQuery(query, FactoryImpl.class)
-                                                                      .setFirstResult(skipCount)
-                                                                      .setMaxResults(maxItems);
-            for (Map.Entry<String, String> entry : params.entrySet()) {
-                typedQuery.setParameter(entry.getKey(), entry.getValue());
+            final TypedQuery<FactoryImpl> typedQuery = manager.createNamedQuery(queryName, FactoryImpl.class)
+                                                              .setFirstResult(skipCount)
+                                                              .setMaxResults(maxItems);
+            for (int i = 0; i < sorted.size(); i++) {
+                typedQuery.setParameter(PARAMETER_PREFIX + i, sorted.get(i).second);
             }
             return typedQuery.getResultList()
                              .stream()
@@ -141,6 +173,25 @@ public class JpaFactoryDao implements FactoryDao {
         }
     }
 
+    /**
+     * Creates the query which matches factories by all the given attributes,
+     * the value of the attribute is bound to the parameter named by the attribute index.
+     */
+    private static CriteriaQuery<FactoryImpl> createQuery(EntityManager manager, List<String> attributes) {
+        final CriteriaBuilder cb = manager.getCriteriaBuilder();
+        final CriteriaQuery<FactoryImpl> query = cb.createQuery(FactoryImpl.class);
+        final Root<FactoryImpl> factory = query.from(FactoryImpl.class);
+        final Predicate[] predicates = new Predicate[attributes.size()];
+        for (int i = 0; i < attributes.size(); i++) {
+            Path<?> path = factory;
+            for (String attribute : attributes.get(i).split("\\.")) {
+                path = path.get(attribute);
+            }
+            predicates[i] = cb.equal(path, cb.parameter(String.class, PARAMETER_PREFIX + i));
+        }
+        return query.select(factory).where(predicates);
+    }
+
     @Transactional
     protected void doCreate(FactoryImpl factory) {
         final EntityManager manager = managerProvider.get();
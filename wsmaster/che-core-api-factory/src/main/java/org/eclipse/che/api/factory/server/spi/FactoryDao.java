@@ -88,6 +88,9 @@ public interface FactoryDao {
     /**
      * Gets the factories for the list of attributes.
      *
+     * <p>Attribute is a path of the factory string field, e.g. 'name' or 'creator.userId',
+     * implementation may restrict the set of attributes which can be searched.
+     *
      * @param maxItems
      *         the maximum count of items to fetch
      * @param skipCount
@@ -96,7 +99,8 @@ public interface FactoryDao {
      *         list of pairs of attributes to search for
      * @return list of the factories which contain the specified attributes
      * @throws IllegalArgumentException
-     *         when {@code skipCount} or {@code maxItems} is negative
+     *         when {@code skipCount} or {@code maxItems} is negative,
+     *         or when factories can't be searched by one of the given attributes
      * @throws ServerException
      *         when any other error occurs
      */
@@ -447,6 +447,23 @@ public class FactoryServiceTest {
                         .getMessage(), "Query must contain at least one attribute");
     }
 
+    @Test
+    public void shouldThrowBadRequestWhenGettingFactoryByAttributeWhichCantBeSearched() throws Exception {
+        when(factoryManager.getByAttribute(1, 0, ImmutableList.of(Pair.of("button.type", "logo"))))
+                .thenThrow(new IllegalArgumentException("Factories can't be searched by attribute 'button.type'"));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .contentType(APPLICATION_JSON)
+                                         .when()
+                                         .expect()
+                                         .get(SERVICE_PATH + "/find?maxItems=1&skipCount=0&button.type=logo");
+
+        assertEquals(response.getStatusCode(), 400);
+        assertEquals(DTO.createDtoFromJson(response.getBody().asString(), ServiceError.class)
+                        .getMessage(), "Factories can't be searched by attribute 'button.type'");
+    }
+
     @Test
     public void shouldBeAbleToUpdateFactory() throws Exception {
         final Factory existed = createFactory();
@@ -222,6 +222,21 @@ public class FactoryDaoTest {
         assertEquals(new HashSet<>(result), ImmutableSet.of(factories[0], factories[2], factories[4]));
     }
 
+    @Test
+    public void shouldFindFactoriesByTheSameAttributesInAnyOrder() throws Exception {
+        final FactoryImpl factory = factories[0];
+        final Pair<String, String> name = Pair.of("name", factory.getName());
+        final Pair<String, String> creator = Pair.of("creator.userId", factory.getCreator().getUserId());
+
+        assertEquals(factoryDao.getByAttribute(factories.length, 0, ImmutableList.of(name, creator)), singletonList(factory));
+        assertEquals(factoryDao.getByAttribute(factories.length, 0, ImmutableList.of(creator, name)), singletonList(factory));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenSearchingByAttributeWhichCantBeSearched() throws Exception {
+        factoryDao.getByAttribute(factories.length, 0, singletonList(Pair.of("name = name OR 1", "1")));
+    }
+
     @Test
     public void shouldFindAllFactoriesWhenAttributesNotSpecified() throws Exception {
         final List<Pair<String, String>> attributes = emptyList();
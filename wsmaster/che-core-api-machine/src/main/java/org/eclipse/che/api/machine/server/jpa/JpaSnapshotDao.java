@@ -118,6 +118,16 @@ public class JpaSnapshotDao implements SnapshotDao {
         }
     }
 
+    @Override
+    public List<SnapshotImpl> removeSnapshots(String workspaceId) throws SnapshotException {
+        requireNonNull(workspaceId, "Required non-null workspace id");
+        try {
+            return doRemoveSnapshots(workspaceId);
+        } catch (RuntimeException x) {
+            throw new SnapshotException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     public List<SnapshotImpl> replaceSnapshots(String workspaceId,
                                                String envName,
@@ -156,9 +166,31 @@ public class JpaSnapshotDao implements SnapshotDao {
                                                    .setParameter("workspaceId", workspaceId)
                                                    .setParameter("envName", envName)
                                                    .getResultList();
-        existing.forEach(manager::remove);
-        manager.flush();
+        if (!existing.isEmpty()) {
+            // a single statement instead of a statement per removed snapshot
+            existing.forEach(manager::detach);
+            manager.createNamedQuery("Snapshot.removeByWorkspaceAndEnvironment")
+                   .setParameter("workspaceId", workspaceId)
+                   .setParameter("envName", envName)
+                   .executeUpdate();
+        }
         newSnapshots.forEach(manager::persist);
+        manager.flush();
+        return existing;
+    }
+
+    @Transactional
+    protected List<SnapshotImpl> doRemoveSnapshots(String workspaceId) {
+        final EntityManager manager = managerProvider.get();
+        final List<SnapshotImpl> existing = manager.createNamedQuery("Snapshot.findSnapshots", SnapshotImpl.class)
+                                                   .setParameter("workspaceId", workspaceId)
+                                                   .getResultList();
+        if (!existing.isEmpty()) {
+            existing.forEach(manager::detach);
+            manager.createNamedQuery("Snapshot.removeByWorkspace")
+                   .setParameter("workspaceId", workspaceId)
+                   .executeUpdate();
+        }
         return existing;
     }
 }
@@ -11,6 +11,8 @@
 package org.eclipse.che.api.machine.server.model.impl;
 
 import org.eclipse.che.api.core.model.machine.Command;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 import javax.persistence.CollectionTable;
 import javax.persistence.Column;
@@ -49,7 +51,8 @@ public class CommandImpl implements Command {
     @Column(name = "type", nullable = false)
     private String type;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "command_attributes", joinColumns = @JoinColumn(name = "command_id"))
     @MapKeyColumn(name = "name")
     @Column(name = "value", columnDefinition = "TEXT")
@@ -47,7 +47,14 @@ import java.util.Objects;
                             query = "SELECT snapshot " +
                                     "FROM Snapshot snapshot " +
                                     "WHERE snapshot.workspaceId = :workspaceId " +
-                                    "  AND snapshot.envName = :envName")
+                                    "  AND snapshot.envName = :envName"),
+                @NamedQuery(name = "Snapshot.removeByWorkspaceAndEnvironment",
+                            query = "DELETE FROM Snapshot snapshot " +
+                                    "WHERE snapshot.workspaceId = :workspaceId " +
+                                    "  AND snapshot.envName = :envName"),
+                @NamedQuery(name = "Snapshot.removeByWorkspace",
+                            query = "DELETE FROM Snapshot snapshot " +
+                                    "WHERE snapshot.workspaceId = :workspaceId")
         }
 )
 @Table(name = "snapshot")
@@ -88,6 +88,20 @@ public interface SnapshotDao {
      */
     void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException;
 
+    /**
+     * Removes all the snapshots of the given workspace.
+     *
+     * @param workspaceId
+     *         the id of the workspace to remove snapshots
+     * @return the list of removed snapshots, or an empty list when
+     * there is no a single snapshot for the given workspace
+     * @throws NullPointerException
+     *         when {@code workspaceId} is null
+     * @throws SnapshotException
+     *         when any error occurs
+     */
+    List<SnapshotImpl> removeSnapshots(String workspaceId) throws SnapshotException;
+
     /**
      * Replaces all the existing snapshots related to the given workspace
      * with a new list of snapshots.
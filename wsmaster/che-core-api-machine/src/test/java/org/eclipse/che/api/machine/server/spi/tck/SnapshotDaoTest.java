@@ -39,6 +39,7 @@ import java.util.Map;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 /**
@@ -227,6 +228,26 @@ public class SnapshotDaoTest {
         assertEquals(actual, expected);
     }
 
+    @Test(dependsOnMethods = "shouldFindSnapshotsByWorkspaceAndNamespace")
+    public void shouldRemoveAllSnapshotsOfWorkspace() throws Exception {
+        final List<SnapshotImpl> removed = snapshotDao.removeSnapshots(snapshots[0].getWorkspaceId());
+
+        assertEquals(new HashSet<>(removed), Sets.newHashSet(snapshots[0], snapshots[1], snapshots[2]));
+        assertTrue(snapshotDao.findSnapshots(snapshots[0].getWorkspaceId()).isEmpty());
+        assertEquals(new HashSet<>(snapshotDao.findSnapshots(snapshots[3].getWorkspaceId())),
+                     Sets.newHashSet(snapshots[3], snapshots[4], snapshots[5]));
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenRemovingSnapshotsOfWorkspaceWithoutSnapshots() throws Exception {
+        assertTrue(snapshotDao.removeSnapshots("non-existing-workspace-id").isEmpty());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenRemovingSnapshotsOfNullWorkspace() throws Exception {
+        snapshotDao.removeSnapshots(null);
+    }
+
     @DataProvider(name = "missingSnapshots")
     public Object[][] missingSnapshots() {
         final SnapshotImpl snapshot = snapshots[0];
@@ -13,6 +13,7 @@ package org.eclipse.che.api.system.shared.dto;
 import org.eclipse.che.api.core.rest.shared.dto.Hyperlinks;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.system.shared.SystemStatus;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.dto.shared.DTO;
 
 import java.util.List;
@@ -34,5 +35,16 @@ public interface SystemStateDto extends Hyperlinks {
 
     SystemStateDto withStatus(SystemStatus status);
 
+    /**
+     * Returns the latest stopped item of the service which is being
+     * stopped, or null if system is running or no items were stopped yet.
+     */
+    @Nullable
+    SystemServiceItemStoppedEventDto getShutdownProgress();
+
+    void setShutdownProgress(SystemServiceItemStoppedEventDto shutdownProgress);
+
+    SystemStateDto withShutdownProgress(SystemServiceItemStoppedEventDto shutdownProgress);
+
     SystemStateDto withLinks(List<Link> links);
 }
@@ -15,8 +15,11 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.system.shared.SystemStatus;
 import org.eclipse.che.api.system.shared.event.SystemStatusChangedEvent;
+import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStoppedEvent;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
@@ -44,9 +47,10 @@ public class SystemManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(SystemManager.class);
 
-    private final AtomicReference<SystemStatus> statusRef;
-    private final EventService                  eventService;
-    private final ServiceTerminator             terminator;
+    private final AtomicReference<SystemStatus>                  statusRef;
+    private final AtomicReference<SystemServiceItemStoppedEvent> shutdownProgressRef;
+    private final EventService                                   eventService;
+    private final ServiceTerminator                              terminator;
 
     private final CountDownLatch shutdownLatch = new CountDownLatch(1);
 
@@ -55,6 +59,7 @@ public class SystemManager {
         this.terminator = terminator;
         this.eventService = eventService;
         this.statusRef = new AtomicReference<>(RUNNING);
+        this.shutdownProgressRef = new AtomicReference<>();
     }
 
     /**
@@ -87,10 +92,22 @@ public class SystemManager {
         return statusRef.get();
     }
 
+    /**
+     * Gets the latest stopped item of the service which is being stopped,
+     * e.g. workspace with the count of already stopped and total workspaces.
+     * Returns null if no items were stopped yet.
+     */
+    @Nullable
+    public SystemServiceItemStoppedEvent getShutdownProgress() {
+        return shutdownProgressRef.get();
+    }
+
     /** Synchronously stops corresponding services. */
     private void doStopServices() {
         LOG.info("Preparing system to shutdown");
         eventService.publish(new SystemStatusChangedEvent(RUNNING, PREPARING_TO_SHUTDOWN));
+        EventSubscriber<SystemServiceItemStoppedEvent> progressTracker = shutdownProgressRef::set;
+        eventService.subscribe(progressTracker, SystemServiceItemStoppedEvent.class);
         try {
             terminator.terminateAll();
             statusRef.set(READY_TO_SHUTDOWN);
@@ -100,6 +117,7 @@ public class SystemManager {
             LOG.error("Interrupted while waiting for system service to shutdown components");
             Thread.currentThread().interrupt();
         } finally {
+            eventService.unsubscribe(progressTracker, SystemServiceItemStoppedEvent.class);
             shutdownLatch.countDown();
         }
     }
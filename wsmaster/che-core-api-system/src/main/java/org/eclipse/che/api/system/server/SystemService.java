@@ -20,6 +20,7 @@ import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.LinkParameter;
 import org.eclipse.che.api.system.shared.dto.SystemStateDto;
+import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStoppedEvent;
 import org.eclipse.che.dto.server.DtoFactory;
 
 import javax.inject.Inject;
@@ -61,7 +62,7 @@ public class SystemService extends Service {
     @Path("/state")
     @Produces("application/json")
     @ApiOperation("Gets current system state")
-    @ApiResponses(@ApiResponse(code = 200, message = "The response contains system status"))
+    @ApiResponses(@ApiResponse(code = 200, message = "The response contains system status and progress of the shutdown"))
     public SystemStateDto getState() {
         Link wsLink = createLink("GET",
                                  getServiceContext()
@@ -75,8 +76,10 @@ public class SystemService extends Service {
                                                          .withName("channel")
                                                          .withDefaultValue(SYSTEM_STATE_CHANNEL_NAME)
                                                          .withRequired(true)));
+        SystemServiceItemStoppedEvent shutdownProgress = manager.getShutdownProgress();
         return DtoFactory.newDto(SystemStateDto.class)
                          .withStatus(manager.getSystemStatus())
+                         .withShutdownProgress(shutdownProgress == null ? null : DtoConverter.asDto(shutdownProgress))
                          .withLinks(singletonList(wsLink));
     }
 }
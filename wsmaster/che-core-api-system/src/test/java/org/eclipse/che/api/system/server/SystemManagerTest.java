@@ -12,7 +12,9 @@ package org.eclipse.che.api.system.server;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.system.shared.event.SystemStatusChangedEvent;
+import org.eclipse.che.api.system.shared.event.service.SystemServiceItemStoppedEvent;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
@@ -27,10 +29,13 @@ import java.util.Iterator;
 import static org.eclipse.che.api.system.shared.SystemStatus.PREPARING_TO_SHUTDOWN;
 import static org.eclipse.che.api.system.shared.SystemStatus.READY_TO_SHUTDOWN;
 import static org.eclipse.che.api.system.shared.SystemStatus.RUNNING;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 
 /**
  * Tests {@link SystemManager}.
@@ -49,6 +54,9 @@ public class SystemManagerTest {
     @Captor
     private ArgumentCaptor<SystemStatusChangedEvent> eventsCaptor;
 
+    @Captor
+    private ArgumentCaptor<EventSubscriber<SystemServiceItemStoppedEvent>> progressTrackerCaptor;
+
     private SystemManager systemManager;
 
     @BeforeMethod
@@ -90,6 +98,22 @@ public class SystemManagerTest {
         verifyShutdownCompleted();
     }
 
+    @Test
+    public void tracksShutdownProgress() throws Exception {
+        SystemServiceItemStoppedEvent itemStopped = new SystemServiceItemStoppedEvent("workspace", "workspace123", 1, 2);
+        doAnswer(inv -> {
+            verify(eventService).subscribe(progressTrackerCaptor.capture(), eq(SystemServiceItemStoppedEvent.class));
+            progressTrackerCaptor.getValue().onEvent(itemStopped);
+            return null;
+        }).when(terminator).terminateAll();
+        assertNull(systemManager.getShutdownProgress());
+
+        systemManager.shutdown();
+
+        assertEquals(systemManager.getShutdownProgress(), itemStopped);
+        verify(eventService).unsubscribe(progressTrackerCaptor.getValue(), SystemServiceItemStoppedEvent.class);
+    }
+
     private void verifyShutdownCompleted() throws InterruptedException {
         verify(terminator, timeout(2000)).terminateAll();
         verify(eventService, times(2)).publish(eventsCaptor.capture());
@@ -10,8 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.user.server;
 
-import com.google.common.util.concurrent.Striped;
-
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 
@@ -19,7 +17,6 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.Lock;
 
 import static java.util.Objects.requireNonNull;
 
@@ -37,8 +34,6 @@ import static java.util.Objects.requireNonNull;
 @Singleton
 public class PreferenceManager {
 
-    private static final Striped<Lock> UPDATE_REENTRANT_LOCKS = Striped.lazyWeakLock(32);
-
     @Inject
     private PreferenceDao preferenceDao;
 
@@ -81,18 +76,7 @@ public class PreferenceManager {
     public Map<String, String> update(String userId, Map<String, String> preferences) throws ServerException {
         requireNonNull(userId, "Required non-null user id");
         requireNonNull(preferences, "Required non-null preferences");
-        // Holding reference to prevent garbage collection
-        // this reentrantLock helps to avoid race-conditions when parallel updates are applied
-        final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
-        reentrantLock.lock();
-        try {
-            final Map<String, String> found = preferenceDao.getPreferences(userId);
-            found.putAll(preferences);
-            preferenceDao.setPreferences(userId, found);
-            return found;
-        } finally {
-            reentrantLock.unlock();
-        }
+        return preferenceDao.updatePreferences(userId, preferences);
     }
 
     /**
@@ -161,16 +145,6 @@ public class PreferenceManager {
     public void remove(String userId, List<String> names) throws ServerException {
         requireNonNull(userId, "Required non-null user id");
         requireNonNull(names, "Required non-null preference names");
-        // Holding reference to prevent garbage collection
-        // this reentrantLock helps to avoid race-conditions when parallel updates are applied
-        final Lock reentrantLock = UPDATE_REENTRANT_LOCKS.get(userId);
-        reentrantLock.lock();
-        try {
-            final Map<String, String> preferences = preferenceDao.getPreferences(userId);
-            names.forEach(preferences::remove);
-            preferenceDao.setPreferences(userId, preferences);
-        } finally {
-            reentrantLock.unlock();
-        }
+        preferenceDao.removePreferences(userId, names);
     }
 }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.user.server.jpa;
 
+import com.google.common.util.concurrent.Striped;
 import com.google.inject.persist.Transactional;
 
 import org.eclipse.che.api.core.ServerException;
@@ -17,6 +18,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.event.BeforeUserRemovedEvent;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheCoordinator;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -24,23 +26,34 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Implementation of {@link PreferenceDao}.
  *
+ * <p>Preferences are read through the {@link PreferenceCache} which
+ * is updated once preferences modification is flushed.
+ *
  * @author Anton Korneta
  */
 @Singleton
 public class JpaPreferenceDao implements PreferenceDao {
 
+    private static final Striped<Lock> UPDATE_LOCKS = Striped.lazyWeakLock(32);
+
     @Inject
     private Provider<EntityManager> managerProvider;
+    @Inject
+    private PreferenceCache         cache;
+    @Inject
+    private EntityCacheCoordinator  cacheCoordinator;
 
     @Override
     public void setPreferences(String userId, Map<String, String> preferences) throws ServerException {
@@ -50,49 +63,71 @@ public class JpaPreferenceDao implements PreferenceDao {
         if (preferences.isEmpty()) {
             remove(userId);
         } else {
+            final Lock lock = UPDATE_LOCKS.get(userId);
+            lock.lock();
             try {
                 doSetPreference(prefs);
+                cache.putModified(userId, preferences);
             } catch (RuntimeException ex) {
                 throw new ServerException(ex.getLocalizedMessage(), ex);
+            } finally {
+                lock.unlock();
             }
         }
     }
 
     @Override
-    @Transactional
+    public Map<String, String> updatePreferences(String userId, Map<String, String> update) throws ServerException {
+        requireNonNull(userId);
+        requireNonNull(update);
+        final Lock lock = UPDATE_LOCKS.get(userId);
+        lock.lock();
+        try {
+            final Map<String, String> preferences = doUpdatePreferences(userId, update);
+            cache.putModified(userId, preferences);
+            return preferences;
+        } catch (RuntimeException ex) {
+            throw new ServerException(ex.getLocalizedMessage(), ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void removePreferences(String userId, Collection<String> names) throws ServerException {
+        requireNonNull(userId);
+        requireNonNull(names);
+        final Lock lock = UPDATE_LOCKS.get(userId);
+        lock.lock();
+        try {
+            cache.putModified(userId, doRemovePreferences(userId, names));
+        } catch (RuntimeException ex) {
+            throw new ServerException(ex.getLocalizedMessage(), ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
     public Map<String, String> getPreferences(String userId) throws ServerException {
         requireNonNull(userId);
         try {
-            final EntityManager manager = managerProvider.get();
-            final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
-            return prefs == null ? new HashMap<>()
-                                 : prefs.getPreferences();
+            return new HashMap<>(getCachedPreferences(userId));
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
     }
 
     @Override
-    @Transactional
     public Map<String, String> getPreferences(String userId, String filter) throws ServerException {
         requireNonNull(userId);
         requireNonNull(filter);
         try {
-            final EntityManager manager = managerProvider.get();
-            final PreferenceEntity prefs = manager.find(PreferenceEntity.class, userId);
-            if (prefs == null) {
-                return new HashMap<>();
-            }
-            final Map<String, String> preferences = prefs.getPreferences();
-            if (!filter.isEmpty()) {
-                final Pattern pattern = Pattern.compile(filter);
-                return preferences.entrySet()
-                                  .stream()
-                                  .filter(preference -> pattern.matcher(preference.getKey()).matches())
-                                  .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-            } else {
-                return preferences;
+            final NavigableMap<String, String> preferences = getCachedPreferences(userId);
+            if (filter.isEmpty()) {
+                return new HashMap<>(preferences);
             }
+            return cache.filter(preferences, filter);
         } catch (RuntimeException ex) {
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
@@ -108,6 +143,21 @@ public class JpaPreferenceDao implements PreferenceDao {
         }
     }
 
+    private NavigableMap<String, String> getCachedPreferences(String userId) {
+        final NavigableMap<String, String> cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        final long generation = cache.getGeneration();
+        return cache.putLoaded(userId, doGetPreferences(userId), generation);
+    }
+
+    @Transactional
+    protected Map<String, String> doGetPreferences(String userId) {
+        final PreferenceEntity prefs = managerProvider.get().find(PreferenceEntity.class, userId);
+        return prefs == null ? new HashMap<>() : prefs.getPreferences();
+    }
+
     @Transactional
     protected void doSetPreference(PreferenceEntity prefs) {
         final EntityManager manager = managerProvider.get();
@@ -120,6 +170,47 @@ public class JpaPreferenceDao implements PreferenceDao {
         manager.flush();
     }
 
+    /**
+     * Modifies the managed preferences, so only the rows
+     * of the added, changed or removed preferences are written.
+     */
+    @Transactional
+    protected Map<String, String> doUpdatePreferences(String userId, Map<String, String> update) {
+        final EntityManager manager = managerProvider.get();
+        final PreferenceEntity existing = manager.find(PreferenceEntity.class, userId);
+        if (existing == null) {
+            if (!update.isEmpty()) {
+                manager.persist(new PreferenceEntity(userId, new HashMap<>(update)));
+                manager.flush();
+            }
+            return new HashMap<>(update);
+        }
+        final Map<String, String> preferences = existing.getPreferences();
+        for (Map.Entry<String, String> entry : update.entrySet()) {
+            if (!Objects.equals(entry.getValue(), preferences.get(entry.getKey()))) {
+                preferences.put(entry.getKey(), entry.getValue());
+            }
+        }
+        manager.flush();
+        return new HashMap<>(preferences);
+    }
+
+    @Transactional
+    protected Map<String, String> doRemovePreferences(String userId, Collection<String> names) {
+        final EntityManager manager = managerProvider.get();
+        final PreferenceEntity existing = manager.find(PreferenceEntity.class, userId);
+        if (existing == null) {
+            return new HashMap<>();
+        }
+        final Map<String, String> preferences = existing.getPreferences();
+        preferences.keySet().removeAll(names);
+        if (preferences.isEmpty()) {
+            manager.remove(existing);
+        }
+        manager.flush();
+        return new HashMap<>(preferences);
+    }
+
     @Transactional
     protected void doRemove(String userId) {
         final EntityManager manager = managerProvider.get();
@@ -127,6 +218,9 @@ public class JpaPreferenceDao implements PreferenceDao {
         if (prefs != null) {
             manager.remove(prefs);
             manager.flush();
+            // removal may be a part of the outer transaction, e.g. user removal,
+            // so the cache is invalidated when the outermost transaction is committed
+            cacheCoordinator.afterCommit(() -> cache.invalidate(userId));
         }
     }
 
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.user.server.jpa;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.eclipse.che.core.db.jpa.cache.CacheInvalidationChannel;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.unmodifiableNavigableMap;
+
+/**
+ * Write-through cache of user preferences.
+ *
+ * <p>Preferences of each user are kept sorted by names, so filters like
+ * 'prefix.*' or 'che\.editor\..*' are served by a range lookup instead of matching
+ * each preference name. Other filters are matched with compiled patterns which are
+ * reused between calls, only the names which start with the literal prefix of the filter
+ * are matched, e.g. for 'che.editor.*' only the names starting with 'che'.
+ *
+ * <p>Preferences loaded from the database are cached only if no invalidation happened
+ * while they were loaded, see {@link #getGeneration()}. Modification of preferences
+ * is published as {@code 'Preference:<user id>'}, so other wsmaster instances
+ * drop only the preferences of that user.
+ */
+@Singleton
+public class PreferenceCache {
+
+    private static final String INVALIDATION_PREFIX = "Preference:";
+    private static final int    MAX_CACHED_USERS    = 1000;
+    private static final int    MAX_CACHED_PATTERNS = 100;
+    private static final String REGEX_SPECIAL_CHARS = "\\.[]{}()*+?^$|";
+
+    /**
+     * Matches 'prefix.*' or '^prefix.*' filters where prefix doesn't contain
+     * regex special characters except escaped dots, e.g. 'che\.editor\..*'.
+     */
+    private static final Pattern PREFIX_FILTER = Pattern.compile("\\^?((?:[^\\\\.\\[\\]{}()*+?^$|]|\\\\\\.)*)\\.\\*");
+
+    private final CacheInvalidationChannel                    channel;
+    private final Cache<String, NavigableMap<String, String>> preferences;
+    private final Cache<String, Pattern>                      patterns;
+
+    private long generation;
+
+    @Inject
+    public PreferenceCache(CacheInvalidationChannel channel) {
+        this.channel = channel;
+        this.preferences = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_USERS).build();
+        this.patterns = CacheBuilder.newBuilder().maximumSize(MAX_CACHED_PATTERNS).build();
+        channel.subscribe(invalidation -> {
+            for (String key : invalidation) {
+                if (key.startsWith(INVALIDATION_PREFIX)) {
+                    invalidateLocally(key.substring(INVALIDATION_PREFIX.length()));
+                }
+            }
+        });
+    }
+
+    /** Returns cached preferences of the user or null if they are not cached. */
+    public NavigableMap<String, String> get(String userId) {
+        return preferences.getIfPresent(userId);
+    }
+
+    /**
+     * Returns the number of invalidations of this cache,
+     * used to detect invalidations made while preferences are being loaded.
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches preferences loaded from the database.
+     *
+     * @param userId
+     *         the id of the user whose preferences are loaded
+     * @param prefs
+     *         loaded preferences
+     * @param expectedGeneration
+     *         the value of {@link #getGeneration()} obtained before the preferences were loaded
+     * @return cached preferences which are either loaded ones or the ones
+     * put to the cache by a modification made while the preferences were loaded
+     */
+    public synchronized NavigableMap<String, String> putLoaded(String userId, Map<String, String> prefs, long expectedGeneration) {
+        final NavigableMap<String, String> sorted = unmodifiableNavigableMap(new TreeMap<>(prefs));
+        if (generation != expectedGeneration) {
+            return sorted;
+        }
+        final NavigableMap<String, String> existing = preferences.asMap().putIfAbsent(userId, sorted);
+        return existing != null ? existing : sorted;
+    }
+
+    /** Caches the modified preferences of the user and notifies other instances about modification. */
+    public void putModified(String userId, Map<String, String> prefs) {
+        preferences.put(userId, unmodifiableNavigableMap(new TreeMap<>(prefs)));
+        channel.publish(singleton(INVALIDATION_PREFIX + userId));
+    }
+
+    /** Removes preferences of the user from the cache and notifies other instances about modification. */
+    public void invalidate(String userId) {
+        invalidateLocally(userId);
+        channel.publish(singleton(INVALIDATION_PREFIX + userId));
+    }
+
+    /** Removes all the preferences from the cache. */
+    public synchronized void invalidateAll() {
+        generation++;
+        preferences.invalidateAll();
+    }
+
+    private synchronized void invalidateLocally(String userId) {
+        generation++;
+        preferences.invalidate(userId);
+    }
+
+    /**
+     * Returns the preferences which names match given regex {@code filter}.
+     *
+     * @throws java.util.regex.PatternSyntaxException
+     *         when filter is not a valid regex
+     */
+    public Map<String, String> filter(NavigableMap<String, String> prefs, String filter) {
+        final Matcher prefixMatcher = PREFIX_FILTER.matcher(filter);
+        final Map<String, String> result = new HashMap<>();
+        if (prefixMatcher.matches()) {
+            final String prefix = prefixMatcher.group(1).replace("\\.", ".");
+            for (Map.Entry<String, String> entry : startingWith(prefs, prefix).entrySet()) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        } else {
+            Pattern pattern = patterns.getIfPresent(filter);
+            if (pattern == null) {
+                pattern = Pattern.compile(filter);
+                patterns.put(filter, pattern);
+            }
+            for (Map.Entry<String, String> entry : startingWith(prefs, literalPrefix(filter)).entrySet()) {
+                if (pattern.matcher(entry.getKey()).matches()) {
+                    result.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static NavigableMap<String, String> startingWith(NavigableMap<String, String> prefs, String prefix) {
+        if (prefix.isEmpty()) {
+            return prefs;
+        }
+        // the greatest name which starts with the prefix is less than the prefix with its last char incremented
+        final String upperBound = prefix.substring(0, prefix.length() - 1) + (char)(prefix.charAt(prefix.length() - 1) + 1);
+        return prefs.subMap(prefix, true, upperBound, false);
+    }
+
+    /**
+     * Returns the prefix which all the names matching the regex {@code filter} start with,
+     * or an empty string if the filter doesn't have such prefix, e.g. for 'che.editor.*'
+     * the prefix is 'che' as the unescaped dot matches any character.
+     */
+    static String literalPrefix(String filter) {
+        if (filter.indexOf('|') != -1) {
+            return "";
+        }
+        final StringBuilder prefix = new StringBuilder();
+        int i = filter.startsWith("^") ? 1 : 0;
+        while (i < filter.length()) {
+            final char c = filter.charAt(i);
+            if (c == '\\' && i + 1 < filter.length() && filter.charAt(i + 1) == '.') {
+                prefix.append('.');
+                i += 2;
+            } else if (REGEX_SPECIAL_CHARS.indexOf(c) == -1) {
+                prefix.append(c);
+                i++;
+            } else {
+                // the last char is optional when it is followed by '?', '*' or '{0,n}'
+                if ((c == '?' || c == '*' || c == '{') && prefix.length() > 0) {
+                    prefix.setLength(prefix.length() - 1);
+                }
+                break;
+            }
+        }
+        return prefix.toString();
+    }
+}
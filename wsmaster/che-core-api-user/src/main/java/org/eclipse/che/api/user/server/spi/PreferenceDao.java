@@ -12,6 +12,7 @@ package org.eclipse.che.api.user.server.spi;
 
 import org.eclipse.che.api.core.ServerException;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -35,6 +36,43 @@ public interface PreferenceDao {
      */
     void setPreferences(String userId, Map<String, String> preferences) throws ServerException;
 
+    /**
+     * Updates user preferences by merging given {@code update} with the existing preferences,
+     * existing preferences with the same names are overridden.
+     *
+     * <p>Unlike {@link #setPreferences(String, Map)} this method
+     * writes only the preferences which are added or changed by the update.
+     *
+     * @param userId
+     *         user identifier
+     * @param update
+     *         preferences to add or override
+     * @return all the user preferences including the update
+     * @throws NullPointerException
+     *         when either {@code userId} or {@code update} is null
+     * @throws ServerException
+     *         when any other error occurs
+     */
+    Map<String, String> updatePreferences(String userId, Map<String, String> update) throws ServerException;
+
+    /**
+     * Removes user preferences with the given names, if all the user's preferences
+     * are removed then the method behaves as {@link #remove(String)}.
+     *
+     * <p>Note that this method doesn't throw any exception if user doesn't
+     * have any preferences or preferences with the given names
+     *
+     * @param userId
+     *         user identifier
+     * @param names
+     *         names of the preferences to remove
+     * @throws NullPointerException
+     *         when either {@code userId} or {@code names} is null
+     * @throws ServerException
+     *         when any other error occurs
+     */
+    void removePreferences(String userId, Collection<String> names) throws ServerException;
+
     /**
      * Gets user preferences.
      *
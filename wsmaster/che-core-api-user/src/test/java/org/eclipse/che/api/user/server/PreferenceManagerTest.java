@@ -13,8 +13,6 @@ package org.eclipse.che.api.user.server;
 import com.google.common.collect.ImmutableMap;
 
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -22,12 +20,12 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -46,53 +44,22 @@ public class PreferenceManagerTest {
     @InjectMocks
     private PreferenceManager preferenceManager;
 
-    @Captor
-    private ArgumentCaptor<Map<String, String>> preferencesCaptor;
-
     @Test
-    public void shouldUseMergeStrategyForPreferencesUpdate() throws Exception {
-        // Preparing preferences
-        final Map<String, String> existingPreferences = new HashMap<>();
-        existingPreferences.put("pKey1", "pValue1");
-        existingPreferences.put("pKey2", "pValue2");
-        existingPreferences.put("pKey3", "pValue3");
-        existingPreferences.put("pKey4", "pValue4");
-        when(preferenceDao.getPreferences(any())).thenReturn(existingPreferences);
-
-        // Updating preferences
-        final Map<String, String> newPreferences = new HashMap<>();
-        newPreferences.put("pKey5", "pValue5");
-        newPreferences.put("pKey1", "new-value");
-        preferenceManager.update("user123", newPreferences);
-
-        // Checking
-        verify(preferenceDao).setPreferences(anyString(), preferencesCaptor.capture());
-        assertEquals(preferencesCaptor.getValue(), ImmutableMap.of("pKey1", "new-value",
-                                                                   "pKey2", "pValue2",
-                                                                   "pKey3", "pValue3",
-                                                                   "pKey4", "pValue4",
-                                                                   "pKey5", "pValue5"));
+    public void shouldUpdatePreferencesUsingDao() throws Exception {
+        final Map<String, String> update = ImmutableMap.of("pKey1", "new-value");
+        final Map<String, String> preferences = ImmutableMap.of("pKey1", "new-value", "pKey2", "pValue2");
+        when(preferenceDao.updatePreferences("user123", update)).thenReturn(preferences);
 
+        assertEquals(preferenceManager.update("user123", update), preferences);
+        verify(preferenceDao, never()).setPreferences(anyString(), any());
     }
 
     @Test
     public void shouldRemoveSpecifiedPreferences() throws Exception {
-        // Preparing preferences
-        final Map<String, String> existingPreferences = new HashMap<>();
-        existingPreferences.put("pKey1", "pValue1");
-        existingPreferences.put("pKey2", "pValue2");
-        existingPreferences.put("pKey3", "pValue3");
-        existingPreferences.put("pKey4", "pValue4");
-        when(preferenceDao.getPreferences(any())).thenReturn(existingPreferences);
-
-        // Removing
         preferenceManager.remove("user123", asList("pKey1", "pKey5", "odd-pref-name"));
 
-        // Checking
-        verify(preferenceDao).setPreferences(anyString(), preferencesCaptor.capture());
-        assertEquals(preferencesCaptor.getValue(), ImmutableMap.of("pKey2", "pValue2",
-                                                                   "pKey3", "pValue3",
-                                                                   "pKey4", "pValue4"));
+        verify(preferenceDao).removePreferences("user123", asList("pKey1", "pKey5", "odd-pref-name"));
+        verify(preferenceDao, never()).setPreferences(anyString(), any());
     }
 
     @Test
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.user.server.jpa;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.core.db.jpa.cache.CacheInvalidationChannel;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static java.util.Collections.singleton;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests {@link PreferenceCache}.
+ */
+public class PreferenceCacheTest {
+
+    private static final Map<String, String> PREFERENCES = ImmutableMap.<String, String>builder()
+                                                                        .put("che.editor.theme", "dark")
+                                                                        .put("che.editor.font", "mono")
+                                                                        .put("che-editor-size", "12")
+                                                                        .put("che.project.type", "maven")
+                                                                        .put("chef", "cook")
+                                                                        .put("git.user", "user")
+                                                                        .build();
+
+    private CacheInvalidationChannel channel;
+    private Consumer<Set<String>>    subscriber;
+    private PreferenceCache          cache;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        channel = mock(CacheInvalidationChannel.class);
+        cache = new PreferenceCache(channel);
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(channel).subscribe(captor.capture());
+        subscriber = captor.getValue();
+    }
+
+    @Test
+    public void publishesIdOfUserWhichPreferencesAreModified() {
+        cache.putModified("user1", PREFERENCES);
+
+        verify(channel).publish(singleton("Preference:user1"));
+        assertEquals(cache.get("user1"), PREFERENCES);
+    }
+
+    @Test
+    public void publishesIdOfUserWhichPreferencesAreInvalidated() {
+        cache.invalidate("user1");
+
+        verify(channel).publish(singleton("Preference:user1"));
+    }
+
+    @Test
+    public void invalidatesOnlyPreferencesOfUserModifiedByOtherInstance() {
+        cache.putLoaded("user1", PREFERENCES, cache.getGeneration());
+        cache.putLoaded("user2", PREFERENCES, cache.getGeneration());
+
+        subscriber.accept(singleton("Preference:user1"));
+
+        assertNull(cache.get("user1"));
+        assertNotNull(cache.get("user2"));
+    }
+
+    @Test
+    public void ignoresInvalidationsOfOtherKeys() {
+        cache.putLoaded("user1", PREFERENCES, cache.getGeneration());
+
+        subscriber.accept(singleton("Preference"));
+        subscriber.accept(singleton("Stack"));
+
+        assertNotNull(cache.get("user1"));
+    }
+
+    @Test
+    public void doesNotCachePreferencesLoadedWhileInvalidationHappened() {
+        final long generation = cache.getGeneration();
+        subscriber.accept(singleton("Preference:user1"));
+
+        assertEquals(cache.putLoaded("user1", PREFERENCES, generation), PREFERENCES);
+        assertNull(cache.get("user1"));
+    }
+
+    @Test
+    public void filtersByPrefix() {
+        assertEquals(cache.filter(sorted(), "che.*"), ImmutableMap.builder()
+                                                                  .put("che.editor.theme", "dark")
+                                                                  .put("che.editor.font", "mono")
+                                                                  .put("che-editor-size", "12")
+                                                                  .put("che.project.type", "maven")
+                                                                  .put("chef", "cook")
+                                                                  .build());
+    }
+
+    @Test
+    public void filtersByPrefixWithEscapedDots() {
+        assertEquals(cache.filter(sorted(), "^che\\.editor\\..*"), ImmutableMap.of("che.editor.theme", "dark",
+                                                                                   "che.editor.font", "mono"));
+    }
+
+    @Test
+    public void filtersByDottedPrefixAsRegex() {
+        // unescaped dot matches any character
+        assertEquals(cache.filter(sorted(), "che.editor.*"), ImmutableMap.of("che.editor.theme", "dark",
+                                                                             "che.editor.font", "mono",
+                                                                             "che-editor-size", "12"));
+    }
+
+    @Test
+    public void filtersByRegex() {
+        assertEquals(cache.filter(sorted(), "chef?|git\\..*"), ImmutableMap.of("chef", "cook", "git.user", "user"));
+        assertEquals(cache.filter(sorted(), ".*\\.type"), ImmutableMap.of("che.project.type", "maven"));
+    }
+
+    @Test
+    public void findsLiteralPrefixOfFilter() {
+        assertEquals(PreferenceCache.literalPrefix("che.editor.*"), "che");
+        assertEquals(PreferenceCache.literalPrefix("^che\\.editor\\..*"), "che.editor.");
+        assertEquals(PreferenceCache.literalPrefix("chef?"), "che");
+        assertEquals(PreferenceCache.literalPrefix("che\\.?x"), "che");
+        assertEquals(PreferenceCache.literalPrefix("che+"), "che");
+        assertEquals(PreferenceCache.literalPrefix("a.*|b.*"), "");
+        assertEquals(PreferenceCache.literalPrefix("(?i)che.*"), "");
+    }
+
+    private static NavigableMap<String, String> sorted() {
+        return new TreeMap<>(PREFERENCES);
+    }
+}
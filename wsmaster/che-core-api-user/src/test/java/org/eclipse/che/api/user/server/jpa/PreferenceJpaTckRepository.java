@@ -34,6 +34,8 @@ public class PreferenceJpaTckRepository implements TckRepository<Pair<String, Ma
 
     @Inject
     private Provider<EntityManager> managerProvider;
+    @Inject
+    private PreferenceCache         preferenceCache;
 
     @Override
     public void createAll(Collection<? extends Pair<String, Map<String, String>>> entities) throws TckRepositoryException {
@@ -41,6 +43,7 @@ public class PreferenceJpaTckRepository implements TckRepository<Pair<String, Ma
         for (Pair<String, Map<String, String>> pair : entities) {
             manager.persist(new PreferenceEntity(pair.first, pair.second));
         }
+        preferenceCache.invalidateAll();
     }
 
     @Override
@@ -49,5 +52,6 @@ public class PreferenceJpaTckRepository implements TckRepository<Pair<String, Ma
         manager.createQuery("SELECT prefs FROM Preference prefs", PreferenceEntity.class)
                .getResultList()
                .forEach(manager::remove);
+        preferenceCache.invalidateAll();
     }
 }
@@ -129,6 +129,58 @@ public class PreferenceDaoTest {
         assertEquals(preferenceDao.getPreferences(userId), update);
     }
 
+    @Test(dependsOnMethods = "shouldGetPreference")
+    public void shouldMergePreferencesOnUpdate() throws Exception {
+        final String userId = userPreferences.get(0).first;
+        final Map<String, String> expected = new HashMap<>(userPreferences.get(0).second);
+        expected.put("preference1", "new-value");
+        expected.put("preference4", "value");
+
+        final Map<String, String> result = preferenceDao.updatePreferences(userId, ImmutableMap.of("preference1", "new-value",
+                                                                                                    "preference4", "value"));
+
+        assertEquals(result, expected);
+        assertEquals(preferenceDao.getPreferences(userId), expected);
+    }
+
+    @Test(dependsOnMethods = "shouldGetPreference")
+    public void shouldCreatePreferencesOnUpdateWhenUserDoesNotHaveThem() throws Exception {
+        final String userId = userPreferences.get(0).first;
+        preferenceDao.remove(userId);
+
+        preferenceDao.updatePreferences(userId, ImmutableMap.of("key", "value"));
+
+        assertEquals(preferenceDao.getPreferences(userId), ImmutableMap.of("key", "value"));
+    }
+
+    @Test(dependsOnMethods = "shouldGetPreference")
+    public void shouldRemovePreferencesByNames() throws Exception {
+        final String userId = userPreferences.get(0).first;
+
+        preferenceDao.removePreferences(userId, Arrays.asList("preference1", "preference3", "non-existing"));
+
+        assertEquals(preferenceDao.getPreferences(userId), ImmutableMap.of("preference2", "value"));
+    }
+
+    @Test(dependsOnMethods = "shouldGetPreference")
+    public void shouldRemoveAllPreferencesByNames() throws Exception {
+        final String userId = userPreferences.get(0).first;
+
+        preferenceDao.removePreferences(userId, userPreferences.get(0).second.keySet());
+
+        assertTrue(preferenceDao.getPreferences(userId).isEmpty());
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenUpdatingPreferencesWithNullUpdate() throws Exception {
+        preferenceDao.updatePreferences(userPreferences.get(0).first, null);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenRemovingPreferencesWithNullNames() throws Exception {
+        preferenceDao.removePreferences(userPreferences.get(0).first, null);
+    }
+
     @Test
     public void shouldGetPreference() throws Exception {
         final Pair<String, Map<String, String>> prefs = userPreferences.get(0);
@@ -183,6 +235,20 @@ public class PreferenceDaoTest {
                      ImmutableMap.of(preference.getKey(), preference.getValue()));
     }
 
+    @Test
+    public void shouldReturnPreferencesFilteredByPrefix() throws Exception {
+        final String userId = userPreferences.get(0).first;
+        preferenceDao.updatePreferences(userId, ImmutableMap.of("prefix.key1", "value1",
+                                                                "prefix.key2", "value2",
+                                                                "prefixkey3", "value3"));
+
+        assertEquals(preferenceDao.getPreferences(userId, "prefix.*"), ImmutableMap.of("prefix.key1", "value1",
+                                                                                       "prefix.key2", "value2",
+                                                                                       "prefixkey3", "value3"));
+        assertEquals(preferenceDao.getPreferences(userId, "^prefix\\..*"), ImmutableMap.of("prefix.key1", "value1",
+                                                                                            "prefix.key2", "value2"));
+    }
+
     @Test(dependsOnMethods = {"shouldGetPreference", "shouldRemovePreferenceWhenUpdateIsEmpty"})
     public void shouldGetEmptyPreferenceMapWhenPreferenceForUserNotFound() throws Exception {
         final String userId = userPreferences.get(0).first;
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.shared.dto;
+
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.Map;
+
+/**
+ * Lightweight view of the workspace used for workspaces listing,
+ * it contains neither workspace configuration nor runtime.
+ */
+@DTO
+public interface WorkspaceSummaryDto {
+
+    /** Returns the identifier of the workspace. */
+    String getId();
+
+    void setId(String id);
+
+    WorkspaceSummaryDto withId(String id);
+
+    /** Returns the name of the workspace. */
+    String getName();
+
+    void setName(String name);
+
+    WorkspaceSummaryDto withName(String name);
+
+    /** Returns the namespace of the workspace. */
+    String getNamespace();
+
+    void setNamespace(String namespace);
+
+    WorkspaceSummaryDto withNamespace(String namespace);
+
+    /** Returns the status of the workspace. */
+    WorkspaceStatus getStatus();
+
+    void setStatus(WorkspaceStatus status);
+
+    WorkspaceSummaryDto withStatus(WorkspaceStatus status);
+
+    /** Returns true if the workspace is temporary. */
+    boolean isTemporary();
+
+    void setTemporary(boolean isTemporary);
+
+    WorkspaceSummaryDto withTemporary(boolean isTemporary);
+
+    /** Returns the attributes of the workspace. */
+    Map<String, String> getAttributes();
+
+    void setAttributes(Map<String, String> attributes);
+
+    WorkspaceSummaryDto withAttributes(Map<String, String> attributes);
+}
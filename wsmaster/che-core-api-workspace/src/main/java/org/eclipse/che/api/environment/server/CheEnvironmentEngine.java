@@ -79,6 +79,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -89,9 +90,11 @@ import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.CLEANUP;
 import static org.eclipse.che.api.workspace.shared.Utils.getDevMachineName;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -431,6 +434,7 @@ public class CheEnvironmentEngine {
             }
         }
         return startInstance(false,
+                             null,
                              environmentHolder.logger,
                              machine,
                              machineStarter);
@@ -749,6 +753,9 @@ public class CheEnvironmentEngine {
         try {
             machineProvider.createNetwork(networkId);
 
+            // snapshots of all the environment machines are fetched at once
+            Map<String, SnapshotImpl> snapshots = recover ? findSnapshots(workspaceId, envName) : emptyMap();
+
             String machineName = queuePeekOrFail(workspaceId);
             while (machineName != null) {
                 boolean isDev = devMachineName.equals(machineName);
@@ -808,6 +815,7 @@ public class CheEnvironmentEngine {
 
                 checkInterruption(workspaceId, envName);
                 Instance instance = startInstance(recover,
+                                                  snapshots.get(machineName),
                                                   envLogger,
                                                   machine,
                                                   machineStarter);
@@ -897,7 +905,18 @@ public class CheEnvironmentEngine {
         }
     }
 
+    private Map<String, SnapshotImpl> findSnapshots(String workspaceId, String envName) throws ServerException {
+        Map<String, SnapshotImpl> snapshots = new HashMap<>();
+        for (SnapshotImpl snapshot : snapshotDao.findSnapshots(workspaceId)) {
+            if (envName.equals(snapshot.getEnvName())) {
+                snapshots.put(snapshot.getMachineName(), snapshot);
+            }
+        }
+        return snapshots;
+    }
+
     private Instance startInstance(boolean recover,
+                                   @Nullable SnapshotImpl snapshot,
                                    MessageConsumer<MachineLogMessage> environmentLogger,
                                    MachineImpl machine,
                                    MachineStarter machineStarter)
@@ -924,10 +943,7 @@ public class CheEnvironmentEngine {
             try {
                 MachineSourceImpl machineSource = null;
                 if (recover) {
-                    try {
-                        SnapshotImpl snapshot = snapshotDao.getSnapshot(machine.getWorkspaceId(),
-                                                                        machine.getEnvName(),
-                                                                        machine.getConfig().getName());
+                    if (snapshot != null) {
                         machineSource = snapshot.getMachineSource();
                         // Snapshot image location has SHA-256 digest which needs to be removed,
                         // otherwise it will be pulled without tag and cause problems
@@ -935,7 +951,7 @@ public class CheEnvironmentEngine {
                         if (imageName.contains("@sha256:")) {
                             machineSource.setLocation(imageName.substring(0, imageName.indexOf('@')));
                         }
-                    } catch (NotFoundException e) {
+                    } else {
                         try {
                             machineLogger.writeLine("Failed to boot machine from snapshot: snapshot not found. " +
                                                     "Machine will be created from origin source.");
@@ -1367,7 +1383,7 @@ public class CheEnvironmentEngine {
             InstanceStateEvent.Type eventType = event.getType();
             // cleanup machine if event about instance failure comes
             if ((eventType == OOM) || (eventType == DIE)) {
-                sharedPool.execute(() -> {
+                sharedPool.execute(CLEANUP, () -> {
                     Instance instance = removeMachineFromEnvironment(workspaceId, machineId);
                     if (instance == null) {
                         // should not happen
@@ -35,6 +35,9 @@ public class TemporaryWorkspaceRemover {
 
     private static final Logger LOG = getLogger(TemporaryWorkspaceRemover.class);
 
+    @VisibleForTesting
+    static final int BULK_SIZE = 100;
+
     private final WorkspaceDao workspaceDao;
 
     @Inject
@@ -63,19 +66,34 @@ public class TemporaryWorkspaceRemover {
 
     @VisibleForTesting
     void removeTemporaryWs() throws ServerException {
-        final int count = 100;
+        List<WorkspaceImpl> removed;
+        do {
+            try {
+                removed = workspaceDao.removeTemporaryWorkspaces(BULK_SIZE);
+            } catch (ServerException x) {
+                // bulk removal is atomic, so a single failing workspace prevents removal of the whole bulk
+                LOG.warn("Unable to cleanup temporary workspaces in bulk, removing them one by one. Reason is {}",
+                         x.getLocalizedMessage());
+                removeOneByOne();
+                return;
+            }
+        } while (removed.size() == BULK_SIZE);
+    }
+
+    private void removeOneByOne() throws ServerException {
         int skip = 0;
-        List<WorkspaceImpl> workspaces = workspaceDao.getWorkspaces(true, skip, count);
+        List<WorkspaceImpl> workspaces = workspaceDao.getWorkspaces(true, skip, BULK_SIZE);
         while (!workspaces.isEmpty()) {
             for (WorkspaceImpl workspace : workspaces) {
                 try {
                     workspaceDao.remove(workspace.getId());
                 } catch (ServerException e) {
+                    // workspace is still there, so the next page must skip it
+                    skip++;
                     LOG.error("Unable to cleanup temporary workspace {}. Reason is {}", workspace.getId(), e.getLocalizedMessage());
                 }
             }
-            skip = skip + count;
-            workspaces = workspaceDao.getWorkspaces(true, skip, count);
+            workspaces = workspaceDao.getWorkspaces(true, skip, BULK_SIZE);
         }
     }
 
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 
 import org.eclipse.che.account.api.AccountManager;
@@ -18,6 +19,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
@@ -32,6 +34,8 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -42,12 +46,18 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Throwables.getCausalChain;
@@ -57,6 +67,10 @@ import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.CLEANUP;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.SNAPSHOT;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.START;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.STOP;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_BY;
@@ -88,6 +102,17 @@ public class WorkspaceManager {
     private final boolean             defaultAutoSnapshot;
     private final boolean             defaultAutoRestore;
 
+    @Inject(optional = true)
+    @Named("che.workspace.shutdown.timeout_min")
+    private long shutdownTimeoutMin;
+
+    @Inject(optional = true)
+    @Named("che.workspace.shutdown.max_stops_per_node")
+    private int maxStopsPerNode;
+
+    /** Snapshots which are not started before this time are skipped to stop workspaces in the shutdown budget. */
+    private volatile long snapshotsDeadline = Long.MAX_VALUE;
+
     @Inject
     public WorkspaceManager(WorkspaceDao workspaceDao,
                             WorkspaceRuntimes workspaceRegistry,
@@ -273,6 +298,38 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets page of workspaces which user can read.
+     *
+     * @param user
+     *         the id of the user
+     * @param includeRuntimes
+     *         if <code>true</code>, will fetch runtime info for workspaces.
+     *         If <code>false</code>, will not fetch runtime info.
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspaces with total count of workspaces which user can read
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws ServerException
+     *         when any server error occurs while getting workspaces with {@link WorkspaceDao#getWorkspaces(String, int, long)}
+     */
+    public Page<WorkspaceImpl> getWorkspaces(String user,
+                                             boolean includeRuntimes,
+                                             int maxItems,
+                                             long skipCount) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final Page<WorkspaceImpl> page = workspaceDao.getWorkspaces(user, maxItems, skipCount);
+        if (includeRuntimes) {
+            injectRuntimes(page.getItems());
+        } else {
+            injectStatuses(page.getItems());
+        }
+        return page;
+    }
+
     /**
      * Gets list of workspaces which has given namespace. Runtimes are included
      *
@@ -318,6 +375,65 @@ public class WorkspaceManager {
         return workspaces;
     }
 
+    /**
+     * Gets page of workspaces which has given namespace.
+     *
+     * @param namespace
+     *         the namespace to find workspaces
+     * @param includeRuntimes
+     *         if <code>true</code>, will fetch runtime info for workspaces.
+     *         If <code>false</code>, will not fetch runtime info.
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspaces with total count of workspaces in the namespace
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws ServerException
+     *         when any server error occurs while getting workspaces with {@link WorkspaceDao#getByNamespace(String, int, long)}
+     */
+    public Page<WorkspaceImpl> getByNamespace(String namespace,
+                                              boolean includeRuntimes,
+                                              int maxItems,
+                                              long skipCount) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        final Page<WorkspaceImpl> page = workspaceDao.getByNamespace(namespace, maxItems, skipCount);
+        if (includeRuntimes) {
+            injectRuntimes(page.getItems());
+        } else {
+            injectStatuses(page.getItems());
+        }
+        return page;
+    }
+
+    /**
+     * Gets page of workspaces summaries which user can read.
+     *
+     * <p>Summaries don't contain workspace configurations, their statuses
+     * are either {@link WorkspaceStatus#STOPPED} or defined by workspaces runtimes.
+     *
+     * @param user
+     *         the id of the user
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @param skipCount
+     *         the number of summaries to skip
+     * @return page of workspaces summaries with total count of workspaces which user can read
+     * @throws NullPointerException
+     *         when {@code user} is null
+     * @throws ServerException
+     *         when any server error occurs while getting summaries with {@link WorkspaceDao#getSummaries(String, int, long)}
+     */
+    public Page<WorkspaceSummaryImpl> getWorkspaceSummaries(String user, int maxItems, long skipCount) throws ServerException {
+        requireNonNull(user, "Required non-null user id");
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummaries(user, maxItems, skipCount);
+        for (WorkspaceSummaryImpl summary : page.getItems()) {
+            summary.setStatus(runtimes.getStatus(summary.getId()));
+        }
+        return page;
+    }
+
     /**
      * Updates an existing workspace with a new configuration.
      *
@@ -587,8 +703,10 @@ public class WorkspaceManager {
     }
 
     /**
-     * Removes all snapshots of workspace machines,
-     * continues to remove snapshots even when removal of some of them fails.
+     * Removes all snapshots of workspace machines.
+     *
+     * <p>Snapshots metadata is removed at once, if it fails then snapshots
+     * are removed one by one continuing even when removal of some of them fails.
      *
      * <p>Note that snapshots binaries are removed asynchronously
      * while metadata removal is synchronous operation.
@@ -601,19 +719,22 @@ public class WorkspaceManager {
      *         when any other error occurs
      */
     public void removeSnapshots(String workspaceId) throws NotFoundException, ServerException {
-        List<SnapshotImpl> snapshots = getSnapshot(workspaceId);
-        List<SnapshotImpl> removed = new ArrayList<>(snapshots.size());
-        for (SnapshotImpl snapshot : snapshots) {
-            try {
-                snapshotDao.removeSnapshot(snapshot.getId());
-                removed.add(snapshot);
-            } catch (Exception x) {
-                LOG.error(format("Couldn't remove snapshot '%s' meta data, " +
-                                 "binaries won't be removed either", snapshot.getId()), x);
-            }
+        requireNonNull(workspaceId, "Required non-null workspace id");
+        // check if workspace exists
+        workspaceDao.get(workspaceId);
+        List<SnapshotImpl> removed;
+        try {
+            removed = snapshotDao.removeSnapshots(workspaceId);
+        } catch (ServerException x) {
+            LOG.warn(format("Couldn't remove snapshots of workspace '%s' at once, " +
+                            "they will be removed one by one", workspaceId), x);
+            removed = removeSnapshotsOneByOne(snapshotDao.findSnapshots(workspaceId));
+        }
+        if (!removed.isEmpty()) {
+            // binaries removal may take some time, do it asynchronously
+            final List<SnapshotImpl> toRemoveBinaries = removed;
+            sharedPool.execute(CLEANUP, () -> runtimes.removeBinaries(toRemoveBinaries));
         }
-        // binaries removal may take some time, do it asynchronously
-        sharedPool.execute(() -> runtimes.removeBinaries(removed));
     }
 
     /**
@@ -694,10 +815,19 @@ public class WorkspaceManager {
     /**
      * Stops all the running and starting workspaces - snapshotting them before if needed.
      * Workspace stop operations executed asynchronously while the method waits
-     * for async task to finish.
+     * for async task to finish or for the shutdown timeout.
+     *
+     * <p>Snapshots are skipped when less than third of the shutdown timeout is left,
+     * workspaces which are not stopped in the timeout are stopped forcibly by {@link WorkspaceRuntimes#shutdown()}.
+     * Not more than configured number of workspaces is stopped simultaneously on the same node.
      */
     private void stopRunningWorkspacesNormally() throws InterruptedException {
         if (runtimes.isAnyRunning()) {
+            final long shutdownStarted = currentTimeMillis();
+            final long shutdownTimeout = TimeUnit.MINUTES.toMillis(shutdownTimeoutMin);
+            if (shutdownTimeout > 0) {
+                snapshotsDeadline = shutdownStarted + shutdownTimeout * 2 / 3;
+            }
 
             // getting all the running or starting workspaces
             ArrayList<WorkspaceImpl> runningOrStarting = new ArrayList<>();
@@ -717,22 +847,70 @@ public class WorkspaceManager {
                 }
             }
 
-            // stopping them asynchronously
-            CountDownLatch stopLatch = new CountDownLatch(runningOrStarting.size());
-            for (WorkspaceImpl workspace : runningOrStarting) {
-                try {
-                    stopAsync(workspace, null).whenComplete((res, ex) -> stopLatch.countDown());
-                } catch (Exception x) {
-                    stopLatch.countDown();
-                    if (runtimes.hasRuntime(workspace.getId())) {
-                        LOG.warn("Couldn't stop the workspace '{}' normally, due to error: {}", workspace.getId(), x.getMessage());
-                    }
-                }
+            // stopping them asynchronously, throttling stops on each node
+            final long deadline = shutdownTimeout > 0 ? shutdownStarted + shutdownTimeout : Long.MAX_VALUE;
+            final int notStopped = stopThrottled(runningOrStarting, maxStopsPerNode, deadline);
+            if (notStopped > 0) {
+                LOG.warn("Workspaces are not stopped normally in {} minutes, {} workspaces are going to be stopped forcibly",
+                         shutdownTimeoutMin,
+                         notStopped);
+            }
+        }
+    }
+
+    /**
+     * Stops the workspaces asynchronously, not more than {@code maxStopsPerNode} at a time on the same node,
+     * non-positive value means no limit. The next workspace of the node is stopped once
+     * one of the stops on that node completes, no more stops are started after the deadline.
+     *
+     * @return the number of the workspaces which are not stopped before the deadline
+     * @throws InterruptedException
+     *         if it's interrupted while waiting for workspaces to stop
+     */
+    @VisibleForTesting
+    int stopThrottled(List<WorkspaceImpl> workspaces, int maxStopsPerNode, long deadline) throws InterruptedException {
+        final Map<String, NodeStops> nodes = new HashMap<>();
+        for (WorkspaceImpl workspace : workspaces) {
+            nodes.computeIfAbsent(getNodeHost(workspace.getId()), host -> new NodeStops(maxStopsPerNode)).queue.add(workspace);
+        }
+        for (; ; ) {
+            final List<CompletableFuture<Void>> inProgress = new ArrayList<>();
+            int notStopped = 0;
+            for (NodeStops node : nodes.values()) {
+                node.startNext();
+                inProgress.addAll(node.inProgress);
+                notStopped += node.inProgress.size() + node.queue.size();
+            }
+            if (inProgress.isEmpty()) {
+                return notStopped;
+            }
+            final long timeLeft = deadline - currentTimeMillis();
+            if (timeLeft <= 0) {
+                return notStopped;
+            }
+            try {
+                CompletableFuture.anyOf(inProgress.toArray(new CompletableFuture[inProgress.size()]))
+                                 .get(timeLeft, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException ignored) {
+                // stop errors are logged by the stop task, the deadline is checked by the next iteration
             }
+        }
+    }
 
-            // wait for stopping workspaces to complete
-            stopLatch.await();
+    /** Returns the host of the node where dev machine of the workspace is running, or empty string if it is unknown. */
+    private String getNodeHost(String workspaceId) {
+        try {
+            final WorkspaceRuntimeImpl runtime = runtimes.getRuntime(workspaceId);
+            if (runtime != null && runtime.getDevMachine() != null) {
+                final Instance instance = runtimes.getMachine(workspaceId, runtime.getDevMachine().getId());
+                if (instance != null && instance.getNode() != null && instance.getNode().getHost() != null) {
+                    return instance.getNode().getHost();
+                }
+            }
+        } catch (NotFoundException | ServerException ignored) {
+            // workspace might be already stopped
         }
+        return "";
     }
 
     /** Asynchronously starts given workspace. */
@@ -791,7 +969,17 @@ public class WorkspaceManager {
             workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
             workspaceDao.update(workspace);
         }
-        return sharedPool.runAsync(() -> {
+        final boolean snapshotBeforeStop;
+        if (workspace.isTemporary() || workspace.getStatus() == WorkspaceStatus.STARTING) {
+            snapshotBeforeStop = false;
+        } else if (createSnapshot != null) {
+            snapshotBeforeStop = createSnapshot;
+        } else if (workspace.getAttributes().containsKey(AUTO_CREATE_SNAPSHOT)) {
+            snapshotBeforeStop = parseBoolean(workspace.getAttributes().get(AUTO_CREATE_SNAPSHOT));
+        } else {
+            snapshotBeforeStop = defaultAutoSnapshot;
+        }
+        final Runnable stopTask = () -> {
             final String stoppedBy = sessionUserNameOr(workspace.getAttributes().get(WORKSPACE_STOPPED_BY));
             LOG.info("Workspace '{}/{}' with id '{}' is being stopped by user '{}'",
                      workspace.getNamespace(),
@@ -799,18 +987,12 @@ public class WorkspaceManager {
                      workspace.getId(),
                      firstNonNull(stoppedBy, "undefined"));
 
-            final boolean snapshotBeforeStop;
-            if (workspace.isTemporary() || workspace.getStatus() == WorkspaceStatus.STARTING) {
-                snapshotBeforeStop = false;
-            } else if (createSnapshot != null) {
-                snapshotBeforeStop = createSnapshot;
-            } else if (workspace.getAttributes().containsKey(AUTO_CREATE_SNAPSHOT)) {
-                snapshotBeforeStop = parseBoolean(workspace.getAttributes().get(AUTO_CREATE_SNAPSHOT));
-            } else {
-                snapshotBeforeStop = defaultAutoSnapshot;
-            }
-
-            if (snapshotBeforeStop) {
+            if (snapshotBeforeStop && currentTimeMillis() > snapshotsDeadline) {
+                LOG.warn("Snapshot of the workspace '{}/{}' with id '{}' is skipped, there is no time left for it",
+                         workspace.getNamespace(),
+                         workspace.getConfig().getName(),
+                         workspace.getId());
+            } else if (snapshotBeforeStop) {
                 try {
                     runtimes.snapshot(workspace.getId());
                 } catch (ConflictException | NotFoundException | ServerException x) {
@@ -836,11 +1018,20 @@ public class WorkspaceManager {
                     removeWorkspaceQuietly(workspace);
                 }
             }
-        });
+        };
+        // snapshotting may take a long time, so it must not delay starts and stops of other workspaces
+        try {
+            return sharedPool.runAsync(snapshotBeforeStop ? SNAPSHOT : STOP, stopTask);
+        } catch (RejectedExecutionException x) {
+            throw new ServerException(format("Stop of the workspace '%s/%s' is rejected, too many workspaces " +
+                                             "are being started and stopped, try again later",
+                                             workspace.getNamespace(),
+                                             workspace.getConfig().getName()));
+        }
     }
 
     private void startAsync(MachineConfig machineConfig, String workspaceId) {
-        sharedPool.execute(() -> {
+        sharedPool.execute(START, () -> {
             try {
                 runtimes.startMachine(workspaceId, machineConfig);
             } catch (ApiException | EnvironmentException e) {
@@ -936,4 +1127,44 @@ public class WorkspaceManager {
             workspace.setStatus(runtimes.getStatus(workspace.getId()));
         }
     }
+
+    private List<SnapshotImpl> removeSnapshotsOneByOne(List<SnapshotImpl> snapshots) {
+        List<SnapshotImpl> removed = new ArrayList<>(snapshots.size());
+        for (SnapshotImpl snapshot : snapshots) {
+            try {
+                snapshotDao.removeSnapshot(snapshot.getId());
+                removed.add(snapshot);
+            } catch (Exception x) {
+                LOG.error(format("Couldn't remove snapshot '%s' meta data, " +
+                                 "binaries won't be removed either", snapshot.getId()), x);
+            }
+        }
+        return removed;
+    }
+
+    /** Workspaces of a single node, which are being stopped or wait for their turn to be stopped. */
+    private class NodeStops {
+        final Queue<WorkspaceImpl>          queue      = new ArrayDeque<>();
+        final List<CompletableFuture<Void>> inProgress = new ArrayList<>();
+        final int                           maxStops;
+
+        NodeStops(int maxStops) {
+            this.maxStops = maxStops;
+        }
+
+        /** Forgets completed stops and starts the stops of the queued workspaces while the limit allows. */
+        void startNext() {
+            inProgress.removeIf(CompletableFuture::isDone);
+            while (!queue.isEmpty() && (maxStops <= 0 || inProgress.size() < maxStops)) {
+                final WorkspaceImpl workspace = queue.poll();
+                try {
+                    inProgress.add(stopAsync(workspace, null));
+                } catch (Exception x) {
+                    if (runtimes.hasRuntime(workspace.getId())) {
+                        LOG.warn("Couldn't stop the workspace '{}' normally, due to error: {}", workspace.getId(), x.getMessage());
+                    }
+                }
+            }
+        }
+    }
 }
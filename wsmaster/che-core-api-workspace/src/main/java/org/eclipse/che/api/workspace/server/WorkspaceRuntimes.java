@@ -54,6 +54,7 @@ import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -68,20 +69,27 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static java.lang.String.format;
+import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.SNAPSHOTTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.machine.shared.Constants.ENVIRONMENT_OUTPUT_CHANNEL_TEMPLATE;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.SNAPSHOT;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.START;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -117,6 +125,14 @@ public class WorkspaceRuntimes {
     private final SnapshotDao                         snapshotDao;
     private final WorkspaceSharedPool                 sharedPool;
 
+    /**
+     * Max time of workspace snapshot creation, snapshots of machines
+     * which are not created in this time are considered failed. Non-positive value means no limit.
+     */
+    @com.google.inject.Inject(optional = true)
+    @Named("che.workspace.snapshot.timeout_min")
+    private long snapshotTimeoutMin;
+
     private final AtomicBoolean         isShutdown            = new AtomicBoolean(false);
     private final AtomicBoolean         isStartRefused        = new AtomicBoolean(false);
     private final MachineAgentsLauncher machineAgentsLauncher = new MachineAgentsLauncher();
@@ -228,10 +244,18 @@ public class WorkspaceRuntimes {
                                       environment,
                                       recover,
                                       cmpFuture = new CompletableFuture<>());
+            final Future<WorkspaceRuntimeImpl> startFuture;
+            try {
+                startFuture = sharedPool.submit(START, startTask);
+            } catch (RejectedExecutionException x) {
+                throw new ServerException(format("Start of the workspace '%s' is rejected, too many workspaces " +
+                                                 "are being started and stopped, try again later",
+                                                 workspace.getConfig().getName()));
+            }
             states.put(workspaceId, new RuntimeState(WorkspaceStatus.STARTING,
                                                      envName,
                                                      startTask,
-                                                     sharedPool.submit(startTask)));
+                                                     startFuture));
         }
 
         // publish event synchronously as the task may not be executed by
@@ -481,7 +505,7 @@ public class WorkspaceRuntimes {
         try (@SuppressWarnings("unused") Unlocker u = locks.writeLock(workspaceId)) {
             getRunningState(workspaceId).status = SNAPSHOTTING;
         }
-        return sharedPool.submit(() -> {
+        return sharedPool.submit(SNAPSHOT, () -> {
             try {
                 snapshotAndUpdateStatus(workspaceId);
             } catch (Exception x) {
@@ -862,24 +886,38 @@ public class WorkspaceRuntimes {
 
         LOG.info("Creating snapshot of workspace '{}', machines to snapshot: '{}'", workspaceId, machines.size());
         List<SnapshotImpl> newSnapshots = new ArrayList<>(machines.size());
-        for (MachineImpl machine : machines) {
+        // machines are snapshotted in parallel by the background lane, results are collected in the order of machines
+        List<Future<SnapshotImpl>> futures = new ArrayList<>(machines.size());
+        try {
+            for (MachineImpl machine : machines) {
+                futures.add(sharedPool.submit(SNAPSHOT, () -> saveMachineSnapshot(workspaceId, machine.getId())));
+            }
+        } catch (RejectedExecutionException x) {
+            newSnapshots.addAll(awaitSnapshots(futures, System.currentTimeMillis()));
+            removeBinaries(newSnapshots);
+            String error = format("Snapshot of the workspace '%s' is rejected, workspace threads pool is terminated", workspaceId);
+            publishSnapshotCreationError(workspaceId, error);
+            throw new ServerException(error);
+        }
+        long deadline = snapshotTimeoutMin > 0 ? System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(snapshotTimeoutMin)
+                                               : Long.MAX_VALUE;
+        for (int i = 0; i < machines.size(); i++) {
+            MachineImpl machine = machines.get(i);
             try {
-                newSnapshots.add(envEngine.saveSnapshot(workspaceId, machine.getId()));
+                newSnapshots.add(awaitSnapshot(futures.get(i), deadline));
             } catch (ServerException | NotFoundException x) {
                 if (machine.getConfig().isDev()) {
-                    compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
-                    eventsService.publish(DtoFactory.newDto(WorkspaceStatusEvent.class)
-                                                    .withWorkspaceId(workspaceId)
-                                                    .withStatus(WorkspaceStatus.RUNNING)
-                                                    .withEventType(EventType.SNAPSHOT_CREATION_ERROR)
-                                                    .withPrevStatus(WorkspaceStatus.SNAPSHOTTING)
-                                                    .withError(x.getMessage()));
+                    // workspace snapshot is not created without dev machine, so snapshots of other machines are removed
+                    newSnapshots.addAll(awaitSnapshots(futures.subList(i + 1, futures.size()), deadline));
+                    removeBinaries(newSnapshots);
+                    publishSnapshotCreationError(workspaceId, x.getMessage());
                     throw x;
                 }
-                LOG.warn(format("Couldn't create snapshot of machine '%s:%s' in workspace '%s'",
+                LOG.warn(format("Couldn't create snapshot of machine '%s:%s' in workspace '%s'. Error: %s",
                                 machine.getEnvName(),
                                 machine.getConfig().getName(),
-                                workspaceId));
+                                workspaceId,
+                                x.getMessage()));
             }
         }
 
@@ -913,6 +951,78 @@ public class WorkspaceRuntimes {
                                         .withPrevStatus(WorkspaceStatus.SNAPSHOTTING));
     }
 
+    /** Changes status SNAPSHOTTING -> RUNNING and publishes snapshot creation error. */
+    private void publishSnapshotCreationError(String workspaceId, String error) throws ServerException {
+        compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
+        eventsService.publish(DtoFactory.newDto(WorkspaceStatusEvent.class)
+                                        .withWorkspaceId(workspaceId)
+                                        .withStatus(WorkspaceStatus.RUNNING)
+                                        .withEventType(EventType.SNAPSHOT_CREATION_ERROR)
+                                        .withPrevStatus(WorkspaceStatus.SNAPSHOTTING)
+                                        .withError(error));
+    }
+
+    /**
+     * Saves the snapshot of the machine, if the snapshot task is cancelled while
+     * the snapshot is being saved, the saved snapshot is removed as nobody waits for it.
+     */
+    private SnapshotImpl saveMachineSnapshot(String workspaceId, String machineId) throws ServerException, NotFoundException {
+        SnapshotImpl snapshot = envEngine.saveSnapshot(workspaceId, machineId);
+        if (Thread.currentThread().isInterrupted()) {
+            removeBinaries(singletonList(snapshot));
+            throw new ServerException(format("Snapshot of machine '%s' is cancelled", machineId));
+        }
+        return snapshot;
+    }
+
+    /**
+     * Waits for machine snapshot until the deadline.
+     * Snapshotting of machine that is not finished before the deadline is interrupted.
+     *
+     * <p>Workspace snapshot is usually created by a task of the background lane, so the threads of the lane
+     * may be all busy waiting for their machines while the machine tasks are queued behind them.
+     * To avoid such starvation, the waiting thread runs the machine task itself if it is not started yet,
+     * the deadline is not applied to the task run this way.
+     */
+    private SnapshotImpl awaitSnapshot(Future<SnapshotImpl> future, long deadline) throws ServerException, NotFoundException {
+        if (future instanceof RunnableFuture) {
+            // no-op if the task is already started by the pool
+            ((RunnableFuture<SnapshotImpl>)future).run();
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException x) {
+            Throwable cause = x.getCause();
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            if (cause instanceof NotFoundException) {
+                throw (NotFoundException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        } catch (TimeoutException x) {
+            future.cancel(true);
+            throw new ServerException(format("Snapshot is not created in %d minutes", snapshotTimeoutMin));
+        } catch (InterruptedException x) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for snapshot creation");
+        }
+    }
+
+    /** Waits for machines snapshots until the deadline and returns successfully created ones. */
+    private List<SnapshotImpl> awaitSnapshots(List<Future<SnapshotImpl>> futures, long deadline) {
+        List<SnapshotImpl> snapshots = new ArrayList<>(futures.size());
+        for (Future<SnapshotImpl> future : futures) {
+            try {
+                snapshots.add(awaitSnapshot(future, deadline));
+            } catch (ServerException | NotFoundException ignored) {
+                // snapshot is not created
+            }
+        }
+        return snapshots;
+    }
+
     /** Holds runtime information while workspace is running. */
     @VisibleForTesting
     static class RuntimeState {
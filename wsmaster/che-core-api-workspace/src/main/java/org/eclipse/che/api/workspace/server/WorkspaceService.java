@@ -26,6 +26,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
@@ -37,11 +38,13 @@ import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -223,6 +226,39 @@ public class WorkspaceService extends Service {
                                .collect(toList());
     }
 
+    @GET
+    @Path("/summary")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get summaries of workspaces which user can read",
+                  notes = "Summaries contain neither workspace configurations nor runtimes, " +
+                          "the response contains the page of summaries, and 'Link' header with links to other pages",
+                  response = WorkspaceSummaryDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The summaries successfully fetched"),
+                   @ApiResponse(code = 400, message = "Paging parameters are not valid"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")})
+    public Response getSummaries(@ApiParam("The number of the items to skip")
+                                 @DefaultValue("0")
+                                 @QueryParam("skipCount")
+                                 Long skipCount,
+                                 @ApiParam("The limit of the items in the response, default is 30")
+                                 @DefaultValue("30")
+                                 @QueryParam("maxItems")
+                                 Integer maxItems) throws ServerException, BadRequestException {
+        final Page<WorkspaceSummaryImpl> page;
+        try {
+            page = workspaceManager.getWorkspaceSummaries(EnvironmentContext.getCurrent().getSubject().getUserId(),
+                                                          maxItems,
+                                                          skipCount);
+        } catch (IllegalArgumentException x) {
+            throw new BadRequestException(x.getMessage());
+        }
+        return Response.ok()
+                       .entity(page.getItems(DtoConverter::asDto))
+                       .header("Link", createLinkHeader(page))
+                       .build();
+    }
+
     @GET
     @Path("/namespace/{namespace:.*}")
     @Produces(APPLICATION_JSON)
@@ -22,108 +22,333 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Provides a single non-daemon {@link ExecutorService} instance for workspace components.
+ * Provides non-daemon executors for workspace components.
+ *
+ * <p>Tasks are executed in one of two lanes, so long background tasks
+ * e.g. snapshotting of many workspaces on shutdown, can't delay user facing starts and stops:
+ * <ul>
+ * <li>{@link Lane#INTERACTIVE} - tasks are rejected when the queue of the lane is full</li>
+ * <li>{@link Lane#BACKGROUND} - the queue of the lane is unbounded, tasks are rejected only
+ * when the pool is shut down, so a background task never occupies the thread of its producer</li>
+ * </ul>
+ * Queue wait and execution time is measured per {@link TaskType type} of the task.
  *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class WorkspaceSharedPool {
 
-    private final ExecutorService executor;
+    private static final Logger LOG = LoggerFactory.getLogger(WorkspaceSharedPool.class);
+
+    /** Lane in which the task is executed. */
+    public enum Lane {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    /** Types of tasks executed by the pool. */
+    public enum TaskType {
+        START(Lane.INTERACTIVE),
+        STOP(Lane.INTERACTIVE),
+        SNAPSHOT(Lane.BACKGROUND),
+        CLEANUP(Lane.BACKGROUND);
+
+        private final Lane lane;
+
+        TaskType(Lane lane) {
+            this.lane = lane;
+        }
+
+        public Lane getLane() {
+            return lane;
+        }
+    }
+
+    private final Map<Lane, LaneExecutor>      lanes;
+    private final Map<TaskType, TaskTypeStats> stats;
 
     @Inject
     public WorkspaceSharedPool(@Named("che.workspace.pool.type") String poolType,
                                @Named("che.workspace.pool.exact_size") @Nullable String exactSizeProp,
-                               @Named("che.workspace.pool.cores_multiplier") @Nullable String coresMultiplierProp) {
-        ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat("WorkspaceSharedPool-%d")
-                                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                                                          .setDaemon(false)
-                                                          .build();
+                               @Named("che.workspace.pool.cores_multiplier") @Nullable String coresMultiplierProp,
+                               @Named("che.workspace.pool.background_size") @Nullable String backgroundSizeProp,
+                               @Named("che.workspace.pool.queue_capacity") @Nullable String queueCapacityProp) {
+        this.lanes = new EnumMap<>(Lane.class);
         switch (poolType.toLowerCase()) {
             case "cached":
-                executor = Executors.newCachedThreadPool(factory);
+                for (Lane lane : Lane.values()) {
+                    lanes.put(lane, new LaneExecutor(lane, Executors.newCachedThreadPool(threadFactory(lane))));
+                }
                 break;
             case "fixed":
-                Integer exactSize = exactSizeProp == null ? null : Ints.tryParse(exactSizeProp);
+                Integer exactSize = tryParsePositive(exactSizeProp);
                 int size;
-                if (exactSize != null && exactSize > 0) {
+                if (exactSize != null) {
                     size = exactSize;
                 } else {
                     size = Runtime.getRuntime().availableProcessors();
-                    Integer coresMultiplier = coresMultiplierProp == null ? null : Ints.tryParse(coresMultiplierProp);
-                    if (coresMultiplier != null && coresMultiplier > 0) {
+                    Integer coresMultiplier = tryParsePositive(coresMultiplierProp);
+                    if (coresMultiplier != null) {
                         size *= coresMultiplier;
                     }
                 }
-                executor = Executors.newFixedThreadPool(size, factory);
+                Integer backgroundSize = tryParsePositive(backgroundSizeProp);
+                Integer queueCapacity = tryParsePositive(queueCapacityProp);
+                lanes.put(Lane.INTERACTIVE, new LaneExecutor(Lane.INTERACTIVE,
+                                                             newFixedPool(Lane.INTERACTIVE, size, queueCapacity)));
+                lanes.put(Lane.BACKGROUND, new LaneExecutor(Lane.BACKGROUND,
+                                                            newFixedPool(Lane.BACKGROUND,
+                                                                         backgroundSize != null ? backgroundSize
+                                                                                                : Math.max(1, size / 2),
+                                                                         null)));
                 break;
             default:
                 throw new IllegalArgumentException("The type of the pool '" + poolType + "' is not supported");
         }
+        this.stats = new EnumMap<>(TaskType.class);
+        for (TaskType type : TaskType.values()) {
+            stats.put(type, new TaskTypeStats());
+        }
     }
 
-    /** Returns an {@link ExecutorService} managed by this pool instance. */
+    /** Returns an {@link ExecutorService} of the {@link Lane#INTERACTIVE interactive} lane. */
     public ExecutorService getExecutor() {
-        return executor;
+        return lanes.get(Lane.INTERACTIVE).delegate;
     }
 
     /**
-     * Delegates call to {@link ExecutorService#execute(Runnable)}
+     * Executes the task in the lane of the given type
      * and propagates thread locals to it like defined by {@link ThreadLocalPropagateContext}.
+     *
+     * @throws RejectedExecutionException
+     *         when the task is rejected by the {@link Lane#INTERACTIVE interactive} lane or the pool is shut down
      */
-    public void execute(Runnable runnable) {
-        executor.execute(ThreadLocalPropagateContext.wrap(runnable));
+    public void execute(TaskType type, Runnable runnable) {
+        lanes.get(type.getLane()).execute(type, measured(type, ThreadLocalPropagateContext.wrap(runnable)));
     }
 
     /**
-     * Delegates call to {@link ExecutorService#submit(Callable)}
+     * Submits the task to the lane of the given type
      * and propagates thread locals to it like defined by {@link ThreadLocalPropagateContext}.
+     *
+     * @throws RejectedExecutionException
+     *         when the task is rejected by the {@link Lane#INTERACTIVE interactive} lane or the pool is shut down
      */
-    public <T> Future<T> submit(Callable<T> callable) {
-        return executor.submit(ThreadLocalPropagateContext.wrap(callable));
+    public <T> Future<T> submit(TaskType type, Callable<T> callable) {
+        final FutureTask<T> task = new FutureTask<>(measured(type, ThreadLocalPropagateContext.wrap(callable)));
+        lanes.get(type.getLane()).execute(type, task);
+        return task;
     }
 
     /**
-     * Asynchronously runs the given task wrapping it with {@link ThreadLocalPropagateContext#wrap(Runnable)}
+     * Asynchronously runs the given task in the lane of the given type
+     * wrapping it with {@link ThreadLocalPropagateContext#wrap(Runnable)}
      *
+     * @param type
+     *         type of the task
      * @param runnable
      *         task to run
      * @return completable future bounded to the task
+     * @throws RejectedExecutionException
+     *         when the task is rejected by the {@link Lane#INTERACTIVE interactive} lane or the pool is shut down
      */
-    public CompletableFuture<Void> runAsync(Runnable runnable) {
-        return CompletableFuture.runAsync(ThreadLocalPropagateContext.wrap(runnable), executor);
+    public CompletableFuture<Void> runAsync(TaskType type, Runnable runnable) {
+        final LaneExecutor lane = lanes.get(type.getLane());
+        return CompletableFuture.runAsync(measured(type, ThreadLocalPropagateContext.wrap(runnable)),
+                                          task -> lane.execute(type, task));
+    }
+
+    /** Returns statistics of the tasks of the given type. */
+    public TaskTypeStats getStats(TaskType type) {
+        return stats.get(type);
+    }
+
+    /** Returns statistics of the tasks per task type. */
+    public Map<TaskType, TaskTypeStats> getStats() {
+        return Collections.unmodifiableMap(stats);
     }
 
     /**
      * Terminates this pool if it's not terminated yet.
      */
     void shutdown() {
-        if (!executor.isShutdown()) {
-            Logger logger = LoggerFactory.getLogger(getClass());
-            executor.shutdown();
+        if (lanes.get(Lane.INTERACTIVE).delegate.isShutdown()) {
+            return;
+        }
+        for (LaneExecutor lane : lanes.values()) {
+            lane.delegate.shutdown();
+        }
+        for (LaneExecutor lane : lanes.values()) {
+            lane.awaitTermination();
+        }
+        for (Map.Entry<TaskType, TaskTypeStats> entry : stats.entrySet()) {
+            LOG.info("Workspace threads pool statistics of '{}' tasks: {}", entry.getKey(), entry.getValue());
+        }
+    }
+
+    private Runnable measured(TaskType type, Runnable runnable) {
+        final TaskTypeStats typeStats = stats.get(type);
+        final long submittedAt = System.nanoTime();
+        return () -> {
+            final long startedAt = System.nanoTime();
+            typeStats.queueWaitNanos.add(startedAt - submittedAt);
+            typeStats.maxQueueWaitNanos.accumulateAndGet(startedAt - submittedAt, Math::max);
+            try {
+                runnable.run();
+            } finally {
+                typeStats.executionNanos.add(System.nanoTime() - startedAt);
+                typeStats.completed.increment();
+            }
+        };
+    }
+
+    private <T> Callable<T> measured(TaskType type, Callable<T> callable) {
+        final TaskTypeStats typeStats = stats.get(type);
+        final long submittedAt = System.nanoTime();
+        return () -> {
+            final long startedAt = System.nanoTime();
+            typeStats.queueWaitNanos.add(startedAt - submittedAt);
+            typeStats.maxQueueWaitNanos.accumulateAndGet(startedAt - submittedAt, Math::max);
+            try {
+                return callable.call();
+            } finally {
+                typeStats.executionNanos.add(System.nanoTime() - startedAt);
+                typeStats.completed.increment();
+            }
+        };
+    }
+
+    private static ExecutorService newFixedPool(Lane lane, int size, @Nullable Integer queueCapacity) {
+        return new ThreadPoolExecutor(size,
+                                      size,
+                                      0L,
+                                      TimeUnit.MILLISECONDS,
+                                      queueCapacity == null ? new LinkedBlockingQueue<>()
+                                                            : new LinkedBlockingQueue<>(queueCapacity),
+                                      threadFactory(lane),
+                                      new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static ThreadFactory threadFactory(Lane lane) {
+        final String prefix = lane == Lane.INTERACTIVE ? "WorkspaceSharedPool-" : "WorkspaceSharedPool-Background-";
+        return new ThreadFactoryBuilder().setNameFormat(prefix + "%d")
+                                         .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                         .setDaemon(false)
+                                         .build();
+    }
+
+    private static Integer tryParsePositive(@Nullable String prop) {
+        final Integer value = prop == null ? null : Ints.tryParse(prop);
+        return value != null && value > 0 ? value : null;
+    }
+
+    /** Counts submitted and rejected tasks of the lane. */
+    private class LaneExecutor {
+        final Lane            lane;
+        final ExecutorService delegate;
+
+        LaneExecutor(Lane lane, ExecutorService delegate) {
+            this.lane = lane;
+            this.delegate = delegate;
+        }
+
+        void execute(TaskType type, Runnable task) {
+            final TaskTypeStats typeStats = stats.get(type);
+            typeStats.submitted.increment();
+            try {
+                delegate.execute(task);
+            } catch (RejectedExecutionException x) {
+                typeStats.rejected.increment();
+                throw x;
+            }
+        }
+
+        void awaitTermination() {
             try {
-                logger.info("Shutdown workspace threads pool, wait 30s to stop normally");
-                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                    logger.info("Interrupt workspace threads pool, wait 60s to stop");
-                    if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
-                        logger.error("Couldn't shutdown workspace threads pool");
+                LOG.info("Shutdown workspace threads pool lane '{}', wait 30s to stop normally", lane);
+                if (!delegate.awaitTermination(30, TimeUnit.SECONDS)) {
+                    delegate.shutdownNow();
+                    LOG.info("Interrupt workspace threads pool lane '{}', wait 60s to stop", lane);
+                    if (!delegate.awaitTermination(60, TimeUnit.SECONDS)) {
+                        LOG.error("Couldn't shutdown workspace threads pool lane '{}'", lane);
                     }
                 }
             } catch (InterruptedException x) {
-                executor.shutdownNow();
+                delegate.shutdownNow();
                 Thread.currentThread().interrupt();
             }
-            logger.info("Workspace threads pool is terminated");
+            LOG.info("Workspace threads pool lane '{}' is terminated", lane);
+        }
+    }
+
+    /** Counters of the tasks of a single {@link TaskType type}. */
+    public static class TaskTypeStats {
+        private final LongAdder  submitted         = new LongAdder();
+        private final LongAdder  rejected          = new LongAdder();
+        private final LongAdder  completed         = new LongAdder();
+        private final LongAdder  queueWaitNanos    = new LongAdder();
+        private final LongAdder  executionNanos    = new LongAdder();
+        private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+
+        /** Returns the number of tasks submitted to the pool, including rejected ones. */
+        public long getSubmitted() {
+            return submitted.sum();
+        }
+
+        /** Returns the number of tasks which were not accepted by the queue of the lane. */
+        public long getRejected() {
+            return rejected.sum();
+        }
+
+        /** Returns the number of finished tasks. */
+        public long getCompleted() {
+            return completed.sum();
+        }
+
+        /** Returns the total time tasks waited in the queue before the execution. */
+        public long getQueueWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.sum());
+        }
+
+        /** Returns the longest time a task waited in the queue before the execution. */
+        public long getMaxQueueWaitMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get());
+        }
+
+        /** Returns the total execution time of the tasks. */
+        public long getExecutionMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(executionNanos.sum());
+        }
+
+        @Override
+        public String toString() {
+            return "TaskTypeStats{" +
+                   "submitted=" + getSubmitted() +
+                   ", rejected=" + getRejected() +
+                   ", completed=" + getCompleted() +
+                   ", queueWaitMillis=" + getQueueWaitMillis() +
+                   ", maxQueueWaitMillis=" + getMaxQueueWaitMillis() +
+                   ", executionMillis=" + getExecutionMillis() +
+                   '}';
         }
     }
 }
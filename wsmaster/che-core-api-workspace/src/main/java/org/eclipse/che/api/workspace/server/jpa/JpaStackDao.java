@@ -22,17 +22,22 @@ import org.eclipse.che.api.workspace.server.event.StackPersistedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.api.workspace.server.stack.StackTagIndex;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.persistence.config.HintValues;
+import org.eclipse.persistence.config.QueryHints;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
 import javax.persistence.TypedQuery;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
@@ -44,17 +49,23 @@ import static java.util.Objects.requireNonNull;
 @Singleton
 public class JpaStackDao implements StackDao {
 
+    private static final int MAX_INDEX_INITIALIZATION_ATTEMPTS = 3;
+
     @Inject
     private Provider<EntityManager> managerProvider;
 
     @Inject
     private EventService eventService;
 
+    @Inject
+    private StackTagIndex tagIndex;
+
     @Override
     public void create(StackImpl stack) throws ConflictException, ServerException {
         requireNonNull(stack, "Required non-null stack");
         try {
             doCreate(stack);
+            refreshIndex(stack.getId());
         } catch (DuplicateKeyException x) {
             throw new ConflictException(format("Stack with id '%s' or name '%s' already exists", stack.getId(), stack.getName()));
         } catch (RuntimeException x) {
@@ -82,6 +93,7 @@ public class JpaStackDao implements StackDao {
         requireNonNull(id, "Required non-null id");
         try {
             doRemove(id);
+            refreshIndex(id);
         } catch (RuntimeException x) {
             throw new ServerException(x.getLocalizedMessage(), x);
         }
@@ -91,7 +103,9 @@ public class JpaStackDao implements StackDao {
     public StackImpl update(StackImpl update) throws NotFoundException, ServerException, ConflictException {
         requireNonNull(update, "Required non-null update");
         try {
-            return new StackImpl(doUpdate(update));
+            final StackImpl updated = new StackImpl(doUpdate(update));
+            refreshIndex(updated.getId());
+            return updated;
         } catch (DuplicateKeyException x) {
             throw new ConflictException(format("Stack with name '%s' already exists", update.getName()));
         } catch (RuntimeException x) {
@@ -100,11 +114,81 @@ public class JpaStackDao implements StackDao {
     }
 
     @Override
-    @Transactional
     public List<StackImpl> searchStacks(@Nullable String user,
                                         @Nullable List<String> tags,
                                         int skipCount,
                                         int maxItems) throws ServerException {
+        checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        try {
+            for (int i = 0; i < MAX_INDEX_INITIALIZATION_ATTEMPTS && !tagIndex.isInitialized(); i++) {
+                final long modCount = tagIndex.getModCount();
+                tagIndex.initialize(doGetAll(), modCount);
+            }
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+        try {
+            return tagIndex.search(tags, skipCount, maxItems);
+        } catch (IllegalStateException x) {
+            // stacks are modified too often to initialize the index or it was invalidated concurrently
+            return doSearchStacks(tags, skipCount, maxItems);
+        }
+    }
+
+    /**
+     * Reloads the committed state of the stack into the index.
+     * The stack is read from the database while the index is locked,
+     * so the index always ends up with the latest committed version, regardless
+     * of the order in which concurrent modifications reach this method.
+     */
+    private void refreshIndex(String id) {
+        synchronized (tagIndex) {
+            final StackImpl stack;
+            try {
+                stack = doGetCommitted(id);
+            } catch (RuntimeException x) {
+                // modification is already committed, the index is reinitialized by the next search
+                tagIndex.invalidate();
+                return;
+            }
+            if (stack == null) {
+                tagIndex.remove(id);
+            } else {
+                tagIndex.put(stack);
+            }
+        }
+    }
+
+    @Transactional
+    protected StackImpl doGetCommitted(String id) {
+        final EntityManager manager = managerProvider.get();
+        final StackImpl stack = manager.find(StackImpl.class, id);
+        if (stack == null) {
+            return null;
+        }
+        try {
+            // found stack may come from the cache, refresh reads it from the database
+            manager.refresh(stack);
+        } catch (EntityNotFoundException x) {
+            return null;
+        }
+        return new StackImpl(stack);
+    }
+
+    @Transactional
+    protected List<StackImpl> doGetAll() {
+        return managerProvider.get()
+                              .createNamedQuery("Stack.getAll", StackImpl.class)
+                              .setHint(QueryHints.REFRESH, HintValues.TRUE)
+                              .getResultList()
+                              .stream()
+                              .map(StackImpl::new)
+                              .collect(Collectors.toList());
+    }
+
+    @Transactional
+    protected List<StackImpl> doSearchStacks(@Nullable List<String> tags, int skipCount, int maxItems) throws ServerException {
         final TypedQuery<StackImpl> query;
         if (tags == null || tags.isEmpty()) {
             query = managerProvider.get().createNamedQuery("Stack.getAll", StackImpl.class);
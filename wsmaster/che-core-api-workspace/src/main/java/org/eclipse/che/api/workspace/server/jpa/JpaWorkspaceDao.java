@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server.jpa;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.inject.persist.Transactional;
 
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
@@ -22,9 +24,11 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.core.db.jpa.eclipselink.EntityCacheCoordinator;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -33,12 +37,17 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -50,10 +59,23 @@ import static java.util.stream.Collectors.toList;
 @Singleton
 public class JpaWorkspaceDao implements WorkspaceDao {
 
+    /** Names of the entities whose rows are removed along with temporary workspaces. */
+    private static final Set<String> REMOVED_WITH_WORKSPACE = ImmutableSet.of("Workspace",
+                                                                              "WorkspaceConfig",
+                                                                              "ProjectConfig",
+                                                                              "ProjectAttribute",
+                                                                              "SourceStorage",
+                                                                              "Command",
+                                                                              "Environment",
+                                                                              "ExternalMachine",
+                                                                              "ServerConf");
+
     @Inject
     private EventService            eventService;
     @Inject
     private Provider<EntityManager> managerProvider;
+    @Inject
+    private EntityCacheCoordinator  cacheCoordinator;
 
     @Override
     public WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
@@ -96,6 +118,22 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    public List<WorkspaceImpl> removeTemporaryWorkspaces(int maxItems) throws ServerException {
+        checkArgument(maxItems > 0, "The number of items to remove must be positive.");
+        try {
+            final List<WorkspaceImpl> removed = doRemoveTemporaryWorkspaces(maxItems);
+            if (!removed.isEmpty()) {
+                // cascaded rows are removed bypassing the persistence context
+                cacheCoordinator.evict(REMOVED_WITH_WORKSPACE);
+            }
+            removed.forEach(workspace -> eventService.publish(new WorkspaceRemovedEvent(workspace)));
+            return removed;
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     @Transactional
     public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
@@ -148,6 +186,30 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public Page<WorkspaceImpl> getByNamespace(String namespace, int maxItems, long skipCount) throws ServerException {
+        requireNonNull(namespace, "Required non-null namespace");
+        checkPagingArguments(maxItems, skipCount);
+        try {
+            final EntityManager manager = managerProvider.get();
+            final List<WorkspaceImpl> list = manager.createNamedQuery("Workspace.getByNamespace", WorkspaceImpl.class)
+                                                    .setParameter("namespace", namespace)
+                                                    .setMaxResults(maxItems)
+                                                    .setFirstResult((int)skipCount)
+                                                    .getResultList()
+                                                    .stream()
+                                                    .map(WorkspaceImpl::new)
+                                                    .collect(toList());
+            final long count = manager.createNamedQuery("Workspace.getNamespaceCount", Long.class)
+                                      .setParameter("namespace", namespace)
+                                      .getSingleResult();
+            return new Page<>(list, skipCount, maxItems, count);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     @Transactional
     public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
@@ -163,6 +225,55 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    @Override
+    @Transactional
+    public Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount) throws ServerException {
+        checkPagingArguments(maxItems, skipCount);
+        try {
+            final EntityManager manager = managerProvider.get();
+            final List<WorkspaceImpl> list = manager.createNamedQuery("Workspace.getAll", WorkspaceImpl.class)
+                                                    .setMaxResults(maxItems)
+                                                    .setFirstResult((int)skipCount)
+                                                    .getResultList()
+                                                    .stream()
+                                                    .map(WorkspaceImpl::new)
+                                                    .collect(toList());
+            final long count = manager.createNamedQuery("Workspace.getTotalCount", Long.class).getSingleResult();
+            return new Page<>(list, skipCount, maxItems, count);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
+    @Override
+    @Transactional
+    public Page<WorkspaceSummaryImpl> getSummaries(String userId, int maxItems, long skipCount) throws ServerException {
+        checkPagingArguments(maxItems, skipCount);
+        try {
+            final EntityManager manager = managerProvider.get();
+            // selects only the columns of workspace table, configurations are not fetched
+            final Map<String, WorkspaceSummaryImpl> summaries = new LinkedHashMap<>();
+            for (Object[] row : manager.createNamedQuery("Workspace.getAllSummaries", Object[].class)
+                                       .setMaxResults(maxItems)
+                                       .setFirstResult((int)skipCount)
+                                       .getResultList()) {
+                final String id = (String)row[0];
+                summaries.put(id, new WorkspaceSummaryImpl(id, (String)row[1], (String)row[2], (Boolean)row[3]));
+            }
+            if (!summaries.isEmpty()) {
+                for (Object[] row : manager.createNamedQuery("Workspace.getAttributes", Object[].class)
+                                           .setParameter("ids", summaries.keySet())
+                                           .getResultList()) {
+                    summaries.get((String)row[0]).getAttributes().put((String)row[1], (String)row[2]);
+                }
+            }
+            final long count = manager.createNamedQuery("Workspace.getTotalCount", Long.class).getSingleResult();
+            return new Page<>(summaries.values(), skipCount, maxItems, count);
+        } catch (RuntimeException x) {
+            throw new ServerException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     @Transactional
     public List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException {
@@ -183,6 +294,12 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         }
     }
 
+    private static void checkPagingArguments(int maxItems, long skipCount) {
+        checkArgument(maxItems > 0, "The number of items to return must be positive.");
+        checkArgument(skipCount >= 0 && skipCount <= Integer.MAX_VALUE,
+                      "The number of items to skip can't be negative or greater than " + Integer.MAX_VALUE);
+    }
+
     @Transactional
     protected void doCreate(WorkspaceImpl workspace) {
         if (workspace.getConfig() != null) {
@@ -206,6 +323,44 @@ public class JpaWorkspaceDao implements WorkspaceDao {
         return Optional.of(workspace);
     }
 
+    @Transactional(rollbackOn = {RuntimeException.class, ServerException.class})
+    protected List<WorkspaceImpl> doRemoveTemporaryWorkspaces(int maxItems) throws ServerException {
+        final EntityManager manager = managerProvider.get();
+        final List<String> ids = manager.createNamedQuery("Workspace.getTemporaryIds", String.class)
+                                        .setMaxResults(maxItems)
+                                        .getResultList();
+        if (ids.isEmpty()) {
+            return emptyList();
+        }
+        final List<WorkspaceImpl> removed = new ArrayList<>(ids.size());
+        for (WorkspaceImpl workspace : manager.createNamedQuery("Workspace.getByIds", WorkspaceImpl.class)
+                                              .setParameter("ids", ids)
+                                              .getResultList()) {
+            removed.add(new WorkspaceImpl(workspace));
+        }
+        for (WorkspaceImpl workspace : removed) {
+            eventService.publish(new BeforeWorkspaceRemovedEvent(new WorkspaceImpl(workspace))).propagateException();
+        }
+        manager.flush();
+        manager.clear();
+
+        // the rows of the configuration data are removed by the database cascades
+        final List<String> configIds = manager.createNamedQuery("Workspace.getConfigIds", String.class)
+                                              .setParameter("ids", ids)
+                                              .getResultList();
+        final List<String> sourceIds = manager.createNamedQuery("Workspace.getSourceIds", String.class)
+                                              .setParameter("ids", ids)
+                                              .getResultList();
+        manager.createNamedQuery("Workspace.removeByIds").setParameter("ids", ids).executeUpdate();
+        if (!configIds.isEmpty()) {
+            manager.createNamedQuery("Workspace.removeConfigsByIds").setParameter("ids", configIds).executeUpdate();
+        }
+        if (!sourceIds.isEmpty()) {
+            manager.createNamedQuery("Workspace.removeSourcesByIds").setParameter("ids", sourceIds).executeUpdate();
+        }
+        return removed;
+    }
+
     @Transactional
     protected WorkspaceImpl doUpdate(WorkspaceImpl update) throws NotFoundException {
         EntityManager manager = managerProvider.get();
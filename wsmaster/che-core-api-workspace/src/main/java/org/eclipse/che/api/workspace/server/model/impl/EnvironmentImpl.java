@@ -13,6 +13,8 @@ package org.eclipse.che.api.workspace.server.model.impl;
 import org.eclipse.che.api.core.model.workspace.Environment;
 import org.eclipse.che.api.core.model.workspace.EnvironmentRecipe;
 import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
@@ -47,7 +49,8 @@ public class EnvironmentImpl implements Environment {
     @Embedded
     private EnvironmentRecipeImpl recipe;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "machines_id")
     @MapKeyColumn(name = "machines_key")
     private Map<String, ExtendedMachineImpl> machines;
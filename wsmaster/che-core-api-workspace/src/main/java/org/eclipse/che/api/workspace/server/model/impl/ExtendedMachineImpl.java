@@ -12,6 +12,8 @@ package org.eclipse.che.api.workspace.server.model.impl;
 
 import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
 import org.eclipse.che.api.core.model.workspace.ServerConf2;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 import javax.persistence.CascadeType;
 import javax.persistence.CollectionTable;
@@ -44,20 +46,23 @@ public class ExtendedMachineImpl implements ExtendedMachine {
     @Column(name = "id")
     private Long id;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "externalmachine_agents",
                      joinColumns = @JoinColumn(name = "externalmachine_id"))
     @Column(name = "agents")
     private List<String> agents;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "externalmachine_attributes",
                      joinColumns = @JoinColumn(name = "externalmachine_id"))
     @MapKeyColumn(name = "attributes_key")
     @Column(name = "attributes")
     private Map<String, String> attributes;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "servers_id")
     @MapKeyColumn(name = "servers_key")
     private Map<String, ServerConf2Impl> servers;
@@ -13,6 +13,8 @@ package org.eclipse.che.api.workspace.server.model.impl;
 
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.project.SourceStorage;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 import javax.persistence.CascadeType;
 import javax.persistence.CollectionTable;
@@ -26,7 +28,6 @@ import javax.persistence.JoinColumn;
 import javax.persistence.MapKey;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
-import javax.persistence.PostLoad;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import javax.persistence.Table;
@@ -66,16 +67,19 @@ public class ProjectConfigImpl implements ProjectConfig {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
+    @BatchFetch(BatchFetchType.IN)
     @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "source_id")
     private SourceStorageImpl source;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "projectconfig_mixins", joinColumns = @JoinColumn(name = "projectconfig_id"))
     @Column(name = "mixins")
     private List<String> mixins;
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JoinColumn(name = "dbattributes_id")
     @MapKey(name = "name")
     private Map<String, Attribute> dbAttributes;
@@ -157,6 +161,13 @@ public class ProjectConfigImpl implements ProjectConfig {
     public Map<String, List<String>> getAttributes() {
         if (attributes == null) {
             attributes = new HashMap<>();
+            // db attributes are fetched lazily, so attributes of the loaded entity
+            // are synchronized on the first access instead of post load event
+            if (dbAttributes != null) {
+                for (Attribute attribute : dbAttributes.values()) {
+                    attributes.put(attribute.name, attribute.values);
+                }
+            }
         }
         return attributes;
     }
@@ -245,13 +256,6 @@ public class ProjectConfigImpl implements ProjectConfig {
         }
     }
 
-    @PostLoad
-    private void postLoadAttributes() {
-        attributes = dbAttributes.values()
-                                 .stream()
-                                 .collect(toMap(attr -> attr.name, attr -> attr.values));
-    }
-
     @Entity(name = "ProjectAttribute")
     @Table(name = "projectattribute")
     private static class Attribute {
@@ -264,7 +268,8 @@ public class ProjectConfigImpl implements ProjectConfig {
         @Column(name = "name")
         private String name;
 
-        @ElementCollection(fetch = FetchType.EAGER)
+        @BatchFetch(BatchFetchType.IN)
+        @ElementCollection(fetch = FetchType.LAZY)
         @CollectionTable(name = "projectattribute_values", joinColumns = @JoinColumn(name = "projectattribute_id"))
         @Column(name = "values")
         private List<String> values;
@@ -11,6 +11,8 @@
 package org.eclipse.che.api.workspace.server.model.impl;
 
 import org.eclipse.che.api.core.model.workspace.ServerConf2;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 import javax.persistence.CollectionTable;
 import javax.persistence.Column;
@@ -44,7 +46,8 @@ public class ServerConf2Impl implements ServerConf2 {
     @Column(name = "protocol")
     private String protocol;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "serverconf_properties",
                      joinColumns = @JoinColumn(name = "serverconf_id"))
     @MapKeyColumn(name = "properties_key")
@@ -11,6 +11,8 @@
 package org.eclipse.che.api.workspace.server.model.impl;
 
 import org.eclipse.che.api.core.model.project.SourceStorage;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 
 import javax.persistence.CollectionTable;
 import javax.persistence.Column;
@@ -46,7 +48,8 @@ public class SourceStorageImpl implements SourceStorage {
     @Column(name = "location", columnDefinition = "TEXT")
     private String location;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "sourcestorage_parameters", joinColumns = @JoinColumn(name = "sourcestorage_id"))
     @MapKeyColumn(name = "parameters_key")
     @Column(name = "parameters")
@@ -18,6 +18,8 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceRuntime;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.persistence.annotations.BatchFetch;
+import org.eclipse.persistence.annotations.BatchFetchType;
 import org.eclipse.persistence.descriptors.DescriptorEvent;
 import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
 
@@ -55,13 +57,43 @@ import java.util.Objects;
 @NamedQueries(
         {
                 @NamedQuery(name = "Workspace.getByNamespace",
-                            query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace"),
+                            query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace ORDER BY w.id"),
                 @NamedQuery(name = "Workspace.getByName",
                             query = "SELECT w FROM Workspace w WHERE w.account.name = :namespace AND w.name = :name"),
                 @NamedQuery(name = "Workspace.getAll",
-                            query = "SELECT w FROM Workspace w"),
+                            query = "SELECT w FROM Workspace w ORDER BY w.id"),
                 @NamedQuery(name = "Workspace.getByTemporary",
-                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary")
+                            query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getNamespaceCount",
+                            query = "SELECT COUNT(w) FROM Workspace w WHERE w.account.name = :namespace"),
+                @NamedQuery(name = "Workspace.getTotalCount",
+                            query = "SELECT COUNT(w) FROM Workspace w"),
+                @NamedQuery(name = "Workspace.getAllSummaries",
+                            query = "SELECT w.id, w.name, w.account.name, w.isTemporary FROM Workspace w ORDER BY w.id"),
+                @NamedQuery(name = "Workspace.getAttributes",
+                            query = "SELECT w.id, KEY(attr), VALUE(attr) " +
+                                    "FROM Workspace w " +
+                                    "JOIN w.attributes attr " +
+                                    "WHERE w.id IN :ids"),
+                @NamedQuery(name = "Workspace.getTemporaryIds",
+                            query = "SELECT w.id FROM Workspace w WHERE w.isTemporary = true"),
+                @NamedQuery(name = "Workspace.getByIds",
+                            query = "SELECT w FROM Workspace w WHERE w.id IN :ids"),
+                @NamedQuery(name = "Workspace.getConfigIds",
+                            query = "SELECT c.id FROM Workspace w JOIN w.config c WHERE w.id IN :ids"),
+                @NamedQuery(name = "Workspace.getSourceIds",
+                            query = "SELECT s.id " +
+                                    "FROM Workspace w " +
+                                    "JOIN w.config c " +
+                                    "JOIN c.projects p " +
+                                    "JOIN p.source s " +
+                                    "WHERE w.id IN :ids"),
+                @NamedQuery(name = "Workspace.removeByIds",
+                            query = "DELETE FROM Workspace w WHERE w.id IN :ids"),
+                @NamedQuery(name = "Workspace.removeConfigsByIds",
+                            query = "DELETE FROM WorkspaceConfig c WHERE c.id IN :ids"),
+                @NamedQuery(name = "Workspace.removeSourcesByIds",
+                            query = "DELETE FROM SourceStorage s WHERE s.id IN :ids")
 
         }
 )
@@ -84,11 +116,13 @@ public class WorkspaceImpl implements Workspace {
     @Column(name = "name")
     private String name;
 
+    @BatchFetch(BatchFetchType.IN)
     @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "config_id")
     private WorkspaceConfigImpl config;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchFetch(BatchFetchType.IN)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "workspace_attributes", joinColumns = @JoinColumn(name = "workspace_id"))
     @MapKeyColumn(name = "attributes_key")
     @Column(name = "attributes")
@@ -97,6 +131,7 @@ public class WorkspaceImpl implements Workspace {
     @Column(name = "istemporary")
     private boolean isTemporary;
 
+    @BatchFetch(BatchFetchType.IN)
     @ManyToOne
     @JoinColumn(name = "accountid", nullable = false)
     private AccountImpl account;
@@ -12,8 +12,10 @@ package org.eclipse.che.api.workspace.server.spi;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 
 import java.util.List;
 
@@ -130,6 +132,25 @@ public interface WorkspaceDao {
      */
     List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException;
 
+    /**
+     * Gets page of workspaces in given namespace, workspaces are ordered by id.
+     *
+     * @param namespace
+     *         workspace namespace
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspaces in given namespace with total count of workspaces in the namespace
+     * @throws NullPointerException
+     *         when {@code namespace} is null
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    Page<WorkspaceImpl> getByNamespace(String namespace, int maxItems, long skipCount) throws ServerException;
+
     /**
      * Gets list of workspaces which user can read
      *
@@ -141,6 +162,43 @@ public interface WorkspaceDao {
      */
     List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException;
 
+    /**
+     * Gets page of workspaces which user can read, workspaces are ordered by id.
+     *
+     * @param userId
+     *         id of user
+     * @param maxItems
+     *         the maximum number of workspaces to return
+     * @param skipCount
+     *         the number of workspaces to skip
+     * @return page of workspaces which user can read with total count of such workspaces
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any other error occurs during workspaces fetching
+     */
+    Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount) throws ServerException;
+
+    /**
+     * Gets page of summaries of workspaces which user can read, the same
+     * workspaces as {@link #getWorkspaces(String, int, long)} returns, but without
+     * configurations, so fetching cost doesn't depend on the size of workspaces configurations.
+     * Status of returned summaries is not set.
+     *
+     * @param userId
+     *         id of user
+     * @param maxItems
+     *         the maximum number of summaries to return
+     * @param skipCount
+     *         the number of summaries to skip
+     * @return page of workspaces summaries with total count of workspaces which user can read
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive or {@code skipCount} is negative
+     * @throws ServerException
+     *         when any other error occurs during summaries fetching
+     */
+    Page<WorkspaceSummaryImpl> getSummaries(String userId, int maxItems, long skipCount) throws ServerException;
+
 
     /**
      * Gets workspaces by temporary attribute.
@@ -159,4 +217,21 @@ public interface WorkspaceDao {
      *         when {@code maxItems} or {@code skipCount} is negative
      */
     List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems) throws ServerException;
+
+    /**
+     * Removes up to {@code maxItems} temporary workspaces along with their configurations.
+     *
+     * <p>Unlike removing workspaces one by one with {@link #remove(String)},
+     * all the workspaces are removed in a single transaction. The removal is atomic, if removal of any of the workspaces fails,
+     * e.g. cascade removal of the workspace related data fails, then none of the workspaces is removed.
+     *
+     * @param maxItems
+     *         the maximum number of workspaces to remove
+     * @return removed workspaces or empty list if there are no temporary workspaces
+     * @throws IllegalArgumentException
+     *         when {@code maxItems} is not positive
+     * @throws ServerException
+     *         when any other error occurs during workspaces removing
+     */
+    List<WorkspaceImpl> removeTemporaryWorkspaces(int maxItems) throws ServerException;
 }
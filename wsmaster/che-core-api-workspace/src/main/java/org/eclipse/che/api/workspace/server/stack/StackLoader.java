@@ -68,7 +68,8 @@ public class StackLoader {
     }
 
     /**
-     * Load predefined stacks with their icons to the {@link StackDao}.
+     * Load predefined stacks with their icons to the {@link StackDao}
+     * and seed the stacks index.
      */
     @PostConstruct
     public void start() {
@@ -80,6 +81,19 @@ public class StackLoader {
                 LOG.error("Failed to store stacks ", e);
             }
         }
+        seedStacksIndex();
+    }
+
+    /**
+     * Searches stacks once, so the stacks index of {@link StackDao} implementation
+     * is built on startup rather than on the first client request.
+     */
+    private void seedStacksIndex() {
+        try {
+            stackDao.searchStacks(null, null, 0, 1);
+        } catch (ServerException x) {
+            LOG.warn("Failed to seed stacks index, it will be built on the first search. Reason: {}", x.getMessage());
+        }
     }
 
     private void loadStack(StackImpl stack) {
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.stack;
+
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.core.db.jpa.cache.CacheInvalidationChannel;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Collections.emptySet;
+
+/**
+ * In-memory inverted index of stacks by their tags.
+ *
+ * <p>The index keeps copies of all the stacks and answers tag searches without
+ * touching the database. It is not initialized until {@link #initialize(Collection, long)}
+ * is called with all the existing stacks, after that it must be updated on each stack
+ * modification. Index is dropped when other wsmaster instance modifies stacks,
+ * so the next search reinitializes it.
+ *
+ * <p>Reads are lock free, each modification replaces the immutable state of the index.
+ */
+@Singleton
+public class StackTagIndex {
+
+    private static final String STACK_ENTITY_NAME = "Stack";
+
+    private volatile State state;
+    private volatile long  modCount;
+
+    @Inject
+    public StackTagIndex(CacheInvalidationChannel invalidationChannel) {
+        invalidationChannel.subscribe(entityNames -> {
+            if (entityNames.contains(STACK_ENTITY_NAME)) {
+                invalidate();
+            }
+        });
+    }
+
+    /** Returns true if index was initialized and may be searched. */
+    public boolean isInitialized() {
+        return state != null;
+    }
+
+    /**
+     * Returns the number of modifications of this index,
+     * used to detect modifications made while all the stacks are being fetched.
+     */
+    public long getModCount() {
+        return modCount;
+    }
+
+    /**
+     * Initializes index with all the existing stacks.
+     *
+     * @param stacks
+     *         all the existing stacks
+     * @param expectedModCount
+     *         the value of {@link #getModCount()} obtained before the stacks were fetched
+     * @return true if index is initialized, false if index was modified after the stacks were fetched
+     */
+    public synchronized boolean initialize(Collection<? extends StackImpl> stacks, long expectedModCount) {
+        if (modCount != expectedModCount) {
+            return false;
+        }
+        final Map<String, StackImpl> byId = new TreeMap<>();
+        for (StackImpl stack : stacks) {
+            byId.put(stack.getId(), new StackImpl(stack));
+        }
+        state = new State(byId);
+        return true;
+    }
+
+    /** Adds or replaces the stack in the index. */
+    public synchronized void put(StackImpl stack) {
+        modCount++;
+        if (state != null) {
+            final Map<String, StackImpl> byId = new TreeMap<>(state.stacks);
+            byId.put(stack.getId(), new StackImpl(stack));
+            state = new State(byId);
+        }
+    }
+
+    /** Removes the stack from the index. */
+    public synchronized void remove(String id) {
+        modCount++;
+        if (state != null && state.stacks.containsKey(id)) {
+            final Map<String, StackImpl> byId = new TreeMap<>(state.stacks);
+            byId.remove(id);
+            state = new State(byId);
+        }
+    }
+
+    /** Drops the index, it must be initialized before the next search. */
+    public synchronized void invalidate() {
+        modCount++;
+        state = null;
+    }
+
+    /**
+     * Returns copies of the stacks which contain all the given tags ordered by stack id.
+     *
+     * @param tags
+     *         tags to search stacks, all the stacks match if tags are null or empty
+     * @param skipCount
+     *         the number of stacks to skip
+     * @param maxItems
+     *         the maximum number of stacks to return, 0 means no limit
+     * @throws IllegalArgumentException
+     *         when {@code skipCount} or {@code maxItems} is negative
+     * @throws IllegalStateException
+     *         when index is not initialized
+     */
+    public List<StackImpl> search(@Nullable List<String> tags, int skipCount, int maxItems) {
+        checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
+        checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+        final State current = state;
+        checkState(current != null, "Stacks index is not initialized");
+
+        Collection<String> ids = current.stacks.keySet();
+        if (tags != null && !tags.isEmpty()) {
+            // intersect starting from the rarest tag
+            final List<Set<String>> idSets = new ArrayList<>(tags.size());
+            for (String tag : new HashSet<>(tags)) {
+                idSets.add(current.idsByTag.getOrDefault(tag, emptySet()));
+            }
+            idSets.sort((s1, s2) -> Integer.compare(s1.size(), s2.size()));
+            final Set<String> matched = new TreeSet<>(idSets.get(0));
+            for (int i = 1; i < idSets.size() && !matched.isEmpty(); i++) {
+                matched.retainAll(idSets.get(i));
+            }
+            ids = matched;
+        }
+
+        final List<StackImpl> result = new ArrayList<>();
+        int skipped = 0;
+        for (String id : ids) {
+            if (maxItems != 0 && result.size() == maxItems) {
+                break;
+            }
+            if (skipped < skipCount) {
+                skipped++;
+            } else {
+                result.add(new StackImpl(current.stacks.get(id)));
+            }
+        }
+        return result;
+    }
+
+    /** Immutable state of the index. */
+    private static class State {
+        final Map<String, StackImpl>   stacks;
+        final Map<String, Set<String>> idsByTag;
+
+        State(Map<String, StackImpl> stacks) {
+            this.stacks = Collections.unmodifiableMap(stacks);
+            final Map<String, Set<String>> index = new HashMap<>();
+            for (StackImpl stack : stacks.values()) {
+                for (String tag : stack.getTags()) {
+                    index.computeIfAbsent(tag, t -> new HashSet<>()).add(stack.getId());
+                }
+            }
+            this.idsByTag = index;
+        }
+    }
+}
@@ -78,6 +78,7 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.CLEANUP;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
@@ -517,16 +518,22 @@ public class CheEnvironmentEngineTest {
 
     @Test
     public void shouldBeAbleToStartEnvironmentWithRecover() throws Exception {
-        // given
-        SnapshotImpl snapshot = mock(SnapshotImpl.class);
-        MachineSourceImpl machineSource = new MachineSourceImpl("image", "registry.com/snapshot123:latest@sha256:abc1234567890", null);
-        when(snapshotDao.getSnapshot(anyString(), anyString(), anyString())).thenReturn(snapshot);
-        when(snapshot.getMachineSource()).thenReturn(machineSource);
-
         // given
         EnvironmentImpl env = createEnv();
         String envName = "env-1";
         String workspaceId = "wsId";
+        MachineSourceImpl machineSource = new MachineSourceImpl("image", "registry.com/snapshot123:latest@sha256:abc1234567890", null);
+        List<SnapshotImpl> snapshots = new ArrayList<>();
+        for (String machineName : createCheServicesEnv().getServices().keySet()) {
+            snapshots.add(SnapshotImpl.builder()
+                                      .generateId()
+                                      .setWorkspaceId(workspaceId)
+                                      .setEnvName(envName)
+                                      .setMachineName(machineName)
+                                      .setMachineSource(new MachineSourceImpl(machineSource))
+                                      .build());
+        }
+        when(snapshotDao.findSnapshots(workspaceId)).thenReturn(snapshots);
         List<Instance> expectedMachines = new ArrayList<>();
         when(machineProvider.startService(anyString(),
                                           eq(workspaceId),
@@ -580,7 +587,7 @@ public class CheEnvironmentEngineTest {
     public void shouldBeAbleToStartEnvironmentWhenRecoverFailed() throws Exception {
         // given
         String machineImage = "che/ubuntu_jdk";
-        when(snapshotDao.getSnapshot(anyString(), anyString(), anyString())).thenThrow(new NotFoundException("Snapshot not found"));
+        when(snapshotDao.findSnapshots(anyString())).thenReturn(emptyList());
 
         EnvironmentImpl env = createEnv();
         String envName = "env-1";
@@ -1232,7 +1239,7 @@ public class CheEnvironmentEngineTest {
         // when
         subscriber.onEvent(new InstanceStateEvent(machineId, workspaceId, InstanceStateEvent.Type.DIE));
         // catch event actor
-        verify(sharedPool).execute(runnableArgumentCaptor.capture());
+        verify(sharedPool).execute(eq(CLEANUP), runnableArgumentCaptor.capture());
         Runnable eventActor = runnableArgumentCaptor.getValue();
         // run event actor to verify its behavior
         eventActor.run();
@@ -1268,7 +1275,7 @@ public class CheEnvironmentEngineTest {
         // when
         subscriber.onEvent(new InstanceStateEvent(machineId, workspaceId, InstanceStateEvent.Type.OOM));
         // catch event actor
-        verify(sharedPool).execute(runnableArgumentCaptor.capture());
+        verify(sharedPool).execute(eq(CLEANUP), runnableArgumentCaptor.capture());
         Runnable eventActor = runnableArgumentCaptor.getValue();
         // run event actor to verify its behavior
         eventActor.run();
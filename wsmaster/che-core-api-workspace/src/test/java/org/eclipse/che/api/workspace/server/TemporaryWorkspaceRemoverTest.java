@@ -10,9 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server;
 
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
-import org.mockito.ArgumentMatcher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -23,14 +23,16 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import static org.eclipse.che.api.workspace.server.TemporaryWorkspaceRemover.BULK_SIZE;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.eq;
-import static org.mockito.Matchers.intThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
@@ -38,8 +40,6 @@ import static org.mockito.Mockito.verify;
 @Listeners(MockitoTestNGListener.class)
 public class TemporaryWorkspaceRemoverTest {
 
-    static final int COUNT_OF_WORKSPACES = 250;
-
     @Mock
     private WorkspaceDao workspaceDao;
 
@@ -47,32 +47,31 @@ public class TemporaryWorkspaceRemoverTest {
     private TemporaryWorkspaceRemover remover;
 
     @Test
-    public void shouldRemoveTemporaryWorkspaces() throws Exception {
+    public void shouldRemoveTemporaryWorkspacesInBulksUntilLessThanBulkIsRemoved() throws Exception {
+        when(workspaceDao.removeTemporaryWorkspaces(BULK_SIZE)).thenReturn(createEntities(BULK_SIZE))
+                                                               .thenReturn(createEntities(BULK_SIZE))
+                                                               .thenReturn(createEntities(50));
+
+        remover.removeTemporaryWs();
+
+        verify(workspaceDao, times(3)).removeTemporaryWorkspaces(BULK_SIZE);
+        verify(workspaceDao, never()).remove(anyString());
+    }
+
+    @Test
+    public void shouldRemoveTemporaryWorkspacesOneByOneWhenBulkRemovalFails() throws Exception {
+        final List<WorkspaceImpl> workspaces = createEntities(3);
+        doThrow(new ServerException("error")).when(workspaceDao).removeTemporaryWorkspaces(anyInt());
         doNothing().when(workspaceDao).remove(anyString());
-        // As we want to check pagination, we return items 100 when skip count is 0 or 100,
-        // return 50 items when skip count is 200, and return empty list when skip count is 300.
-        doReturn(createEntities(100)).when(workspaceDao).getWorkspaces(eq(true), intThat(new ArgumentMatcher<Integer>() {
-            @Override
-            public boolean matches(Object argument) {
-                return ((int)argument) < 200;
-            }
-        }), anyInt());
-        doReturn(createEntities(50)).when(workspaceDao).getWorkspaces(eq(true), intThat(new ArgumentMatcher<Integer>() {
-            @Override
-            public boolean matches(Object argument) {
-                return ((int)argument) == 200;
-            }
-        }), anyInt());
-        doReturn(Collections.emptyList()).when(workspaceDao).getWorkspaces(eq(true), intThat(new ArgumentMatcher<Integer>() {
-            @Override
-            public boolean matches(Object argument) {
-                return ((int)argument) > COUNT_OF_WORKSPACES;
-            }
-        }), anyInt());
+        doThrow(new ServerException("error")).when(workspaceDao).remove("id1");
+        // the workspace which failed to be removed is the only one left
+        doReturn(workspaces).when(workspaceDao).getWorkspaces(true, 0, BULK_SIZE);
+        doReturn(Collections.emptyList()).when(workspaceDao).getWorkspaces(true, 1, BULK_SIZE);
 
         remover.removeTemporaryWs();
 
-        verify(workspaceDao, times(COUNT_OF_WORKSPACES)).remove(anyString());
+        verify(workspaceDao, times(3)).remove(anyString());
+        verify(workspaceDao).getWorkspaces(true, 1, BULK_SIZE);
     }
 
     private List<WorkspaceImpl> createEntities(int number) {
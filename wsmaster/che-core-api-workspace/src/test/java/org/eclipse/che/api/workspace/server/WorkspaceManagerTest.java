@@ -43,7 +43,6 @@ import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.testng.MockitoTestNGListener;
@@ -57,8 +56,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -78,16 +81,17 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * Covers main cases of {@link WorkspaceManager}.
@@ -522,6 +526,17 @@ public class WorkspaceManagerTest {
         workspaceManager.stopWorkspace(workspace.getId());
     }
 
+    @Test(expectedExceptions = ServerException.class,
+          expectedExceptionsMessageRegExp = "Stop of the workspace 'namespace/test/dev-workspace' is rejected, " +
+                                            "too many workspaces are being started and stopped, try again later")
+    public void failsToStopWorkspaceWhenStopIsRejectedByPool() throws Exception {
+        WorkspaceImpl workspace = createAndMockWorkspace();
+        mockRuntime(workspace, RUNNING);
+        when(sharedPool.runAsync(any(), any())).thenThrow(new RejectedExecutionException());
+
+        workspaceManager.stopWorkspace(workspace.getId());
+    }
+
     @Test
     public void shouldStopWorkspaceEventIfSnapshotCreationFailed() throws Exception {
         WorkspaceImpl workspace = createAndMockWorkspace();
@@ -701,7 +716,7 @@ public class WorkspaceManagerTest {
                                                 .setDev(false)
                                                 .setMachineName("machine2")
                                                 .build();
-        when(snapshotDao.findSnapshots(testWsId)).thenReturn(asList(snapshot1, snapshot2));
+        when(snapshotDao.removeSnapshots(testWsId)).thenReturn(asList(snapshot1, snapshot2));
 
         // when
         workspaceManager.removeSnapshots(testWsId);
@@ -709,13 +724,11 @@ public class WorkspaceManagerTest {
         // then
         captureExecuteCallsAndRunSynchronously();
         verify(runtimes).removeBinaries(asList(snapshot1, snapshot2));
-        InOrder snapshotDaoInOrder = inOrder(snapshotDao);
-        snapshotDaoInOrder.verify(snapshotDao).removeSnapshot(snapshot1.getId());
-        snapshotDaoInOrder.verify(snapshotDao).removeSnapshot(snapshot2.getId());
+        verify(snapshotDao, never()).removeSnapshot(anyString());
     }
 
     @Test
-    public void shouldRemoveMachinesSnapshotsEvenSomeRemovalFails() throws Exception {
+    public void shouldRemoveMachinesSnapshotsOneByOneEvenSomeRemovalFailsWhenBulkRemovalFails() throws Exception {
         // given
         String testWsId = "testWsId";
         String testNamespace = "testNamespace";
@@ -736,6 +749,7 @@ public class WorkspaceManagerTest {
                                                 .setMachineName("machine2")
                                                 .build();
         when(snapshotDao.findSnapshots(testWsId)).thenReturn(asList(snapshot1, snapshot2));
+        doThrow(new SnapshotException("test")).when(snapshotDao).removeSnapshots(testWsId);
         doThrow(new SnapshotException("test")).when(snapshotDao).removeSnapshot(snapshot1.getId());
 
         // when
@@ -895,6 +909,7 @@ public class WorkspaceManagerTest {
         mockRuntime(running, RUNNING);
 
         when(runtimes.getRuntimesIds()).thenReturn(new HashSet<>(asList(running.getId(), starting.getId())));
+        when(sharedPool.runAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
 
         // action
         workspaceManager.shutdown();
@@ -907,6 +922,51 @@ public class WorkspaceManagerTest {
         verify(sharedPool).shutdown();
     }
 
+    @Test
+    public void limitsNumberOfSimultaneousStopsOnNode() throws Exception {
+        List<WorkspaceImpl> workspaces = asList(createAndMockWorkspace(), createAndMockWorkspace(), createAndMockWorkspace());
+        for (WorkspaceImpl workspace : workspaces) {
+            mockRuntime(workspace, RUNNING);
+        }
+        List<CompletableFuture<Void>> stops = new CopyOnWriteArrayList<>();
+        when(sharedPool.runAsync(any(), any())).thenAnswer(invocation -> {
+            CompletableFuture<Void> stop = new CompletableFuture<>();
+            stops.add(stop);
+            return stop;
+        });
+
+        CompletableFuture<Integer> notStopped = CompletableFuture.supplyAsync(() -> {
+            try {
+                return workspaceManager.stopThrottled(workspaces, 2, Long.MAX_VALUE);
+            } catch (InterruptedException x) {
+                throw new RuntimeException(x);
+            }
+        });
+
+        awaitStops(stops, 2);
+        Thread.sleep(100);
+        assertEquals(stops.size(), 2);
+        stops.get(0).complete(null);
+        awaitStops(stops, 3);
+        stops.get(1).complete(null);
+        stops.get(2).complete(null);
+        assertEquals(notStopped.get(5, TimeUnit.SECONDS).intValue(), 0);
+    }
+
+    @Test
+    public void doesNotStartStopsAfterDeadline() throws Exception {
+        List<WorkspaceImpl> workspaces = asList(createAndMockWorkspace(), createAndMockWorkspace(), createAndMockWorkspace());
+        for (WorkspaceImpl workspace : workspaces) {
+            mockRuntime(workspace, RUNNING);
+        }
+        when(sharedPool.runAsync(any(), any())).thenAnswer(invocation -> new CompletableFuture<>());
+
+        int notStopped = workspaceManager.stopThrottled(workspaces, 1, System.currentTimeMillis() + 200);
+
+        assertEquals(notStopped, 3);
+        verify(sharedPool, times(1)).runAsync(any(), any());
+    }
+
     @Test
     public void getsRunningWorkspacesIds() {
         ImmutableSet<String> ids = ImmutableSet.of("id1", "id2", "id3");
@@ -915,15 +975,25 @@ public class WorkspaceManagerTest {
         assertEquals(workspaceManager.getRunningWorkspacesIds(), ids);
     }
 
+    private static void awaitStops(List<CompletableFuture<Void>> stops, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (stops.size() < count) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(format("Expected %d stops to be started, but started %d", count, stops.size()));
+            }
+            Thread.sleep(10);
+        }
+    }
+
     private void captureRunAsyncCallsAndRunSynchronously() {
-        verify(sharedPool, atLeastOnce()).runAsync(taskCaptor.capture());
+        verify(sharedPool, atLeastOnce()).runAsync(any(), taskCaptor.capture());
         for (Runnable runnable : taskCaptor.getAllValues()) {
             runnable.run();
         }
     }
 
     private void captureExecuteCallsAndRunSynchronously() {
-        verify(sharedPool, atLeastOnce()).execute(taskCaptor.capture());
+        verify(sharedPool, atLeastOnce()).execute(any(), taskCaptor.capture());
         for (Runnable runnable : taskCaptor.getAllValues()) {
             runnable.run();
         }
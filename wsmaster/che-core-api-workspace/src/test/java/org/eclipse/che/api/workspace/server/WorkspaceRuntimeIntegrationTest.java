@@ -58,9 +58,11 @@ import java.util.concurrent.TimeUnit;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.START;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
@@ -183,7 +185,7 @@ public class WorkspaceRuntimeIntegrationTest {
                 .thenReturn(instance);
 
         runtimes.startAsync(workspace, ENV_NAME, false);
-        verify(sharedPool).submit(taskCaptor.capture());
+        verify(sharedPool).submit(eq(START), taskCaptor.capture());
         taskCaptor.getValue().call();
 
         WaitingAnswer<Void> waitingAnswer = new WaitingAnswer<>();
@@ -78,15 +78,20 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static java.lang.String.format;
 import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.SNAPSHOT;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -496,7 +501,7 @@ public class WorkspaceRuntimesTest {
     @Test
     public void cancellationOfPendingStartTask() throws Throwable {
         WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
-        when(sharedPool.submit(any())).thenReturn(Futures.immediateFuture(null));
+        when(sharedPool.submit(any(), any())).thenReturn(Futures.immediateFuture(null));
 
         CompletableFuture<WorkspaceRuntimeImpl> cmpFuture = runtimes.startAsync(workspace, "env-name", false);
 
@@ -719,6 +724,7 @@ public class WorkspaceRuntimesTest {
         setRuntime(workspace.getId(), WorkspaceStatus.RUNNING);
         prepareMachines(workspace.getId(), "env-name");
         when(envEngine.saveSnapshot(any(), any())).thenThrow(new ServerException("can't save"));
+        executeSnapshotTasksSynchronously();
 
         try {
             runtimes.snapshot(workspace.getId());
@@ -789,6 +795,92 @@ public class WorkspaceRuntimesTest {
                                    null));
     }
 
+    @Test
+    public void snapshotsMachinesInParallel() throws Exception {
+        WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+        setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+        prepareMachines(workspace.getId(), "env-name");
+        ExecutorService pool = Executors.newCachedThreadPool();
+        doAnswer(inv -> pool.submit((Callable<?>)inv.getArguments()[1])).when(sharedPool).submit(eq(SNAPSHOT), any());
+        // each machine snapshot waits for the others, so they complete only if executed at the same time
+        CyclicBarrier allMachines = new CyclicBarrier(3);
+        when(envEngine.saveSnapshot(any(), any())).thenAnswer(inv -> {
+            allMachines.await(10, TimeUnit.SECONDS);
+            return mock(SnapshotImpl.class);
+        });
+
+        try {
+            runtimes.snapshot(workspace.getId());
+        } finally {
+            shutdownAndWaitPool(pool);
+        }
+
+        verify(sharedPool, times(3)).submit(eq(SNAPSHOT), any());
+        verify(snapshotDao).replaceSnapshots(any(), any(), snapshotsCaptor.capture());
+        assertEquals(snapshotsCaptor.getValue().size(), 3);
+        assertEquals(runtimes.getStatus(workspace.getId()), WorkspaceStatus.RUNNING);
+    }
+
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "Snapshot is not created in .* minutes")
+    public void failsToCreateSnapshotWhenDevMachineIsNotSnapshottedInTime() throws Exception {
+        WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+        setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+        prepareMachines(workspace.getId(), "env-name");
+        @SuppressWarnings("unchecked")
+        Future<SnapshotImpl> future = mock(Future.class);
+        when(future.get(anyLong(), any())).thenThrow(new TimeoutException());
+        doReturn(future).when(sharedPool).submit(eq(SNAPSHOT), any());
+
+        try {
+            runtimes.snapshot(workspace.getId());
+        } catch (ServerException x) {
+            verify(future, times(3)).cancel(true);
+            verify(snapshotDao, never()).replaceSnapshots(any(), any(), any());
+            verifyEventsSequence(event(workspace.getId(),
+                                       WorkspaceStatus.RUNNING,
+                                       WorkspaceStatus.SNAPSHOTTING,
+                                       EventType.SNAPSHOT_CREATING,
+                                       null),
+                                 event(workspace.getId(),
+                                       WorkspaceStatus.SNAPSHOTTING,
+                                       WorkspaceStatus.RUNNING,
+                                       EventType.SNAPSHOT_CREATION_ERROR,
+                                       x.getMessage()));
+            throw x;
+        }
+    }
+
+    @Test
+    public void removesMachineSnapshotSavedAfterItsTaskIsCancelled() throws Exception {
+        WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+        setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+        prepareMachines(workspace.getId(), "env-name");
+        @SuppressWarnings("unchecked")
+        Future<SnapshotImpl> future = mock(Future.class);
+        when(future.get(anyLong(), any())).thenThrow(new TimeoutException());
+        ArgumentCaptor<Callable> taskCaptor = ArgumentCaptor.forClass(Callable.class);
+        doReturn(future).when(sharedPool).submit(eq(SNAPSHOT), taskCaptor.capture());
+        SnapshotImpl snapshot = mock(SnapshotImpl.class);
+        when(envEngine.saveSnapshot(any(), any())).thenReturn(snapshot);
+        try {
+            runtimes.snapshot(workspace.getId());
+            fail("ServerException expected");
+        } catch (ServerException expected) {
+        }
+
+        // the cancelled task is still running and completes after cancellation
+        Thread.currentThread().interrupt();
+        try {
+            taskCaptor.getAllValues().get(0).call();
+            fail("ServerException expected");
+        } catch (ServerException expected) {
+        } finally {
+            Thread.interrupted();
+        }
+
+        verify(envEngine).removeSnapshot(snapshot);
+    }
+
     @Test
     public void getsRuntimesIds() {
         setRuntime("workspace1", WorkspaceStatus.STARTING);
@@ -824,10 +916,18 @@ public class WorkspaceRuntimesTest {
     }
 
     private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
-        verify(sharedPool).submit(taskCaptor.capture());
+        verify(sharedPool).submit(any(), taskCaptor.capture());
         taskCaptor.getValue().call();
     }
 
+    private void executeSnapshotTasksSynchronously() {
+        doAnswer(inv -> {
+            FutureTask<?> task = new FutureTask<>((Callable<?>)inv.getArguments()[1]);
+            task.run();
+            return task;
+        }).when(sharedPool).submit(eq(SNAPSHOT), any());
+    }
+
     private void captureAndVerifyRuntimeStateAfterInterruption(Workspace workspace,
                                                                CompletableFuture<WorkspaceRuntimeImpl> cmpFuture) throws Exception {
         try {
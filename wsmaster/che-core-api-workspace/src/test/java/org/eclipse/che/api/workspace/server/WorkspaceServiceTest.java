@@ -20,6 +20,7 @@ import com.jayway.restassured.response.Response;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.agent.server.WsAgentHealthChecker;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -46,11 +47,13 @@ import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -341,6 +344,27 @@ public class WorkspaceServiceTest {
                      asList(workspace1, workspace2));
     }
 
+    @Test
+    public void shouldGetWorkspaceSummaries() throws Exception {
+        final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl(createWorkspace(createConfigDto(), RUNNING));
+        when(wsManager.getWorkspaceSummaries(USER_ID, 1, 1)).thenReturn(new Page<>(singletonList(summary), 1, 1, 3));
+
+        final Response response = given().auth()
+                                         .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+                                         .when()
+                                         .get(SECURE_PATH + "/workspace/summary?skipCount=1&maxItems=1");
+
+        assertEquals(response.getStatusCode(), 200);
+        final List<WorkspaceSummaryDto> summaries = unwrapDtoList(response, WorkspaceSummaryDto.class);
+        assertEquals(summaries.size(), 1);
+        assertEquals(summaries.get(0).getId(), summary.getId());
+        assertEquals(summaries.get(0).getName(), summary.getName());
+        assertEquals(summaries.get(0).getNamespace(), summary.getNamespace());
+        assertEquals(summaries.get(0).getStatus(), RUNNING);
+        assertEquals(summaries.get(0).getAttributes(), summary.getAttributes());
+        assertTrue(response.getHeader("Link").contains("rel=\"next\""));
+    }
+
     @Test
     public void shouldGetWorkspacesByNamespace() throws Exception {
         final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
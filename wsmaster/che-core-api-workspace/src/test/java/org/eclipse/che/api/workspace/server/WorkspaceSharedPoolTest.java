@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskTypeStats;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.CLEANUP;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.SNAPSHOT;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.START;
+import static org.eclipse.che.api.workspace.server.WorkspaceSharedPool.TaskType.STOP;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link WorkspaceSharedPool}.
+ */
+public class WorkspaceSharedPoolTest {
+
+    private WorkspaceSharedPool pool;
+    private CountDownLatch      release;
+
+    @BeforeMethod
+    public void setUp() {
+        // each lane has 1 thread and queue of 1 task
+        pool = new WorkspaceSharedPool("fixed", "1", null, "1", "1");
+        release = new CountDownLatch(1);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        release.countDown();
+        pool.shutdown();
+    }
+
+    @Test
+    public void interactiveTasksAreNotDelayedByBackgroundTasks() throws Exception {
+        pool.execute(SNAPSHOT, this::awaitRelease);
+        pool.execute(SNAPSHOT, this::awaitRelease);
+
+        pool.submit(START, () -> null).get(5, TimeUnit.SECONDS);
+        pool.runAsync(STOP, () -> {}).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void rejectsInteractiveTaskWhenQueueIsFull() throws Exception {
+        pool.execute(START, this::awaitRelease);
+        pool.execute(START, this::awaitRelease);
+
+        try {
+            pool.execute(START, () -> {});
+            fail("Task must be rejected");
+        } catch (RejectedExecutionException ignored) {
+        }
+
+        TaskTypeStats stats = pool.getStats(START);
+        assertEquals(stats.getSubmitted(), 3);
+        assertEquals(stats.getRejected(), 1);
+    }
+
+    @Test
+    public void queuesBackgroundTasksOverInteractiveQueueCapacity() throws Exception {
+        pool.execute(CLEANUP, this::awaitRelease);
+        pool.execute(CLEANUP, this::awaitRelease);
+        AtomicReference<Thread> executor = new AtomicReference<>();
+        CountDownLatch executed = new CountDownLatch(1);
+
+        pool.execute(CLEANUP, () -> {
+            executor.set(Thread.currentThread());
+            executed.countDown();
+        });
+        assertNull(executor.get());
+        release.countDown();
+
+        assertTrue(executed.await(5, TimeUnit.SECONDS));
+        assertNotEquals(executor.get(), Thread.currentThread());
+        assertEquals(pool.getStats(CLEANUP).getRejected(), 0);
+    }
+
+    @Test(expectedExceptions = RejectedExecutionException.class)
+    public void rejectsBackgroundTaskWhenPoolIsShutDown() throws Exception {
+        pool.shutdown();
+
+        pool.execute(CLEANUP, () -> {});
+    }
+
+    @Test
+    public void measuresQueueWaitAndExecutionTimePerTaskType() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(START, () -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        pool.execute(STOP, () -> {});
+
+        TimeUnit.MILLISECONDS.sleep(50);
+        release.countDown();
+        pool.runAsync(STOP, () -> {}).get(5, TimeUnit.SECONDS);
+
+        TaskTypeStats startStats = pool.getStats(START);
+        assertEquals(startStats.getCompleted(), 1);
+        assertTrue(startStats.getExecutionMillis() >= 50);
+        TaskTypeStats stopStats = pool.getStats(STOP);
+        assertEquals(stopStats.getCompleted(), 2);
+        assertTrue(stopStats.getMaxQueueWaitMillis() >= 50);
+        assertEquals(pool.getStats(SNAPSHOT).getSubmitted(), 0);
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
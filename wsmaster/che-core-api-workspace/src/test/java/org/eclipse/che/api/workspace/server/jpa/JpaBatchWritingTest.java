@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.jpa;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Guice;
+
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.test.db.H2JpaCleaner;
+import org.eclipse.che.commons.test.db.H2TestHelper;
+import org.eclipse.che.commons.test.tck.JpaCleaner;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that jdbc batch writing decreases the number of executed statements
+ * and doesn't change the persisted data.
+ */
+public class JpaBatchWritingTest {
+
+    private AtomicInteger        executions;
+    private EntityManagerFactory batchingFactory;
+    private EntityManagerFactory nonBatchingFactory;
+    private JpaCleaner           cleaner;
+
+    @BeforeMethod
+    public void setUp() {
+        // initializes schema
+        cleaner = Guice.createInjector(new WorkspaceTckModule()).getInstance(H2JpaCleaner.class);
+
+        executions = new AtomicInteger();
+        final DataSource dataSource = countExecutions(DataSource.class, H2TestHelper.inMemoryDefault());
+        batchingFactory = Persistence.createEntityManagerFactory("main", ImmutableMap.of("eclipselink.session-name", "batching",
+                                                                                         "javax.persistence.nonJtaDataSource", dataSource,
+                                                                                         "eclipselink.jdbc.batch-writing", "JDBC"));
+        nonBatchingFactory = Persistence.createEntityManagerFactory("main", ImmutableMap.of("eclipselink.session-name", "non-batching",
+                                                                                            "javax.persistence.nonJtaDataSource", dataSource,
+                                                                                            "eclipselink.jdbc.batch-writing", "None"));
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        batchingFactory.close();
+        nonBatchingFactory.close();
+        cleaner.clean();
+    }
+
+    @Test
+    public void shouldPersistWorkspaceWithLessStatementsWhenBatchWritingIsEnabled() throws Exception {
+        final WorkspaceImpl batched = createWorkspace("id1", new AccountImpl("accountId1", "namespace1", "test"), "name1");
+        final WorkspaceImpl nonBatched = createWorkspace("id2", new AccountImpl("accountId2", "namespace2", "test"), "name2");
+
+        final int batchedExecutions = persist(batchingFactory, batched);
+        final int nonBatchedExecutions = persist(nonBatchingFactory, nonBatched);
+
+        assertTrue(batchedExecutions < nonBatchedExecutions,
+                   String.format("Batched: %d, non batched: %d", batchedExecutions, nonBatchedExecutions));
+        assertEquals(find(nonBatchingFactory, batched.getId()), new WorkspaceImpl(batched));
+        assertEquals(find(batchingFactory, nonBatched.getId()), new WorkspaceImpl(nonBatched));
+    }
+
+    private int persist(EntityManagerFactory factory, WorkspaceImpl workspace) {
+        workspace.getConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
+        final EntityManager manager = factory.createEntityManager();
+        try {
+            executions.set(0);
+            manager.getTransaction().begin();
+            manager.persist(workspace.getAccount());
+            manager.persist(workspace);
+            manager.getTransaction().commit();
+            return executions.get();
+        } finally {
+            manager.close();
+        }
+    }
+
+    private WorkspaceImpl find(EntityManagerFactory factory, String id) {
+        factory.getCache().evictAll();
+        final EntityManager manager = factory.createEntityManager();
+        try {
+            return new WorkspaceImpl(manager.find(WorkspaceImpl.class, id));
+        } finally {
+            manager.close();
+        }
+    }
+
+    /** Wraps jdbc object so each statement execution made through it is counted. */
+    @SuppressWarnings("unchecked")
+    private <T> T countExecutions(Class<T> type, Object target) {
+        return (T)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                executions.incrementAndGet();
+            }
+            final Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException x) {
+                throw x.getCause();
+            }
+            if (result instanceof Connection) {
+                return countExecutions(Connection.class, result);
+            }
+            if (result instanceof CallableStatement) {
+                return countExecutions(CallableStatement.class, result);
+            }
+            if (result instanceof PreparedStatement) {
+                return countExecutions(PreparedStatement.class, result);
+            }
+            if (result instanceof Statement) {
+                return countExecutions(Statement.class, result);
+            }
+            return result;
+        });
+    }
+}
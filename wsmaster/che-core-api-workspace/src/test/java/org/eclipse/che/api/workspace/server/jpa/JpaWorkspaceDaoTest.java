@@ -17,8 +17,11 @@ import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.commons.test.db.H2JpaCleaner;
 import org.eclipse.che.commons.test.tck.JpaCleaner;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -27,10 +30,14 @@ import javax.persistence.EntityManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests JPA specific use-cases.
@@ -39,6 +46,12 @@ import static org.testng.Assert.assertEquals;
  */
 public class JpaWorkspaceDaoTest {
 
+    /**
+     * Root select plus one select per each relationship of the workspace graph,
+     * e.g. workspace attributes, config, commands, command attributes, projects etc.
+     */
+    private static final int MAX_STATEMENTS_PER_GRAPH = 20;
+
     private EntityManager   manager;
     private JpaWorkspaceDao workspaceDao;
     private JpaCleaner      cleaner;
@@ -149,7 +162,55 @@ public class JpaWorkspaceDaoTest {
                                  .size(), 3);
     }
 
+    @Test
+    public void shouldLoadWorkspacesConfigurationGraphWithBoundedNumberOfStatements() throws Exception {
+        final AccountImpl account1 = new AccountImpl("accountId1", "namespace1", "test");
+        final AccountImpl account2 = new AccountImpl("accountId2", "namespace2", "test");
+        final List<WorkspaceImpl> workspaces = asList(createWorkspace("id1", account1, "name1"),
+                                                      createWorkspace("id2", account2, "name2"),
+                                                      createWorkspace("id3", account2, "name3"));
+
+        manager.getTransaction().begin();
+        manager.persist(account1);
+        manager.persist(account2);
+        for (WorkspaceImpl workspace : workspaces) {
+            workspace.getConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
+            manager.persist(workspace);
+        }
+        manager.getTransaction().commit();
+
+        final int singleWorkspaceStatements = countStatements(() -> workspaceDao.getByNamespace("namespace1"));
+        final int twoWorkspacesStatements = countStatements(() -> workspaceDao.getByNamespace("namespace2"));
+        final int getByIdStatements = countStatements(() -> workspaceDao.get("id1"));
+
+        // the number of statements depends only on the number of relationships in the graph
+        assertEquals(twoWorkspacesStatements, singleWorkspaceStatements);
+        assertTrue(singleWorkspaceStatements <= MAX_STATEMENTS_PER_GRAPH, "Statements: " + singleWorkspaceStatements);
+        assertTrue(getByIdStatements <= MAX_STATEMENTS_PER_GRAPH, "Statements: " + getByIdStatements);
+    }
+
+    private int countStatements(Callable<?> action) throws Exception {
+        manager.clear();
+        manager.getEntityManagerFactory().getCache().evictAll();
+        StatementsCounter.COUNTER.set(0);
+        action.call();
+        return StatementsCounter.COUNTER.get();
+    }
+
     private long asLong(String query) {
         return manager.createQuery(query, Long.class).getSingleResult();
     }
+
+    /**
+     * Counts all the sql statements executed by sessions of the persistence unit,
+     * registered via 'eclipselink.session-event-listener' property in test persistence.xml.
+     */
+    public static class StatementsCounter extends SessionEventAdapter {
+        private static final AtomicInteger COUNTER = new AtomicInteger();
+
+        @Override
+        public void preExecuteCall(SessionEvent event) {
+            COUNTER.incrementAndGet();
+        }
+    }
 }
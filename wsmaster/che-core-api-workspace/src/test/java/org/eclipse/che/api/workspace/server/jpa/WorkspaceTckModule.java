@@ -19,6 +19,7 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.stack.StackTagIndex;
 import org.eclipse.che.commons.test.db.H2JpaCleaner;
 import org.eclipse.che.commons.test.db.H2TestHelper;
 import org.eclipse.che.commons.test.tck.TckModule;
@@ -30,6 +31,7 @@ import org.eclipse.che.core.db.DBInitializer;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
 
+import javax.inject.Inject;
 import java.util.Collection;
 
 /**
@@ -65,6 +67,11 @@ public class WorkspaceTckModule extends TckModule {
     }
 
     private static class StackRepository extends JpaTckRepository<StackImpl> {
+
+        // stacks are stored bypassing dao, so its index must be dropped
+        @Inject
+        private StackTagIndex tagIndex;
+
         public StackRepository() { super(StackImpl.class); }
 
         @Override
@@ -73,6 +80,13 @@ public class WorkspaceTckModule extends TckModule {
                 stack.getWorkspaceConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
             }
             super.createAll(entities);
+            tagIndex.invalidate();
+        }
+
+        @Override
+        public void removeAll() throws TckRepositoryException {
+            super.removeAll();
+            tagIndex.invalidate();
         }
     }
 }
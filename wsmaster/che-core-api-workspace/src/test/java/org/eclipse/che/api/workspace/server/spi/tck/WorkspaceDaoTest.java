@@ -16,8 +16,10 @@ import com.google.common.collect.ImmutableMap;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
@@ -29,6 +31,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -48,12 +51,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
@@ -151,6 +156,46 @@ public class WorkspaceDaoTest {
         workspaceDao.getByNamespace(null);
     }
 
+    @Test
+    public void shouldGetPageOfWorkspacesByNamespace() throws Exception {
+        final WorkspaceImpl workspace1 = workspaces[0];
+        final WorkspaceImpl workspace2 = workspaces[1];
+
+        final Page<WorkspaceImpl> page1 = workspaceDao.getByNamespace(workspace1.getNamespace(), 1, 0);
+        final Page<WorkspaceImpl> page2 = workspaceDao.getByNamespace(workspace1.getNamespace(), 1, 1);
+
+        assertEquals(page1.getTotalItemsCount(), 2);
+        assertEquals(page1.getItemsCount(), 1);
+        assertEquals(page2.getItemsCount(), 1);
+        // workspaces are ordered by id, so pages neither overlap nor skip items
+        assertEquals(page1.getItems(), singletonList(workspace1));
+        assertEquals(page2.getItems(), singletonList(workspace2));
+    }
+
+    @Test
+    public void shouldGetPageOfWorkspaces() throws Exception {
+        final Page<WorkspaceImpl> page = workspaceDao.getWorkspaces("userId", 2, 1);
+
+        assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+        assertEquals(page.getItemsCount(), 2);
+        assertEquals(page.getItems(), asList(workspaces[1], workspaces[2]));
+    }
+
+    @Test
+    public void shouldGetSummariesOfWorkspaces() throws Exception {
+        final Page<WorkspaceSummaryImpl> page = workspaceDao.getSummaries("userId", 30, 0);
+
+        assertEquals(page.getTotalItemsCount(), COUNT_OF_WORKSPACES);
+        assertEquals(page.getItems(), Stream.of(workspaces)
+                                            .map(WorkspaceSummaryImpl::new)
+                                            .collect(toList()));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenGettingSummariesWithNonPositiveMaxItems() throws Exception {
+        workspaceDao.getSummaries("userId", 0, 0);
+    }
+
     @Test
     public void shouldGetWorkspaceByNameAndNamespace() throws Exception {
         final WorkspaceImpl workspace = workspaces[0];
@@ -247,6 +292,53 @@ public class WorkspaceDaoTest {
         workspaceDao.getWorkspaces(true, -2, 0);
     }
 
+    @Test(dependsOnMethods = "shouldGetWorkspacesByTemporary")
+    public void shouldRemoveTemporaryWorkspaces() throws Exception {
+        final Set<String> temporaryIds = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            workspaces[i].setTemporary(true);
+            workspaceDao.update(workspaces[i]);
+            temporaryIds.add(workspaces[i].getId());
+        }
+        final Set<String> notified = new HashSet<>();
+        final EventSubscriber<WorkspaceRemovedEvent> subscriber = event -> notified.add(event.getWorkspace().getId());
+        eventService.subscribe(subscriber, WorkspaceRemovedEvent.class);
+
+        final List<WorkspaceImpl> removed = new ArrayList<>(workspaceDao.removeTemporaryWorkspaces(2));
+        removed.addAll(workspaceDao.removeTemporaryWorkspaces(2));
+        eventService.unsubscribe(subscriber, WorkspaceRemovedEvent.class);
+
+        assertEquals(removed.stream().map(WorkspaceImpl::getId).collect(toSet()), temporaryIds);
+        assertEquals(notified, temporaryIds);
+        assertTrue(workspaceDao.getWorkspaces(true, 0, 0).isEmpty());
+        assertEquals(new HashSet<>(workspaceDao.getWorkspaces(false, 0, 0)), new HashSet<>(asList(workspaces[3], workspaces[4])));
+    }
+
+    @Test(dependsOnMethods = "shouldRemoveTemporaryWorkspaces")
+    public void shouldNotRemoveTemporaryWorkspacesWhenSubscriberThrowsExceptionOnWorkspaceRemoving() throws Exception {
+        workspaces[0].setTemporary(true);
+        workspaceDao.update(workspaces[0]);
+        workspaces[1].setTemporary(true);
+        workspaceDao.update(workspaces[1]);
+        final CascadeEventSubscriber<BeforeWorkspaceRemovedEvent> subscriber = mockCascadeEventSubscriber();
+        doThrow(new ServerException("error")).when(subscriber).onCascadeEvent(any());
+        eventService.subscribe(subscriber, BeforeWorkspaceRemovedEvent.class);
+
+        try {
+            workspaceDao.removeTemporaryWorkspaces(2);
+            fail("WorkspaceDao#removeTemporaryWorkspaces had to throw server exception");
+        } catch (ServerException ignored) {
+        }
+
+        assertEquals(new HashSet<>(workspaceDao.getWorkspaces(true, 0, 0)), new HashSet<>(asList(workspaces[0], workspaces[1])));
+        eventService.unsubscribe(subscriber, BeforeWorkspaceRemovedEvent.class);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldThrowIllegalArgumentExceptionWhenRemovingTemporaryWorkspacesWithNonPositiveMaxItems() throws Exception {
+        workspaceDao.removeTemporaryWorkspaces(0);
+    }
+
     @Test
     public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
         final boolean[] isNotified = new boolean[] {false};
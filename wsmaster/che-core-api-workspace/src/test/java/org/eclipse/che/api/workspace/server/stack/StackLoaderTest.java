@@ -31,6 +31,7 @@ import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackComponentDto;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.Listeners;
@@ -47,6 +48,7 @@ import static java.util.Collections.singletonMap;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -76,6 +78,19 @@ public class StackLoaderTest {
         verify(stackDao, never()).create(any());
     }
 
+    @Test
+    public void stacksIndexShouldBeSeededAfterPredefinedStacksAreLoaded() throws Exception {
+        URL url = Resources.getResource("stacks.json");
+        URL urlFolder = Thread.currentThread().getContextClassLoader().getResource("stack_img");
+
+        stackLoader = new StackLoader(url.getPath(), urlFolder.getPath(), stackDao, null);
+
+        stackLoader.start();
+        InOrder inOrder = inOrder(stackDao);
+        inOrder.verify(stackDao, times(5)).update(any());
+        inOrder.verify(stackDao).searchStacks(null, null, 0, 1);
+    }
+
     @Test
     public void predefinedStackWithValidJsonShouldBeCreated() throws ServerException, NotFoundException, ConflictException {
         URL url = Resources.getResource("stacks.json");
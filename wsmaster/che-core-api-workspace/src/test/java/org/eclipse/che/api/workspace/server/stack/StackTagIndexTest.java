@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server.stack;
+
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.core.db.jpa.cache.CacheInvalidationChannel;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link StackTagIndex}.
+ */
+public class StackTagIndexTest {
+
+    private CacheInvalidationChannel channel;
+    private StackTagIndex            index;
+    private Consumer<Set<String>>    invalidationConsumer;
+
+    @BeforeMethod
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        channel = mock(CacheInvalidationChannel.class);
+        index = new StackTagIndex(channel);
+        final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(channel).subscribe(captor.capture());
+        invalidationConsumer = captor.getValue();
+
+        index.initialize(asList(createStack("stack3", "java", "maven"),
+                                createStack("stack1", "java"),
+                                createStack("stack2", "java", "maven", "tomcat"),
+                                createStack("stack4", "go")),
+                         index.getModCount());
+    }
+
+    @Test
+    public void shouldFindStacksContainingAllTheTagsOrderedById() {
+        assertEquals(ids(index.search(asList("maven", "java"), 0, 0)), asList("stack2", "stack3"));
+    }
+
+    @Test
+    public void shouldFindAllStacksWhenTagsAreNotSpecified() {
+        assertEquals(ids(index.search(null, 0, 0)), asList("stack1", "stack2", "stack3", "stack4"));
+    }
+
+    @Test
+    public void shouldReturnPageOfFoundStacks() {
+        assertEquals(ids(index.search(singletonList("java"), 1, 1)), singletonList("stack2"));
+    }
+
+    @Test
+    public void shouldNotFindStacksByUnknownTag() {
+        assertTrue(index.search(asList("java", "unknown"), 0, 0).isEmpty());
+    }
+
+    @Test
+    public void shouldReflectStackModifications() {
+        index.put(createStack("stack1", "java", "maven"));
+        index.remove("stack3");
+
+        assertEquals(ids(index.search(asList("java", "maven"), 0, 0)), asList("stack1", "stack2"));
+    }
+
+    @Test
+    public void shouldReturnCopiesOfIndexedStacks() {
+        index.search(singletonList("go"), 0, 0).get(0).getTags().add("java");
+
+        assertEquals(ids(index.search(singletonList("java"), 0, 0)), asList("stack1", "stack2", "stack3"));
+    }
+
+    @Test
+    public void shouldNotInitializeIndexIfItWasModifiedWhileStacksWereFetched() {
+        index.invalidate();
+        final long modCount = index.getModCount();
+        index.put(createStack("stack5", "java"));
+
+        assertFalse(index.initialize(singletonList(createStack("stack1", "java")), modCount));
+        assertFalse(index.isInitialized());
+    }
+
+    @Test
+    public void shouldBeInvalidatedWhenStacksAreModifiedByOtherInstance() {
+        invalidationConsumer.accept(singleton("Workspace"));
+        assertTrue(index.isInitialized());
+
+        invalidationConsumer.accept(singleton("Stack"));
+        assertFalse(index.isInitialized());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void shouldThrowIllegalStateExceptionWhenSearchingNotInitializedIndex() {
+        index.invalidate();
+
+        index.search(null, 0, 0);
+    }
+
+    private static StackImpl createStack(String id, String... tags) {
+        return StackImpl.builder()
+                        .setId(id)
+                        .setName(id + "-name")
+                        .setTags(asList(tags))
+                        .build();
+    }
+
+    private static List<String> ids(List<StackImpl> stacks) {
+        return stacks.stream().map(StackImpl::getId).collect(toList());
+    }
+}
@@ -0,0 +1,60 @@
+--
+-- Copyright (c) 2012-2017 Codenvy, S.A.
+-- All rights reserved. This program and the accompanying materials
+-- are made available under the terms of the Eclipse Public License v1.0
+-- which accompanies this distribution, and is available at
+-- http://www.eclipse.org/legal/epl-v10.html
+--
+-- Contributors:
+--   Codenvy, S.A. - initial API and implementation
+--
+
+-- Workspace data is removed with the workspace and configuration rows,
+-- so the bulk removal of workspaces doesn't need to remove each data table separately
+
+-- Workspace attributes --------------------------------------------------------
+ALTER TABLE workspace_attributes DROP CONSTRAINT fk_workspace_attributes_workspace_id;
+ALTER TABLE workspace_attributes ADD CONSTRAINT fk_workspace_attributes_workspace_id FOREIGN KEY (workspace_id) REFERENCES workspace (id) ON DELETE CASCADE;
+
+-- Source storage parameters ---------------------------------------------------
+ALTER TABLE sourcestorage_parameters DROP CONSTRAINT fk_sourcestorage_parameters_sourcestorage_id;
+ALTER TABLE sourcestorage_parameters ADD CONSTRAINT fk_sourcestorage_parameters_sourcestorage_id FOREIGN KEY (sourcestorage_id) REFERENCES sourcestorage (id) ON DELETE CASCADE;
+
+-- Projects --------------------------------------------------------------------
+ALTER TABLE projectconfig DROP CONSTRAINT fk_projectconfig_projects_id;
+ALTER TABLE projectconfig ADD CONSTRAINT fk_projectconfig_projects_id FOREIGN KEY (projects_id) REFERENCES workspaceconfig (id) ON DELETE CASCADE;
+
+ALTER TABLE projectattribute DROP CONSTRAINT fk_projectattribute_dbattributes_id;
+ALTER TABLE projectattribute ADD CONSTRAINT fk_projectattribute_dbattributes_id FOREIGN KEY (dbattributes_id) REFERENCES projectconfig (id) ON DELETE CASCADE;
+
+ALTER TABLE projectattribute_values DROP CONSTRAINT fk_projectattribute_values_projectattribute_id;
+ALTER TABLE projectattribute_values ADD CONSTRAINT fk_projectattribute_values_projectattribute_id FOREIGN KEY (projectattribute_id) REFERENCES projectattribute (id) ON DELETE CASCADE;
+
+ALTER TABLE projectconfig_mixins DROP CONSTRAINT fk_projectconfig_mixins_projectconfig_id;
+ALTER TABLE projectconfig_mixins ADD CONSTRAINT fk_projectconfig_mixins_projectconfig_id FOREIGN KEY (projectconfig_id) REFERENCES projectconfig (id) ON DELETE CASCADE;
+
+-- Commands --------------------------------------------------------------------
+ALTER TABLE command DROP CONSTRAINT fk_command_commands_id;
+ALTER TABLE command ADD CONSTRAINT fk_command_commands_id FOREIGN KEY (commands_id) REFERENCES workspaceconfig (id) ON DELETE CASCADE;
+
+ALTER TABLE command_attributes DROP CONSTRAINT fk_command_attributes_command_id;
+ALTER TABLE command_attributes ADD CONSTRAINT fk_command_attributes_command_id FOREIGN KEY (command_id) REFERENCES command (id) ON DELETE CASCADE;
+
+-- Environments ----------------------------------------------------------------
+ALTER TABLE environment DROP CONSTRAINT fk_environment_environments_id;
+ALTER TABLE environment ADD CONSTRAINT fk_environment_environments_id FOREIGN KEY (environments_id) REFERENCES workspaceconfig (id) ON DELETE CASCADE;
+
+ALTER TABLE externalmachine DROP CONSTRAINT fk_externalmachine_machines_id;
+ALTER TABLE externalmachine ADD CONSTRAINT fk_externalmachine_machines_id FOREIGN KEY (machines_id) REFERENCES environment (id) ON DELETE CASCADE;
+
+ALTER TABLE externalmachine_agents DROP CONSTRAINT fk_externalmachine_agents_externalmachine_id;
+ALTER TABLE externalmachine_agents ADD CONSTRAINT fk_externalmachine_agents_externalmachine_id FOREIGN KEY (externalmachine_id) REFERENCES externalmachine (id) ON DELETE CASCADE;
+
+ALTER TABLE externalmachine_attributes DROP CONSTRAINT fk_externalmachine_attributes_externalmachine_id;
+ALTER TABLE externalmachine_attributes ADD CONSTRAINT fk_externalmachine_attributes_externalmachine_id FOREIGN KEY (externalmachine_id) REFERENCES externalmachine (id) ON DELETE CASCADE;
+
+ALTER TABLE serverconf DROP CONSTRAINT fk_serverconf_servers_id;
+ALTER TABLE serverconf ADD CONSTRAINT fk_serverconf_servers_id FOREIGN KEY (servers_id) REFERENCES externalmachine (id) ON DELETE CASCADE;
+
+ALTER TABLE serverconf_properties DROP CONSTRAINT fk_serverconf_properties_serverconf_id;
+ALTER TABLE serverconf_properties ADD CONSTRAINT fk_serverconf_properties_serverconf_id FOREIGN KEY (serverconf_id) REFERENCES serverconf (id) ON DELETE CASCADE;
@@ -0,0 +1,20 @@
+--
+-- Copyright (c) 2012-2017 Codenvy, S.A.
+-- All rights reserved. This program and the accompanying materials
+-- are made available under the terms of the Eclipse Public License v1.0
+-- which accompanies this distribution, and is available at
+-- http://www.eclipse.org/legal/epl-v10.html
+--
+-- Contributors:
+--   Codenvy, S.A. - initial API and implementation
+--
+
+-- Factory tables are created by the deployments which store factories,
+-- indexes are created only when such tables exist
+DO $$
+BEGIN
+    IF to_regclass('factory') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS index_factory_name ON factory (name);
+        CREATE INDEX IF NOT EXISTS index_factory_userid ON factory (userid);
+    END IF;
+END $$;
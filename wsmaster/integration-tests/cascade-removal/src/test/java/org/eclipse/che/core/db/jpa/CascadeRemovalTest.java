@@ -148,7 +148,7 @@ public class CascadeRemovalTest {
                 bind(AccountManager.class);
                 bind(Boolean.class).annotatedWith(Names.named("che.workspace.auto_snapshot")).toInstance(false);
                 bind(Boolean.class).annotatedWith(Names.named("che.workspace.auto_restore")).toInstance(false);
-                bind(WorkspaceSharedPool.class).toInstance(new WorkspaceSharedPool("cached", null, null));
+                bind(WorkspaceSharedPool.class).toInstance(new WorkspaceSharedPool("cached", null, null, null, null));
             }
         });
 
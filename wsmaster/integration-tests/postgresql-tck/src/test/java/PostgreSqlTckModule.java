@@ -28,6 +28,7 @@ import org.eclipse.che.api.ssh.server.spi.SshDao;
 import org.eclipse.che.api.user.server.jpa.JpaPreferenceDao;
 import org.eclipse.che.api.user.server.jpa.JpaProfileDao;
 import org.eclipse.che.api.user.server.jpa.JpaUserDao;
+import org.eclipse.che.api.user.server.jpa.PreferenceCache;
 import org.eclipse.che.api.user.server.jpa.PreferenceEntity;
 import org.eclipse.che.api.user.server.model.impl.ProfileImpl;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
@@ -41,6 +42,7 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.server.stack.StackTagIndex;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.commons.test.tck.JpaCleaner;
 import org.eclipse.che.commons.test.tck.TckModule;
@@ -168,6 +170,8 @@ public class PostgreSqlTckModule extends TckModule {
 
         @Inject
         private Provider<EntityManager> managerProvider;
+        @Inject
+        private PreferenceCache         preferenceCache;
 
         @Override
         public void createAll(Collection<? extends Pair<String, Map<String, String>>> entities)
@@ -176,6 +180,7 @@ public class PostgreSqlTckModule extends TckModule {
             for (Pair<String, Map<String, String>> pair : entities) {
                 manager.persist(new PreferenceEntity(pair.first, pair.second));
             }
+            preferenceCache.invalidateAll();
         }
 
         @Override
@@ -184,6 +189,7 @@ public class PostgreSqlTckModule extends TckModule {
             manager.createQuery("SELECT preferences FROM Preference preferences", PreferenceEntity.class)
                    .getResultList()
                    .forEach(manager::remove);
+            preferenceCache.invalidateAll();
         }
     }
 
@@ -243,6 +249,11 @@ public class PostgreSqlTckModule extends TckModule {
     }
 
     private static class StackRepository extends JpaTckRepository<StackImpl> {
+
+        // stacks are stored bypassing dao, so its index must be dropped
+        @Inject
+        private StackTagIndex tagIndex;
+
         public StackRepository() { super(StackImpl.class); }
 
         @Override
@@ -251,6 +262,13 @@ public class PostgreSqlTckModule extends TckModule {
                 stack.getWorkspaceConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
             }
             super.createAll(entities);
+            tagIndex.invalidate();
+        }
+
+        @Override
+        public void removeAll() throws TckRepositoryException {
+            super.removeAll();
+            tagIndex.invalidate();
         }
     }
 }